@@ -0,0 +1,94 @@
+package com.gestion.intervention.application.disponibile;
+
+import com.gestion.intervention.BenchmarkContext;
+import com.gestion.intervention.application.disponibile.record.FreeSlotDTO;
+import com.gestion.intervention.application.disponibile.service.DisponibiliteService;
+import com.gestion.intervention.application.disponibile.service.TechnicianAvailabilityIndex;
+import com.gestion.intervention.application.intervention.service.TechnicianScheduleIndex;
+import com.gestion.intervention.domain.disponibile.model.Disponibilite;
+import com.gestion.intervention.domain.intervention.model.Intervention;
+import com.gestion.intervention.domain.person.model.Person;
+import com.gestion.intervention.domain.technicianinfo.model.TechnicianInfo;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * "Who can take a {@code minutes}-long job this week?" over {@code technicians} technicians, each available 08:00-18:00
+ * for two weeks with one to four random bookings a day. Day bitmaps are built during warmup, so the score is the
+ * scan itself; the 8-hour job rarely fits and makes most technicians scan every day of the window.
+ * <pre>
+ * mvn -Pbenchmark compile exec:exec -Djmh.args="FreeSlotSearchBenchmark"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class FreeSlotSearchBenchmark {
+
+    private static final LocalDateTime MONDAY = LocalDateTime.of(2025, 1, 6, 0, 0);
+    private static final int DAYS = 14;
+
+    @Param({"1000"})
+    public int technicians;
+
+    @Param({"120", "480"})
+    public int minutes;
+
+    private ConfigurableApplicationContext context;
+    private DisponibiliteService disponibiliteService;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start(Map.of());
+        disponibiliteService = context.getBean(DisponibiliteService.class);
+        EntityManager entityManager = context.getBean(EntityManager.class);
+        TransactionTemplate write = context.getBean(TransactionTemplate.class);
+
+        Random random = new Random(42);
+        for (int t = 0; t < technicians; t++) {
+            int index = t;
+            write.executeWithoutResult(status -> {
+                Person person = Person.builder().username("tech" + index).email("tech" + index + "@example.com").build();
+                TechnicianInfo technician = TechnicianInfo.builder().person(person).specialite("Hydraulics").build();
+                entityManager.persist(person);
+                entityManager.persist(technician);
+                for (int d = 0; d < DAYS; d++) {
+                    LocalDateTime morning = MONDAY.plusDays(d).plusHours(8);
+                    entityManager.persist(Disponibilite.builder()
+                            .technicianInfo(technician).etat("Available").debut(morning).fin(morning.plusHours(10)).build());
+                    int bookings = 1 + random.nextInt(4);
+                    for (int b = 0; b < bookings; b++) {
+                        LocalDateTime debut = morning.plusMinutes(random.nextInt(10 * 60));
+                        entityManager.persist(Intervention.builder()
+                                .technicianInfo(technician).dateDebut(debut).dateFin(debut.plusMinutes(30 + random.nextInt(150))).build());
+                    }
+                }
+            });
+        }
+        // Seeded behind the services' back: let the indexes pick the rows up
+        context.getBean(TechnicianAvailabilityIndex.class).checkConsistency();
+        context.getBean(TechnicianScheduleIndex.class).checkConsistency();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<FreeSlotDTO> earliestTen() {
+        return disponibiliteService.findFreeSlots(Duration.ofMinutes(minutes), MONDAY, MONDAY.plusDays(7), 10);
+    }
+}
@@ -0,0 +1,97 @@
+package com.gestion.intervention.application.disponibile;
+
+import com.gestion.intervention.BenchmarkContext;
+import com.gestion.intervention.application.disponibile.record.RuleExpansionDTO;
+import com.gestion.intervention.application.disponibile.service.DisponibiliteRuleService;
+import com.gestion.intervention.application.disponibile.service.TechnicianAvailabilityIndex;
+import com.gestion.intervention.domain.disponibile.model.DisponibiliteExclusion;
+import com.gestion.intervention.domain.disponibile.model.DisponibiliteRule;
+import com.gestion.intervention.domain.person.model.Person;
+import com.gestion.intervention.domain.technicianinfo.model.TechnicianInfo;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One expansion run over a quarter (13 weeks) for {@code technicians} technicians, each working weekdays 08:00-17:00
+ * with one day off a month: 62 slots per technician. Every iteration starts without any slot.
+ * <pre>
+ * mvn -Pbenchmark compile exec:exec -Djmh.args="RuleExpansionBenchmark"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class RuleExpansionBenchmark {
+
+    private static final LocalDate MONDAY = LocalDate.of(2025, 1, 6);
+    private static final int WEEKS = 13;
+    private static final DayOfWeek[] WEEKDAYS = {DayOfWeek.MONDAY, DayOfWeek.TUESDAY, DayOfWeek.WEDNESDAY, DayOfWeek.THURSDAY, DayOfWeek.FRIDAY};
+
+    @Param({"500"})
+    public int technicians;
+
+    private ConfigurableApplicationContext context;
+    private DisponibiliteRuleService ruleService;
+    private JdbcTemplate jdbcTemplate;
+    private TechnicianAvailabilityIndex availabilityIndex;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start(Map.of());
+        ruleService = context.getBean(DisponibiliteRuleService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        availabilityIndex = context.getBean(TechnicianAvailabilityIndex.class);
+        EntityManager entityManager = context.getBean(EntityManager.class);
+        TransactionTemplate write = context.getBean(TransactionTemplate.class);
+
+        write.executeWithoutResult(status -> {
+            for (int t = 0; t < technicians; t++) {
+                Person person = Person.builder().username("tech" + t).email("tech" + t + "@example.com").build();
+                TechnicianInfo technician = TechnicianInfo.builder().person(person).specialite("Hydraulics").build();
+                entityManager.persist(person);
+                entityManager.persist(technician);
+                for (DayOfWeek day : WEEKDAYS) {
+                    entityManager.persist(DisponibiliteRule.builder().technicianInfo(technician).jourSemaine(day)
+                            .heureDebut(LocalTime.of(8, 0)).heureFin(LocalTime.of(17, 0)).dateDebut(MONDAY).etat("Available").build());
+                }
+                for (int month = 0; month < 3; month++) {
+                    entityManager.persist(DisponibiliteExclusion.builder().technicianInfo(technician)
+                            .jour(MONDAY.plusWeeks(4L * month).plusDays(t % 5)).motif("Leave").build());
+                }
+            }
+        });
+    }
+
+    @Setup(Level.Iteration)
+    public void clearSlots() {
+        jdbcTemplate.update("DELETE FROM disponibilite");
+        availabilityIndex.checkConsistency();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public RuleExpansionDTO expandQuarter() {
+        RuleExpansionDTO result = ruleService.expandRules(MONDAY, MONDAY.plusWeeks(WEEKS));
+        long expected = (long) technicians * (WEEKS * WEEKDAYS.length - 3);
+        if (result.created() != expected) {
+            throw new IllegalStateException("Created " + result.created() + " slots, expected " + expected);
+        }
+        return result;
+    }
+}
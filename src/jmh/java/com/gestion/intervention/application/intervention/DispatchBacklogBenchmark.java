@@ -0,0 +1,130 @@
+package com.gestion.intervention.application.intervention;
+
+import com.gestion.intervention.BenchmarkContext;
+import com.gestion.intervention.application.common.record.BulkCreateResult;
+import com.gestion.intervention.application.disponibile.service.TechnicianAvailabilityIndex;
+import com.gestion.intervention.application.intervention.record.InterventionDTO;
+import com.gestion.intervention.application.intervention.service.DispatchService;
+import com.gestion.intervention.application.intervention.service.TechnicianScheduleIndex;
+import com.gestion.intervention.domain.disponibile.model.Disponibilite;
+import com.gestion.intervention.domain.machine.model.Machine;
+import com.gestion.intervention.domain.panne.enumeration.PanneStatus;
+import com.gestion.intervention.domain.panne.model.Panne;
+import com.gestion.intervention.domain.person.model.Person;
+import com.gestion.intervention.domain.technicianinfo.model.TechnicianInfo;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One backlog pass over {@code pannes} pending pannes and {@code technicians} technicians, each available 08:00-18:00
+ * for two weeks: plan every assignment in memory, then insert the interventions in chunks. Every iteration starts from
+ * the same undispatched backlog.
+ * <pre>
+ * mvn -Pbenchmark compile exec:exec -Djmh.args="DispatchBacklogBenchmark"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class DispatchBacklogBenchmark {
+
+    private static final LocalDateTime MONDAY = LocalDateTime.of(2025, 1, 6, 0, 0);
+    private static final int DAYS = 14;
+    private static final int SEED_CHUNK = 1_000;
+    private static final String[] SPECIALITES = {"Hydraulics", "Electricite", "Mecanique", "Pneumatics", "Automation"};
+    private static final String[] PANNE_TYPES = {"Hydraulic leak", "Electrical fault", "Mechanical wear", "Pneumatic pressure drop", "Automation error"};
+
+    @Param({"10000"})
+    public int pannes;
+
+    @Param({"500"})
+    public int technicians;
+
+    private ConfigurableApplicationContext context;
+    private DispatchService dispatchService;
+    private JdbcTemplate jdbcTemplate;
+    private TechnicianScheduleIndex scheduleIndex;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start(Map.of());
+        dispatchService = context.getBean(DispatchService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        scheduleIndex = context.getBean(TechnicianScheduleIndex.class);
+        EntityManager entityManager = context.getBean(EntityManager.class);
+        TransactionTemplate write = context.getBean(TransactionTemplate.class);
+
+        write.executeWithoutResult(status -> {
+            for (int t = 0; t < technicians; t++) {
+                Person person = Person.builder().username("tech" + t).email("tech" + t + "@example.com").build();
+                TechnicianInfo technician = TechnicianInfo.builder().person(person).specialite(SPECIALITES[t % SPECIALITES.length]).build();
+                entityManager.persist(person);
+                entityManager.persist(technician);
+                for (int d = 0; d < DAYS; d++) {
+                    LocalDateTime morning = MONDAY.plusDays(d).plusHours(8);
+                    entityManager.persist(Disponibilite.builder()
+                            .technicianInfo(technician).etat("Available").debut(morning).fin(morning.plusHours(10)).build());
+                }
+            }
+        });
+        List<Machine> machines = new ArrayList<>();
+        Person reporter = Person.builder().username("employee").email("employee@example.com").build();
+        write.executeWithoutResult(status -> {
+            entityManager.persist(reporter);
+            for (int m = 0; m < 50; m++) {
+                Machine machine = Machine.builder().type("Press " + m).etat("OK").build();
+                entityManager.persist(machine);
+                machines.add(machine);
+            }
+        });
+        for (int from = 0; from < pannes; from += SEED_CHUNK) {
+            int start = from;
+            write.executeWithoutResult(status -> {
+                for (int i = start; i < Math.min(start + SEED_CHUNK, pannes); i++) {
+                    entityManager.persist(Panne.builder()
+                            .typePanne(PANNE_TYPES[i % PANNE_TYPES.length])
+                            .status(PanneStatus.PENDING)
+                            .machine(entityManager.getReference(Machine.class, machines.get(i % machines.size()).getId()))
+                            .reporter(entityManager.getReference(Person.class, reporter.getId()))
+                            .build());
+                }
+            });
+        }
+        // Seeded behind the services' back: let the availability index pick the rows up
+        context.getBean(TechnicianAvailabilityIndex.class).checkConsistency();
+    }
+
+    @Setup(Level.Iteration)
+    public void resetBacklog() {
+        jdbcTemplate.update("DELETE FROM intervention");
+        jdbcTemplate.update("UPDATE technician_info SET nbr_panne = 0");
+        scheduleIndex.checkConsistency();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public BulkCreateResult<InterventionDTO> dispatchBacklog() {
+        BulkCreateResult<InterventionDTO> result = dispatchService.dispatchBacklog(Duration.ofHours(2), MONDAY, MONDAY.plusDays(DAYS), pannes);
+        if (result.created() != pannes) {
+            throw new IllegalStateException("Only " + result.created() + " of " + pannes + " pannes were dispatched");
+        }
+        return result;
+    }
+}
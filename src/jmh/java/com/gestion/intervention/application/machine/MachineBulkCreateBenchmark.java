@@ -0,0 +1,66 @@
+package com.gestion.intervention.application.machine;
+
+import com.gestion.intervention.BenchmarkContext;
+import com.gestion.intervention.application.common.record.BulkCreateResult;
+import com.gestion.intervention.application.machine.record.MachineDTO;
+import com.gestion.intervention.application.machine.service.MachineService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Onboarding {@code items} machines one {@code createMachine} call (and transaction) at a time versus one
+ * {@code createMachines} call. The in-memory H2 database has no network round trip, so against MySQL the gap is
+ * wider than what this shows.
+ * <pre>
+ * mvn -Pbenchmark compile exec:exec -Djmh.args="MachineBulkCreateBenchmark"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class MachineBulkCreateBenchmark {
+
+    @Param({"10000"})
+    public int items;
+
+    private ConfigurableApplicationContext context;
+    private MachineService machineService;
+    private List<MachineDTO> machines;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start(Map.of());
+        machineService = context.getBean(MachineService.class);
+        machines = IntStream.range(0, items)
+                .mapToObj(i -> new MachineDTO(null, "Press " + i, "NEW"))
+                .toList();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int oneByOne() {
+        int created = 0;
+        for (MachineDTO machine : machines) {
+            machineService.createMachine(machine);
+            created++;
+        }
+        return created;
+    }
+
+    @Benchmark
+    public BulkCreateResult<MachineDTO> bulk() {
+        return machineService.createMachines(machines);
+    }
+}
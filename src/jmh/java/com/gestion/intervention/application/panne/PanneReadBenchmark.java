@@ -0,0 +1,105 @@
+package com.gestion.intervention.application.panne;
+
+import com.gestion.intervention.BenchmarkContext;
+import com.gestion.intervention.application.panne.record.PanneDTO;
+import com.gestion.intervention.domain.machine.model.Machine;
+import com.gestion.intervention.domain.panne.enumeration.PanneStatus;
+import com.gestion.intervention.domain.panne.model.Panne;
+import com.gestion.intervention.domain.panne.repository.PanneRepository;
+import com.gestion.intervention.domain.person.model.Person;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lists every panne the old way (managed entities mapped by hand) and through the constructor projection, inside a
+ * read-only transaction as the service does. Run with {@code -prof gc}: {@code gc.alloc.rate.norm} is the heap cost
+ * of one listing, the score is its latency.
+ * <pre>
+ * mvn -Pbenchmark compile exec:exec -Djmh.args="PanneReadBenchmark -prof gc"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class PanneReadBenchmark {
+
+    private static final int SEED_CHUNK = 1_000;
+
+    @Param({"100000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private PanneRepository panneRepository;
+    private TransactionTemplate readOnly;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start(Map.of());
+        panneRepository = context.getBean(PanneRepository.class);
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+        EntityManager entityManager = context.getBean(EntityManager.class);
+
+        TransactionTemplate write = new TransactionTemplate(transactionManager);
+        List<Machine> machines = new ArrayList<>();
+        List<Person> reporters = new ArrayList<>();
+        write.executeWithoutResult(status -> {
+            for (int i = 0; i < 100; i++) {
+                Machine machine = Machine.builder().type("Press " + i).etat("OK").build();
+                Person reporter = Person.builder().username("employee" + i).email("employee" + i + "@example.com").build();
+                entityManager.persist(machine);
+                entityManager.persist(reporter);
+                machines.add(machine);
+                reporters.add(reporter);
+            }
+        });
+        for (int from = 0; from < rows; from += SEED_CHUNK) {
+            int start = from;
+            write.executeWithoutResult(status -> {
+                for (int i = start; i < Math.min(start + SEED_CHUNK, rows); i++) {
+                    entityManager.persist(Panne.builder()
+                            .typePanne("Hydraulic leak #" + i)
+                            .status(PanneStatus.PENDING)
+                            .machine(entityManager.getReference(Machine.class, machines.get(i % machines.size()).getId()))
+                            .reporter(entityManager.getReference(Person.class, reporters.get(i % reporters.size()).getId()))
+                            .build());
+                }
+            });
+        }
+
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    /** What getAllPannes did before: hydrate every Panne into the persistence context, then map it. */
+    @Benchmark
+    public List<PanneDTO> managedEntities() {
+        return readOnly.execute(status -> panneRepository.findAll().stream()
+                .map(panne -> new PanneDTO(
+                        panne.getId(),
+                        panne.getTypePanne(),
+                        panne.getMachine() != null ? panne.getMachine().getId() : null,
+                        panne.getReporter() != null ? panne.getReporter().getId() : null))
+                .toList());
+    }
+
+    @Benchmark
+    public List<PanneDTO> constructorProjection() {
+        return readOnly.execute(status -> panneRepository.findAllDtos());
+    }
+}
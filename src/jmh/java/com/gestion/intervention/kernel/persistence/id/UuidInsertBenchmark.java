@@ -0,0 +1,95 @@
+package com.gestion.intervention.kernel.persistence.id;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Insert throughput into an InnoDB table keyed by BINARY(16), random v4 ids ({@code @UuidGenerator}) versus UUIDv7.
+ * One shot per generator fills a fresh table with {@code rows} rows in JDBC batches; throughput of every million
+ * rows is printed as it goes, which shows v4 slowing down once the index no longer fits the buffer pool.
+ * <p>
+ * Needs a MySQL instance: {@code -Dbench.jdbc.url=... -Dbench.jdbc.user=... -Dbench.jdbc.password=...}
+ * (defaults to the local database from application.properties).
+ * <pre>
+ * mvn -Pbenchmark compile exec:exec -Djmh.args="UuidInsertBenchmark"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(1)
+public class UuidInsertBenchmark {
+
+    private static final int BATCH_SIZE = 5_000;
+    private static final int REPORT_EVERY = 1_000_000;
+
+    @Param({"random", "v7"})
+    public String generator;
+
+    @Param({"10000000"})
+    public int rows;
+
+    private Connection connection;
+
+    @Setup(Level.Iteration)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection(
+                System.getProperty("bench.jdbc.url",
+                        "jdbc:mysql://localhost:3306/gestionintervention?createDatabaseIfNotExist=true&rewriteBatchedStatements=true"),
+                System.getProperty("bench.jdbc.user", "root"),
+                System.getProperty("bench.jdbc.password", "alten_root_password"));
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS bench_uuid_insert");
+            // Shaped like the panne table: a binary key and a couple of short columns
+            statement.execute("CREATE TABLE bench_uuid_insert (id BINARY(16) NOT NULL PRIMARY KEY, "
+                    + "type_panne VARCHAR(255), status VARCHAR(16)) ENGINE=InnoDB");
+        }
+        connection.setAutoCommit(false);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS bench_uuid_insert");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public int insert() throws SQLException {
+        boolean v7 = "v7".equals(generator);
+        long windowStart = System.nanoTime();
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO bench_uuid_insert (id, type_panne, status) VALUES (?, ?, ?)")) {
+            for (int i = 1; i <= rows; i++) {
+                UUID id = v7 ? UuidV7Generator.generate() : UUID.randomUUID();
+                insert.setBytes(1, UuidV7KeyMigration.toBytes(id));
+                insert.setString(2, "Mechanical failure #" + i);
+                insert.setString(3, "PENDING");
+                insert.addBatch();
+                if (i % BATCH_SIZE == 0) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+                if (i % REPORT_EVERY == 0) {
+                    long now = System.nanoTime();
+                    System.out.printf("%s: rows %,d, %,.0f rows/s over the last million%n",
+                            generator, i, REPORT_EVERY / ((now - windowStart) / 1e9));
+                    windowStart = now;
+                }
+            }
+            insert.executeBatch();
+            connection.commit();
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,102 @@
+package com.gestion.intervention.kernel.security.jwt;
+
+import com.gestion.intervention.domain.person.model.Person;
+import com.gestion.intervention.domain.role.model.Role;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.DirectFieldAccessor;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building blocks of an authenticated request: token generation, the raw claims parse, authority extraction and a
+ * complete {@link JwtAuthenticationFilter} pass over a mock GET request (with and without the verified token cache).
+ * Run it through {@link AuthHotPathBenchmarkRunner} to get several thread counts and allocation rates in one go.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthHotPathBenchmark {
+
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    private JwtService jwtService;
+    private Person person;
+    private String accessToken;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService(new JwtKeyRing(JwtKeyRing.DEFAULT_KEY_ID,
+                Map.of(JwtKeyRing.DEFAULT_KEY_ID, "lksjdhfgsdyuagdsbfliudasfieyagfuwfr6i32qwreftdaskuyfy6wqi")));
+        DirectFieldAccessor fields = new DirectFieldAccessor(jwtService);
+        fields.setPropertyValue("jwtAccessExpiration", 36_000_000L);
+        fields.setPropertyValue("jwtRefreshExpiration", 36_000_000L);
+
+        person = Person.builder()
+                .id(UUID.randomUUID())
+                .email("bench@example.com")
+                .username("bench")
+                .roles(List.of(Role.builder().authority("ROLE_EMPLOYEE").build(),
+                        Role.builder().authority("ROLE_TECHNICIAN").build()))
+                .build();
+        accessToken = jwtService.generateAccessToken(person);
+    }
+
+    /** Filter wiring, parameterized separately so only {@link #filterPass} runs with and without the token cache. */
+    @State(Scope.Benchmark)
+    public static class FilterState {
+        @Param({"true", "false"})
+        public boolean tokenCache;
+
+        private JwtAuthenticationFilter filter;
+
+        @Setup
+        public void setUp(AuthHotPathBenchmark benchmark) {
+            VerifiedTokenCache cache = new VerifiedTokenCache(benchmark.jwtService, new SimpleMeterRegistry(), tokenCache, 10_000);
+            filter = new JwtAuthenticationFilter(null, cache, new RevokedTokenRegistry(60, 65_536));
+        }
+    }
+
+    @Benchmark
+    public String generateAccessToken() {
+        return jwtService.generateAccessToken(person);
+    }
+
+    @Benchmark
+    public Claims extractAllClaims() {
+        return jwtService.extractAllClaims(accessToken);
+    }
+
+    @Benchmark
+    public Collection<? extends GrantedAuthority> extractAuthorities() {
+        return jwtService.extractAuthorities(accessToken);
+    }
+
+    /** Includes building the mock request/response, as the container does for every real request. */
+    @Benchmark
+    public int filterPass(FilterState state) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/user/employee/pannes");
+        request.setServletPath("/api/v1/user/employee/pannes");
+        request.addHeader("Authorization", "Bearer " + accessToken);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            state.filter.doFilterInternal(request, response, NO_OP_CHAIN);
+        } finally {
+            SecurityContextHolder.clearContext(); // The filter skips work when a context is already set
+        }
+        return response.getStatus();
+    }
+}
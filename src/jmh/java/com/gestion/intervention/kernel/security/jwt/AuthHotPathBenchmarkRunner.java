@@ -0,0 +1,40 @@
+package com.gestion.intervention.kernel.security.jwt;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+
+/**
+ * Runs {@link AuthHotPathBenchmark} once per thread count with the gc profiler, so every report shows both throughput
+ * and {@code gc.alloc.rate.norm} (bytes allocated per operation).
+ * <p>
+ * Arguments are the thread counts (default 1, 4 and 8). Results are written as JSON to
+ * {@code target/jmh/auth-hot-path-t<threads>.json}, ready to diff against a run from another branch.
+ */
+public final class AuthHotPathBenchmarkRunner {
+
+    private AuthHotPathBenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        String[] threadCounts = args.length > 0 ? args : new String[]{"1", "4", "8"};
+        File output = new File("target/jmh");
+        output.mkdirs();
+        for (String threadCount : threadCounts) {
+            int threads = Integer.parseInt(threadCount);
+            Options options = new OptionsBuilder()
+                    .include(AuthHotPathBenchmark.class.getSimpleName())
+                    .threads(threads)
+                    .addProfiler(GCProfiler.class)
+                    .resultFormat(ResultFormatType.JSON)
+                    .result(new File(output, "auth-hot-path-t" + threads + ".json").getPath())
+                    .build();
+            new Runner(options).run();
+        }
+    }
+}
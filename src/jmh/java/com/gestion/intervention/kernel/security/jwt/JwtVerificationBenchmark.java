@@ -0,0 +1,69 @@
+package com.gestion.intervention.kernel.security.jwt;
+
+import com.gestion.intervention.domain.person.model.Person;
+import com.gestion.intervention.domain.role.model.Role;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.beans.DirectFieldAccessor;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the per-request cost of the old multi-parse path in JwtAuthenticationFilter
+ * (extractUsername, extractUserId, extractClaim(type), isTokenValid, extractAuthorities)
+ * with the single {@link JwtService#verify(String)} call and a repeat token served by {@link VerifiedTokenCache}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+    private JwtService jwtService;
+    private VerifiedTokenCache verifiedTokenCache;
+    private String accessToken;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService(new JwtKeyRing(JwtKeyRing.DEFAULT_KEY_ID,
+                Map.of(JwtKeyRing.DEFAULT_KEY_ID, "lksjdhfgsdyuagdsbfliudasfieyagfuwfr6i32qwreftdaskuyfy6wqi")));
+        DirectFieldAccessor fields = new DirectFieldAccessor(jwtService);
+        fields.setPropertyValue("jwtAccessExpiration", 36_000_000L);
+        fields.setPropertyValue("jwtRefreshExpiration", 36_000_000L);
+
+        Person person = Person.builder()
+                .id(UUID.randomUUID())
+                .email("bench@example.com")
+                .username("bench")
+                .roles(List.of(Role.builder().authority("ROLE_EMPLOYEE").build(),
+                        Role.builder().authority("ROLE_HELPDESK").build()))
+                .build();
+        accessToken = jwtService.generateAccessToken(person);
+        verifiedTokenCache = new VerifiedTokenCache(jwtService, new SimpleMeterRegistry(), true, 10_000);
+    }
+
+    @Benchmark
+    public void legacyMultiParse(Blackhole bh) {
+        String username = jwtService.extractUsername(accessToken);
+        bh.consume(jwtService.extractUserId(accessToken));
+        bh.consume(jwtService.extractClaim(accessToken, claims -> claims.get("type", String.class)));
+        bh.consume(jwtService.isTokenValid(accessToken, username));
+        bh.consume(jwtService.extractAuthorities(accessToken));
+    }
+
+    @Benchmark
+    public VerifiedClaims singleVerify() {
+        return jwtService.verify(accessToken);
+    }
+
+    @Benchmark
+    public VerifiedClaims cachedVerify() {
+        return verifiedTokenCache.verify(accessToken);
+    }
+}
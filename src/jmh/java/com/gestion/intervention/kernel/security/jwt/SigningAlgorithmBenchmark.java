@@ -0,0 +1,65 @@
+package com.gestion.intervention.kernel.security.jwt;
+
+import com.gestion.intervention.domain.person.model.Person;
+import com.gestion.intervention.domain.role.model.Role;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Encoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.DirectFieldAccessor;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sign and verify cost of an access token per signing algorithm, through the real {@link JwtKeyRing} and
+ * {@link JwtService} code paths. Verification cost is what every authenticated request pays on a cache miss,
+ * signing cost is paid on login and refresh.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SigningAlgorithmBenchmark {
+
+    @Param({"HS256", "ES256", "RS256"})
+    public SignatureAlgorithm algorithm;
+
+    private JwtService jwtService;
+    private Person person;
+    private String accessToken;
+
+    @Setup
+    public void setUp() {
+        JwtKeyRing keyRing = algorithm.isHmac()
+                ? new JwtKeyRing(JwtKeyRing.DEFAULT_KEY_ID,
+                        Map.of(JwtKeyRing.DEFAULT_KEY_ID, Encoders.BASE64.encode(Keys.secretKeyFor(algorithm).getEncoded())))
+                : JwtKeyRing.ofKeyPair(algorithm, "bench", Keys.keyPairFor(algorithm));
+        jwtService = new JwtService(keyRing);
+        DirectFieldAccessor fields = new DirectFieldAccessor(jwtService);
+        fields.setPropertyValue("jwtAccessExpiration", 36_000_000L);
+        fields.setPropertyValue("jwtRefreshExpiration", 36_000_000L);
+
+        person = Person.builder()
+                .id(UUID.randomUUID())
+                .email("bench@example.com")
+                .username("bench")
+                .roles(List.of(Role.builder().authority("ROLE_TECHNICIAN").build()))
+                .build();
+        accessToken = jwtService.generateAccessToken(person);
+    }
+
+    @Benchmark
+    public String sign() {
+        return jwtService.generateAccessToken(person);
+    }
+
+    @Benchmark
+    public VerifiedClaims verify() {
+        return jwtService.verify(accessToken);
+    }
+}
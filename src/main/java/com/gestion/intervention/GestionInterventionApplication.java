@@ -11,8 +11,12 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
 import org.springframework.context.annotation.Bean;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.util.List;
 
 @SpringBootApplication(exclude = {SecurityAutoConfiguration.class})
+@EnableScheduling
 @OpenAPIDefinition(
         info = @Info(
                 title = "Gestion Intervention API",
@@ -41,10 +45,12 @@ public class GestionInterventionApplication {
     @Bean
     public CommandLineRunner commandLineRunner(RoleRepository roleRepository) {
         return args -> {
-            roleRepository.save(Role.builder().authority("ROLE_EMPLOYEE").build());
-            roleRepository.save(Role.builder().authority("ROLE_TECHNICIAN").build());
-            roleRepository.save(Role.builder().authority("ROLE_HELPDESK").build());
-            roleRepository.save(Role.builder().authority("ROLE_ADMIN").build());
+            // The schema now survives restarts: only seed the roles that are missing
+            for (String authority : List.of("ROLE_EMPLOYEE", "ROLE_TECHNICIAN", "ROLE_HELPDESK", "ROLE_ADMIN")) {
+                if (roleRepository.findByAuthority(authority).isEmpty()) {
+                    roleRepository.save(Role.builder().authority(authority).build());
+                }
+            }
         };
     }
 
@@ -1,5 +1,7 @@
 package com.gestion.intervention.adapter.web;
 
+import com.gestion.intervention.application.common.record.BulkCreateResult;
+import com.gestion.intervention.application.common.record.CursorPage;
 import com.gestion.intervention.application.machine.record.MachineDTO;
 import com.gestion.intervention.application.machine.service.MachineService;
 import com.gestion.intervention.application.person.record.PersonDTO;
@@ -14,7 +16,6 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
-import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -83,13 +84,17 @@ public class AdminController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "List of users retrieved successfully",
                     content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
-                            array = @ArraySchema(schema = @Schema(implementation = PersonDTO.class)))),
+                            schema = @Schema(implementation = CursorPage.class))),
             // Add 401/403 if security is enabled
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = @Content)
     })
-    public ResponseEntity<List<PersonDTO>> getAllUsers() {
-        return ResponseEntity.ok(personService.getAllPersons());
+    public ResponseEntity<CursorPage<PersonDTO>> getAllUsers(
+            @Parameter(description = "Opaque cursor from the previous page's nextCursor; omit for the first page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, capped at " + CursorPage.MAX_PAGE_SIZE, example = "50")
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_PAGE_SIZE) int size) {
+        return ResponseEntity.ok(personService.getPersonsPage(cursor, size));
     }
 
     @PutMapping("/users/{id}")
@@ -148,6 +153,22 @@ public class AdminController {
         return new ResponseEntity<>(machineService.createMachine(dto), HttpStatus.CREATED);
     }
 
+    @PostMapping("/machines/bulk")
+    @Operation(summary = "Admin: Create machines in bulk",
+            description = "Creates many machines in one call, e.g. when onboarding a plant. Items are validated and inserted in chunks, each committed on its own; the response reports, for every item in request order, either the created record or why it was rejected. Requires ADMIN role.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Bulk request processed, see the per-item results",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = BulkCreateResult.class))),
+            @ApiResponse(responseCode = "400", description = "Empty request or more items than app.bulk.max-items", content = @Content),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content)
+    })
+    public ResponseEntity<BulkCreateResult<MachineDTO>> createMachines(
+            @Parameter(description = "The machine records to create", required = true)
+            @RequestBody List<MachineDTO> dtos) {
+        return ResponseEntity.ok(machineService.createMachines(dtos));
+    }
+
     @GetMapping("/machines/{id}")
     @Operation(summary = "Admin: Get machine by ID", description = "Retrieves details of a specific machine by its unique ID. Requires ADMIN role.")
     @ApiResponses(value = {
@@ -169,12 +190,16 @@ public class AdminController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "List of machines retrieved successfully",
                     content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
-                            array = @ArraySchema(schema = @Schema(implementation = MachineDTO.class)))),
+                            schema = @Schema(implementation = CursorPage.class))),
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = @Content)
     })
-    public ResponseEntity<List<MachineDTO>> getAllMachines() {
-        return ResponseEntity.ok(machineService.getAllMachines());
+    public ResponseEntity<CursorPage<MachineDTO>> getAllMachines(
+            @Parameter(description = "Opaque cursor from the previous page's nextCursor; omit for the first page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, capped at " + CursorPage.MAX_PAGE_SIZE, example = "50")
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_PAGE_SIZE) int size) {
+        return ResponseEntity.ok(machineService.getMachinesPage(cursor, size));
     }
 
     @PutMapping("/machines/{id}")
@@ -231,6 +256,22 @@ public class AdminController {
         return new ResponseEntity<>(pieceService.createPiece(dto), HttpStatus.CREATED);
     }
 
+    @PostMapping("/pieces/bulk")
+    @Operation(summary = "Admin: Create pieces in bulk",
+            description = "Creates many pieces in one call; each must reference an existing machine and have a piece number unique on that machine. Items are validated and inserted in chunks, each committed on its own; the response reports, for every item in request order, either the created record or why it was rejected. Requires ADMIN role.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Bulk request processed, see the per-item results",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = BulkCreateResult.class))),
+            @ApiResponse(responseCode = "400", description = "Empty request or more items than app.bulk.max-items", content = @Content),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content)
+    })
+    public ResponseEntity<BulkCreateResult<PieceDTO>> createPieces(
+            @Parameter(description = "The piece records to create", required = true)
+            @RequestBody List<PieceDTO> dtos) {
+        return ResponseEntity.ok(pieceService.createPieces(dtos));
+    }
+
     @GetMapping("/pieces/{id}")
     @Operation(summary = "Admin: Get piece by ID", description = "Retrieves details of a specific piece by its unique ID. Requires ADMIN role.")
     @ApiResponses(value = {
@@ -252,15 +293,19 @@ public class AdminController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "List of pieces retrieved successfully",
                     content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
-                            array = @ArraySchema(schema = @Schema(implementation = PieceDTO.class)))),
+                            schema = @Schema(implementation = CursorPage.class))),
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = @Content)
     })
-    public ResponseEntity<List<PieceDTO>> getAllPieces(
+    public ResponseEntity<CursorPage<PieceDTO>> getAllPieces(
             @Parameter(description = "Optional: Filter pieces by the ID of the machine they belong to", required = false, example = "223e4567-e89b-12d3-a456-426614174001")
-            @RequestParam(required = false) UUID machineId) {
+            @RequestParam(required = false) UUID machineId,
+            @Parameter(description = "Opaque cursor from the previous page's nextCursor; omit for the first page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, capped at " + CursorPage.MAX_PAGE_SIZE, example = "50")
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_PAGE_SIZE) int size) {
         // TODO: Implement filtering logic in PieceService based on machineId if provided
-        return ResponseEntity.ok(pieceService.getAllPieces());
+        return ResponseEntity.ok(pieceService.getPiecesPage(cursor, size));
     }
 
     @PutMapping("/pieces/{id}")
@@ -358,12 +403,16 @@ public class AdminController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "List of STE Maintenance companies retrieved successfully",
                     content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
-                            array = @ArraySchema(schema = @Schema(implementation = STEmaintenanceDTO.class)))),
+                            schema = @Schema(implementation = CursorPage.class))),
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = @Content)
     })
-    public ResponseEntity<List<STEmaintenanceDTO>> getAllSTEs() {
-        return ResponseEntity.ok(steMaintenanceService.getAllSTEmaintenances());
+    public ResponseEntity<CursorPage<STEmaintenanceDTO>> getAllSTEs(
+            @Parameter(description = "Opaque cursor from the previous page's nextCursor; omit for the first page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, capped at " + CursorPage.MAX_PAGE_SIZE, example = "50")
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_PAGE_SIZE) int size) {
+        return ResponseEntity.ok(steMaintenanceService.getSTEmaintenancesPage(cursor, size));
     }
 
     @DeleteMapping("/stemaintenance/{id}")
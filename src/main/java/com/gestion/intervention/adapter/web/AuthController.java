@@ -4,6 +4,8 @@ import com.gestion.intervention.application.person.record.PersonDTO;
 import com.gestion.intervention.application.person.record.request.LoginRequestDTO;
 import com.gestion.intervention.application.person.record.response.LoginResponseDTO;
 import com.gestion.intervention.application.person.service.PersonService;
+import com.gestion.intervention.kernel.security.jwt.JwtAuthenticationFilter;
+import com.gestion.intervention.kernel.security.jwt.VerifiedClaims;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -15,14 +17,22 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType; // Import MediaType
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
 @RestController
 @RequestMapping("/api/v1/auth")
 @RequiredArgsConstructor
@@ -68,4 +78,35 @@ public class AuthController {
             LoginResponseDTO createdPerson = personService.register(dto);
             return new ResponseEntity<>(createdPerson, HttpStatus.CREATED);
     }
+
+    @PostMapping("/refresh")
+    @Operation(summary = "Refresh Tokens", description = "Exchanges a refresh token, sent as `Authorization: Bearer <refreshToken>`, for a new access token and a new refresh token. Each refresh token can be used only once.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tokens refreshed",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = LoginResponseDTO.class))),
+            @ApiResponse(responseCode = "401", description = "Missing, invalid, expired or already used refresh token",
+                    content = @Content)
+    })
+    public ResponseEntity<LoginResponseDTO> refresh(
+            @Parameter(hidden = true) // Populated by JwtAuthenticationFilter from the bearer token
+            @RequestAttribute(name = JwtAuthenticationFilter.VERIFIED_CLAIMS_ATTRIBUTE, required = false) VerifiedClaims refreshClaims) {
+        return ResponseEntity.ok(personService.refresh(refreshClaims));
+    }
+
+    /**
+     * Failed logins and refreshes are answered here with 401: left to the security filter chain, the exception
+     * would reach its default entry point and come out as 403.
+     */
+    @ExceptionHandler(AuthenticationException.class)
+    public ResponseEntity<Map<String, Object>> handleAuthenticationFailure(AuthenticationException e) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("status", HttpStatus.UNAUTHORIZED.value());
+        body.put("error", HttpStatus.UNAUTHORIZED.getReasonPhrase());
+        body.put("message", e.getMessage());
+        body.put("timestamp", Instant.now().toString());
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .header(HttpHeaders.WWW_AUTHENTICATE, "Bearer")
+                .body(body);
+    }
 }
\ No newline at end of file
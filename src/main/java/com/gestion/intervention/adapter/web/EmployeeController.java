@@ -1,6 +1,7 @@
 package com.gestion.intervention.adapter.web;
 
 import com.gestion.intervention.adapter.wrapper.ResponseWrapper;
+import com.gestion.intervention.application.common.record.CursorPage;
 import com.gestion.intervention.application.intervention.record.InterventionDTO;
 import com.gestion.intervention.application.intervention.service.InterventionService;
 import com.gestion.intervention.application.panne.record.PanneDTO;
@@ -14,7 +15,6 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
-import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -28,7 +28,6 @@ import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -118,18 +117,22 @@ public class EmployeeController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "List of breakdowns retrieved (currently unfiltered)",
                     content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
-                            array = @ArraySchema(schema = @Schema(implementation = PanneDTO.class)))),
+                            schema = @Schema(implementation = CursorPage.class))),
             @ApiResponse(responseCode = "401", description = "Unauthorized - Employee not logged in", content = @Content),
             @ApiResponse(responseCode = "403", description = "Forbidden - User does not have EMPLOYEE role", content = @Content),
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = @Content)
     })
-    public ResponseEntity<List<PanneDTO>> getMyPannes() {
+    public ResponseEntity<CursorPage<PanneDTO>> getMyPannes(
+            @Parameter(description = "Opaque cursor from the previous page's nextCursor; omit for the first page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, capped at " + CursorPage.MAX_PAGE_SIZE, example = "50")
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_PAGE_SIZE) int size) {
         // UUID reporterId = getCurrentUserId(); // Implement this helper
-        // List<PanneDTO> pannes = panneService.getPannesByReporter(reporterId); // Requires service method
+        // CursorPage<PanneDTO> pannes = panneService.getPannesByReporter(reporterId); // Requires service method
 
         // Placeholder: returning all for now, needs filtering
-        List<PanneDTO> pannes = panneService.getAllPannes();
+        CursorPage<PanneDTO> pannes = panneService.getPannesPage(cursor, size);
         return ResponseEntity.ok(pannes);
     }
 
@@ -140,20 +143,24 @@ public class EmployeeController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "List of interventions retrieved (currently unfiltered)",
                     content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
-                            array = @ArraySchema(schema = @Schema(implementation = InterventionDTO.class)))),
+                            schema = @Schema(implementation = CursorPage.class))),
             @ApiResponse(responseCode = "401", description = "Unauthorized - Employee not logged in", content = @Content),
             @ApiResponse(responseCode = "403", description = "Forbidden - User does not have EMPLOYEE role", content = @Content),
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = @Content)
     })
-    public ResponseEntity<List<InterventionDTO>> getMyInterventionHistory() {
+    public ResponseEntity<CursorPage<InterventionDTO>> getMyInterventionHistory(
+            @Parameter(description = "Opaque cursor from the previous page's nextCursor; omit for the first page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, capped at " + CursorPage.MAX_PAGE_SIZE, example = "50")
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_PAGE_SIZE) int size) {
         // This needs clarification: History related to pannes they reported?
         // Or interventions on machines they use? Requires specific service logic.
         // UUID employeeId = getCurrentUserId();
-        // List<InterventionDTO> history = interventionService.getInterventionHistoryForEmployee(employeeId);
+        // CursorPage<InterventionDTO> history = interventionService.getInterventionHistoryForEmployee(employeeId);
 
         // Placeholder: returning all for now, needs filtering/specific logic
-        List<InterventionDTO> history = interventionService.getAllInterventions();
+        CursorPage<InterventionDTO> history = interventionService.getInterventionsPage(cursor, size);
         return ResponseEntity.ok(history);
     }
 
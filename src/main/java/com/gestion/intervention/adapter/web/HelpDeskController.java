@@ -1,30 +1,50 @@
 package com.gestion.intervention.adapter.web;
 
+import com.gestion.intervention.application.common.record.BulkCreateResult;
+import com.gestion.intervention.application.common.record.CursorPage;
 import com.gestion.intervention.application.disponibile.record.DisponibiliteDTO;
+import com.gestion.intervention.application.disponibile.record.DisponibiliteExclusionDTO;
+import com.gestion.intervention.application.disponibile.record.DisponibiliteRuleDTO;
+import com.gestion.intervention.application.disponibile.record.FreeSlotDTO;
+import com.gestion.intervention.application.disponibile.record.RuleExpansionDTO;
+import com.gestion.intervention.application.disponibile.service.DisponibiliteRuleService;
 import com.gestion.intervention.application.disponibile.service.DisponibiliteService;
+import com.gestion.intervention.application.intervention.record.DispatchCandidateDTO;
 import com.gestion.intervention.application.intervention.record.InterventionDTO;
+import com.gestion.intervention.application.intervention.service.DispatchService;
 import com.gestion.intervention.application.intervention.service.InterventionService;
 import com.gestion.intervention.application.technicianinfo.record.TechnicianInfoDTO; // Not directly used but relevant context
 import com.gestion.intervention.application.technicianinfo.service.TechnicianInfoService;
 // Import PanneService if HelpDesk needs to view/update Pannes
 // import com.gestion.intervention.application.panne.service.PanneService;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
-import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 // import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -34,10 +54,17 @@ import java.util.UUID;
 // @PreAuthorize("hasRole('HELPDESK')")
 @Tag(name = "Help Desk Operations", description = "Endpoints for Help Desk staff to manage interventions (launch, assign technicians, update), manage technician availability, and search relevant information. Requires HELPDESK role.")
 public class HelpDeskController {
+    private static final Logger log = LoggerFactory.getLogger(HelpDeskController.class);
+
+    private static final String NDJSON_VALUE = "application/x-ndjson";
+    private static final MediaType NDJSON = MediaType.parseMediaType(NDJSON_VALUE);
 
     private final InterventionService interventionService;
     private final TechnicianInfoService technicianInfoService; // Needed for context on assignment
     private final DisponibiliteService disponibiliteService; // Needed for managing availability
+    private final DispatchService dispatchService;
+    private final DisponibiliteRuleService disponibiliteRuleService; // Recurring availability
+    private final ObjectMapper objectMapper; // Spring's mapper, so the export matches the JSON API (java.time etc.)
     // private final PanneService panneService; // If needed
 
     // == Launch Intervention (Lancer une intervention) ==
@@ -124,6 +151,92 @@ public class HelpDeskController {
         return ResponseEntity.ok(updatedIntervention);
     }
 
+    // == Dispatch (automatic assignment) ==
+    @GetMapping("/pannes/{panneId}/dispatch/candidates")
+    @Operation(summary = "HelpDesk: Rank technicians for a pending panne",
+            description = "Lists the technicians free for `minutes` consecutive minutes within [from, to), best first: specialite matching the panne or its machine, then lowest load (nbrPanne - nbrPanneRegle), then earliest start. Nothing is booked. Requires HELPDESK role.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Candidates ranked (possibly none)",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = DispatchCandidateDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Panne not pending or already dispatched, or invalid window", content = @Content),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - User not logged in", content = @Content),
+            @ApiResponse(responseCode = "403", description = "Forbidden - User does not have HELPDESK role", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Panne not found", content = @Content),
+            @ApiResponse(responseCode = "503", description = "Schedule indexes still loading, retry later", content = @Content),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content)
+    })
+    public ResponseEntity<List<DispatchCandidateDTO>> rankTechnicians(
+            @Parameter(description = "Unique ID of the pending panne", required = true, example = "523e4567-e89b-12d3-a456-426614174004")
+            @PathVariable UUID panneId,
+            @Parameter(description = "Expected length of the intervention in minutes", example = "120")
+            @RequestParam(defaultValue = "120") int minutes,
+            @Parameter(description = "Optional: start of the window (ISO date-time); defaults to now", example = "2025-01-07T08:00:00")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "Optional: end of the window (ISO date-time, exclusive); defaults to a week after from", example = "2025-01-14T08:00:00")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @Parameter(description = "How many technicians to return at most", example = "10")
+            @RequestParam(defaultValue = "10") int limit) {
+        LocalDateTime start = from != null ? from : LocalDateTime.now();
+        LocalDateTime end = to != null ? to : start.plusWeeks(1);
+        return ResponseEntity.ok(dispatchService.rankTechnicians(panneId, Duration.ofMinutes(minutes), start, end, limit));
+    }
+
+    @PostMapping("/pannes/{panneId}/dispatch")
+    @Operation(summary = "HelpDesk: Dispatch a pending panne to the best technician",
+            description = "Creates an intervention for the panne, booked on the best-ranked technician's first free period (see the candidates endpoint), and adds it to their nbrPanne, in one transaction. Requires HELPDESK role.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Intervention created",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = InterventionDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Panne not pending or already dispatched, invalid window, or no technician free", content = @Content),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - User not logged in", content = @Content),
+            @ApiResponse(responseCode = "403", description = "Forbidden - User does not have HELPDESK role", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Panne not found", content = @Content),
+            @ApiResponse(responseCode = "503", description = "Schedule indexes still loading, retry later", content = @Content),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content)
+    })
+    public ResponseEntity<InterventionDTO> dispatchPanne(
+            @Parameter(description = "Unique ID of the pending panne", required = true, example = "523e4567-e89b-12d3-a456-426614174004")
+            @PathVariable UUID panneId,
+            @Parameter(description = "Expected length of the intervention in minutes", example = "120")
+            @RequestParam(defaultValue = "120") int minutes,
+            @Parameter(description = "Optional: start of the window (ISO date-time); defaults to now", example = "2025-01-07T08:00:00")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "Optional: end of the window (ISO date-time, exclusive); defaults to a week after from", example = "2025-01-14T08:00:00")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        LocalDateTime start = from != null ? from : LocalDateTime.now();
+        LocalDateTime end = to != null ? to : start.plusWeeks(1);
+        return new ResponseEntity<>(dispatchService.dispatch(panneId, Duration.ofMinutes(minutes), start, end), HttpStatus.CREATED);
+    }
+
+    @PostMapping("/pannes/dispatch")
+    @Operation(summary = "HelpDesk: Dispatch the backlog of pending pannes",
+            description = "Assigns pending pannes without an intervention, oldest first, each to the best technician given the assignments made before it in the same pass, then creates the interventions in chunks, each committed on its own. The response reports, for every panne of the pass, either the created intervention or why it was not dispatched. Requires HELPDESK role.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Backlog processed, see the per-panne results",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = BulkCreateResult.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid window or size", content = @Content),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - User not logged in", content = @Content),
+            @ApiResponse(responseCode = "403", description = "Forbidden - User does not have HELPDESK role", content = @Content),
+            @ApiResponse(responseCode = "503", description = "Schedule indexes still loading, retry later", content = @Content),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content)
+    })
+    public ResponseEntity<BulkCreateResult<InterventionDTO>> dispatchBacklog(
+            @Parameter(description = "Expected length of each intervention in minutes", example = "120")
+            @RequestParam(defaultValue = "120") int minutes,
+            @Parameter(description = "Optional: start of the window (ISO date-time); defaults to now", example = "2025-01-07T08:00:00")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "Optional: end of the window (ISO date-time, exclusive); defaults to a week after from", example = "2025-01-14T08:00:00")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @Parameter(description = "Pannes to take from the backlog at most, capped at app.dispatch.max-backlog", example = "1000")
+            @RequestParam(defaultValue = "1000") int max) {
+        LocalDateTime start = from != null ? from : LocalDateTime.now();
+        LocalDateTime end = to != null ? to : start.plusWeeks(1);
+        return ResponseEntity.ok(dispatchService.dispatchBacklog(Duration.ofMinutes(minutes), start, end, max));
+    }
+
     // == View Interventions ==
     @GetMapping("/interventions")
     @Operation(summary = "HelpDesk: Get all interventions (potentially filtered)",
@@ -131,20 +244,64 @@ public class HelpDeskController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "List of interventions retrieved",
                     content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
-                            array = @ArraySchema(schema = @Schema(implementation = InterventionDTO.class)))),
+                            schema = @Schema(implementation = CursorPage.class))),
             @ApiResponse(responseCode = "401", description = "Unauthorized - User not logged in", content = @Content),
             @ApiResponse(responseCode = "403", description = "Forbidden - User does not have HELPDESK role", content = @Content),
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = @Content)
     })
-    public ResponseEntity<List<InterventionDTO>> getAllInterventions(
+    public ResponseEntity<CursorPage<InterventionDTO>> getAllInterventions(
             @Parameter(description = "Optional: Filter interventions by status", required = false, example = "PENDING")
-            @RequestParam(required = false) String status) {
+            @RequestParam(required = false) String status,
+            @Parameter(description = "Opaque cursor from the previous page's nextCursor; omit for the first page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, capped at " + CursorPage.MAX_PAGE_SIZE, example = "50")
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_PAGE_SIZE) int size) {
         // TODO: Implement filtering logic in InterventionService based on status
-        List<InterventionDTO> interventions = interventionService.getAllInterventions(); // Currently unfiltered
+        CursorPage<InterventionDTO> interventions = interventionService.getInterventionsPage(cursor, size); // Currently unfiltered
         return ResponseEntity.ok(interventions);
     }
 
+    // == Export Interventions (BI) ==
+    @GetMapping(value = "/interventions/export", produces = NDJSON_VALUE)
+    @Operation(summary = "HelpDesk: Export intervention history as NDJSON",
+            description = "Streams every intervention matching the optional filters as newline-delimited JSON, one InterventionDTO per line, oldest first. Rows are written as they are read, so the export size is not bounded by server memory. Requires HELPDESK role.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Export stream started",
+                    content = @Content(mediaType = NDJSON_VALUE, schema = @Schema(implementation = InterventionDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid date range (from must be before to)", content = @Content),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - User not logged in", content = @Content),
+            @ApiResponse(responseCode = "403", description = "Forbidden - User does not have HELPDESK role", content = @Content)
+    })
+    public ResponseEntity<StreamingResponseBody> exportInterventions(
+            @Parameter(description = "Optional: only interventions starting at or after this time", example = "2025-01-01T00:00:00")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "Optional: only interventions starting before this time", example = "2025-02-01T00:00:00")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @Parameter(description = "Optional: only interventions assigned to this technician (TechnicianInfo ID)")
+            @RequestParam(required = false) UUID technicianId) {
+        // Checked here as well: once streaming starts the status line is already sent
+        if (from != null && to != null && !from.isBefore(to)) {
+            return ResponseEntity.badRequest().build();
+        }
+        ObjectWriter rowWriter = objectMapper.writerFor(InterventionDTO.class);
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                long rows = interventionService.exportInterventions(from, to, technicianId, dto -> {
+                    try {
+                        rowWriter.writeValue(generator, dto);
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e); // Client went away: abort the query
+                    }
+                });
+                log.debug("Exported {} interventions", rows);
+            }
+        };
+        return ResponseEntity.ok().contentType(NDJSON).body(body);
+    }
+
     @GetMapping("/interventions/{id}")
     @Operation(summary = "HelpDesk: Get a specific intervention",
             description = "Retrieves details of a specific intervention by its unique ID. Requires HELPDESK role.")
@@ -199,17 +356,21 @@ public class HelpDeskController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "List of availability slots retrieved",
                     content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
-                            array = @ArraySchema(schema = @Schema(implementation = DisponibiliteDTO.class)))),
+                            schema = @Schema(implementation = CursorPage.class))),
             @ApiResponse(responseCode = "401", description = "Unauthorized - User not logged in", content = @Content),
             @ApiResponse(responseCode = "403", description = "Forbidden - User does not have HELPDESK role", content = @Content),
             @ApiResponse(responseCode = "500", description = "Internal server error",
                     content = @Content)
     })
-    public ResponseEntity<List<DisponibiliteDTO>> getTechnicianAvailability(
+    public ResponseEntity<CursorPage<DisponibiliteDTO>> getTechnicianAvailability(
             @Parameter(description = "Optional: Filter availability by a specific technician's ID", required = false, example = "723e4567-e89b-12d3-a456-426614174006")
-            @RequestParam(required = false) UUID technicianId) {
+            @RequestParam(required = false) UUID technicianId,
+            @Parameter(description = "Opaque cursor from the previous page's nextCursor; omit for the first page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, capped at " + CursorPage.MAX_PAGE_SIZE, example = "50")
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_PAGE_SIZE) int size) {
         // TODO: Implement filtering logic in DisponibiliteService based on technicianId
-        List<DisponibiliteDTO> dispos = disponibiliteService.getAllDisponibilites(); // Currently unfiltered
+        CursorPage<DisponibiliteDTO> dispos = disponibiliteService.getDisponibilitesPage(cursor, size); // Currently unfiltered
         return ResponseEntity.ok(dispos);
     }
 
@@ -233,6 +394,49 @@ public class HelpDeskController {
         return new ResponseEntity<>(disponibiliteService.createDisponibilite(dto), HttpStatus.CREATED);
     }
 
+    @PostMapping("/technicians/availability/bulk")
+    @Operation(summary = "HelpDesk: Create availability slots in bulk",
+            description = "Creates many availability slots in one call; slots must not overlap each other or existing slots of the same technician. Items are validated and inserted in chunks, each committed on its own; the response reports, for every item in request order, either the created record or why it was rejected. Requires HELPDESK role.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Bulk request processed, see the per-item results",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = BulkCreateResult.class))),
+            @ApiResponse(responseCode = "400", description = "Empty request or more items than app.bulk.max-items", content = @Content),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content)
+    })
+    public ResponseEntity<BulkCreateResult<DisponibiliteDTO>> createAvailabilities(
+            @Parameter(description = "The disponibilite records to create", required = true)
+            @RequestBody List<DisponibiliteDTO> dtos) {
+        return ResponseEntity.ok(disponibiliteService.createDisponibilites(dtos));
+    }
+
+    @GetMapping("/technicians/availability/free-slots")
+    @Operation(summary = "HelpDesk: Find technicians free for a job",
+            description = "Finds technicians with an availability slot and no intervention for `minutes` consecutive minutes within [from, to), and returns the earliest such start per technician, earliest first. Requires HELPDESK role.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Free slots found (possibly none)",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = FreeSlotDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid duration, window or limit", content = @Content),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - User not logged in", content = @Content),
+            @ApiResponse(responseCode = "403", description = "Forbidden - User does not have HELPDESK role", content = @Content),
+            @ApiResponse(responseCode = "503", description = "Schedule indexes still loading, retry later", content = @Content),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content)
+    })
+    public ResponseEntity<List<FreeSlotDTO>> findFreeSlots(
+            @Parameter(description = "Length of the job in minutes", required = true, example = "120")
+            @RequestParam int minutes,
+            @Parameter(description = "Optional: start of the search window (ISO date-time); defaults to now", example = "2025-01-07T08:00:00")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "Optional: end of the search window (ISO date-time, exclusive); defaults to a week after from", example = "2025-01-07T12:00:00")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @Parameter(description = "How many technicians to return at most", example = "10")
+            @RequestParam(defaultValue = "10") int limit) {
+        LocalDateTime start = from != null ? from : LocalDateTime.now();
+        LocalDateTime end = to != null ? to : start.plusWeeks(1);
+        return ResponseEntity.ok(disponibiliteService.findFreeSlots(Duration.ofMinutes(minutes), start, end, limit));
+    }
+
     @DeleteMapping("/technicians/availability/{id}")
     @Operation(summary = "HelpDesk: Delete an availability slot",
             description = "Deletes a specific availability slot by its unique ID. Requires HELPDESK role.")
@@ -252,4 +456,133 @@ public class HelpDeskController {
         disponibiliteService.deleteDisponibilite(id);
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+
+    @PostMapping("/technicians/availability/rules")
+    @Operation(summary = "HelpDesk: Create a weekly availability rule for a technician",
+            description = "Records a shift the technician works every week on `jourSemaine`, from `dateDebut` until `dateFin` (inclusive, or until further notice when omitted). A `heureFin` not after `heureDebut` ends the next day. Rules become availability slots when expanded (see `/technicians/availability/rules/expand`). Requires HELPDESK role.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Rule created",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = DisponibiliteRuleDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Missing day or times, equal times, or end date before start date", content = @Content),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - User not logged in", content = @Content),
+            @ApiResponse(responseCode = "403", description = "Forbidden - User does not have HELPDESK role", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Technician not found", content = @Content),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content)
+    })
+    public ResponseEntity<DisponibiliteRuleDTO> createAvailabilityRule(
+            @Parameter(description = "The rule to create. Must include `technicianInfoId`.", required = true, schema = @Schema(implementation = DisponibiliteRuleDTO.class))
+            @RequestBody DisponibiliteRuleDTO dto) {
+        return new ResponseEntity<>(disponibiliteRuleService.createRule(dto), HttpStatus.CREATED);
+    }
+
+    @GetMapping("/technicians/{technicianId}/availability/rules")
+    @Operation(summary = "HelpDesk: View a technician's weekly availability rules",
+            description = "Lists the technician's rules by day of week and start time. Requires HELPDESK role.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Rules retrieved (possibly none)",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = DisponibiliteRuleDTO.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - User not logged in", content = @Content),
+            @ApiResponse(responseCode = "403", description = "Forbidden - User does not have HELPDESK role", content = @Content),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content)
+    })
+    public ResponseEntity<List<DisponibiliteRuleDTO>> getAvailabilityRules(
+            @Parameter(description = "Unique ID of the technician", required = true, example = "723e4567-e89b-12d3-a456-426614174006")
+            @PathVariable UUID technicianId) {
+        return ResponseEntity.ok(disponibiliteRuleService.getRulesByTechnician(technicianId));
+    }
+
+    @DeleteMapping("/technicians/availability/rules/{id}")
+    @Operation(summary = "HelpDesk: Delete a weekly availability rule",
+            description = "Deletes the rule; slots already expanded from it are kept. Requires HELPDESK role.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Rule deleted successfully", content = @Content),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - User not logged in", content = @Content),
+            @ApiResponse(responseCode = "403", description = "Forbidden - User does not have HELPDESK role", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Rule not found with the given ID", content = @Content),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content)
+    })
+    public ResponseEntity<Void> deleteAvailabilityRule(
+            @Parameter(description = "Unique ID of the rule to delete", required = true)
+            @PathVariable UUID id) {
+        disponibiliteRuleService.deleteRule(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/technicians/availability/exclusions")
+    @Operation(summary = "HelpDesk: Record a day off for a technician",
+            description = "No shift of the technician's weekly rules starting on `jour` is expanded (leave, public holiday...). Slots already expanded for that day are not removed. Requires HELPDESK role.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Exception recorded",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = DisponibiliteExclusionDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Missing day, or the technician already has an exception that day", content = @Content),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - User not logged in", content = @Content),
+            @ApiResponse(responseCode = "403", description = "Forbidden - User does not have HELPDESK role", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Technician not found", content = @Content),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content)
+    })
+    public ResponseEntity<DisponibiliteExclusionDTO> createAvailabilityExclusion(
+            @Parameter(description = "The day off. Must include `technicianInfoId`.", required = true, schema = @Schema(implementation = DisponibiliteExclusionDTO.class))
+            @RequestBody DisponibiliteExclusionDTO dto) {
+        return new ResponseEntity<>(disponibiliteRuleService.createExclusion(dto), HttpStatus.CREATED);
+    }
+
+    @GetMapping("/technicians/{technicianId}/availability/exclusions")
+    @Operation(summary = "HelpDesk: View a technician's days off",
+            description = "Lists the days on which the technician's weekly rules are not expanded, earliest first. Requires HELPDESK role.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Days off retrieved (possibly none)",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = DisponibiliteExclusionDTO.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - User not logged in", content = @Content),
+            @ApiResponse(responseCode = "403", description = "Forbidden - User does not have HELPDESK role", content = @Content),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content)
+    })
+    public ResponseEntity<List<DisponibiliteExclusionDTO>> getAvailabilityExclusions(
+            @Parameter(description = "Unique ID of the technician", required = true, example = "723e4567-e89b-12d3-a456-426614174006")
+            @PathVariable UUID technicianId) {
+        return ResponseEntity.ok(disponibiliteRuleService.getExclusionsByTechnician(technicianId));
+    }
+
+    @DeleteMapping("/technicians/availability/exclusions/{id}")
+    @Operation(summary = "HelpDesk: Delete a day off",
+            description = "The day is expanded again by the next expansion run. Requires HELPDESK role.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Day off deleted successfully", content = @Content),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - User not logged in", content = @Content),
+            @ApiResponse(responseCode = "403", description = "Forbidden - User does not have HELPDESK role", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Day off not found with the given ID", content = @Content),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content)
+    })
+    public ResponseEntity<Void> deleteAvailabilityExclusion(
+            @Parameter(description = "Unique ID of the day off to delete", required = true)
+            @PathVariable UUID id) {
+        disponibiliteRuleService.deleteExclusion(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/technicians/availability/rules/expand")
+    @Operation(summary = "HelpDesk: Expand weekly rules into availability slots",
+            description = "Runs the rule expansion batch job over the days [from, to): every rule occurrence that is not on a day off and overlaps neither an existing slot of the technician nor another occurrence becomes an availability slot. Technicians are processed in chunks, each committed on its own; running it again over the same days creates nothing new. Answers once the job is done with how many slots were created and skipped. Requires HELPDESK role.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Job finished; `status` is COMPLETED, or FAILED with the chunks committed so far",
+                    content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = RuleExpansionDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Empty or too long window", content = @Content),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - User not logged in", content = @Content),
+            @ApiResponse(responseCode = "403", description = "Forbidden - User does not have HELPDESK role", content = @Content),
+            @ApiResponse(responseCode = "409", description = "Another expansion is running", content = @Content),
+            @ApiResponse(responseCode = "500", description = "Internal server error",
+                    content = @Content)
+    })
+    public ResponseEntity<RuleExpansionDTO> expandAvailabilityRules(
+            @Parameter(description = "Optional: first day to expand (ISO date); defaults to today", example = "2025-01-06")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Optional: day after the last one to expand (ISO date); defaults to app.disponibilite-rules.horizon-days after from", example = "2025-04-07")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(disponibiliteRuleService.expandRules(from, to));
+    }
+}
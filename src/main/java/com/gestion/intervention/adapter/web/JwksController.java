@@ -0,0 +1,35 @@
+package com.gestion.intervention.adapter.web;
+
+import com.gestion.intervention.kernel.security.jwt.JwtKeyRing;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@RestController
+@RequiredArgsConstructor
+@Tag(name = "Authentication", description = "Endpoints for user authentication")
+public class JwksController {
+
+    private final JwtKeyRing keyRing;
+
+    @GetMapping("/.well-known/jwks.json")
+    @Operation(summary = "JSON Web Key Set", description = "Public keys used to verify access tokens when an asymmetric signing algorithm (e.g. ES256) is configured. Empty with HMAC signing.")
+    @ApiResponse(responseCode = "200", description = "Key set returned")
+    public ResponseEntity<Map<String, List<Map<String, Object>>>> jwks() {
+        // Keys only change on redeploy; let verifiers cache the set instead of fetching it per token
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(5, TimeUnit.MINUTES).cachePublic())
+                .body(Map.of("keys", keyRing.jsonWebKeys()));
+    }
+}
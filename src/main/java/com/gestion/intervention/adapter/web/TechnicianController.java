@@ -1,5 +1,6 @@
 package com.gestion.intervention.adapter.web;
 
+import com.gestion.intervention.application.common.record.CursorPage;
 import com.gestion.intervention.application.intervention.record.InterventionDTO;
 import com.gestion.intervention.application.intervention.service.InterventionService;
 import com.gestion.intervention.application.panne.record.PanneDTO;
@@ -13,7 +14,6 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
-import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -135,20 +135,24 @@ public class TechnicianController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "List of assigned interventions retrieved (currently unfiltered)",
                     content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
-                            array = @ArraySchema(schema = @Schema(implementation = InterventionDTO.class)))),
+                            schema = @Schema(implementation = CursorPage.class))),
             @ApiResponse(responseCode = "401", description = "Unauthorized - Technician not logged in", content = @Content),
             @ApiResponse(responseCode = "403", description = "Forbidden - User does not have TECHNICIAN role", content = @Content),
             @ApiResponse(responseCode = "500", description = "Internal server error (e.g., error mapping user to technician)",
                     content = @Content)
     })
-    public ResponseEntity<List<InterventionDTO>> getMyAssignedInterventions() {
+    public ResponseEntity<CursorPage<InterventionDTO>> getMyAssignedInterventions(
+            @Parameter(description = "Opaque cursor from the previous page's nextCursor; omit for the first page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size, capped at " + CursorPage.MAX_PAGE_SIZE, example = "50")
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_PAGE_SIZE) int size) {
         // UUID technicianUserId = getCurrentUserId(); // Get current technician's *user* ID
         // Find TechnicianInfo ID based on user ID
         // UUID technicianInfoId = technicianInfoService.findInfoIdByUserId(technicianUserId); // Requires service method
-        // List<InterventionDTO> interventions = interventionService.getInterventionsByTechnician(technicianInfoId); // Requires service method
+        // CursorPage<InterventionDTO> interventions = interventionService.getInterventionsByTechnician(technicianInfoId); // Requires service method
 
         // Placeholder: returning all for now, needs filtering
-        List<InterventionDTO> interventions = interventionService.getAllInterventions();
+        CursorPage<InterventionDTO> interventions = interventionService.getInterventionsPage(cursor, size);
         return ResponseEntity.ok(interventions);
     }
 
@@ -0,0 +1,11 @@
+package com.gestion.intervention.application.common.record;
+
+import java.util.List;
+
+/** Per-item results of a bulk create, in request order, with the totals. */
+public record BulkCreateResult<T>(int created, int rejected, List<BulkItemResult<T>> items) {
+    public static <T> BulkCreateResult<T> of(List<BulkItemResult<T>> items) {
+        int created = (int) items.stream().filter(BulkItemResult::isCreated).count();
+        return new BulkCreateResult<>(created, items.size() - created, items);
+    }
+}
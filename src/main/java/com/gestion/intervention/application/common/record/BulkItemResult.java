@@ -0,0 +1,19 @@
+package com.gestion.intervention.application.common.record;
+
+/**
+ * Outcome of one item of a bulk request: {@code index} is its position in the request, {@code created} the stored
+ * record, or {@code error} the reason it was not stored.
+ */
+public record BulkItemResult<T>(int index, T created, String error) {
+    public static <T> BulkItemResult<T> created(int index, T created) {
+        return new BulkItemResult<>(index, created, null);
+    }
+
+    public static <T> BulkItemResult<T> rejected(int index, String error) {
+        return new BulkItemResult<>(index, null, error);
+    }
+
+    public boolean isCreated() {
+        return error == null;
+    }
+}
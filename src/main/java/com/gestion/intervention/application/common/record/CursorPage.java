@@ -0,0 +1,84 @@
+package com.gestion.intervention.application.common.record;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated collection.
+ * <p>
+ * Pages are ordered by id: ids are UUIDv7, so that is creation order, and the seek
+ * ({@code WHERE id > :after ORDER BY id LIMIT n}) walks the primary key index. Every page costs the same however
+ * deep the client is. The cursor is the last id of the page, base64url encoded; clients pass it back as is.
+ * {@code nextCursor} is null on the last page.
+ */
+public record CursorPage<T>(List<T> items, String nextCursor) {
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+
+    /** Seek position before the first row: every id sorts after the nil UUID. */
+    private static final UUID START = new UUID(0L, 0L);
+
+    /** Id to seek after; null or blank means the first page. */
+    public static UUID after(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return START;
+        }
+        try {
+            ByteBuffer bytes = ByteBuffer.wrap(Base64.getUrlDecoder().decode(cursor));
+            if (bytes.remaining() != 16) {
+                throw new InvalidCursorException(cursor);
+            }
+            return new UUID(bytes.getLong(), bytes.getLong());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+
+    /** Rows to fetch: one more than the page size, to know whether another page follows. Sizes below 1 are rejected. */
+    public static Limit fetchLimit(int pageSize) {
+        return Limit.of(clamp(pageSize) + 1);
+    }
+
+    /** Builds the page from rows fetched with {@link #fetchLimit(int)}. */
+    public static <T> CursorPage<T> of(List<T> rows, int pageSize, Function<T, UUID> idOf) {
+        int size = clamp(pageSize);
+        if (rows.size() <= size) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, size);
+        UUID last = idOf.apply(items.get(size - 1));
+        byte[] cursor = ByteBuffer.allocate(16)
+                .putLong(last.getMostSignificantBits())
+                .putLong(last.getLeastSignificantBits())
+                .array();
+        return new CursorPage<>(List.copyOf(items), Base64.getUrlEncoder().withoutPadding().encodeToString(cursor));
+    }
+
+    private static int clamp(int pageSize) {
+        if (pageSize < 1) {
+            throw new InvalidPageSizeException(pageSize);
+        }
+        return Math.min(pageSize, MAX_PAGE_SIZE);
+    }
+
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public static class InvalidCursorException extends IllegalArgumentException {
+        public InvalidCursorException(String cursor) {
+            super("Invalid page cursor: " + cursor);
+        }
+    }
+
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public static class InvalidPageSizeException extends IllegalArgumentException {
+        public InvalidPageSizeException(int size) {
+            super("Page size must be at least 1, got " + size);
+        }
+    }
+}
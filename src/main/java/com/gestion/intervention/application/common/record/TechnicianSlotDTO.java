@@ -0,0 +1,12 @@
+package com.gestion.intervention.application.common.record;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/** A period of one technician's time (a booked intervention, an availability window), as held by the in-memory indexes. */
+public record TechnicianSlotDTO(
+        UUID id,
+        UUID technicianId,
+        LocalDateTime debut,
+        LocalDateTime fin
+) {}
@@ -0,0 +1,111 @@
+package com.gestion.intervention.application.common.service;
+
+import com.gestion.intervention.application.common.record.BulkCreateResult;
+import com.gestion.intervention.application.common.record.BulkItemResult;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Inserts a bulk request in chunks of {@code app.bulk.chunk-size} items, one transaction per chunk.
+ * <p>
+ * Each chunk is validated as a whole by a {@link ChunkValidator} (in memory, plus whatever set-based lookups it
+ * needs), the accepted entities are persisted and flushed together, which Hibernate sends as JDBC batches
+ * ({@code hibernate.jdbc.batch_size}), and the persistence context is cleared before the next chunk. A chunk that
+ * fails in the database is rolled back and reported item by item; chunks already committed stay committed.
+ */
+@Component
+public class ChunkedInserter {
+    private static final Logger log = LoggerFactory.getLogger(ChunkedInserter.class);
+
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final int chunkSize;
+    private final int maxItems;
+
+    public ChunkedInserter(TransactionTemplate transactionTemplate,
+                           EntityManager entityManager,
+                           @Value("${app.bulk.chunk-size:1000}") int chunkSize,
+                           @Value("${app.bulk.max-items:50000}") int maxItems) {
+        this.transactionTemplate = transactionTemplate;
+        this.entityManager = entityManager;
+        this.chunkSize = chunkSize;
+        this.maxItems = maxItems;
+    }
+
+    /** Verdict on one item of a chunk: the entity to insert, or why it was rejected. */
+    public record Checked<E>(E entity, String error) {
+        public static <E> Checked<E> accept(E entity) {
+            return new Checked<>(entity, null);
+        }
+
+        public static <E> Checked<E> reject(String error) {
+            return new Checked<>(null, error);
+        }
+    }
+
+    @FunctionalInterface
+    public interface ChunkValidator<I, E> {
+        /** One verdict per item, in the same order. Runs inside the chunk's transaction. */
+        List<Checked<E>> check(List<I> chunk);
+    }
+
+    public <I, E, R> BulkCreateResult<R> insert(List<I> items, ChunkValidator<I, E> validator, Function<E, R> toResult) {
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("A bulk request needs at least one item.");
+        }
+        if (items.size() > maxItems) {
+            throw new IllegalArgumentException("A bulk request takes at most " + maxItems + " items, got " + items.size() + ".");
+        }
+        List<BulkItemResult<R>> results = new ArrayList<>(items.size());
+        for (int from = 0; from < items.size(); from += chunkSize) {
+            List<I> chunk = items.subList(from, Math.min(from + chunkSize, items.size()));
+            int offset = from;
+            try {
+                results.addAll(transactionTemplate.execute(status -> insertChunk(chunk, offset, validator, toResult)));
+            } catch (DataAccessException | PersistenceException failure) {
+                // The flush goes through the raw EntityManager, out of reach of repository exception translation
+                DataAccessException e = failure instanceof PersistenceException persistence
+                        ? EntityManagerFactoryUtils.convertJpaAccessExceptionIfPossible(persistence)
+                        : (DataAccessException) failure;
+                log.warn("Bulk insert chunk [{}, {}) rolled back: {}", offset, offset + chunk.size(), e.getMostSpecificCause().getMessage());
+                for (int i = 0; i < chunk.size(); i++) {
+                    results.add(BulkItemResult.rejected(offset + i, "Chunk rolled back: " + e.getMostSpecificCause().getMessage()));
+                }
+            }
+        }
+        return BulkCreateResult.of(results);
+    }
+
+    private <I, E, R> List<BulkItemResult<R>> insertChunk(List<I> chunk, int offset, ChunkValidator<I, E> validator, Function<E, R> toResult) {
+        // Bulk loads should not push the hot entries out of the second-level cache
+        entityManager.unwrap(Session.class).setCacheMode(CacheMode.IGNORE);
+
+        List<Checked<E>> verdicts = validator.check(chunk);
+        List<BulkItemResult<R>> results = new ArrayList<>(chunk.size());
+        for (int i = 0; i < verdicts.size(); i++) {
+            Checked<E> verdict = verdicts.get(i);
+            if (verdict.error() != null) {
+                results.add(BulkItemResult.rejected(offset + i, verdict.error()));
+            } else {
+                entityManager.persist(verdict.entity()); // Ids are generated in memory (UUIDv7), nothing is sent yet
+                results.add(BulkItemResult.created(offset + i, toResult.apply(verdict.entity())));
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return results;
+    }
+}
@@ -0,0 +1,318 @@
+package com.gestion.intervention.application.common.service;
+
+import com.gestion.intervention.application.common.record.TechnicianSlotDTO;
+import com.gestion.intervention.kernel.persistence.routing.ReadYourWrites;
+import com.gestion.intervention.kernel.schedule.IntervalTree;
+import com.gestion.intervention.kernel.schedule.IntervalTree.IntervalConsumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * In-memory copy of one kind of per-technician slot, one {@link IntervalTree} per technician, kept in step with the
+ * database. Subclasses say where the rows come from.
+ * <p>
+ * The index is loaded once the application is ready and is not {@link #isReady() ready} before. Writes reach it
+ * after their transaction commits ({@link #recordAfterCommit}), so rolled back writes never do. Every
+ * {@code app.schedule-index.verify-interval} the index is compared with the database and technicians that drifted
+ * are reloaded.
+ * <p>
+ * Reads go to the primary even when read-only transactions are routed to a replica: a lagging replica would leave
+ * rows out of the index.
+ */
+public abstract class TechnicianSlotIndex {
+    private final Logger log = LoggerFactory.getLogger(getClass());
+
+    private final String name;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean enabled;
+
+    private final Map<UUID, TechnicianSlots> slotsByTechnician = new ConcurrentHashMap<>();
+    private final Map<UUID, UUID> technicianBySlot = new ConcurrentHashMap<>();
+    private final List<Consumer<UUID>> listeners = new CopyOnWriteArrayList<>();
+
+    // While the initial load runs, committed writes are recorded here so the (older) loaded rows do not overwrite them
+    private final Object loadLock = new Object();
+    private volatile Set<UUID> touchedDuringLoad;
+    private volatile boolean ready;
+
+    protected TechnicianSlotIndex(String name, PlatformTransactionManager transactionManager, boolean enabled) {
+        this.name = name;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.enabled = enabled;
+    }
+
+    /** Every slot, grouped by technician; closed by the caller inside a transaction. */
+    protected abstract Stream<TechnicianSlotDTO> streamSlots();
+
+    protected abstract List<TechnicianSlotDTO> findSlotsByTechnician(UUID technicianId);
+
+    private record Slot(long start, long end) {
+        static Slot of(TechnicianSlotDTO slot) {
+            return new Slot(toMicros(slot.debut()), toMicros(slot.fin()));
+        }
+    }
+
+    /** One technician's slots; every access holds its monitor. */
+    private static final class TechnicianSlots {
+        final IntervalTree<UUID> tree = new IntervalTree<>();
+        final Map<UUID, Slot> slots = new HashMap<>();
+
+        void put(UUID slotId, Slot slot) {
+            remove(slotId);
+            tree.insert(slot.start(), slot.end(), slotId);
+            slots.put(slotId, slot);
+        }
+
+        void remove(UUID slotId) {
+            Slot slot = slots.remove(slotId);
+            if (slot != null) {
+                tree.remove(slot.start(), slotId);
+            }
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /** True if the technician has a slot other than {@code excludedSlotId} intersecting {@code [debut, fin)}. */
+    protected boolean overlaps(UUID technicianId, LocalDateTime debut, LocalDateTime fin, UUID excludedSlotId) {
+        TechnicianSlots slots = slotsByTechnician.get(technicianId);
+        if (slots == null) {
+            return false;
+        }
+        synchronized (slots) {
+            return slots.tree.overlaps(toMicros(debut), toMicros(fin), excludedSlotId);
+        }
+    }
+
+    /**
+     * The technician's slots intersecting {@code [from, to)}, in start order, bounds in epoch microseconds (UTC).
+     * The technician's slots are locked meanwhile: keep the consumer short.
+     */
+    public void forEachOverlapping(UUID technicianId, long fromMicros, long toMicros, IntervalConsumer<UUID> consumer) {
+        TechnicianSlots slots = slotsByTechnician.get(technicianId);
+        if (slots != null) {
+            synchronized (slots) {
+                slots.tree.forEachOverlapping(fromMicros, toMicros, consumer);
+            }
+        }
+    }
+
+    /** Technicians that have, or once had, a slot in the index. */
+    public Set<UUID> technicianIds() {
+        return slotsByTechnician.keySet();
+    }
+
+    /** Called with the technician's id after any of their slots changed in the index. */
+    public void addListener(Consumer<UUID> listener) {
+        listeners.add(listener);
+    }
+
+    /** Puts the slot in the index, or takes {@code slotId} out when {@code slot} is null, once the current transaction commits. */
+    protected void recordAfterCommit(UUID slotId, TechnicianSlotDTO slot) {
+        afterCommit(() -> apply(slotId, slot));
+    }
+
+    public void removeAfterCommit(UUID slotId) {
+        afterCommit(() -> apply(slotId, null));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            log.info("{} is disabled", name);
+            return;
+        }
+        long started = System.nanoTime();
+        int[] loaded = {0};
+        touchedDuringLoad = ConcurrentHashMap.newKeySet();
+        try (ReadYourWrites.Scope primary = ReadYourWrites.open()) {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<TechnicianSlotDTO> slots = streamSlots()) {
+                    slots.forEach(slot -> {
+                        synchronized (loadLock) {
+                            if (!touchedDuringLoad.contains(slot.id())) {
+                                applyNow(slot.id(), slot);
+                            }
+                        }
+                        loaded[0]++;
+                    });
+                }
+            });
+            ready = true;
+            log.info("{} loaded {} slots of {} technicians in {} ms",
+                    name, loaded[0], slotsByTechnician.size(), (System.nanoTime() - started) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.error("{} could not be loaded, it stays unavailable", name, e);
+        } finally {
+            synchronized (loadLock) {
+                touchedDuringLoad = null;
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.schedule-index.verify-interval:PT15M}",
+            initialDelayString = "${app.schedule-index.verify-interval:PT15M}")
+    public void verify() {
+        checkConsistency();
+    }
+
+    /**
+     * Compares the index with the database, technician by technician, and reloads those that differ. A write
+     * committed while the check runs can show up as a difference; reloading is harmless then. Returns the number of
+     * technicians reloaded.
+     */
+    public int checkConsistency() {
+        if (!ready) {
+            return 0;
+        }
+        Set<UUID> drifted = new HashSet<>();
+        Set<UUID> inDatabase = new HashSet<>();
+        try (ReadYourWrites.Scope primary = ReadYourWrites.open()) {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<TechnicianSlotDTO> slots = streamSlots()) {
+                    // Rows come grouped by technician: compare each group as soon as it is complete
+                    UUID technicianId = null;
+                    Map<UUID, Slot> expected = new HashMap<>();
+                    for (TechnicianSlotDTO slot : (Iterable<TechnicianSlotDTO>) slots::iterator) {
+                        if (!slot.technicianId().equals(technicianId)) {
+                            if (technicianId != null && !matches(technicianId, expected)) {
+                                drifted.add(technicianId);
+                            }
+                            technicianId = slot.technicianId();
+                            inDatabase.add(technicianId);
+                            expected = new HashMap<>();
+                        }
+                        expected.put(slot.id(), Slot.of(slot));
+                    }
+                    if (technicianId != null && !matches(technicianId, expected)) {
+                        drifted.add(technicianId);
+                    }
+                }
+            });
+        }
+        slotsByTechnician.forEach((technicianId, slots) -> {
+            if (!inDatabase.contains(technicianId) && !matches(technicianId, Map.of())) {
+                drifted.add(technicianId);
+            }
+        });
+        if (!drifted.isEmpty()) {
+            log.warn("{} differed from the database for {} technicians, reloading them", name, drifted.size());
+            drifted.forEach(this::reload);
+        }
+        return drifted.size();
+    }
+
+    private boolean matches(UUID technicianId, Map<UUID, Slot> expected) {
+        TechnicianSlots slots = slotsByTechnician.get(technicianId);
+        if (slots == null) {
+            return expected.isEmpty();
+        }
+        synchronized (slots) {
+            return slots.slots.equals(expected);
+        }
+    }
+
+    private void reload(UUID technicianId) {
+        TechnicianSlots slots = slotsByTechnician.computeIfAbsent(technicianId, id -> new TechnicianSlots());
+        synchronized (slots) { // Commits for this technician wait and are applied on top of the reloaded state
+            List<TechnicianSlotDTO> rows = ReadYourWrites.call(() ->
+                    readOnlyTransaction.execute(status -> findSlotsByTechnician(technicianId)));
+            for (UUID slotId : slots.slots.keySet()) {
+                technicianBySlot.remove(slotId, technicianId);
+            }
+            slots.slots.clear();
+            slots.tree.clear();
+            for (TechnicianSlotDTO row : rows) {
+                slots.put(row.id(), Slot.of(row));
+                technicianBySlot.put(row.id(), technicianId);
+            }
+        }
+        notifyChanged(technicianId);
+    }
+
+    private static void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+
+    private void apply(UUID slotId, TechnicianSlotDTO slot) {
+        if (!enabled) {
+            return;
+        }
+        if (touchedDuringLoad == null) {
+            applyNow(slotId, slot);
+            return;
+        }
+        synchronized (loadLock) {
+            if (touchedDuringLoad != null) {
+                touchedDuringLoad.add(slotId);
+            }
+            applyNow(slotId, slot);
+        }
+    }
+
+    /** Moves the slot to its technician, or out of the index when {@code slot} is null. */
+    private void applyNow(UUID slotId, TechnicianSlotDTO slot) {
+        UUID previousTechnicianId = slot != null
+                ? technicianBySlot.put(slotId, slot.technicianId())
+                : technicianBySlot.remove(slotId);
+        if (previousTechnicianId != null && (slot == null || !previousTechnicianId.equals(slot.technicianId()))) {
+            TechnicianSlots previous = slotsByTechnician.get(previousTechnicianId);
+            if (previous != null) {
+                synchronized (previous) {
+                    previous.remove(slotId);
+                }
+            }
+            notifyChanged(previousTechnicianId);
+        }
+        if (slot != null) {
+            TechnicianSlots slots = slotsByTechnician.computeIfAbsent(slot.technicianId(), id -> new TechnicianSlots());
+            synchronized (slots) {
+                slots.put(slotId, Slot.of(slot));
+            }
+            notifyChanged(slot.technicianId());
+        }
+    }
+
+    private void notifyChanged(UUID technicianId) {
+        for (Consumer<UUID> listener : listeners) {
+            listener.accept(technicianId);
+        }
+    }
+
+    // Microseconds, the precision of the datetime(6) columns
+    public static long toMicros(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + time.getNano() / 1_000;
+    }
+}
@@ -0,0 +1,11 @@
+package com.gestion.intervention.application.disponibile.record;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+public record DisponibiliteExclusionDTO(
+        UUID id,
+        UUID technicianInfoId,
+        LocalDate jour,
+        String motif
+) {}
@@ -0,0 +1,18 @@
+package com.gestion.intervention.application.disponibile.record;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.UUID;
+
+/** A weekly shift; {@code dateFin} null means until further notice, {@code heureFin <= heureDebut} ends the next day. */
+public record DisponibiliteRuleDTO(
+        UUID id,
+        UUID technicianInfoId,
+        DayOfWeek jourSemaine,
+        LocalTime heureDebut,
+        LocalTime heureFin,
+        LocalDate dateDebut,
+        LocalDate dateFin,
+        String etat
+) {}
@@ -0,0 +1,11 @@
+package com.gestion.intervention.application.disponibile.record;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/** A technician who is available, and not booked, for the whole of {@code [debut, fin)}. */
+public record FreeSlotDTO(
+        UUID technicianId,
+        LocalDateTime debut,
+        LocalDateTime fin
+) {}
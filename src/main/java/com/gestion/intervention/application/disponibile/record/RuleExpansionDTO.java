@@ -0,0 +1,17 @@
+package com.gestion.intervention.application.disponibile.record;
+
+import java.time.LocalDate;
+
+/**
+ * Outcome of one rule expansion run over {@code [from, to)}: slots {@code created}, and occurrences {@code skipped}
+ * because they overlapped an existing slot or an earlier occurrence.
+ */
+public record RuleExpansionDTO(
+        Long jobExecutionId,
+        String status,
+        LocalDate from,
+        LocalDate to,
+        long technicians,
+        long created,
+        long skipped
+) {}
@@ -0,0 +1,94 @@
+package com.gestion.intervention.application.disponibile.service;
+
+import com.gestion.intervention.application.disponibile.record.DisponibiliteDTO;
+import com.gestion.intervention.application.disponibile.record.DisponibiliteRuleDTO;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Turns one technician's weekly rules into concrete slots, and keeps those that fit around the slots the technician
+ * already has. Everything happens in memory on sorted lists: no query per occurrence.
+ */
+public final class DisponibiliteRuleExpander {
+
+    private static final Comparator<DisponibiliteDTO> BY_DEBUT = Comparator.comparing(DisponibiliteDTO::debut)
+            .thenComparing(DisponibiliteDTO::fin);
+
+    private DisponibiliteRuleExpander() {
+    }
+
+    /**
+     * Occurrences of {@code rules} starting on a day of {@code [from, to)} that is within the rule's own dates and not
+     * in {@code exclusions}, sorted by start. Ids are left null.
+     */
+    public static List<DisponibiliteDTO> expand(UUID technicianId, Collection<DisponibiliteRuleDTO> rules,
+                                                Set<LocalDate> exclusions, LocalDate from, LocalDate to) {
+        List<DisponibiliteDTO> occurrences = new ArrayList<>();
+        for (DisponibiliteRuleDTO rule : rules) {
+            LocalDate first = rule.dateDebut().isAfter(from) ? rule.dateDebut() : from;
+            LocalDate end = rule.dateFin() != null && rule.dateFin().isBefore(to) ? rule.dateFin().plusDays(1) : to; // Exclusive
+            boolean overnight = !rule.heureFin().isAfter(rule.heureDebut());
+            for (LocalDate day = first.with(TemporalAdjusters.nextOrSame(rule.jourSemaine())); day.isBefore(end); day = day.plusWeeks(1)) {
+                if (exclusions.contains(day)) {
+                    continue;
+                }
+                LocalDateTime debut = day.atTime(rule.heureDebut());
+                LocalDateTime fin = (overnight ? day.plusDays(1) : day).atTime(rule.heureFin());
+                occurrences.add(new DisponibiliteDTO(null, technicianId, rule.etat(), debut, fin));
+            }
+        }
+        occurrences.sort(BY_DEBUT);
+        return occurrences;
+    }
+
+    /**
+     * The occurrences (sorted by start) that overlap neither an {@code existing} slot nor an occurrence kept before
+     * them. One sweep over both lists: existing slots are sorted and merged into disjoint busy periods first, so a
+     * single cursor is enough to find the period an occurrence could collide with.
+     */
+    public static List<DisponibiliteDTO> withoutOverlaps(List<DisponibiliteDTO> occurrences, Collection<DisponibiliteDTO> existing) {
+        List<LocalDateTime[]> busy = merge(existing);
+        List<DisponibiliteDTO> kept = new ArrayList<>(occurrences.size());
+        LocalDateTime keptUntil = null;
+        int cursor = 0;
+        for (DisponibiliteDTO occurrence : occurrences) {
+            // Busy periods that end before this occurrence starts end before every later one too
+            while (cursor < busy.size() && !busy.get(cursor)[1].isAfter(occurrence.debut())) {
+                cursor++;
+            }
+            boolean hitsExisting = cursor < busy.size() && busy.get(cursor)[0].isBefore(occurrence.fin());
+            boolean hitsKept = keptUntil != null && keptUntil.isAfter(occurrence.debut());
+            if (!hitsExisting && !hitsKept) {
+                kept.add(occurrence);
+                keptUntil = occurrence.fin();
+            }
+        }
+        return kept;
+    }
+
+    // Existing slots should not overlap each other, but rows written before the overlap check may
+    private static List<LocalDateTime[]> merge(Collection<DisponibiliteDTO> slots) {
+        List<DisponibiliteDTO> sorted = new ArrayList<>(slots);
+        sorted.sort(BY_DEBUT);
+        List<LocalDateTime[]> merged = new ArrayList<>(sorted.size());
+        for (DisponibiliteDTO slot : sorted) {
+            LocalDateTime[] last = merged.isEmpty() ? null : merged.get(merged.size() - 1);
+            if (last != null && last[1].isAfter(slot.debut())) {
+                if (slot.fin().isAfter(last[1])) {
+                    last[1] = slot.fin();
+                }
+            } else {
+                merged.add(new LocalDateTime[]{slot.debut(), slot.fin()});
+            }
+        }
+        return merged;
+    }
+}
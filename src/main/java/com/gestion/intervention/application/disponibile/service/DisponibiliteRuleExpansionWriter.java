@@ -0,0 +1,123 @@
+package com.gestion.intervention.application.disponibile.service;
+
+import com.gestion.intervention.application.disponibile.record.DisponibiliteDTO;
+import com.gestion.intervention.application.disponibile.record.DisponibiliteExclusionDTO;
+import com.gestion.intervention.application.disponibile.record.DisponibiliteRuleDTO;
+import com.gestion.intervention.domain.disponibile.model.Disponibilite;
+import com.gestion.intervention.domain.disponibile.repository.DisponibiliteExclusionRepository;
+import com.gestion.intervention.domain.disponibile.repository.DisponibiliteRepository;
+import com.gestion.intervention.domain.disponibile.repository.DisponibiliteRuleRepository;
+import com.gestion.intervention.domain.technicianinfo.model.TechnicianInfo;
+import jakarta.persistence.EntityManager;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Expands the rules of one chunk of technicians over the job's {@code [from, to)} window, inside the chunk's
+ * transaction: three set-based reads (rules, exclusions, existing slots), the in-memory sweep of
+ * {@link DisponibiliteRuleExpander}, then one flush that Hibernate sends as JDBC batches. Running the job twice over
+ * the same window creates nothing the second time: every occurrence then overlaps the slot made from it.
+ * <p>
+ * Slots created and occurrences skipped are added up in the step's execution context ({@link #CREATED},
+ * {@link #SKIPPED}), which is saved with every chunk.
+ */
+@Component
+@StepScope
+public class DisponibiliteRuleExpansionWriter implements ItemWriter<UUID> {
+    public static final String CREATED = "created";
+    public static final String SKIPPED = "skipped";
+
+    private final DisponibiliteRuleRepository ruleRepository;
+    private final DisponibiliteExclusionRepository exclusionRepository;
+    private final DisponibiliteRepository disponibiliteRepository;
+    private final TechnicianAvailabilityIndex availabilityIndex;
+    private final EntityManager entityManager;
+    private final StepExecution stepExecution;
+    private final LocalDate from;
+    private final LocalDate to;
+
+    public DisponibiliteRuleExpansionWriter(DisponibiliteRuleRepository ruleRepository,
+                                            DisponibiliteExclusionRepository exclusionRepository,
+                                            DisponibiliteRepository disponibiliteRepository,
+                                            TechnicianAvailabilityIndex availabilityIndex,
+                                            EntityManager entityManager,
+                                            @Value("#{stepExecution}") StepExecution stepExecution,
+                                            @Value("#{jobParameters['from']}") LocalDate from,
+                                            @Value("#{jobParameters['to']}") LocalDate to) {
+        this.ruleRepository = ruleRepository;
+        this.exclusionRepository = exclusionRepository;
+        this.disponibiliteRepository = disponibiliteRepository;
+        this.availabilityIndex = availabilityIndex;
+        this.entityManager = entityManager;
+        this.stepExecution = stepExecution;
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    public void write(Chunk<? extends UUID> chunk) {
+        // Bulk loads should not push the hot entries out of the second-level cache
+        entityManager.unwrap(Session.class).setCacheMode(CacheMode.IGNORE);
+
+        List<UUID> technicianIds = new ArrayList<>(chunk.getItems());
+        Map<UUID, List<DisponibiliteRuleDTO>> rules = new HashMap<>();
+        for (DisponibiliteRuleDTO rule : ruleRepository.findDtosByTechnicianIds(technicianIds)) {
+            rules.computeIfAbsent(rule.technicianInfoId(), id -> new ArrayList<>()).add(rule);
+        }
+        Map<UUID, Set<LocalDate>> exclusions = new HashMap<>();
+        for (DisponibiliteExclusionDTO exclusion : exclusionRepository.findDtosByTechnicianIds(technicianIds, from, to)) {
+            exclusions.computeIfAbsent(exclusion.technicianInfoId(), id -> new HashSet<>()).add(exclusion.jour());
+        }
+        // A night shift starting on the last day ends the day after the window
+        LocalDateTime windowStart = from.atStartOfDay();
+        LocalDateTime windowEnd = to.plusDays(1).atStartOfDay();
+        Map<UUID, List<DisponibiliteDTO>> existing = new HashMap<>();
+        for (DisponibiliteDTO slot : disponibiliteRepository.findDtosOverlappingWindow(technicianIds, windowStart, windowEnd)) {
+            existing.computeIfAbsent(slot.technicianInfoId(), id -> new ArrayList<>()).add(slot);
+        }
+
+        List<Disponibilite> created = new ArrayList<>();
+        long skipped = 0;
+        for (UUID technicianId : technicianIds) {
+            List<DisponibiliteDTO> occurrences = DisponibiliteRuleExpander.expand(
+                    technicianId, rules.getOrDefault(technicianId, List.of()), exclusions.getOrDefault(technicianId, Set.of()), from, to);
+            List<DisponibiliteDTO> kept = DisponibiliteRuleExpander.withoutOverlaps(occurrences, existing.getOrDefault(technicianId, List.of()));
+            skipped += occurrences.size() - kept.size();
+            TechnicianInfo technician = entityManager.getReference(TechnicianInfo.class, technicianId);
+            for (DisponibiliteDTO slot : kept) {
+                Disponibilite disponibilite = Disponibilite.builder()
+                        .technicianInfo(technician).etat(slot.etat()).debut(slot.debut()).fin(slot.fin()).build();
+                entityManager.persist(disponibilite); // Ids are generated in memory (UUIDv7), nothing is sent yet
+                created.add(disponibilite);
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        for (Disponibilite disponibilite : created) {
+            availabilityIndex.recordAfterCommit(new DisponibiliteDTO(disponibilite.getId(), disponibilite.getTechnicianInfo().getId(),
+                    disponibilite.getEtat(), disponibilite.getDebut(), disponibilite.getFin()));
+        }
+
+        // Persisted by the step along with the chunk commit
+        ExecutionContext context = stepExecution.getExecutionContext();
+        context.putLong(CREATED, context.getLong(CREATED, 0) + created.size());
+        context.putLong(SKIPPED, context.getLong(SKIPPED, 0) + skipped);
+    }
+}
@@ -0,0 +1,56 @@
+package com.gestion.intervention.application.disponibile.service;
+
+import com.gestion.intervention.domain.disponibile.repository.DisponibiliteRuleRepository;
+import com.gestion.intervention.kernel.persistence.routing.ReadYourWrites;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.item.support.ListItemReader;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * The {@value #JOB_NAME} job: reads the technicians that have rules, and expands them
+ * {@code app.disponibilite-rules.chunk-size} technicians per chunk (one transaction each) with
+ * {@link DisponibiliteRuleExpansionWriter}. Job parameters: {@code from} and {@code to} (LocalDate, to exclusive).
+ */
+@Configuration
+public class DisponibiliteRuleJobConfig {
+    public static final String JOB_NAME = "expandDisponibiliteRules";
+
+    @Bean
+    public Job expandDisponibiliteRulesJob(JobRepository jobRepository, Step expandDisponibiliteRulesStep) {
+        return new JobBuilder(JOB_NAME, jobRepository)
+                .start(expandDisponibiliteRulesStep)
+                .build();
+    }
+
+    @Bean
+    public Step expandDisponibiliteRulesStep(JobRepository jobRepository,
+                                             PlatformTransactionManager transactionManager,
+                                             ListItemReader<UUID> disponibiliteRuleTechnicianReader,
+                                             DisponibiliteRuleExpansionWriter writer,
+                                             @Value("${app.disponibilite-rules.chunk-size:50}") int chunkSize) {
+        return new StepBuilder(JOB_NAME + "Step", jobRepository)
+                .<UUID, UUID>chunk(chunkSize, transactionManager)
+                .reader(disponibiliteRuleTechnicianReader)
+                .writer(writer)
+                .build();
+    }
+
+    // One id per technician, so even a large staff fits in memory; rules created just before the run must be seen
+    @Bean
+    @StepScope
+    public ListItemReader<UUID> disponibiliteRuleTechnicianReader(DisponibiliteRuleRepository ruleRepository,
+                                                                  @Value("#{jobParameters['from']}") LocalDate from) {
+        return new ListItemReader<>(ReadYourWrites.call(() -> ruleRepository.findTechnicianIdsInForceFrom(from)));
+    }
+}
@@ -0,0 +1,19 @@
+package com.gestion.intervention.application.disponibile.service;
+
+import com.gestion.intervention.application.disponibile.record.DisponibiliteExclusionDTO;
+import com.gestion.intervention.application.disponibile.record.DisponibiliteRuleDTO;
+import com.gestion.intervention.application.disponibile.record.RuleExpansionDTO;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+public interface DisponibiliteRuleService {
+    DisponibiliteRuleDTO createRule(DisponibiliteRuleDTO dto);
+    List<DisponibiliteRuleDTO> getRulesByTechnician(UUID technicianInfoId);
+    void deleteRule(UUID id);
+    DisponibiliteExclusionDTO createExclusion(DisponibiliteExclusionDTO dto);
+    List<DisponibiliteExclusionDTO> getExclusionsByTechnician(UUID technicianInfoId);
+    void deleteExclusion(UUID id);
+    RuleExpansionDTO expandRules(LocalDate from, LocalDate to);
+}
@@ -0,0 +1,190 @@
+package com.gestion.intervention.application.disponibile.service;
+
+import com.gestion.intervention.application.disponibile.record.DisponibiliteExclusionDTO;
+import com.gestion.intervention.application.disponibile.record.DisponibiliteRuleDTO;
+import com.gestion.intervention.application.disponibile.record.RuleExpansionDTO;
+import com.gestion.intervention.domain.disponibile.model.DisponibiliteExclusion;
+import com.gestion.intervention.domain.disponibile.model.DisponibiliteRule;
+import com.gestion.intervention.domain.disponibile.repository.DisponibiliteExclusionRepository;
+import com.gestion.intervention.domain.disponibile.repository.DisponibiliteRuleRepository;
+import com.gestion.intervention.domain.technicianinfo.model.TechnicianInfo;
+import com.gestion.intervention.domain.technicianinfo.repository.TechnicianInfoRepository;
+import com.gestion.intervention.kernel.persistence.routing.ReadYourWrites;
+import jakarta.persistence.EntityNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobExecutionException;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+@Service
+public class DisponibiliteRuleServiceImpl implements DisponibiliteRuleService {
+    private static final Logger log = LoggerFactory.getLogger(DisponibiliteRuleServiceImpl.class);
+
+    // A year of shifts per run at most; longer windows are better run again later, when the rules have settled
+    private static final long MAX_WINDOW_DAYS = 366;
+
+    private final DisponibiliteRuleRepository ruleRepository;
+    private final DisponibiliteExclusionRepository exclusionRepository;
+    private final TechnicianInfoRepository technicianInfoRepository;
+    private final JobLauncher jobLauncher;
+    private final JobExplorer jobExplorer;
+    private final Job expandDisponibiliteRulesJob;
+    private final int horizonDays;
+
+    public DisponibiliteRuleServiceImpl(DisponibiliteRuleRepository ruleRepository,
+                                        DisponibiliteExclusionRepository exclusionRepository,
+                                        TechnicianInfoRepository technicianInfoRepository,
+                                        JobLauncher jobLauncher,
+                                        JobExplorer jobExplorer,
+                                        Job expandDisponibiliteRulesJob,
+                                        @Value("${app.disponibilite-rules.horizon-days:91}") int horizonDays) {
+        this.ruleRepository = ruleRepository;
+        this.exclusionRepository = exclusionRepository;
+        this.technicianInfoRepository = technicianInfoRepository;
+        this.jobLauncher = jobLauncher;
+        this.jobExplorer = jobExplorer;
+        this.expandDisponibiliteRulesJob = expandDisponibiliteRulesJob;
+        this.horizonDays = horizonDays;
+    }
+
+    @Override
+    @Transactional
+    public DisponibiliteRuleDTO createRule(DisponibiliteRuleDTO dto) {
+        if (dto.jourSemaine() == null || dto.heureDebut() == null || dto.heureFin() == null || dto.dateDebut() == null) {
+            throw new IllegalArgumentException("Day of week, start time, end time and start date cannot be null.");
+        }
+        if (dto.heureDebut().equals(dto.heureFin())) {
+            throw new IllegalArgumentException("Start time and end time cannot be equal.");
+        }
+        if (dto.dateFin() != null && dto.dateFin().isBefore(dto.dateDebut())) {
+            throw new IllegalArgumentException("End date cannot be before start date.");
+        }
+        checkTechnicianExists(dto.technicianInfoId());
+
+        DisponibiliteRule rule = ruleRepository.save(DisponibiliteRule.builder()
+                .technicianInfo(TechnicianInfo.builder().id(dto.technicianInfoId()).build())
+                .jourSemaine(dto.jourSemaine())
+                .heureDebut(dto.heureDebut())
+                .heureFin(dto.heureFin())
+                .dateDebut(dto.dateDebut())
+                .dateFin(dto.dateFin())
+                .etat(dto.etat())
+                .build());
+        return new DisponibiliteRuleDTO(rule.getId(), dto.technicianInfoId(), rule.getJourSemaine(), rule.getHeureDebut(),
+                rule.getHeureFin(), rule.getDateDebut(), rule.getDateFin(), rule.getEtat());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<DisponibiliteRuleDTO> getRulesByTechnician(UUID technicianInfoId) {
+        return ruleRepository.findDtosByTechnician(technicianInfoId);
+    }
+
+    // Slots already expanded from the rule stay: they are ordinary disponibilites from then on
+    @Override
+    @Transactional
+    public void deleteRule(UUID id) {
+        if (!ruleRepository.existsById(id)) {
+            throw new EntityNotFoundException("DisponibiliteRule not found with id: " + id);
+        }
+        ruleRepository.deleteById(id);
+    }
+
+    @Override
+    @Transactional
+    public DisponibiliteExclusionDTO createExclusion(DisponibiliteExclusionDTO dto) {
+        if (dto.jour() == null) {
+            throw new IllegalArgumentException("Day cannot be null.");
+        }
+        checkTechnicianExists(dto.technicianInfoId());
+        if (exclusionRepository.existsByTechnicianAndJour(dto.technicianInfoId(), dto.jour())) {
+            throw new IllegalArgumentException("Technician " + dto.technicianInfoId() + " already has an exception on " + dto.jour() + ".");
+        }
+
+        DisponibiliteExclusion exclusion = exclusionRepository.save(DisponibiliteExclusion.builder()
+                .technicianInfo(TechnicianInfo.builder().id(dto.technicianInfoId()).build())
+                .jour(dto.jour())
+                .motif(dto.motif())
+                .build());
+        return new DisponibiliteExclusionDTO(exclusion.getId(), dto.technicianInfoId(), exclusion.getJour(), exclusion.getMotif());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<DisponibiliteExclusionDTO> getExclusionsByTechnician(UUID technicianInfoId) {
+        return exclusionRepository.findDtosByTechnician(technicianInfoId);
+    }
+
+    @Override
+    @Transactional
+    public void deleteExclusion(UUID id) {
+        if (!exclusionRepository.existsById(id)) {
+            throw new EntityNotFoundException("DisponibiliteExclusion not found with id: " + id);
+        }
+        exclusionRepository.deleteById(id);
+    }
+
+    // No surrounding transaction: the job commits chunk by chunk, and Spring Batch refuses to start inside one
+    @Override
+    public RuleExpansionDTO expandRules(LocalDate from, LocalDate to) {
+        LocalDate start = from != null ? from : LocalDate.now();
+        LocalDate end = to != null ? to : start.plusDays(horizonDays);
+        if (!start.isBefore(end)) {
+            throw new IllegalArgumentException("Start date must be before end date.");
+        }
+        if (ChronoUnit.DAYS.between(start, end) > MAX_WINDOW_DAYS) {
+            throw new IllegalArgumentException("Rules are expanded over " + MAX_WINDOW_DAYS + " days at most.");
+        }
+        // Two runs over the same technicians would both see the other's slots as missing
+        if (!ReadYourWrites.call(() -> jobExplorer.findRunningJobExecutions(DisponibiliteRuleJobConfig.JOB_NAME)).isEmpty()) {
+            throw new RuleExpansionRunningException();
+        }
+
+        JobParameters parameters = new JobParametersBuilder()
+                .addLocalDate("from", start)
+                .addLocalDate("to", end)
+                .addLocalDateTime("requestedAt", LocalDateTime.now()) // Every request is a new job instance
+                .toJobParameters();
+        JobExecution execution;
+        try {
+            execution = jobLauncher.run(expandDisponibiliteRulesJob, parameters);
+        } catch (JobExecutionException e) {
+            throw new IllegalStateException("Could not start the rule expansion: " + e.getMessage(), e);
+        }
+
+        long technicians = 0;
+        long created = 0;
+        long skipped = 0;
+        for (StepExecution step : execution.getStepExecutions()) {
+            ExecutionContext context = step.getExecutionContext();
+            technicians += step.getWriteCount();
+            created += context.getLong(DisponibiliteRuleExpansionWriter.CREATED, 0);
+            skipped += context.getLong(DisponibiliteRuleExpansionWriter.SKIPPED, 0);
+        }
+        log.info("Rule expansion {} over [{}, {}) {}: {} technicians, {} slots created, {} occurrences skipped",
+                execution.getId(), start, end, execution.getStatus(), technicians, created, skipped);
+        return new RuleExpansionDTO(execution.getId(), execution.getStatus().name(), start, end, technicians, created, skipped);
+    }
+
+    private void checkTechnicianExists(UUID technicianInfoId) {
+        if (technicianInfoId == null || !technicianInfoRepository.existsById(technicianInfoId)) {
+            throw new EntityNotFoundException("TechnicianInfo not found with id: " + technicianInfoId);
+        }
+    }
+}
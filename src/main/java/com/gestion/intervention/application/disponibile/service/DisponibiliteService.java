@@ -1,14 +1,22 @@
 package com.gestion.intervention.application.disponibile.service;
 
+import com.gestion.intervention.application.common.record.BulkCreateResult;
+import com.gestion.intervention.application.common.record.CursorPage;
 import com.gestion.intervention.application.disponibile.record.DisponibiliteDTO;
+import com.gestion.intervention.application.disponibile.record.FreeSlotDTO;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
 public interface DisponibiliteService {
     DisponibiliteDTO createDisponibilite(DisponibiliteDTO dto);
+    BulkCreateResult<DisponibiliteDTO> createDisponibilites(List<DisponibiliteDTO> dtos);
     DisponibiliteDTO getDisponibiliteById(UUID id);
     List<DisponibiliteDTO> getAllDisponibilites();
+    CursorPage<DisponibiliteDTO> getDisponibilitesPage(String cursor, int size);
     DisponibiliteDTO updateDisponibilite(UUID id, DisponibiliteDTO dto);
     void deleteDisponibilite(UUID id);
+    List<FreeSlotDTO> findFreeSlots(Duration duration, LocalDateTime from, LocalDateTime to, int limit);
 }
@@ -1,6 +1,11 @@
 package com.gestion.intervention.application.disponibile.service;
 
+import com.gestion.intervention.application.common.record.BulkCreateResult;
+import com.gestion.intervention.application.common.record.CursorPage;
+import com.gestion.intervention.application.common.service.ChunkedInserter.Checked;
+import com.gestion.intervention.application.common.service.ChunkedInserter;
 import com.gestion.intervention.application.disponibile.record.DisponibiliteDTO;
+import com.gestion.intervention.application.disponibile.record.FreeSlotDTO;
 import com.gestion.intervention.domain.disponibile.model.Disponibilite;
 import com.gestion.intervention.domain.disponibile.repository.DisponibiliteRepository;
 import com.gestion.intervention.domain.technicianinfo.model.TechnicianInfo;
@@ -10,10 +15,15 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional; // Added import
 
+import java.time.Duration;
 import java.time.LocalDateTime; // Added import
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -21,6 +31,9 @@ public class DisponibiliteServiceImpl implements DisponibiliteService {
 
     private final DisponibiliteRepository disponibiliteRepository;
     private final TechnicianInfoRepository technicianInfoRepository; // Added field
+    private final ChunkedInserter chunkedInserter;
+    private final TechnicianAvailabilityIndex availabilityIndex;
+    private final FreeSlotFinder freeSlotFinder;
 
     @Override
     @Transactional
@@ -41,23 +54,42 @@ public class DisponibiliteServiceImpl implements DisponibiliteService {
                 .build();
 
         Disponibilite savedDisponibilite = disponibiliteRepository.save(disponibilite);
-        return toDto(savedDisponibilite);
+        DisponibiliteDTO saved = toDto(savedDisponibilite);
+        availabilityIndex.recordAfterCommit(saved);
+        return saved;
+    }
+
+    // No surrounding transaction: every chunk commits on its own
+    @Override
+    public BulkCreateResult<DisponibiliteDTO> createDisponibilites(List<DisponibiliteDTO> dtos) {
+        BulkCreateResult<DisponibiliteDTO> result = chunkedInserter.insert(dtos, this::checkDisponibilites, this::toDto);
+        // The chunks are committed by now, so the created slots go straight into the index
+        result.items().forEach(item -> {
+            if (item.isCreated()) {
+                availabilityIndex.recordAfterCommit(item.created());
+            }
+        });
+        return result;
     }
 
     @Override
     @Transactional(readOnly = true)
     public DisponibiliteDTO getDisponibiliteById(UUID id) {
-        return disponibiliteRepository.findById(id)
-                .map(this::toDto)
+        return disponibiliteRepository.findDtoById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Disponibilite not found with id: " + id));
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<DisponibiliteDTO> getAllDisponibilites() {
-        return disponibiliteRepository.findAll().stream()
-                .map(this::toDto)
-                .collect(Collectors.toList());
+        return disponibiliteRepository.findAllDtos();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<DisponibiliteDTO> getDisponibilitesPage(String cursor, int size) {
+        List<DisponibiliteDTO> rows = disponibiliteRepository.findDtoPage(CursorPage.after(cursor), CursorPage.fetchLimit(size));
+        return CursorPage.of(rows, size, DisponibiliteDTO::id);
     }
 
     @Override
@@ -75,7 +107,9 @@ public class DisponibiliteServiceImpl implements DisponibiliteService {
         disponibilite.setFin(dto.fin());
 
         Disponibilite updatedDisponibilite = disponibiliteRepository.save(disponibilite);
-        return toDto(updatedDisponibilite);
+        DisponibiliteDTO updated = toDto(updatedDisponibilite);
+        availabilityIndex.recordAfterCommit(updated);
+        return updated;
     }
 
     @Override
@@ -85,6 +119,13 @@ public class DisponibiliteServiceImpl implements DisponibiliteService {
             throw new EntityNotFoundException("Disponibilite not found with id: " + id);
         }
         disponibiliteRepository.deleteById(id);
+        availabilityIndex.removeAfterCommit(id);
+    }
+
+    // Answered from memory, no transaction needed
+    @Override
+    public List<FreeSlotDTO> findFreeSlots(Duration duration, LocalDateTime from, LocalDateTime to, int limit) {
+        return freeSlotFinder.findFreeSlots(duration, from, to, limit);
     }
 
     private void validateDisponibiliteDates(LocalDateTime debut, LocalDateTime fin) {
@@ -96,6 +137,59 @@ public class DisponibiliteServiceImpl implements DisponibiliteService {
         }
     }
 
+    // Same rules as createDisponibilite. The chunk's technicians and their slots in the chunk's time window are read
+    // once; each accepted slot is then checked against those and the slots accepted before it.
+    private List<Checked<Disponibilite>> checkDisponibilites(List<DisponibiliteDTO> chunk) {
+        Set<UUID> technicianIds = new HashSet<>();
+        LocalDateTime windowStart = null;
+        LocalDateTime windowEnd = null;
+        for (DisponibiliteDTO dto : chunk) {
+            if (dto != null && dto.technicianInfoId() != null && dto.debut() != null && dto.fin() != null) {
+                technicianIds.add(dto.technicianInfoId());
+                windowStart = windowStart == null || dto.debut().isBefore(windowStart) ? dto.debut() : windowStart;
+                windowEnd = windowEnd == null || dto.fin().isAfter(windowEnd) ? dto.fin() : windowEnd;
+            }
+        }
+        Set<UUID> existingTechnicians = technicianIds.isEmpty() ? Set.of() : technicianInfoRepository.findExistingIds(technicianIds);
+        Map<UUID, List<DisponibiliteDTO>> slotsByTechnician = new HashMap<>();
+        if (!existingTechnicians.isEmpty()) {
+            disponibiliteRepository.findDtosOverlappingWindow(existingTechnicians, windowStart, windowEnd)
+                    .forEach(slot -> slotsByTechnician.computeIfAbsent(slot.technicianInfoId(), id -> new ArrayList<>()).add(slot));
+        }
+
+        List<Checked<Disponibilite>> verdicts = new ArrayList<>(chunk.size());
+        for (DisponibiliteDTO dto : chunk) {
+            if (dto == null) {
+                verdicts.add(Checked.reject("Availability slot cannot be null."));
+                continue;
+            }
+            try {
+                validateDisponibiliteDates(dto.debut(), dto.fin());
+            } catch (IllegalArgumentException e) {
+                verdicts.add(Checked.reject(e.getMessage()));
+                continue;
+            }
+            if (!existingTechnicians.contains(dto.technicianInfoId())) {
+                verdicts.add(Checked.reject("TechnicianInfo not found with id: " + dto.technicianInfoId()));
+                continue;
+            }
+            List<DisponibiliteDTO> slots = slotsByTechnician.computeIfAbsent(dto.technicianInfoId(), id -> new ArrayList<>());
+            boolean overlaps = slots.stream().anyMatch(slot -> slot.debut().isBefore(dto.fin()) && slot.fin().isAfter(dto.debut()));
+            if (overlaps) {
+                verdicts.add(Checked.reject("The provided availability period overlaps with an existing one for this technician."));
+                continue;
+            }
+            slots.add(dto);
+            verdicts.add(Checked.accept(Disponibilite.builder()
+                    .technicianInfo(technicianInfoRepository.getReferenceById(dto.technicianInfoId()))
+                    .etat(dto.etat())
+                    .debut(dto.debut())
+                    .fin(dto.fin())
+                    .build()));
+        }
+        return verdicts;
+    }
+
     private void checkForOverlappingDisponibilite(UUID technicianInfoId, LocalDateTime debut, LocalDateTime fin, UUID idToExclude) {
         List<Disponibilite> overlapping = disponibiliteRepository
                 .findOverlapping(technicianInfoId, debut, fin, idToExclude);
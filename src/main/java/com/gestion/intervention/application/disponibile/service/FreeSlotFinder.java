@@ -0,0 +1,272 @@
+package com.gestion.intervention.application.disponibile.service;
+
+import com.gestion.intervention.application.common.service.TechnicianSlotIndex;
+import com.gestion.intervention.application.disponibile.record.FreeSlotDTO;
+import com.gestion.intervention.application.intervention.service.TechnicianScheduleIndex;
+import com.gestion.intervention.kernel.schedule.MinuteBitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongFunction;
+
+import static com.gestion.intervention.kernel.schedule.MinuteBitmap.MINUTES_PER_DAY;
+
+/**
+ * Answers "who can take a job of this length, and when" from memory.
+ * <p>
+ * Each technician's day is a {@link MinuteBitmap} of free minutes: the minutes fully inside one of their availability
+ * windows ({@link TechnicianAvailabilityIndex}) minus every minute touched by a booked intervention
+ * ({@link TechnicianScheduleIndex}). A search scans each technician's days word by word for the first run of free
+ * minutes long enough, and keeps the earliest ones. Day bitmaps are built on first use and dropped whenever either
+ * index changes for that technician.
+ */
+@Component
+public class FreeSlotFinder {
+    private static final long MICROS_PER_MINUTE = 60_000_000L;
+    private static final long MICROS_PER_DAY = MICROS_PER_MINUTE * MINUTES_PER_DAY;
+
+    // Latest first, so the head of a full queue is the candidate to drop
+    private static final Comparator<Candidate> LATEST_FIRST =
+            Comparator.comparingLong(Candidate::startMinute).thenComparing(Candidate::technicianId).reversed();
+
+    private final TechnicianAvailabilityIndex availabilityIndex;
+    private final TechnicianScheduleIndex scheduleIndex;
+    private final int maxHorizonDays;
+    private final int maxResults;
+
+    private final Map<UUID, TechnicianDays> daysByTechnician = new ConcurrentHashMap<>();
+
+    public FreeSlotFinder(TechnicianAvailabilityIndex availabilityIndex,
+                          TechnicianScheduleIndex scheduleIndex,
+                          @Value("${app.free-slots.max-horizon-days:31}") int maxHorizonDays,
+                          @Value("${app.free-slots.max-results:100}") int maxResults) {
+        this.availabilityIndex = availabilityIndex;
+        this.scheduleIndex = scheduleIndex;
+        this.maxHorizonDays = maxHorizonDays;
+        this.maxResults = maxResults;
+        availabilityIndex.addListener(this::invalidate);
+        scheduleIndex.addListener(this::invalidate);
+    }
+
+    private record Candidate(long startMinute, UUID technicianId) {}
+
+    /** Built day bitmaps of one technician, by epoch day; every access holds its monitor. */
+    private static final class TechnicianDays {
+        final Map<Long, long[]> days = new HashMap<>();
+        long version; // Bumped on every invalidation, so a bitmap built from older index state is not kept
+    }
+
+    /**
+     * The earliest start, at most one per technician, of a free period of {@code duration} (rounded up to the minute)
+     * within {@code [from, to)}; earliest first, at most {@code limit} (capped at {@code app.free-slots.max-results}).
+     */
+    public List<FreeSlotDTO> findFreeSlots(Duration duration, LocalDateTime from, LocalDateTime to, int limit) {
+        checkSearch(duration, from, to);
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be at least 1.");
+        }
+        int wanted = Math.min(limit, maxResults);
+        long minutes = toMinutes(duration);
+        long fromMinute = firstMinute(from);
+        long toMinute = lastMinute(to);
+
+        PriorityQueue<Candidate> earliest = new PriorityQueue<>(wanted + 1, LATEST_FIRST);
+        for (UUID technicianId : availabilityIndex.technicianIds()) {
+            // Once the queue is full, only a run starting no later than its latest candidate matters
+            long searchTo = earliest.size() < wanted ? toMinute : Math.min(toMinute, earliest.peek().startMinute() + minutes);
+            long start = earliestStart(epochDay -> day(technicianId, epochDay), fromMinute, searchTo, minutes);
+            if (start < 0) {
+                continue;
+            }
+            Candidate candidate = new Candidate(start, technicianId);
+            if (earliest.size() < wanted) {
+                earliest.add(candidate);
+            } else if (LATEST_FIRST.compare(candidate, earliest.peek()) > 0) {
+                earliest.poll();
+                earliest.add(candidate);
+            }
+        }
+
+        List<FreeSlotDTO> slots = new ArrayList<>(earliest.size());
+        while (!earliest.isEmpty()) {
+            Candidate candidate = earliest.poll();
+            LocalDateTime debut = toDateTime(candidate.startMinute());
+            slots.add(new FreeSlotDTO(candidate.technicianId(), debut, debut.plusMinutes(minutes)));
+        }
+        Collections.reverse(slots);
+        return slots;
+    }
+
+    /** Start of the technician's first free period of {@code duration} within {@code [from, to)}, or null. */
+    public LocalDateTime earliestStart(UUID technicianId, Duration duration, LocalDateTime from, LocalDateTime to) {
+        checkSearch(duration, from, to);
+        long start = earliestStart(epochDay -> day(technicianId, epochDay), firstMinute(from), lastMinute(to), toMinutes(duration));
+        return start < 0 ? null : toDateTime(start);
+    }
+
+    /** A {@link Planner} over {@code [from, to)}, starting from the current free minutes of every technician. */
+    public Planner planner(LocalDateTime from, LocalDateTime to) {
+        checkSearch(Duration.ofMinutes(1), from, to);
+        return new Planner(firstMinute(from), lastMinute(to));
+    }
+
+    /**
+     * Private copies of technicians' day bitmaps, to place many jobs one after the other before any of them is
+     * committed: each {@link #book} takes its minutes out of the copies only. Not thread-safe.
+     */
+    public final class Planner {
+        private final long fromMinute;
+        private final long toMinute;
+        private final Map<UUID, Map<Long, long[]>> copies = new HashMap<>();
+
+        private Planner(long fromMinute, long toMinute) {
+            this.fromMinute = fromMinute;
+            this.toMinute = toMinute;
+        }
+
+        /** Start of the technician's first free period of {@code duration} left in the window, or null. */
+        public LocalDateTime earliestStart(UUID technicianId, Duration duration) {
+            long start = FreeSlotFinder.this.earliestStart(epochDay -> copy(technicianId, epochDay), fromMinute, toMinute, toMinutes(duration));
+            return start < 0 ? null : toDateTime(start);
+        }
+
+        /** Takes {@code [debut, fin)} out of the technician's free minutes. */
+        public void book(UUID technicianId, LocalDateTime debut, LocalDateTime fin) {
+            long from = Math.floorDiv(TechnicianSlotIndex.toMicros(debut), MICROS_PER_MINUTE);
+            long to = ceilDiv(TechnicianSlotIndex.toMicros(fin), MICROS_PER_MINUTE);
+            for (long day = Math.floorDiv(from, MINUTES_PER_DAY); day * MINUTES_PER_DAY < to; day++) {
+                long dayStart = day * MINUTES_PER_DAY;
+                MinuteBitmap.clear(copy(technicianId, day), minuteOfDay(from - dayStart), minuteOfDay(to - dayStart));
+            }
+        }
+
+        private long[] copy(UUID technicianId, long epochDay) {
+            return copies.computeIfAbsent(technicianId, id -> new HashMap<>())
+                    .computeIfAbsent(epochDay, d -> day(technicianId, d).clone());
+        }
+    }
+
+    private void checkSearch(Duration duration, LocalDateTime from, LocalDateTime to) {
+        if (duration == null || duration.isNegative() || duration.isZero()) {
+            throw new IllegalArgumentException("Duration must be positive.");
+        }
+        if (from == null || to == null || !from.isBefore(to)) {
+            throw new IllegalArgumentException("Start of the search window must be before its end.");
+        }
+        if (Duration.between(from, to).toDays() >= maxHorizonDays) {
+            throw new IllegalArgumentException("The search window spans at most " + maxHorizonDays + " days.");
+        }
+        if (!availabilityIndex.isReady() || !scheduleIndex.isReady()) {
+            throw new FreeSlotSearchUnavailableException();
+        }
+    }
+
+    /** First minute of a run of {@code minutes} free minutes inside {@code [fromMinute, toMinute)}, or -1. */
+    private static long earliestStart(LongFunction<long[]> days, long fromMinute, long toMinute, long minutes) {
+        long runStart = -1; // Start of the free run reaching the current position, carried across midnight
+        for (long day = Math.floorDiv(fromMinute, MINUTES_PER_DAY); day * MINUTES_PER_DAY < toMinute; day++) {
+            long dayStart = day * MINUTES_PER_DAY;
+            int limit = (int) Math.min(MINUTES_PER_DAY, toMinute - dayStart);
+            long[] words = days.apply(day);
+            int position = (int) Math.max(0, fromMinute - dayStart);
+            while (position < limit) {
+                int free = MinuteBitmap.nextSetBit(words, position, limit);
+                if (free < 0) {
+                    runStart = -1;
+                    break;
+                }
+                if (free != position || runStart < 0) {
+                    runStart = dayStart + free;
+                }
+                int busy = MinuteBitmap.nextClearBit(words, free, limit);
+                if (dayStart + busy - runStart >= minutes) {
+                    return runStart;
+                }
+                position = busy;
+            }
+        }
+        return -1;
+    }
+
+    private long[] day(UUID technicianId, long epochDay) {
+        TechnicianDays technicianDays = daysByTechnician.computeIfAbsent(technicianId, id -> new TechnicianDays());
+        long version;
+        synchronized (technicianDays) {
+            long[] words = technicianDays.days.get(epochDay);
+            if (words != null) {
+                return words;
+            }
+            version = technicianDays.version;
+        }
+        long[] words = build(technicianId, epochDay);
+        synchronized (technicianDays) {
+            if (technicianDays.version == version) {
+                if (technicianDays.days.size() >= 2 * maxHorizonDays) {
+                    technicianDays.days.clear(); // Days searched before now are rarely searched again
+                }
+                technicianDays.days.put(epochDay, words);
+            }
+        }
+        return words;
+    }
+
+    private long[] build(UUID technicianId, long epochDay) {
+        long[] words = MinuteBitmap.newDay();
+        long dayStart = epochDay * MICROS_PER_DAY;
+        long dayEnd = dayStart + MICROS_PER_DAY;
+        // Free only for minutes entirely inside a window; busy for every minute a booking touches
+        availabilityIndex.forEachOverlapping(technicianId, dayStart, dayEnd, (id, start, end) ->
+                MinuteBitmap.set(words, minuteOfDay(ceilDiv(start - dayStart, MICROS_PER_MINUTE)),
+                        minuteOfDay(Math.floorDiv(end - dayStart, MICROS_PER_MINUTE))));
+        scheduleIndex.forEachOverlapping(technicianId, dayStart, dayEnd, (id, start, end) ->
+                MinuteBitmap.clear(words, minuteOfDay(Math.floorDiv(start - dayStart, MICROS_PER_MINUTE)),
+                        minuteOfDay(ceilDiv(end - dayStart, MICROS_PER_MINUTE))));
+        return words;
+    }
+
+    private void invalidate(UUID technicianId) {
+        TechnicianDays technicianDays = daysByTechnician.get(technicianId);
+        if (technicianDays != null) {
+            synchronized (technicianDays) {
+                technicianDays.version++;
+                technicianDays.days.clear();
+            }
+        }
+    }
+
+    private static long toMinutes(Duration duration) {
+        return ceilDiv(duration.toNanos(), 60_000_000_000L);
+    }
+
+    private static long firstMinute(LocalDateTime from) {
+        return ceilDiv(TechnicianSlotIndex.toMicros(from), MICROS_PER_MINUTE);
+    }
+
+    private static long lastMinute(LocalDateTime to) {
+        return Math.floorDiv(TechnicianSlotIndex.toMicros(to), MICROS_PER_MINUTE);
+    }
+
+    private static int minuteOfDay(long minute) {
+        return (int) Math.max(0, Math.min(MINUTES_PER_DAY, minute));
+    }
+
+    private static long ceilDiv(long x, long y) {
+        return -Math.floorDiv(-x, y);
+    }
+
+    private static LocalDateTime toDateTime(long epochMinute) {
+        return LocalDateTime.ofEpochSecond(epochMinute * 60, 0, ZoneOffset.UTC);
+    }
+}
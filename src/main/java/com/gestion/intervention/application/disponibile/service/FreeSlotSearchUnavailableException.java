@@ -0,0 +1,12 @@
+package com.gestion.intervention.application.disponibile.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/** Raised while the in-memory indexes behind the free-slot search are not loaded (startup, or disabled). */
+@ResponseStatus(value = HttpStatus.SERVICE_UNAVAILABLE, reason = "Free-slot search is not available yet, retry later")
+public class FreeSlotSearchUnavailableException extends RuntimeException {
+    public FreeSlotSearchUnavailableException() {
+        super("Free-slot search is not available yet, retry later");
+    }
+}
@@ -0,0 +1,12 @@
+package com.gestion.intervention.application.disponibile.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/** Raised when a rule expansion is requested while another one is still running: both would create the same slots. */
+@ResponseStatus(value = HttpStatus.CONFLICT, reason = "A rule expansion is already running, retry when it is done")
+public class RuleExpansionRunningException extends RuntimeException {
+    public RuleExpansionRunningException() {
+        super("A rule expansion is already running, retry when it is done");
+    }
+}
@@ -0,0 +1,45 @@
+package com.gestion.intervention.application.disponibile.service;
+
+import com.gestion.intervention.application.common.record.TechnicianSlotDTO;
+import com.gestion.intervention.application.common.service.TechnicianSlotIndex;
+import com.gestion.intervention.application.disponibile.record.DisponibiliteDTO;
+import com.gestion.intervention.domain.disponibile.repository.DisponibiliteRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/** Every technician's availability windows in memory, for the free-slot search. */
+@Component
+public class TechnicianAvailabilityIndex extends TechnicianSlotIndex {
+
+    private final DisponibiliteRepository disponibiliteRepository;
+
+    public TechnicianAvailabilityIndex(DisponibiliteRepository disponibiliteRepository,
+                                       PlatformTransactionManager transactionManager,
+                                       @Value("${app.schedule-index.enabled:true}") boolean enabled) {
+        super("Availability index", transactionManager, enabled);
+        this.disponibiliteRepository = disponibiliteRepository;
+    }
+
+    @Override
+    protected Stream<TechnicianSlotDTO> streamSlots() {
+        return disponibiliteRepository.streamSlots();
+    }
+
+    @Override
+    protected List<TechnicianSlotDTO> findSlotsByTechnician(UUID technicianId) {
+        return disponibiliteRepository.findSlotsByTechnician(technicianId);
+    }
+
+    /** Adds or moves the saved window once the current transaction commits. */
+    public void recordAfterCommit(DisponibiliteDTO saved) {
+        boolean complete = saved.technicianInfoId() != null && saved.debut() != null && saved.fin() != null;
+        recordAfterCommit(saved.id(), complete
+                ? new TechnicianSlotDTO(saved.id(), saved.technicianInfoId(), saved.debut(), saved.fin())
+                : null);
+    }
+}
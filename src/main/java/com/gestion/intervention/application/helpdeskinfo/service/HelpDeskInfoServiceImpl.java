@@ -15,7 +15,6 @@ import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -76,18 +75,14 @@ public class HelpDeskInfoServiceImpl implements HelpDeskInfoService {
     @Transactional(readOnly = true)
     @Override
     public HelpDeskInfoDTO getHelpDeskInfoById(UUID id) {
-        HelpDeskInfo helpDeskInfo = helpDeskInfoRepository.findById(id)
+        return helpDeskInfoRepository.findDtoById(id)
                 .orElseThrow(() -> new EntityNotFoundException("HelpDeskInfo not found with id: " + id));
-        return toDTO(helpDeskInfo);
     }
 
     @Transactional(readOnly = true)
     @Override
     public List<HelpDeskInfoDTO> getAllHelpDeskInfos() {
-        return helpDeskInfoRepository.findAll()
-                .stream()
-                .map(this::toDTO)
-                .collect(Collectors.toList());
+        return helpDeskInfoRepository.findAllDtos();
     }
 
     private void validateHelpDeskLinkage(UUID personId, UUID steId) {
@@ -0,0 +1,15 @@
+package com.gestion.intervention.application.intervention.record;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/** A technician who could take a panne, when, and how they ranked; higher scores rank first. */
+public record DispatchCandidateDTO(
+        UUID technicianId,
+        String specialite,
+        boolean specialiteMatch,
+        int load,
+        LocalDateTime dateDebut,
+        LocalDateTime dateFin,
+        double score
+) {}
@@ -0,0 +1,16 @@
+package com.gestion.intervention.application.intervention.service;
+
+import com.gestion.intervention.application.common.record.BulkCreateResult;
+import com.gestion.intervention.application.intervention.record.DispatchCandidateDTO;
+import com.gestion.intervention.application.intervention.record.InterventionDTO;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public interface DispatchService {
+    List<DispatchCandidateDTO> rankTechnicians(UUID panneId, Duration duration, LocalDateTime from, LocalDateTime to, int limit);
+    InterventionDTO dispatch(UUID panneId, Duration duration, LocalDateTime from, LocalDateTime to);
+    BulkCreateResult<InterventionDTO> dispatchBacklog(Duration duration, LocalDateTime from, LocalDateTime to, int maxPannes);
+}
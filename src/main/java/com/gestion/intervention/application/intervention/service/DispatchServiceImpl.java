@@ -0,0 +1,326 @@
+package com.gestion.intervention.application.intervention.service;
+
+import com.gestion.intervention.application.common.record.BulkCreateResult;
+import com.gestion.intervention.application.common.service.ChunkedInserter;
+import com.gestion.intervention.application.common.service.ChunkedInserter.Checked;
+import com.gestion.intervention.application.disponibile.service.FreeSlotFinder;
+import com.gestion.intervention.application.intervention.record.DispatchCandidateDTO;
+import com.gestion.intervention.application.intervention.record.InterventionDTO;
+import com.gestion.intervention.application.panne.record.PanneDispatchDTO;
+import com.gestion.intervention.application.technicianinfo.record.TechnicianInfoDTO;
+import com.gestion.intervention.domain.intervention.model.Intervention;
+import com.gestion.intervention.domain.intervention.repository.InterventionRepository;
+import com.gestion.intervention.domain.panne.enumeration.PanneStatus;
+import com.gestion.intervention.domain.panne.repository.PanneRepository;
+import com.gestion.intervention.domain.technicianinfo.repository.TechnicianInfoRepository;
+import jakarta.persistence.EntityNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.text.Normalizer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Picks technicians for pending pannes. A technician is a candidate if they have a free period of the job's length
+ * in the requested window ({@link FreeSlotFinder}: availability minus booked interventions); candidates are scored
+ * <pre>
+ *   specialite-weight (if their specialite matches the panne or its machine)
+ *   - load-weight * (nbrPanne - nbrPanneRegle)
+ *   - wait-weight-per-hour * hours from the start of the window to their first free period
+ * </pre>
+ * with the weights under {@code app.dispatch.*}. Dispatching books the best candidate's first free period and counts
+ * the panne in their {@code nbrPanne}, in one transaction.
+ * <p>
+ * The backlog mode assigns pending pannes without an intervention greedily, oldest first, each to the best candidate
+ * given the assignments made before it in the same pass, then inserts the interventions in chunks.
+ */
+@Service
+public class DispatchServiceImpl implements DispatchService {
+    private static final Logger log = LoggerFactory.getLogger(DispatchServiceImpl.class);
+
+    private static final Comparator<DispatchCandidateDTO> BEST_FIRST = Comparator
+            .comparingDouble(DispatchCandidateDTO::score).reversed()
+            .thenComparing(DispatchCandidateDTO::dateDebut)
+            .thenComparing(DispatchCandidateDTO::technicianId);
+
+    private final PanneRepository panneRepository;
+    private final TechnicianInfoRepository technicianInfoRepository;
+    private final InterventionRepository interventionRepository;
+    private final InterventionService interventionService;
+    private final TechnicianScheduleIndex scheduleIndex;
+    private final TechnicianScheduleLock scheduleLock;
+    private final FreeSlotFinder freeSlotFinder;
+    private final ChunkedInserter chunkedInserter;
+    private final double specialiteWeight;
+    private final double loadWeight;
+    private final double waitWeightPerHour;
+    private final int maxBacklog;
+
+    public DispatchServiceImpl(PanneRepository panneRepository,
+                               TechnicianInfoRepository technicianInfoRepository,
+                               InterventionRepository interventionRepository,
+                               InterventionService interventionService,
+                               TechnicianScheduleIndex scheduleIndex,
+                               TechnicianScheduleLock scheduleLock,
+                               FreeSlotFinder freeSlotFinder,
+                               ChunkedInserter chunkedInserter,
+                               @Value("${app.dispatch.specialite-weight:100}") double specialiteWeight,
+                               @Value("${app.dispatch.load-weight:10}") double loadWeight,
+                               @Value("${app.dispatch.wait-weight-per-hour:1}") double waitWeightPerHour,
+                               @Value("${app.dispatch.max-backlog:10000}") int maxBacklog) {
+        this.panneRepository = panneRepository;
+        this.technicianInfoRepository = technicianInfoRepository;
+        this.interventionRepository = interventionRepository;
+        this.interventionService = interventionService;
+        this.scheduleIndex = scheduleIndex;
+        this.scheduleLock = scheduleLock;
+        this.freeSlotFinder = freeSlotFinder;
+        this.chunkedInserter = chunkedInserter;
+        this.specialiteWeight = specialiteWeight;
+        this.loadWeight = loadWeight;
+        this.waitWeightPerHour = waitWeightPerHour;
+        this.maxBacklog = maxBacklog;
+    }
+
+    /** One planned intervention of a backlog pass; without a technician when nobody was free. */
+    private record Assignment(UUID panneId, UUID technicianId, LocalDateTime dateDebut, LocalDateTime dateFin) {}
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<DispatchCandidateDTO> rankTechnicians(UUID panneId, Duration duration, LocalDateTime from, LocalDateTime to, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be at least 1.");
+        }
+        List<DispatchCandidateDTO> ranked = rank(requireDispatchable(panneId), duration, from, to);
+        return ranked.subList(0, Math.min(limit, ranked.size()));
+    }
+
+    @Override
+    @Transactional
+    public InterventionDTO dispatch(UUID panneId, Duration duration, LocalDateTime from, LocalDateTime to) {
+        // Held until commit: a concurrent dispatch of this panne waits here, then finds the intervention made below
+        panneRepository.lockByIds(List.of(panneId));
+        List<DispatchCandidateDTO> ranked = rank(requireDispatchable(panneId), duration, from, to);
+        if (ranked.isEmpty()) {
+            throw new IllegalArgumentException("No technician is free for " + duration.toMinutes() + " minutes between " + from + " and " + to + ".");
+        }
+        DispatchCandidateDTO best = ranked.get(0);
+        // Counts the panne in the technician's nbrPanne too, in this transaction
+        return interventionService.createIntervention(
+                new InterventionDTO(null, best.dateDebut(), best.dateFin(), duration, best.technicianId(), panneId));
+    }
+
+    // No surrounding transaction: every chunk commits on its own
+    @Override
+    public BulkCreateResult<InterventionDTO> dispatchBacklog(Duration duration, LocalDateTime from, LocalDateTime to, int maxPannes) {
+        if (maxPannes < 1) {
+            throw new IllegalArgumentException("A backlog pass takes at least one panne.");
+        }
+        long started = System.nanoTime();
+        FreeSlotFinder.Planner planner = freeSlotFinder.planner(from, to);
+        List<PanneDispatchDTO> backlog = panneRepository.findUndispatched(PanneStatus.PENDING, Limit.of(Math.min(maxPannes, maxBacklog)));
+        if (backlog.isEmpty()) {
+            return BulkCreateResult.of(List.of());
+        }
+        List<TechnicianInfoDTO> technicians = technicianInfoRepository.findAllDtos();
+
+        // Every technician's first free period and load, updated as the pass assigns them work
+        int count = technicians.size();
+        LocalDateTime[] starts = new LocalDateTime[count];
+        double[] waits = new double[count];
+        int[] loads = new int[count];
+        for (int i = 0; i < count; i++) {
+            TechnicianInfoDTO technician = technicians.get(i);
+            starts[i] = planner.earliestStart(technician.id(), duration);
+            waits[i] = starts[i] == null ? 0 : waitHours(from, starts[i]);
+            loads[i] = technician.nbrPanne() - technician.nbrPanneRegle();
+        }
+        // Pannes repeat the same few types and machines: match each text against every specialite once
+        Map<String, boolean[]> matchesByText = new HashMap<>();
+        List<Set<String>> specialiteWords = technicians.stream().map(technician -> words(technician.specialite())).toList();
+
+        List<Assignment> plan = new ArrayList<>(backlog.size());
+        for (PanneDispatchDTO panne : backlog) {
+            boolean[] matches = matchesByText.computeIfAbsent(panneText(panne), text -> {
+                Set<String> panneWords = words(text);
+                boolean[] byTechnician = new boolean[count];
+                for (int i = 0; i < count; i++) {
+                    byTechnician[i] = sharesStem(specialiteWords.get(i), panneWords);
+                }
+                return byTechnician;
+            });
+            int best = -1;
+            double bestScore = 0;
+            for (int i = 0; i < count; i++) {
+                if (starts[i] == null) {
+                    continue;
+                }
+                double score = score(matches[i], loads[i], waits[i]);
+                if (best < 0 || score > bestScore || (score == bestScore && starts[i].isBefore(starts[best]))) {
+                    best = i;
+                    bestScore = score;
+                }
+            }
+            if (best < 0) {
+                plan.add(new Assignment(panne.id(), null, null, null));
+                continue;
+            }
+            UUID technicianId = technicians.get(best).id();
+            LocalDateTime debut = starts[best];
+            LocalDateTime fin = debut.plus(duration);
+            plan.add(new Assignment(panne.id(), technicianId, debut, fin));
+            planner.book(technicianId, debut, fin);
+            loads[best]++;
+            starts[best] = planner.earliestStart(technicianId, duration);
+            waits[best] = starts[best] == null ? 0 : waitHours(from, starts[best]);
+        }
+
+        // Bookings reach the schedule index on their chunk's commit, before its technicians are unlocked
+        BulkCreateResult<InterventionDTO> result = chunkedInserter.insert(plan, chunk -> checkAssignments(chunk, duration), intervention -> {
+            InterventionDTO created = toDto(intervention);
+            scheduleIndex.recordAfterCommit(created);
+            return created;
+        });
+        log.info("Dispatched {} of {} pending pannes to {} technicians in {} ms", result.created(), backlog.size(), count,
+                (System.nanoTime() - started) / 1_000_000);
+        return result;
+    }
+
+    private PanneDispatchDTO requireDispatchable(UUID panneId) {
+        PanneDispatchDTO panne = panneRepository.findDispatchDtoById(panneId)
+                .orElseThrow(() -> new EntityNotFoundException("Panne not found with id: " + panneId));
+        if (panne.status() != PanneStatus.PENDING) {
+            throw new IllegalArgumentException("Only pending pannes can be dispatched.");
+        }
+        if (interventionRepository.existsByPanneId(panneId)) {
+            throw new IllegalArgumentException("Panne already has an intervention.");
+        }
+        return panne;
+    }
+
+    private List<DispatchCandidateDTO> rank(PanneDispatchDTO panne, Duration duration, LocalDateTime from, LocalDateTime to) {
+        Set<String> panneWords = words(panneText(panne));
+        List<DispatchCandidateDTO> ranked = new ArrayList<>();
+        for (TechnicianInfoDTO technician : technicianInfoRepository.findAllDtos()) {
+            LocalDateTime debut = freeSlotFinder.earliestStart(technician.id(), duration, from, to);
+            if (debut == null) {
+                continue;
+            }
+            boolean match = sharesStem(words(technician.specialite()), panneWords);
+            int load = technician.nbrPanne() - technician.nbrPanneRegle();
+            ranked.add(new DispatchCandidateDTO(technician.id(), technician.specialite(), match, load,
+                    debut, debut.plus(duration), score(match, load, waitHours(from, debut))));
+        }
+        ranked.sort(BEST_FIRST);
+        return ranked;
+    }
+
+    // Runs in the chunk's transaction, so the load counters move with the inserted interventions, and the chunk's
+    // technicians stay locked until it commits
+    private List<Checked<Intervention>> checkAssignments(List<Assignment> chunk, Duration duration) {
+        // Pannes before technicians, the same order as dispatch, so a concurrent dispatch of one of these pannes waits
+        // for this chunk to commit and then sees its intervention
+        List<UUID> panneIds = chunk.stream().map(Assignment::panneId).toList();
+        panneRepository.lockByIds(panneIds);
+        Set<UUID> taken = interventionRepository.findPanneIdsWithIntervention(panneIds);
+        Set<UUID> technicianIds = new HashSet<>();
+        LocalDateTime from = null;
+        LocalDateTime to = null;
+        for (Assignment assignment : chunk) {
+            if (assignment.technicianId() != null) {
+                technicianIds.add(assignment.technicianId());
+                from = from == null || assignment.dateDebut().isBefore(from) ? assignment.dateDebut() : from;
+                to = to == null || assignment.dateFin().isAfter(to) ? assignment.dateFin() : to;
+            }
+        }
+        TechnicianScheduleLock.LockedSchedules schedules = technicianIds.isEmpty() ? null : scheduleLock.lock(technicianIds, from, to);
+        Map<UUID, Integer> assignedByTechnician = new HashMap<>();
+        List<Checked<Intervention>> verdicts = new ArrayList<>(chunk.size());
+        for (Assignment assignment : chunk) {
+            if (assignment.technicianId() == null) {
+                verdicts.add(Checked.reject("Panne " + assignment.panneId() + ": no technician is free for it in the requested window."));
+            } else if (taken.contains(assignment.panneId())) {
+                verdicts.add(Checked.reject("Panne " + assignment.panneId() + " already has an intervention."));
+            } else if (schedules.hasConflict(assignment.technicianId(), assignment.dateDebut(), assignment.dateFin(), null)) {
+                // Booked by someone else since the pass was planned
+                verdicts.add(Checked.reject("Panne " + assignment.panneId() + ": the technician was booked meanwhile."));
+            } else {
+                assignedByTechnician.merge(assignment.technicianId(), 1, Integer::sum);
+                verdicts.add(Checked.accept(Intervention.builder()
+                        .dateDebut(assignment.dateDebut())
+                        .dateFin(assignment.dateFin())
+                        .duree(duration)
+                        .technicianInfo(technicianInfoRepository.getReferenceById(assignment.technicianId()))
+                        .panne(panneRepository.getReferenceById(assignment.panneId()))
+                        .build()));
+            }
+        }
+        // One statement per distinct count rather than per technician
+        Map<Integer, List<UUID>> techniciansByCount = new HashMap<>();
+        assignedByTechnician.forEach((technicianId, assigned) ->
+                techniciansByCount.computeIfAbsent(assigned, count -> new ArrayList<>()).add(technicianId));
+        techniciansByCount.forEach((count, ids) -> technicianInfoRepository.addAssignedPannes(ids, count));
+        return verdicts;
+    }
+
+    private double score(boolean specialiteMatch, int load, double waitHours) {
+        return (specialiteMatch ? specialiteWeight : 0) - loadWeight * load - waitWeightPerHour * waitHours;
+    }
+
+    private static double waitHours(LocalDateTime from, LocalDateTime start) {
+        return Math.max(0, Duration.between(from, start).toMinutes()) / 60.0;
+    }
+
+    private static String panneText(PanneDispatchDTO panne) {
+        return (panne.typePanne() == null ? "" : panne.typePanne()) + " " + (panne.machineType() == null ? "" : panne.machineType());
+    }
+
+    /** Lower-cased words of three letters or more, accents stripped. */
+    private static Set<String> words(String text) {
+        if (text == null) {
+            return Set.of();
+        }
+        String plain = Normalizer.normalize(text, Normalizer.Form.NFD).replaceAll("\\p{M}+", "").toLowerCase(Locale.ROOT);
+        return Set.copyOf(Arrays.stream(plain.split("[^\\p{L}\\p{N}]+")).filter(word -> word.length() >= 3).toList());
+    }
+
+    // Same stem: words agree on their first five letters (or all of the shorter one), so a "Hydraulics" specialite
+    // matches a "Hydraulic leak" and "Electricite" an "Electrical press"
+    private static boolean sharesStem(Set<String> specialiteWords, Set<String> panneWords) {
+        for (String specialite : specialiteWords) {
+            for (String word : panneWords) {
+                int stem = Math.min(5, Math.min(specialite.length(), word.length()));
+                if (specialite.regionMatches(0, word, 0, stem)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private InterventionDTO toDto(Intervention intervention) {
+        return new InterventionDTO(
+                intervention.getId(),
+                intervention.getDateDebut(),
+                intervention.getDateFin(),
+                intervention.getDuree(),
+                intervention.getTechnicianInfo().getId(),
+                intervention.getPanne().getId()
+        );
+    }
+}
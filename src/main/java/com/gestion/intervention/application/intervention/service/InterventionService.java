@@ -1,14 +1,19 @@
 package com.gestion.intervention.application.intervention.service;
 
+import com.gestion.intervention.application.common.record.CursorPage;
 import com.gestion.intervention.application.intervention.record.InterventionDTO;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 public interface InterventionService {
     InterventionDTO createIntervention(InterventionDTO dto);
     InterventionDTO getInterventionById(UUID id);
     List<InterventionDTO> getAllInterventions();
+    CursorPage<InterventionDTO> getInterventionsPage(String cursor, int size);
+    long exportInterventions(LocalDateTime from, LocalDateTime to, UUID technicianId, Consumer<InterventionDTO> sink);
     InterventionDTO updateIntervention(UUID id, InterventionDTO dto);
     void deleteIntervention(UUID id);
 }
@@ -1,5 +1,6 @@
 package com.gestion.intervention.application.intervention.service;
 
+import com.gestion.intervention.application.common.record.CursorPage;
 import com.gestion.intervention.application.intervention.record.InterventionDTO;
 import com.gestion.intervention.domain.intervention.model.Intervention;
 import com.gestion.intervention.domain.intervention.repository.InterventionRepository;
@@ -16,8 +17,10 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime; // Assuming dates are LocalDateTime
 import java.util.List;
+import java.util.Objects;
 import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -26,6 +29,8 @@ public class InterventionServiceImpl implements InterventionService {
     private final InterventionRepository interventionRepository;
     private final TechnicianInfoRepository technicianInfoRepository;
     private final PanneRepository panneRepository;
+    private final TechnicianScheduleIndex scheduleIndex;
+    private final TechnicianScheduleLock scheduleLock;
     // Optional: Inject DisponibiliteRepository if you need to check technician availability based on Disponibilite entities
     // private final DisponibiliteRepository disponibiliteRepository;
 
@@ -59,7 +64,10 @@ public class InterventionServiceImpl implements InterventionService {
                 .build();
 
         Intervention savedIntervention = interventionRepository.save(intervention);
-        return toDTO(savedIntervention);
+        InterventionDTO saved = toDTO(savedIntervention);
+        moveAssignedPanne(null, assignee(saved));
+        scheduleIndex.recordAfterCommit(saved);
+        return saved;
     }
 
     @Transactional
@@ -83,6 +91,7 @@ public class InterventionServiceImpl implements InterventionService {
 
         // Optional: Add similar checks for Panne status and Technician availability as in create
 
+        UUID previousAssignee = assignee(toDTO(intervention));
         intervention.setDateDebut(dto.dateDebut());
         intervention.setDateFin(dto.dateFin());
         intervention.setDuree(dto.duree());
@@ -90,33 +99,60 @@ public class InterventionServiceImpl implements InterventionService {
         intervention.setPanne(panne); // Handles setting to null
 
         Intervention updatedIntervention = interventionRepository.save(intervention);
-        return toDTO(updatedIntervention);
+        InterventionDTO updated = toDTO(updatedIntervention);
+        moveAssignedPanne(previousAssignee, assignee(updated));
+        scheduleIndex.recordAfterCommit(updated); // Also moves it off the previous technician's schedule
+        return updated;
     }
 
     @Transactional
     @Override
     public void deleteIntervention(UUID id) {
-        if (!interventionRepository.existsById(id)) {
-            throw new EntityNotFoundException("Intervention not found with id: " + id);
-        }
+        InterventionDTO intervention = interventionRepository.findDtoById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Intervention not found with id: " + id));
         interventionRepository.deleteById(id);
+        moveAssignedPanne(assignee(intervention), null);
+        scheduleIndex.removeAfterCommit(id);
     }
 
     @Transactional(readOnly = true)
     @Override
     public InterventionDTO getInterventionById(UUID id) {
-        Intervention intervention = interventionRepository.findById(id)
+        return interventionRepository.findDtoById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Intervention not found with id: " + id));
-        return toDTO(intervention);
     }
 
     @Transactional(readOnly = true)
     @Override
     public List<InterventionDTO> getAllInterventions() {
-        return interventionRepository.findAll()
-                .stream()
-                .map(this::toDTO)
-                .collect(Collectors.toList());
+        return interventionRepository.findAllDtos();
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public CursorPage<InterventionDTO> getInterventionsPage(String cursor, int size) {
+        List<InterventionDTO> rows = interventionRepository.findDtoPage(CursorPage.after(cursor), CursorPage.fetchLimit(size));
+        return CursorPage.of(rows, size, InterventionDTO::id);
+    }
+
+    /**
+     * Hands every matching row to {@code sink} as it comes off the cursor, so memory does not grow with the table.
+     * The projection builds plain records and leaves the persistence context empty: there is nothing to detach.
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public long exportInterventions(LocalDateTime from, LocalDateTime to, UUID technicianId, Consumer<InterventionDTO> sink) {
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new IllegalArgumentException("Export range start must be before its end.");
+        }
+        long exported = 0;
+        try (Stream<InterventionDTO> rows = interventionRepository.streamForExport(from, to, technicianId)) {
+            for (InterventionDTO row : (Iterable<InterventionDTO>) rows::iterator) {
+                sink.accept(row);
+                exported++;
+            }
+        }
+        return exported;
     }
 
     private void validateInterventionDates(LocalDateTime debut, LocalDateTime fin) {
@@ -144,15 +180,32 @@ public class InterventionServiceImpl implements InterventionService {
                 .orElseThrow(() -> new EntityNotFoundException("Panne not found with id: " + panneId));
     }
 
-    // Requires custom query in InterventionRepository
+    // The technician's schedule stays locked until commit, so no concurrent booking can slip in between check and save
     private void checkForConflictingInterventions(UUID technicianInfoId, LocalDateTime debut, LocalDateTime fin, UUID interventionIdToExclude) {
-        List<Intervention> conflicting = interventionRepository
-                .findConflictingInterventionsForTechnician(technicianInfoId, debut, fin, interventionIdToExclude);
-        if (!conflicting.isEmpty()) {
+        if (scheduleLock.lock(List.of(technicianInfoId), debut, fin).hasConflict(technicianInfoId, debut, fin, interventionIdToExclude)) {
             throw new IllegalArgumentException("Technician already has a conflicting intervention scheduled during this time.");
         }
     }
 
+    // The technician whose nbrPanne counts this intervention: only one that works on a panne counts
+    private static UUID assignee(InterventionDTO intervention) {
+        return intervention.panneId() != null ? intervention.technicianId() : null;
+    }
+
+    // Every booking change goes through here (and dispatch through createIntervention), so nbrPanne - nbrPanneRegle,
+    // the load the dispatch ranking relies on, follows the interventions actually assigned
+    private void moveAssignedPanne(UUID from, UUID to) {
+        if (Objects.equals(from, to)) {
+            return;
+        }
+        if (from != null) {
+            technicianInfoRepository.addAssignedPannes(from, -1);
+        }
+        if (to != null) {
+            technicianInfoRepository.addAssignedPannes(to, 1);
+        }
+    }
+
     /*
     // Optional: Requires DisponibiliteRepository and logic to check against available slots
     private void checkTechnicianAvailability(UUID technicianInfoId, LocalDateTime debut, LocalDateTime fin) {
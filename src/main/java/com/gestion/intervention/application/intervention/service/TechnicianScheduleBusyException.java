@@ -0,0 +1,12 @@
+package com.gestion.intervention.application.intervention.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/** Raised when a technician's schedule stays locked by other bookings longer than {@code app.schedule-lock.timeout}. */
+@ResponseStatus(value = HttpStatus.CONFLICT, reason = "The technician's schedule is being changed, retry")
+public class TechnicianScheduleBusyException extends RuntimeException {
+    public TechnicianScheduleBusyException() {
+        super("The technician's schedule is being changed, retry");
+    }
+}
@@ -0,0 +1,61 @@
+package com.gestion.intervention.application.intervention.service;
+
+import com.gestion.intervention.application.common.record.TechnicianSlotDTO;
+import com.gestion.intervention.application.common.service.TechnicianSlotIndex;
+import com.gestion.intervention.application.intervention.record.InterventionDTO;
+import com.gestion.intervention.domain.intervention.repository.InterventionRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Every technician's booked intervention slots in memory, so the overlap check on intervention create/update is
+ * answered in O(log n) without a query. Until the index is loaded, or when disabled with
+ * {@code app.schedule-index.enabled=false}, {@link #hasConflict} falls back to the repository query.
+ */
+@Component
+public class TechnicianScheduleIndex extends TechnicianSlotIndex {
+
+    private final InterventionRepository interventionRepository;
+
+    public TechnicianScheduleIndex(InterventionRepository interventionRepository,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${app.schedule-index.enabled:true}") boolean enabled) {
+        super("Schedule index", transactionManager, enabled);
+        this.interventionRepository = interventionRepository;
+    }
+
+    @Override
+    protected Stream<TechnicianSlotDTO> streamSlots() {
+        return interventionRepository.streamSlots();
+    }
+
+    @Override
+    protected List<TechnicianSlotDTO> findSlotsByTechnician(UUID technicianId) {
+        return interventionRepository.findSlotsByTechnician(technicianId);
+    }
+
+    /**
+     * True if the technician has an intervention other than {@code excludedInterventionId} intersecting
+     * {@code [debut, fin)}. Answered from memory once loaded, by the database before.
+     */
+    public boolean hasConflict(UUID technicianId, LocalDateTime debut, LocalDateTime fin, UUID excludedInterventionId) {
+        if (!isReady()) {
+            return interventionRepository.existsConflictingInterventionForTechnician(technicianId, debut, fin, excludedInterventionId);
+        }
+        return overlaps(technicianId, debut, fin, excludedInterventionId);
+    }
+
+    /** Books (or, without technician or dates, unbooks) the saved intervention once the current transaction commits. */
+    public void recordAfterCommit(InterventionDTO saved) {
+        boolean booked = saved.technicianId() != null && saved.dateDebut() != null && saved.dateFin() != null;
+        recordAfterCommit(saved.id(), booked
+                ? new TechnicianSlotDTO(saved.id(), saved.technicianId(), saved.dateDebut(), saved.dateFin())
+                : null);
+    }
+}
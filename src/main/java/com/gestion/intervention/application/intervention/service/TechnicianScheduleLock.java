@@ -0,0 +1,139 @@
+package com.gestion.intervention.application.intervention.service;
+
+import com.gestion.intervention.application.common.record.TechnicianSlotDTO;
+import com.gestion.intervention.domain.intervention.repository.InterventionRepository;
+import com.gestion.intervention.domain.technicianinfo.repository.TechnicianInfoRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Serializes the bookings of a technician from their conflict check to their commit, and only theirs: two agents
+ * booking different technicians never wait on each other, two booking the same one take turns, so neither can pass
+ * the check on a schedule the other is about to change.
+ * <p>
+ * In-process, technicians are spread over {@code app.schedule-lock.stripes} locks, held until the transaction
+ * completes, i.e. after the schedule index has recorded the commit. Across instances
+ * ({@code app.schedule-lock.database-guard}), the technicians' rows are then locked with SELECT ... FOR UPDATE and
+ * their bookings in the window re-read with a locking read, since another instance's commits are not in this one's
+ * index. Locks are always taken in the same order (stripes, then rows by id), so callers locking several
+ * technicians cannot deadlock each other.
+ */
+@Component
+public class TechnicianScheduleLock {
+
+    private final TechnicianScheduleIndex scheduleIndex;
+    private final TechnicianInfoRepository technicianInfoRepository;
+    private final InterventionRepository interventionRepository;
+    private final ReentrantLock[] stripes;
+    private final long timeoutNanos;
+    private final boolean databaseGuard;
+
+    public TechnicianScheduleLock(TechnicianScheduleIndex scheduleIndex,
+                                  TechnicianInfoRepository technicianInfoRepository,
+                                  InterventionRepository interventionRepository,
+                                  @Value("${app.schedule-lock.stripes:1024}") int stripeCount,
+                                  @Value("${app.schedule-lock.database-guard:true}") boolean databaseGuard,
+                                  Environment environment) {
+        this.scheduleIndex = scheduleIndex;
+        this.technicianInfoRepository = technicianInfoRepository;
+        this.interventionRepository = interventionRepository;
+        this.databaseGuard = databaseGuard;
+        this.timeoutNanos = Binder.get(environment)
+                .bind("app.schedule-lock.timeout", Duration.class).orElse(Duration.ofSeconds(5)).toNanos();
+        int count = Integer.highestOneBit(Math.max(stripeCount, 1));
+        this.stripes = new ReentrantLock[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Locks the technicians' schedules until the current transaction completes, and returns what they hold within
+     * {@code [from, to)} as of now. Throws {@link TechnicianScheduleBusyException} if a stripe stays taken longer
+     * than {@code app.schedule-lock.timeout}.
+     */
+    public LockedSchedules lock(Collection<UUID> technicianIds, LocalDateTime from, LocalDateTime to) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Technician schedules can only be locked inside a transaction.");
+        }
+        TreeSet<Integer> stripeIndexes = new TreeSet<>();
+        for (UUID technicianId : technicianIds) {
+            stripeIndexes.add(spread(technicianId.hashCode()) & (stripes.length - 1));
+        }
+        List<ReentrantLock> held = new ArrayList<>(stripeIndexes.size());
+        // Released once the transaction is over, whatever its outcome; registered first so a timeout releases too
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                for (int i = held.size() - 1; i >= 0; i--) {
+                    held.get(i).unlock();
+                }
+            }
+        });
+        for (int stripe : stripeIndexes) {
+            ReentrantLock lock = stripes[stripe];
+            boolean acquired;
+            try {
+                acquired = lock.tryLock(timeoutNanos, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new TechnicianScheduleBusyException();
+            }
+            if (!acquired) {
+                throw new TechnicianScheduleBusyException();
+            }
+            held.add(lock);
+        }
+
+        Map<UUID, List<TechnicianSlotDTO>> booked = new HashMap<>();
+        if (databaseGuard) {
+            technicianInfoRepository.lockByIds(technicianIds);
+            for (TechnicianSlotDTO slot : interventionRepository.findSlotsLocking(technicianIds, from, to)) {
+                booked.computeIfAbsent(slot.technicianId(), id -> new ArrayList<>()).add(slot);
+            }
+        }
+        return new LockedSchedules(booked);
+    }
+
+    private static int spread(int h) {
+        return h ^ (h >>> 16);
+    }
+
+    /** The schedules of the locked technicians: the index, plus the bookings read under the row locks. */
+    public final class LockedSchedules {
+        private final Map<UUID, List<TechnicianSlotDTO>> booked;
+
+        private LockedSchedules(Map<UUID, List<TechnicianSlotDTO>> booked) {
+            this.booked = booked;
+        }
+
+        /** True if a booking of the technician other than {@code excludedInterventionId} intersects {@code [debut, fin)}. */
+        public boolean hasConflict(UUID technicianId, LocalDateTime debut, LocalDateTime fin, UUID excludedInterventionId) {
+            if (scheduleIndex.hasConflict(technicianId, debut, fin, excludedInterventionId)) {
+                return true;
+            }
+            for (TechnicianSlotDTO slot : booked.getOrDefault(technicianId, List.of())) {
+                if (!slot.id().equals(excludedInterventionId) && slot.debut().isBefore(fin) && slot.fin().isAfter(debut)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.gestion.intervention.application.machine.service;
 
+import com.gestion.intervention.application.common.record.BulkCreateResult;
+import com.gestion.intervention.application.common.record.CursorPage;
 import com.gestion.intervention.application.machine.record.MachineDTO;
 
 import java.util.List;
@@ -7,8 +9,10 @@ import java.util.UUID;
 
 public interface MachineService {
     MachineDTO createMachine(MachineDTO dto);
+    BulkCreateResult<MachineDTO> createMachines(List<MachineDTO> dtos);
     MachineDTO getMachineById(UUID id);
     List<MachineDTO> getAllMachines();
+    CursorPage<MachineDTO> getMachinesPage(String cursor, int size);
     MachineDTO updateMachine(UUID id, MachineDTO dto);
     void deleteMachine(UUID id);
 }
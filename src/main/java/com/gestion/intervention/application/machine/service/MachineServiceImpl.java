@@ -1,5 +1,9 @@
 package com.gestion.intervention.application.machine.service;
 
+import com.gestion.intervention.application.common.record.BulkCreateResult;
+import com.gestion.intervention.application.common.record.CursorPage;
+import com.gestion.intervention.application.common.service.ChunkedInserter.Checked;
+import com.gestion.intervention.application.common.service.ChunkedInserter;
 import com.gestion.intervention.application.machine.record.MachineDTO;
 import com.gestion.intervention.domain.machine.model.Machine;
 import com.gestion.intervention.domain.machine.repository.MachineRepository;
@@ -12,7 +16,6 @@ import org.springframework.transaction.annotation.Transactional;
 import java.util.Arrays; // Added for etat validation
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -20,6 +23,7 @@ public class MachineServiceImpl implements MachineService {
 
     private final MachineRepository machineRepository;
     private final PanneRepository panneRepository; // Added dependency (assuming Panne links to Machine)
+    private final ChunkedInserter chunkedInserter;
 
     // Optional: Define allowed states if not using an enum
     private static final List<String> ALLOWED_ETATS = Arrays.asList("OPERATIONAL", "MAINTENANCE", "OUT_OF_SERVICE", "NEW");
@@ -39,20 +43,30 @@ public class MachineServiceImpl implements MachineService {
         return toDto(savedEntity);
     }
 
+    // No surrounding transaction: every chunk commits on its own
+    @Override
+    public BulkCreateResult<MachineDTO> createMachines(List<MachineDTO> dtos) {
+        return chunkedInserter.insert(dtos, chunk -> chunk.stream().map(this::checkMachine).toList(), this::toDto);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public MachineDTO getMachineById(UUID id) {
-        return machineRepository.findById(id)
-                .map(this::toDto)
+        return machineRepository.findDtoById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Machine not found with id: " + id));
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<MachineDTO> getAllMachines() {
-        return machineRepository.findAll().stream()
-                .map(this::toDto)
-                .collect(Collectors.toList());
+        return machineRepository.findAllDtos();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<MachineDTO> getMachinesPage(String cursor, int size) {
+        List<MachineDTO> rows = machineRepository.findDtoPage(CursorPage.after(cursor), CursorPage.fetchLimit(size));
+        return CursorPage.of(rows, size, MachineDTO::id);
     }
 
     @Override
@@ -86,6 +100,18 @@ public class MachineServiceImpl implements MachineService {
         machineRepository.deleteById(id);
     }
 
+    private Checked<Machine> checkMachine(MachineDTO dto) {
+        if (dto == null) {
+            return Checked.reject("Machine cannot be null.");
+        }
+        try {
+            validateMachineEtat(dto.etat());
+        } catch (IllegalArgumentException e) {
+            return Checked.reject(e.getMessage());
+        }
+        return Checked.accept(Machine.builder().type(dto.type()).etat(dto.etat()).build());
+    }
+
     private void validateMachineEtat(String etat) {
         // This check can be basic or complex. Using a predefined list as an example.
         // Ideally, 'etat' would be an Enum, making this check unnecessary or handled by Enum validation.
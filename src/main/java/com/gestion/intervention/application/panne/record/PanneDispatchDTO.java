@@ -0,0 +1,13 @@
+package com.gestion.intervention.application.panne.record;
+
+import com.gestion.intervention.domain.panne.enumeration.PanneStatus;
+
+import java.util.UUID;
+
+/** What the dispatch engine needs to know about a panne to pick a technician for it. */
+public record PanneDispatchDTO(
+        UUID id,
+        PanneStatus status,
+        String typePanne,
+        String machineType
+) {}
@@ -1,5 +1,6 @@
 package com.gestion.intervention.application.panne.service;
 
+import com.gestion.intervention.application.common.record.CursorPage;
 import com.gestion.intervention.application.panne.record.PanneDTO;
 import com.gestion.intervention.domain.panne.enumeration.PanneStatus;
 
@@ -10,6 +11,7 @@ public interface PanneService {
     PanneDTO createPanne(PanneDTO dto);
     PanneDTO getPanneById(UUID id);
     List<PanneDTO> getAllPannes();
+    CursorPage<PanneDTO> getPannesPage(String cursor, int size);
     PanneDTO updatePanne(UUID id, PanneDTO dto);
     void deletePanne(UUID id);
     Integer getTotalPannesByStatus(PanneStatus status, UUID userId);
@@ -1,5 +1,6 @@
 package com.gestion.intervention.application.panne.service;
 
+import com.gestion.intervention.application.common.record.CursorPage;
 import com.gestion.intervention.application.panne.record.PanneDTO;
 import com.gestion.intervention.domain.intervention.repository.InterventionRepository; // Added dependency
 import com.gestion.intervention.domain.machine.model.Machine;
@@ -19,7 +20,6 @@ import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -55,17 +55,21 @@ public class PanneServiceImpl implements PanneService {
     @Transactional(readOnly = true)
     @Override
     public PanneDTO getPanneById(UUID id) {
-        Panne panne = panneRepository.findById(id)
+        return panneRepository.findDtoById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Panne not found with id: " + id));
-        return toDto(panne);
     }
 
     @Transactional(readOnly = true)
     @Override
     public List<PanneDTO> getAllPannes() {
-        return panneRepository.findAll().stream()
-                .map(this::toDto)
-                .collect(Collectors.toList());
+        return panneRepository.findAllDtos();
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public CursorPage<PanneDTO> getPannesPage(String cursor, int size) {
+        List<PanneDTO> rows = panneRepository.findDtoPage(CursorPage.after(cursor), CursorPage.fetchLimit(size));
+        return CursorPage.of(rows, size, PanneDTO::id);
     }
 
     @Transactional
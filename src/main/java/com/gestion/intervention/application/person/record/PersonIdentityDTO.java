@@ -0,0 +1,12 @@
+package com.gestion.intervention.application.person.record;
+
+import java.util.UUID;
+
+/** The uniquely indexed fields of an existing person, as returned by the uniqueness check. */
+public record PersonIdentityDTO(
+        UUID id,
+        String CIN,
+        String email,
+        String username,
+        String telephone
+) {}
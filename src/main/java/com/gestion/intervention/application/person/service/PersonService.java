@@ -1,8 +1,10 @@
 package com.gestion.intervention.application.person.service;
 
+import com.gestion.intervention.application.common.record.CursorPage;
 import com.gestion.intervention.application.person.record.PersonDTO;
 import com.gestion.intervention.application.person.record.request.LoginRequestDTO;
 import com.gestion.intervention.application.person.record.response.LoginResponseDTO;
+import com.gestion.intervention.kernel.security.jwt.VerifiedClaims;
 
 import java.util.List;
 import java.util.UUID;
@@ -11,10 +13,12 @@ public interface PersonService {
     PersonDTO createPerson(PersonDTO dto);
     PersonDTO getPersonById(UUID id);
     List<PersonDTO> getAllPersons();
+    CursorPage<PersonDTO> getPersonsPage(String cursor, int size);
     PersonDTO updatePerson(UUID id, PersonDTO dto);
     void deletePerson(UUID id);
 
     // 000000
     LoginResponseDTO login(LoginRequestDTO dto);
     LoginResponseDTO register(PersonDTO dto);
+    LoginResponseDTO refresh(VerifiedClaims refreshClaims);
 }
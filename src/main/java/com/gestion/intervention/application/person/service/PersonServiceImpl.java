@@ -1,6 +1,8 @@
 package com.gestion.intervention.application.person.service;
 
+import com.gestion.intervention.application.common.record.CursorPage;
 import com.gestion.intervention.application.person.record.PersonDTO;
+import com.gestion.intervention.application.person.record.PersonIdentityDTO;
 import com.gestion.intervention.application.person.record.request.LoginRequestDTO;
 import com.gestion.intervention.application.person.record.response.LoginResponseDTO;
 import com.gestion.intervention.domain.person.model.Person;
@@ -13,9 +15,15 @@ import com.gestion.intervention.domain.person.repository.PersonRepository;
 import com.gestion.intervention.domain.role.model.Role;
 import com.gestion.intervention.domain.role.repository.RoleRepository;
 import com.gestion.intervention.kernel.security.jwt.JwtService;
+import com.gestion.intervention.kernel.security.jwt.RevokedTokenRegistry;
+import com.gestion.intervention.kernel.security.jwt.VerifiedClaims;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -24,10 +32,13 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate; // Added import
+import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -39,6 +50,7 @@ public class PersonServiceImpl implements PersonService {
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
     private final RoleRepository roleRepository;
+    private final RevokedTokenRegistry revokedTokenRegistry;
     // Inject other repositories if needed for deletion checks
     // private final PanneRepository panneRepository;
     // private final TechnicianInfoRepository technicianInfoRepository;
@@ -54,34 +66,38 @@ public class PersonServiceImpl implements PersonService {
         Person person = Person.builder()
                 // Explicitly setting ID only makes sense if it's provided and valid externally, otherwise omit
                 // .id(dto.id()) // Usually generated by the DB, remove if auto-generated UUID
-                .CIN(dto.CIN())
+                .CIN(blankToNull(dto.CIN()))
                 .nom(dto.nom())
                 .prenom(dto.prenom())
                 .email(dto.email())
                 .username(dto.username())
                 .password(passwordEncoder.encode(dto.password())) // Ensure password isn't null/empty via DTO validation
-                .telephone(dto.telephone())
+                .telephone(blankToNull(dto.telephone()))
                 .address(dto.address())
                 .dateNaissance(dto.dateNaissance())
                 .build();
-        Person savedPerson = personRepository.save(person);
+        Person savedPerson = saveCheckingUniqueness(person);
         return toDto(savedPerson);
     }
 
     @Override
     @Transactional(readOnly = true)
     public PersonDTO getPersonById(UUID id) {
-        return personRepository.findById(id)
-                .map(this::toDto)
+        return personRepository.findDtoById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Person not found with id: " + id));
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<PersonDTO> getAllPersons() {
-        return personRepository.findAll().stream()
-                .map(this::toDto)
-                .collect(Collectors.toList());
+        return personRepository.findAllDtos();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<PersonDTO> getPersonsPage(String cursor, int size) {
+        List<PersonDTO> rows = personRepository.findDtoPage(CursorPage.after(cursor), CursorPage.fetchLimit(size));
+        return CursorPage.of(rows, size, PersonDTO::id);
     }
 
     @Override
@@ -94,17 +110,17 @@ public class PersonServiceImpl implements PersonService {
         validatePersonUniqueness(dto.CIN(), null, null, dto.telephone(), id); // Check CIN and telephone, ignore email/username for this update method
         validatePersonData(dto); // Basic data checks for updated fields
 
-        person.setCIN(dto.CIN());
+        person.setCIN(blankToNull(dto.CIN()));
         person.setNom(dto.nom());
         person.setPrenom(dto.prenom()); // Added prenom update
-        person.setTelephone(dto.telephone());
+        person.setTelephone(blankToNull(dto.telephone()));
         person.setAddress(dto.address());
         person.setDateNaissance(dto.dateNaissance());
 
         // IMPORTANT: This method intentionally DOES NOT update email, username, or password.
         // Create separate dedicated methods (e.g., changeEmail, changePassword) for security reasons.
 
-        Person updatedPerson = personRepository.save(person);
+        Person updatedPerson = saveCheckingUniqueness(person);
         return toDto(updatedPerson);
     }
 
@@ -136,40 +152,39 @@ public class PersonServiceImpl implements PersonService {
 
     @Override
     public LoginResponseDTO login(LoginRequestDTO dto) {
-        Person dbPerson = (dto.usernameOrEmail().contains("@")) ? personRepository.findByEmail(dto.usernameOrEmail()).orElseThrow(() -> new RuntimeException("")) : personRepository.findByUsername(dto.usernameOrEmail()).orElseThrow(() -> new RuntimeException(""));
-
-        Authentication authentication = authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(dbPerson.getUsername(), dto.password()));
+        // PersonAuthenticationProvider resolves username or email, roles included, in one query
+        Authentication authentication = authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(dto.usernameOrEmail(), dto.password()));
 
         if (!authentication.isAuthenticated())
             throw new RuntimeException("Authentication failed user was not found");
 
+        Person dbPerson = (Person) authentication.getPrincipal(); // Already loaded, no second lookup
+
         return new LoginResponseDTO(jwtService.generateAccessToken(dbPerson), jwtService.generateRefreshToken(dbPerson), dbPerson.getPrenom(), dbPerson.getNom(), dbPerson.getRoles().stream().map(r -> String.valueOf(r.getAuthority())).toList());
     }
 
     @Override
     @Transactional
     public LoginResponseDTO register(PersonDTO dto) {
-        personRepository.findByEmail(dto.email()).ifPresent(existingUser -> {
-            throw new RuntimeException("Email already registered: " + dto.email());
-        });
+        validatePersonUniqueness(dto.CIN(), dto.email(), dto.username(), dto.telephone(), null);
 
-        Role defaultRole = roleRepository.findAll().stream().filter(r -> r.getAuthority().equals("ROLE_EMPLOYEE")).findFirst()
+        Role defaultRole = roleRepository.findByAuthority("ROLE_EMPLOYEE") // Served from the query cache after the first registration
                 .orElseThrow(() -> new RuntimeException("Error: Default Role ROLE_EMPLOYEE not found. Ensure roles are seeded in the database."));
 
         Person newPerson = Person.builder()
-                .CIN(dto.CIN())
+                .CIN(blankToNull(dto.CIN()))
                 .nom(dto.nom())
                 .prenom(dto.prenom())
                 .email(dto.email())
                 .username(dto.username())
                 .password(passwordEncoder.encode(dto.password()))
-                .telephone(dto.telephone())
+                .telephone(blankToNull(dto.telephone()))
                 .address(dto.address())
                 .dateNaissance(dto.dateNaissance())
                 .roles(List.of(defaultRole))
                 .build();
 
-        Person savedPerson = personRepository.save(newPerson);
+        Person savedPerson = saveCheckingUniqueness(newPerson);
 
         String accessToken = jwtService.generateAccessToken(savedPerson);
         String refreshToken = jwtService.generateRefreshToken(savedPerson);
@@ -183,40 +198,95 @@ public class PersonServiceImpl implements PersonService {
         );
     }
 
-    private void validatePersonUniqueness(String cin, String email, String username, String telephone, UUID idToExclude) {
-        // Check CIN uniqueness
-        if (cin != null && !cin.trim().isEmpty()) {
-            Optional<Person> existingByCin = personRepository.findByCIN(cin);
-            if (existingByCin.isPresent() && (idToExclude == null || !existingByCin.get().getId().equals(idToExclude))) {
-                throw new IllegalArgumentException("A person with this CIN already exists: " + cin);
-            }
+    // Read-write: a read-only transaction would go to the replica, which may not have the user's latest roles yet
+    @Override
+    @Transactional
+    public LoginResponseDTO refresh(VerifiedClaims refreshClaims) {
+        if (refreshClaims == null || !refreshClaims.isRefreshToken() || refreshClaims.tokenId() == null || refreshClaims.isExpired()) {
+            throw new BadCredentialsException("A valid refresh token is required");
+        }
+        // Single use: the first refresh wins, any replay of the same token is rejected
+        if (!revokedTokenRegistry.revoke(refreshClaims.tokenId(), refreshClaims.expiresAt())) {
+            throw new BadCredentialsException("Refresh token has already been used");
         }
 
-        // Check Email uniqueness (only if provided - might only be checked on create)
-        if (email != null && !email.trim().isEmpty()) {
-            Optional<Person> existingByEmail = personRepository.findByEmail(email);
-            if (existingByEmail.isPresent() && (idToExclude == null || !existingByEmail.get().getId().equals(idToExclude))) {
-                throw new IllegalArgumentException("A person with this email already exists: " + email);
-            }
+        Person person = personRepository.findWithRolesById(refreshClaims.userId())
+                .orElseThrow(() -> new BadCredentialsException("User no longer exists"));
+
+        return new LoginResponseDTO(
+                jwtService.generateAccessToken(person),
+                jwtService.generateRefreshToken(person), // Rotated: a fresh jti for the next refresh
+                person.getPrenom(),
+                person.getNom(),
+                person.getRoles().stream().map(Role::getAuthority).collect(Collectors.toList())
+        );
+    }
+
+    /** Identity fields backed by a unique index on Person, in the order collisions are reported. */
+    enum IdentityField {
+        CIN(Person.UK_CIN, "CIN", PersonIdentityDTO::CIN),
+        EMAIL(Person.UK_EMAIL, "email", PersonIdentityDTO::email),
+        USERNAME(Person.UK_USERNAME, "username", PersonIdentityDTO::username),
+        TELEPHONE(Person.UK_TELEPHONE, "telephone number", PersonIdentityDTO::telephone);
+
+        private final String indexName;
+        private final String label;
+        private final Function<PersonIdentityDTO, String> value;
+
+        IdentityField(String indexName, String label, Function<PersonIdentityDTO, String> value) {
+            this.indexName = indexName;
+            this.label = label;
+            this.value = value;
+        }
+
+        IllegalArgumentException duplicate(String value) {
+            return new IllegalArgumentException("A person with this " + label + " already exists: " + value);
         }
 
-        // Check Username uniqueness (only if provided - might only be checked on create)
-        if (username != null && !username.trim().isEmpty()) {
-            Optional<Person> existingByUsername = personRepository.findByUsername(username);
-            if (existingByUsername.isPresent() && (idToExclude == null || !existingByUsername.get().getId().equals(idToExclude))) {
-                throw new IllegalArgumentException("A person with this username already exists: " + username);
+        /** The field whose unique index was violated, if the violation came from one of them. */
+        static Optional<IdentityField> violatedBy(DataIntegrityViolationException e) {
+            String constraint = e.getCause() instanceof ConstraintViolationException cve ? cve.getConstraintName() : null;
+            if (constraint == null) {
+                return Optional.empty();
             }
+            // MySQL reports "person.uk_person_cin", H2 "PUBLIC.UK_PERSON_CIN_INDEX_8 ON ..."
+            String name = constraint.toLowerCase(Locale.ROOT);
+            return Arrays.stream(values()).filter(field -> name.contains(field.indexName)).findFirst();
         }
+    }
 
-        // Check Telephone uniqueness (if required)
-        if (telephone != null && !telephone.trim().isEmpty()) {
-            Optional<Person> existingByTelephone = personRepository.findByTelephone(telephone);
-            if (existingByTelephone.isPresent() && (idToExclude == null || !existingByTelephone.get().getId().equals(idToExclude))) {
-                throw new IllegalArgumentException("A person with this telephone number already exists: " + telephone);
+    // One indexed query instead of one per field; null fields are not checked
+    private void validatePersonUniqueness(String cin, String email, String username, String telephone, UUID idToExclude) {
+        PersonIdentityDTO candidate = new PersonIdentityDTO(idToExclude, blankToNull(cin), blankToNull(email), blankToNull(username), blankToNull(telephone));
+        List<PersonIdentityDTO> collisions = personRepository.findIdentityCollisions(
+                candidate.CIN(), candidate.email(), candidate.username(), candidate.telephone(), idToExclude,
+                Limit.of(IdentityField.values().length));
+        for (IdentityField field : IdentityField.values()) {
+            String value = field.value.apply(candidate);
+            if (value != null && collisions.stream().anyMatch(existing -> value.equals(field.value.apply(existing)))) {
+                throw field.duplicate(value);
             }
         }
     }
 
+    // The check above is only a fast path: a concurrent insert can slip in between, and then the unique index
+    // rejects the flush. Flushing here surfaces that as the same message instead of a 500 at commit time.
+    private Person saveCheckingUniqueness(Person person) {
+        try {
+            return personRepository.saveAndFlush(person);
+        } catch (DataIntegrityViolationException e) {
+            PersonIdentityDTO attempted = new PersonIdentityDTO(person.getId(), person.getCIN(), person.getEmail(), person.getUsername(), person.getTelephone());
+            throw IdentityField.violatedBy(e)
+                    .map(field -> (RuntimeException) field.duplicate(field.value.apply(attempted)))
+                    .orElse(e);
+        }
+    }
+
+    // Blank identity values would all collide on the unique index; store them as absent
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+
     private void validatePersonData(PersonDTO dto) {
         // Basic non-null/empty checks (many can be done via DTO validation annotations)
         if (dto.nom() == null || dto.nom().trim().isEmpty()) {
@@ -1,5 +1,7 @@
 package com.gestion.intervention.application.piece.service;
 
+import com.gestion.intervention.application.common.record.BulkCreateResult;
+import com.gestion.intervention.application.common.record.CursorPage;
 import com.gestion.intervention.application.piece.record.PieceDTO;
 
 import java.util.List;
@@ -7,8 +9,10 @@ import java.util.UUID;
 
 public interface PieceService {
     PieceDTO createPiece(PieceDTO dto);
+    BulkCreateResult<PieceDTO> createPieces(List<PieceDTO> dtos);
     PieceDTO getPieceById(UUID id);
     List<PieceDTO> getAllPieces();
+    CursorPage<PieceDTO> getPiecesPage(String cursor, int size);
     PieceDTO updatePiece(UUID id, PieceDTO dto);
     void deletePiece(UUID id);
 }
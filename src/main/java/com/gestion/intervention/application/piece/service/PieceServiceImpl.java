@@ -1,5 +1,9 @@
 package com.gestion.intervention.application.piece.service;
 
+import com.gestion.intervention.application.common.record.BulkCreateResult;
+import com.gestion.intervention.application.common.record.CursorPage;
+import com.gestion.intervention.application.common.service.ChunkedInserter.Checked;
+import com.gestion.intervention.application.common.service.ChunkedInserter;
 import com.gestion.intervention.application.piece.record.PieceDTO;
 import com.gestion.intervention.domain.machine.model.Machine;
 import com.gestion.intervention.domain.machine.repository.MachineRepository; // Added import
@@ -10,10 +14,12 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional; // Added import
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional; // Added import
+import java.util.Set;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -21,6 +27,7 @@ public class PieceServiceImpl implements PieceService {
 
     private final PieceRepository pieceRepository;
     private final MachineRepository machineRepository; // Added dependency
+    private final ChunkedInserter chunkedInserter;
 
     @Override
     @Transactional
@@ -43,20 +50,30 @@ public class PieceServiceImpl implements PieceService {
         return toDto(savedPiece);
     }
 
+    // No surrounding transaction: every chunk commits on its own
+    @Override
+    public BulkCreateResult<PieceDTO> createPieces(List<PieceDTO> dtos) {
+        return chunkedInserter.insert(dtos, this::checkPieces, this::toDto);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public PieceDTO getPieceById(UUID id) {
-        return pieceRepository.findById(id)
-                .map(this::toDto)
+        return pieceRepository.findDtoById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Piece not found with id: " + id));
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<PieceDTO> getAllPieces() {
-        return pieceRepository.findAll().stream()
-                .map(this::toDto)
-                .collect(Collectors.toList());
+        return pieceRepository.findAllDtos();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<PieceDTO> getPiecesPage(String cursor, int size) {
+        List<PieceDTO> rows = pieceRepository.findDtoPage(CursorPage.after(cursor), CursorPage.fetchLimit(size));
+        return CursorPage.of(rows, size, PieceDTO::id);
     }
 
     @Override
@@ -111,6 +128,54 @@ public class PieceServiceImpl implements PieceService {
         }
     }
 
+    // Same rules as createPiece, with two set-based lookups per chunk instead of two queries per piece
+    private List<Checked<Piece>> checkPieces(List<PieceDTO> chunk) {
+        Set<UUID> machineIds = new HashSet<>();
+        Set<String> numPieces = new HashSet<>();
+        for (PieceDTO dto : chunk) {
+            if (dto != null && dto.machineId() != null && dto.numPiece() != null) {
+                machineIds.add(dto.machineId());
+                numPieces.add(dto.numPiece());
+            }
+        }
+        Set<UUID> existingMachines = machineIds.isEmpty() ? Set.of() : machineRepository.findExistingIds(machineIds);
+        Set<PieceNumber> takenNumbers = new HashSet<>();
+        if (!machineIds.isEmpty()) {
+            pieceRepository.findDtosByMachineIdsAndNumPieces(machineIds, numPieces)
+                    .forEach(existing -> takenNumbers.add(new PieceNumber(existing.machineId(), existing.numPiece())));
+        }
+
+        List<Checked<Piece>> verdicts = new ArrayList<>(chunk.size());
+        for (PieceDTO dto : chunk) {
+            if (dto == null) {
+                verdicts.add(Checked.reject("Piece cannot be null."));
+                continue;
+            }
+            try {
+                validatePieceInput(dto);
+            } catch (IllegalArgumentException e) {
+                verdicts.add(Checked.reject(e.getMessage()));
+                continue;
+            }
+            if (!existingMachines.contains(dto.machineId())) {
+                verdicts.add(Checked.reject("Machine not found with id: " + dto.machineId()));
+            } else if (!takenNumbers.add(new PieceNumber(dto.machineId(), dto.numPiece()))) { // Also catches repeats within the request
+                verdicts.add(Checked.reject("A piece with number '" + dto.numPiece() + "' already exists for machine with id: " + dto.machineId()));
+            } else {
+                verdicts.add(Checked.accept(Piece.builder()
+                        .nomPiece(dto.nomPiece())
+                        .numPiece(dto.numPiece())
+                        .description(dto.description())
+                        .machine(machineRepository.getReferenceById(dto.machineId())) // Existence checked above, no load needed
+                        .build()));
+            }
+        }
+        return verdicts;
+    }
+
+    private record PieceNumber(UUID machineId, String numPiece) {
+    }
+
     private Machine fetchMachine(UUID machineId) {
         if (machineId == null) {
             // This case is already handled by validatePieceInput, but added for safety
@@ -13,7 +13,6 @@ import org.springframework.transaction.annotation.Transactional; // Added import
 import java.util.List;
 import java.util.Optional; // Added import
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -40,17 +39,14 @@ public class RoleServiceImpl implements RoleService {
     @Override
     @Transactional(readOnly = true)
     public RoleDTO getRoleById(UUID id) {
-        return roleRepository.findById(id)
-                .map(this::toDto)
+        return roleRepository.findDtoById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Role not found with id: " + id));
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<RoleDTO> getAllRoles() {
-        return roleRepository.findAll().stream()
-                .map(this::toDto)
-                .collect(Collectors.toList());
+        return roleRepository.findAllDtos();
     }
 
     @Override
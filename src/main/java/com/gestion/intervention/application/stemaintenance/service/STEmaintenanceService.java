@@ -1,5 +1,6 @@
 package com.gestion.intervention.application.stemaintenance.service;
 
+import com.gestion.intervention.application.common.record.CursorPage;
 import com.gestion.intervention.application.stemaintenance.record.STEmaintenanceDTO;
 
 import java.util.List;
@@ -9,6 +10,7 @@ public interface STEmaintenanceService {
     STEmaintenanceDTO createSTEmaintenance(STEmaintenanceDTO dto);
     STEmaintenanceDTO getSTEmaintenanceById(UUID id);
     List<STEmaintenanceDTO> getAllSTEmaintenances();
+    CursorPage<STEmaintenanceDTO> getSTEmaintenancesPage(String cursor, int size);
     STEmaintenanceDTO updateSTEmaintenance(UUID id, STEmaintenanceDTO dto);
     void deleteSTEmaintenance(UUID id);
 }
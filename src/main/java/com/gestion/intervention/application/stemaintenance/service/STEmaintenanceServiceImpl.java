@@ -1,5 +1,6 @@
 package com.gestion.intervention.application.stemaintenance.service;
 
+import com.gestion.intervention.application.common.record.CursorPage;
 import com.gestion.intervention.application.stemaintenance.record.STEmaintenanceDTO;
 // Import necessary repositories for association checks, e.g., HelpDeskInfo
 // import com.gestion.intervention.domain.helpdeskinfo.repository.HelpDeskInfoRepository;
@@ -13,7 +14,6 @@ import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
 import java.util.Optional; // Added import
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -76,18 +76,21 @@ public class STEmaintenanceServiceImpl implements STEmaintenanceService {
     @Override
     @Transactional(readOnly = true) // Add readOnly = true for getter methods
     public STEmaintenanceDTO getSTEmaintenanceById(UUID id) {
-        return stEmaintenanceRepository.findById(id)
-                .map(this::toDTO) // Use map for cleaner conversion
+        return stEmaintenanceRepository.findDtoById(id)
                 .orElseThrow(() -> new EntityNotFoundException("STEmaintenance not found with id: " + id)); // Use specific exception
     }
 
     @Override
     @Transactional(readOnly = true) // Add readOnly = true for getter methods
     public List<STEmaintenanceDTO> getAllSTEmaintenances() {
-        return stEmaintenanceRepository.findAll()
-                .stream()
-                .map(this::toDTO)
-                .collect(Collectors.toList());
+        return stEmaintenanceRepository.findAllDtos();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<STEmaintenanceDTO> getSTEmaintenancesPage(String cursor, int size) {
+        List<STEmaintenanceDTO> rows = stEmaintenanceRepository.findDtoPage(CursorPage.after(cursor), CursorPage.fetchLimit(size));
+        return CursorPage.of(rows, size, STEmaintenanceDTO::id);
     }
 
     private void validateSteName(String name) {
@@ -17,7 +17,6 @@ import org.springframework.transaction.annotation.Transactional; // Added import
 import java.util.List;
 import java.util.Optional; // Added import
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -60,17 +59,14 @@ public class TechnicianInfoServiceImpl implements TechnicianInfoService {
     @Override
     @Transactional(readOnly = true)
     public TechnicianInfoDTO getTechnicianInfoById(UUID id) {
-        return technicianInfoRepository.findById(id)
-                .map(this::toDto)
+        return technicianInfoRepository.findDtoById(id)
                 .orElseThrow(() -> new EntityNotFoundException("TechnicianInfo not found with id: " + id));
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<TechnicianInfoDTO> getAllTechnicianInfos() {
-        return technicianInfoRepository.findAll().stream()
-                .map(this::toDto)
-                .collect(Collectors.toList());
+        return technicianInfoRepository.findAllDtos();
     }
 
     @Override
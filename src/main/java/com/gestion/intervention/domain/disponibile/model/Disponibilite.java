@@ -2,11 +2,12 @@ package com.gestion.intervention.domain.disponibile.model;
 
 import com.gestion.intervention.domain.technicianinfo.model.TechnicianInfo;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import lombok.*;
-import org.hibernate.annotations.UuidGenerator;
+import com.gestion.intervention.kernel.persistence.id.UuidV7;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -19,14 +20,14 @@ import java.util.UUID;
 @Builder
 public class Disponibilite {
     @Id
-    @UuidGenerator
+    @UuidV7
     private UUID id;
 
     private String etat;
     private LocalDateTime debut;
     private LocalDateTime fin;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "technician_info_id")
     private TechnicianInfo technicianInfo;
 }
@@ -0,0 +1,33 @@
+package com.gestion.intervention.domain.disponibile.model;
+
+import com.gestion.intervention.domain.technicianinfo.model.TechnicianInfo;
+import com.gestion.intervention.kernel.persistence.id.UuidV7;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/** An exception to a technician's {@link DisponibiliteRule}s: no shift starting on {@code jour} is expanded. */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DisponibiliteExclusion {
+    @Id
+    @UuidV7
+    private UUID id;
+
+    private LocalDate jour;
+    private String motif; // Leave, public holiday, training...
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "technician_info_id")
+    private TechnicianInfo technicianInfo;
+}
@@ -0,0 +1,41 @@
+package com.gestion.intervention.domain.disponibile.model;
+
+import com.gestion.intervention.domain.technicianinfo.model.TechnicianInfo;
+import com.gestion.intervention.kernel.persistence.id.UuidV7;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.UUID;
+
+/**
+ * A weekly shift: every {@code jourSemaine} from {@code dateDebut} to {@code dateFin} (inclusive, open-ended when
+ * null) the technician is available from {@code heureDebut} to {@code heureFin}, the next day if it is not after
+ * {@code heureDebut}. Expanded into {@link Disponibilite} rows by the rule expansion job.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DisponibiliteRule {
+    @Id
+    @UuidV7
+    private UUID id;
+
+    @Enumerated(EnumType.STRING)
+    private DayOfWeek jourSemaine;
+
+    private LocalTime heureDebut;
+    private LocalTime heureFin;
+    private LocalDate dateDebut;
+    private LocalDate dateFin;
+    private String etat; // Copied onto the expanded slots
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "technician_info_id")
+    private TechnicianInfo technicianInfo;
+}
@@ -0,0 +1,33 @@
+package com.gestion.intervention.domain.disponibile.repository;
+
+import com.gestion.intervention.application.disponibile.record.DisponibiliteExclusionDTO;
+import com.gestion.intervention.domain.disponibile.model.DisponibiliteExclusion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface DisponibiliteExclusionRepository extends JpaRepository<DisponibiliteExclusion, UUID> {
+    String DTO_SELECT = "SELECT new com.gestion.intervention.application.disponibile.record.DisponibiliteExclusionDTO(" +
+            "x.id, x.technicianInfo.id, x.jour, x.motif) FROM DisponibiliteExclusion x";
+
+    @Query(DTO_SELECT + " WHERE x.technicianInfo.id = :technicianInfoId ORDER BY x.jour")
+    List<DisponibiliteExclusionDTO> findDtosByTechnician(@Param("technicianInfoId") UUID technicianInfoId);
+
+    // Rule expansion: the days off of one chunk of technicians within the expansion window
+    @Query(DTO_SELECT + " WHERE x.technicianInfo.id IN :technicianInfoIds AND x.jour >= :from AND x.jour < :to")
+    List<DisponibiliteExclusionDTO> findDtosByTechnicianIds(
+            @Param("technicianInfoIds") Collection<UUID> technicianInfoIds,
+            @Param("from") LocalDate from,
+            @Param("to") LocalDate to);
+
+    @Query("SELECT CASE WHEN COUNT(x) > 0 THEN TRUE ELSE FALSE END FROM DisponibiliteExclusion x " +
+            "WHERE x.technicianInfo.id = :technicianInfoId AND x.jour = :jour")
+    boolean existsByTechnicianAndJour(@Param("technicianInfoId") UUID technicianInfoId, @Param("jour") LocalDate jour);
+}
@@ -1,17 +1,22 @@
 package com.gestion.intervention.domain.disponibile.repository;
 
+import com.gestion.intervention.application.common.record.TechnicianSlotDTO;
+import com.gestion.intervention.application.disponibile.record.DisponibiliteDTO;
 import com.gestion.intervention.domain.disponibile.model.Disponibilite;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface DisponibiliteRepository extends JpaRepository<Disponibilite, UUID> {
+public interface DisponibiliteRepository extends JpaRepository<Disponibilite, UUID>, DisponibiliteStreamingRepository {
     @Query("SELECT d FROM Disponibilite d " +
             "WHERE d.technicianInfo.id = :technicianInfoId " +
             "AND d.debut < :newFin " +
@@ -22,5 +27,31 @@ public interface DisponibiliteRepository extends JpaRepository<Disponibilite, UU
             @Param("newDebut") LocalDateTime newDebut,
             @Param("newFin") LocalDateTime newFin,
             @Param("idToExclude") UUID idToExclude);
-    boolean existsByTechnicianInfoId(UUID technicianInfoId);
+    // Derived exists*By<association>Id queries join the parent table first; these read the foreign key column directly
+    @Query("SELECT CASE WHEN COUNT(d) > 0 THEN TRUE ELSE FALSE END FROM Disponibilite d WHERE d.technicianInfo.id = :technicianInfoId")
+    boolean existsByTechnicianInfoId(@Param("technicianInfoId") UUID technicianInfoId);
+
+    String DTO_SELECT = "SELECT new com.gestion.intervention.application.disponibile.record.DisponibiliteDTO(d.id, d.technicianInfo.id, d.etat, d.debut, d.fin) FROM Disponibilite d";
+
+    @Query(DTO_SELECT)
+    List<DisponibiliteDTO> findAllDtos();
+
+    @Query(DTO_SELECT + " WHERE d.id = :id")
+    Optional<DisponibiliteDTO> findDtoById(@Param("id") UUID id);
+
+    @Query(DTO_SELECT + " WHERE d.id > :after ORDER BY d.id")
+    List<DisponibiliteDTO> findDtoPage(@Param("after") UUID after, Limit limit);
+
+    // Bulk validation: existing slots of these technicians that intersect [from, to)
+    @Query(DTO_SELECT + " WHERE d.technicianInfo.id IN :technicianInfoIds AND d.debut < :to AND d.fin > :from")
+    List<DisponibiliteDTO> findDtosOverlappingWindow(
+            @Param("technicianInfoIds") Collection<UUID> technicianInfoIds,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to);
+
+    String SLOT_SELECT = "SELECT new com.gestion.intervention.application.common.record.TechnicianSlotDTO(d.id, d.technicianInfo.id, d.debut, d.fin) FROM Disponibilite d " +
+            "WHERE d.technicianInfo IS NOT NULL AND d.debut IS NOT NULL AND d.fin IS NOT NULL";
+
+    @Query(SLOT_SELECT + " AND d.technicianInfo.id = :technicianInfoId")
+    List<TechnicianSlotDTO> findSlotsByTechnician(@Param("technicianInfoId") UUID technicianInfoId);
 }
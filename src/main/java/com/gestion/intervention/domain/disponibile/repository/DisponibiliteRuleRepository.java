@@ -0,0 +1,34 @@
+package com.gestion.intervention.domain.disponibile.repository;
+
+import com.gestion.intervention.application.disponibile.record.DisponibiliteRuleDTO;
+import com.gestion.intervention.domain.disponibile.model.DisponibiliteRule;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface DisponibiliteRuleRepository extends JpaRepository<DisponibiliteRule, UUID> {
+    String DTO_SELECT = "SELECT new com.gestion.intervention.application.disponibile.record.DisponibiliteRuleDTO(" +
+            "r.id, r.technicianInfo.id, r.jourSemaine, r.heureDebut, r.heureFin, r.dateDebut, r.dateFin, r.etat) FROM DisponibiliteRule r";
+
+    @Query(DTO_SELECT + " WHERE r.id = :id")
+    Optional<DisponibiliteRuleDTO> findDtoById(@Param("id") UUID id);
+
+    @Query(DTO_SELECT + " WHERE r.technicianInfo.id = :technicianInfoId ORDER BY r.jourSemaine, r.heureDebut")
+    List<DisponibiliteRuleDTO> findDtosByTechnician(@Param("technicianInfoId") UUID technicianInfoId);
+
+    // Rule expansion: the rules of one chunk of technicians
+    @Query(DTO_SELECT + " WHERE r.technicianInfo.id IN :technicianInfoIds")
+    List<DisponibiliteRuleDTO> findDtosByTechnicianIds(@Param("technicianInfoIds") Collection<UUID> technicianInfoIds);
+
+    /** Technicians with at least one rule still in force on {@code from}: what the expansion job reads. */
+    @Query("SELECT DISTINCT r.technicianInfo.id FROM DisponibiliteRule r WHERE r.dateFin IS NULL OR r.dateFin >= :from ORDER BY r.technicianInfo.id")
+    List<UUID> findTechnicianIdsInForceFrom(@Param("from") LocalDate from);
+}
@@ -0,0 +1,12 @@
+package com.gestion.intervention.domain.disponibile.repository;
+
+import com.gestion.intervention.application.common.record.TechnicianSlotDTO;
+
+import java.util.stream.Stream;
+
+/** Disponibilite queries read as streams, see {@link com.gestion.intervention.kernel.persistence.stream.StreamingQueries}. */
+public interface DisponibiliteStreamingRepository {
+
+    /** Every availability window, grouped by technician: loads and verifies the availability index. Close the stream inside a transaction. */
+    Stream<TechnicianSlotDTO> streamSlots();
+}
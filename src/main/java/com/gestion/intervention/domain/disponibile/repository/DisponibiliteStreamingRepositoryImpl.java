@@ -0,0 +1,20 @@
+package com.gestion.intervention.domain.disponibile.repository;
+
+import com.gestion.intervention.application.common.record.TechnicianSlotDTO;
+import com.gestion.intervention.kernel.persistence.stream.StreamingQueries;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+
+import java.util.stream.Stream;
+
+@RequiredArgsConstructor
+public class DisponibiliteStreamingRepositoryImpl implements DisponibiliteStreamingRepository {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public Stream<TechnicianSlotDTO> streamSlots() {
+        return StreamingQueries.stream(entityManager, entityManager.createQuery(
+                DisponibiliteRepository.SLOT_SELECT + " ORDER BY d.technicianInfo.id, d.id", TechnicianSlotDTO.class));
+    }
+}
@@ -4,7 +4,7 @@ import com.gestion.intervention.domain.person.model.Person;
 import com.gestion.intervention.domain.stemaintenance.model.STEmaintenance;
 import jakarta.persistence.*;
 import lombok.*;
-import org.hibernate.annotations.UuidGenerator;
+import com.gestion.intervention.kernel.persistence.id.UuidV7;
 
 import java.util.UUID;
 
@@ -16,14 +16,14 @@ import java.util.UUID;
 @Builder
 public class HelpDeskInfo {
     @Id
-    @UuidGenerator
+    @UuidV7
     private UUID id;
 
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "person_id")
     private Person person;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "ste_id")
     private STEmaintenance ste;
 }
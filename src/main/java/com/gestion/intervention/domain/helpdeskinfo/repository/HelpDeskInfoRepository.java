@@ -1,9 +1,13 @@
 package com.gestion.intervention.domain.helpdeskinfo.repository;
 
+import com.gestion.intervention.application.helpdeskinfo.record.HelpDeskInfoDTO;
 import com.gestion.intervention.domain.helpdeskinfo.model.HelpDeskInfo;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -14,4 +18,12 @@ public interface HelpDeskInfoRepository extends JpaRepository<HelpDeskInfo, UUID
 
     Optional<HelpDeskInfo> findByPersonId(UUID personId);
     Optional<HelpDeskInfo> findBySteId(UUID steId);
+
+    String DTO_SELECT = "SELECT new com.gestion.intervention.application.helpdeskinfo.record.HelpDeskInfoDTO(h.id, h.person.id, h.ste.id) FROM HelpDeskInfo h";
+
+    @Query(DTO_SELECT)
+    List<HelpDeskInfoDTO> findAllDtos();
+
+    @Query(DTO_SELECT + " WHERE h.id = :id")
+    Optional<HelpDeskInfoDTO> findDtoById(@Param("id") UUID id);
 }
@@ -3,11 +3,12 @@ package com.gestion.intervention.domain.intervention.model;
 import com.gestion.intervention.domain.panne.model.Panne;
 import com.gestion.intervention.domain.technicianinfo.model.TechnicianInfo;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import lombok.*;
-import org.hibernate.annotations.UuidGenerator;
+import com.gestion.intervention.kernel.persistence.id.UuidV7;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
@@ -21,18 +22,18 @@ import java.util.UUID;
 @Builder
 public class Intervention {
     @Id
-    @UuidGenerator
+    @UuidV7
     private UUID id;
 
     private LocalDateTime dateDebut;
     private LocalDateTime dateFin;
     private Duration duree;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "technician_id")
     private TechnicianInfo technicianInfo;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "panne_id")
     private Panne panne;
 }
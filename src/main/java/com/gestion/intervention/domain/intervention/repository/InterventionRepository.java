@@ -1,31 +1,70 @@
 package com.gestion.intervention.domain.intervention.repository;
 
+import com.gestion.intervention.application.common.record.TechnicianSlotDTO;
+import com.gestion.intervention.application.intervention.record.InterventionDTO;
 import com.gestion.intervention.domain.intervention.model.Intervention;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Repository
-public interface InterventionRepository extends JpaRepository<Intervention, UUID> {
-    @Query("SELECT i FROM Intervention i " +
+public interface InterventionRepository extends JpaRepository<Intervention, UUID>, InterventionStreamingRepository {
+    // Fallback of the schedule index; a yes/no answer, no entities loaded
+    @Query("SELECT CASE WHEN COUNT(i) > 0 THEN TRUE ELSE FALSE END FROM Intervention i " +
             "WHERE i.technicianInfo.id = :technicianInfoId " +
             "AND i.dateDebut < :newFin " +
             "AND i.dateFin > :newDebut " +
             "AND (:interventionIdToExclude IS NULL OR i.id <> :interventionIdToExclude)")
-    List<Intervention> findConflictingInterventionsForTechnician(
+    boolean existsConflictingInterventionForTechnician(
             @Param("technicianInfoId") UUID technicianInfoId,
             @Param("newDebut") LocalDateTime newDebut,
             @Param("newFin") LocalDateTime newFin,
             @Param("interventionIdToExclude") UUID interventionIdToExclude);
-    boolean existsByPanneId(UUID panneId);
+    @Query("SELECT CASE WHEN COUNT(i) > 0 THEN TRUE ELSE FALSE END FROM Intervention i WHERE i.panne.id = :panneId") // No join to panne
+    boolean existsByPanneId(@Param("panneId") UUID panneId);
 
     @Query("SELECT CASE WHEN COUNT(i) > 0 THEN TRUE ELSE FALSE END FROM Intervention i " +
             "WHERE i.technicianInfo.id = :technicianInfoId " +
             "AND (i.dateFin IS NULL OR i.dateFin > CURRENT_TIMESTAMP)") // Adjust based on your status logic
     boolean existsActiveByTechnicianInfoId(@Param("technicianInfoId") UUID technicianInfoId);
+
+    String DTO_SELECT = "SELECT new com.gestion.intervention.application.intervention.record.InterventionDTO(i.id, i.dateDebut, i.dateFin, i.duree, i.technicianInfo.id, i.panne.id) FROM Intervention i";
+
+    @Query(DTO_SELECT)
+    List<InterventionDTO> findAllDtos();
+
+    @Query(DTO_SELECT + " WHERE i.id = :id")
+    Optional<InterventionDTO> findDtoById(@Param("id") UUID id);
+
+    @Query(DTO_SELECT + " WHERE i.id > :after ORDER BY i.id")
+    List<InterventionDTO> findDtoPage(@Param("after") UUID after, Limit limit);
+
+    @Query("SELECT i.panne.id FROM Intervention i WHERE i.panne.id IN :panneIds") // Bulk dispatch: which of these pannes are taken
+    Set<UUID> findPanneIdsWithIntervention(@Param("panneIds") Collection<UUID> panneIds);
+
+    String SLOT_SELECT = "SELECT new com.gestion.intervention.application.common.record.TechnicianSlotDTO(i.id, i.technicianInfo.id, i.dateDebut, i.dateFin) FROM Intervention i " +
+            "WHERE i.technicianInfo IS NOT NULL AND i.dateDebut IS NOT NULL AND i.dateFin IS NOT NULL";
+
+    @Query(SLOT_SELECT + " AND i.technicianInfo.id = :technicianInfoId")
+    List<TechnicianSlotDTO> findSlotsByTechnician(@Param("technicianInfoId") UUID technicianInfoId);
+
+    // Conflict check under TechnicianScheduleLock's row locks. A locking read sees the latest commits, where a plain
+    // one may read the transaction's snapshot (MySQL REPEATABLE READ) and miss a booking another instance just made
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query(SLOT_SELECT + " AND i.technicianInfo.id IN :technicianInfoIds AND i.dateDebut < :to AND i.dateFin > :from")
+    List<TechnicianSlotDTO> findSlotsLocking(
+            @Param("technicianInfoIds") Collection<UUID> technicianInfoIds,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to);
 }
@@ -0,0 +1,18 @@
+package com.gestion.intervention.domain.intervention.repository;
+
+import com.gestion.intervention.application.common.record.TechnicianSlotDTO;
+import com.gestion.intervention.application.intervention.record.InterventionDTO;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/** Intervention queries read as streams, see {@link com.gestion.intervention.kernel.persistence.stream.StreamingQueries}. */
+public interface InterventionStreamingRepository {
+
+    /** Every booked slot, grouped by technician: loads and verifies the schedule index. Close the stream inside a transaction. */
+    Stream<TechnicianSlotDTO> streamSlots();
+
+    /** Forward-only export, oldest first. Every filter is optional; the caller must close the stream inside a transaction. */
+    Stream<InterventionDTO> streamForExport(LocalDateTime from, LocalDateTime to, UUID technicianInfoId);
+}
@@ -0,0 +1,35 @@
+package com.gestion.intervention.domain.intervention.repository;
+
+import com.gestion.intervention.application.common.record.TechnicianSlotDTO;
+import com.gestion.intervention.application.intervention.record.InterventionDTO;
+import com.gestion.intervention.kernel.persistence.stream.StreamingQueries;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+@RequiredArgsConstructor
+public class InterventionStreamingRepositoryImpl implements InterventionStreamingRepository {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public Stream<TechnicianSlotDTO> streamSlots() {
+        return StreamingQueries.stream(entityManager, entityManager.createQuery(
+                InterventionRepository.SLOT_SELECT + " ORDER BY i.technicianInfo.id, i.id", TechnicianSlotDTO.class));
+    }
+
+    @Override
+    public Stream<InterventionDTO> streamForExport(LocalDateTime from, LocalDateTime to, UUID technicianInfoId) {
+        return StreamingQueries.stream(entityManager, entityManager.createQuery(InterventionRepository.DTO_SELECT +
+                        " WHERE (:from IS NULL OR i.dateDebut >= :from)" +
+                        " AND (:to IS NULL OR i.dateDebut < :to)" +
+                        " AND (:technicianInfoId IS NULL OR i.technicianInfo.id = :technicianInfoId)" +
+                        " ORDER BY i.dateDebut, i.id", InterventionDTO.class) // Index order of both date indexes, so no sort
+                .setParameter("from", from)
+                .setParameter("to", to)
+                .setParameter("technicianInfoId", technicianInfoId));
+    }
+}
@@ -2,14 +2,19 @@ package com.gestion.intervention.domain.machine.model;
 
 import com.gestion.intervention.domain.panne.model.Panne;
 import com.gestion.intervention.domain.piece.model.Piece;
+import com.gestion.intervention.kernel.persistence.cache.CacheRegions;
 import jakarta.persistence.*;
 import lombok.*;
-import org.hibernate.annotations.UuidGenerator;
+import com.gestion.intervention.kernel.persistence.id.UuidV7;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.List;
 import java.util.UUID;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.MACHINE)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -17,7 +22,7 @@ import java.util.UUID;
 @Builder
 public class Machine {
     @Id
-    @UuidGenerator
+    @UuidV7
     private UUID id;
 
     private String type;
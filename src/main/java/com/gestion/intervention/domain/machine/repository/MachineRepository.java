@@ -1,12 +1,34 @@
 package com.gestion.intervention.domain.machine.repository;
 
+import com.gestion.intervention.application.machine.record.MachineDTO;
 import com.gestion.intervention.domain.machine.model.Machine;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Repository
 public interface MachineRepository extends JpaRepository<Machine, UUID> {
     boolean existsByType(String type);
+
+    String DTO_SELECT = "SELECT new com.gestion.intervention.application.machine.record.MachineDTO(m.id, m.type, m.etat) FROM Machine m";
+
+    @Query(DTO_SELECT)
+    List<MachineDTO> findAllDtos();
+
+    @Query(DTO_SELECT + " WHERE m.id = :id")
+    Optional<MachineDTO> findDtoById(@Param("id") UUID id);
+
+    @Query(DTO_SELECT + " WHERE m.id > :after ORDER BY m.id")
+    List<MachineDTO> findDtoPage(@Param("after") UUID after, Limit limit);
+
+    @Query("SELECT m.id FROM Machine m WHERE m.id IN :ids") // Bulk validation: which of these machines exist
+    Set<UUID> findExistingIds(@Param("ids") Collection<UUID> ids);
 }
@@ -7,7 +7,7 @@ import com.gestion.intervention.domain.person.model.Person;
 import com.gestion.intervention.domain.piece.model.Piece;
 import jakarta.persistence.*;
 import lombok.*;
-import org.hibernate.annotations.UuidGenerator;
+import com.gestion.intervention.kernel.persistence.id.UuidV7;
 
 import java.util.List;
 import java.util.UUID;
@@ -20,7 +20,7 @@ import java.util.UUID;
 @Builder
 public class Panne {
     @Id
-    @UuidGenerator
+    @UuidV7
     private UUID id;
 
     @Enumerated(EnumType.STRING)
@@ -28,11 +28,11 @@ public class Panne {
 
     private String typePanne;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "machine_id")
     private Machine machine;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "person_id") // the one who reported the issue
     private Person reporter;
 
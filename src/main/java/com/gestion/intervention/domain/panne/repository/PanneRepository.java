@@ -1,22 +1,62 @@
 package com.gestion.intervention.domain.panne.repository;
 
+import com.gestion.intervention.application.panne.record.PanneDTO;
+import com.gestion.intervention.application.panne.record.PanneDispatchDTO;
 import com.gestion.intervention.domain.panne.enumeration.PanneStatus;
 import com.gestion.intervention.domain.panne.model.Panne;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface PanneRepository extends JpaRepository<Panne, UUID> {
-    boolean existsByMachineId(UUID machineId);
+    @Query("SELECT CASE WHEN COUNT(p) > 0 THEN TRUE ELSE FALSE END FROM Panne p WHERE p.machine.id = :machineId") // No join to machine
+    boolean existsByMachineId(@Param("machineId") UUID machineId);
     @Query("SELECT p FROM Panne p WHERE p.typePanne = :typePanne AND p.machine.id = :machineId")
     Optional<Panne> findActivePanneByTypeAndMachine(@Param("typePanne") String typePanne, @Param("machineId") UUID machineId);
-    boolean existsActiveByReporterId(UUID reporterId);
+    @Query("SELECT CASE WHEN COUNT(p) > 0 THEN TRUE ELSE FALSE END FROM Panne p WHERE p.reporter.id = :reporterId") // No join to person
+    boolean existsActiveByReporterId(@Param("reporterId") UUID reporterId);
 
-    Integer countAllByStatusAndReporter_Id(PanneStatus status, UUID reporterId);
-    Integer countAllByReporter_Id(UUID reporterId);
+    // p.reporter.id reads the person_id column: no join, so idx_panne_reporter_status answers both counts
+    @Query("SELECT COUNT(p) FROM Panne p WHERE p.reporter.id = :reporterId AND p.status = :status")
+    Integer countAllByStatusAndReporter_Id(@Param("status") PanneStatus status, @Param("reporterId") UUID reporterId);
+    @Query("SELECT COUNT(p) FROM Panne p WHERE p.reporter.id = :reporterId")
+    Integer countAllByReporter_Id(@Param("reporterId") UUID reporterId);
+
+    String DTO_SELECT = "SELECT new com.gestion.intervention.application.panne.record.PanneDTO(p.id, p.typePanne, p.machine.id, p.reporter.id) FROM Panne p";
+
+    @Query(DTO_SELECT)
+    List<PanneDTO> findAllDtos();
+
+    @Query(DTO_SELECT + " WHERE p.id = :id")
+    Optional<PanneDTO> findDtoById(@Param("id") UUID id);
+
+    @Query(DTO_SELECT + " WHERE p.id > :after ORDER BY p.id")
+    List<PanneDTO> findDtoPage(@Param("after") UUID after, Limit limit);
+
+    String DISPATCH_SELECT = "SELECT new com.gestion.intervention.application.panne.record.PanneDispatchDTO(p.id, p.status, p.typePanne, m.type) FROM Panne p LEFT JOIN p.machine m";
+
+    @Query(DISPATCH_SELECT + " WHERE p.id = :id")
+    Optional<PanneDispatchDTO> findDispatchDtoById(@Param("id") UUID id);
+
+    // The dispatch backlog: pannes in this status nobody is working on yet, oldest first (ids are time-ordered)
+    @Query(DISPATCH_SELECT + " WHERE p.status = :status AND NOT EXISTS (SELECT 1 FROM Intervention i WHERE i.panne.id = p.id) ORDER BY p.id")
+    List<PanneDispatchDTO> findUndispatched(@Param("status") PanneStatus status, Limit limit);
+
+    /**
+     * SELECT ... FOR UPDATE on the pannes' rows, in id order so two callers never wait on each other: dispatch takes it
+     * before checking that a panne has no intervention yet, so two dispatches of one panne cannot both book it.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p.id FROM Panne p WHERE p.id IN :ids ORDER BY p.id")
+    List<UUID> lockByIds(@Param("ids") Collection<UUID> ids);
 }
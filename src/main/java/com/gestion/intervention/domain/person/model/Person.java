@@ -4,7 +4,7 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.gestion.intervention.domain.role.model.Role;
 import jakarta.persistence.*;
 import lombok.*;
-import org.hibernate.annotations.UuidGenerator;
+import com.gestion.intervention.kernel.persistence.id.UuidV7;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
@@ -15,14 +15,29 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
+@Table(indexes = { // Identity fields: O(log n) lookups, and the database settles concurrent registrations
+        @Index(name = Person.UK_CIN, columnList = "CIN", unique = true),
+        @Index(name = Person.UK_EMAIL, columnList = "email", unique = true),
+        @Index(name = Person.UK_USERNAME, columnList = "username", unique = true),
+        @Index(name = Person.UK_TELEPHONE, columnList = "telephone", unique = true)
+})
+@NamedEntityGraph(name = Person.WITH_ROLES, attributeNodes = @NamedAttributeNode("roles"))
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Person implements UserDetails {
+    /** Entity graph for read paths that build tokens or role lists from the person. */
+    public static final String WITH_ROLES = "Person.withRoles";
+
+    public static final String UK_CIN = "uk_person_cin";
+    public static final String UK_EMAIL = "uk_person_email";
+    public static final String UK_USERNAME = "uk_person_username";
+    public static final String UK_TELEPHONE = "uk_person_telephone";
+
     @Id
-    @UuidGenerator
+    @UuidV7
     private UUID id;
 
     private String CIN;
@@ -1,20 +1,59 @@
 package com.gestion.intervention.domain.person.repository;
 
+import com.gestion.intervention.application.person.record.PersonDTO;
+import com.gestion.intervention.application.person.record.PersonIdentityDTO;
 import com.gestion.intervention.domain.person.model.Person;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface PersonRepository extends JpaRepository<Person, UUID> {
-    Optional<Person> findByCIN(String cin);
-    Optional<Person> findByEmail(String email);
     Optional<Person> findByUsername(String username);
-    Optional<Person> findByTelephone(String telephone);
+    // Each field hits its own unique index (index merge union); null values match nothing.
+    // At most one row per field can collide, so callers pass Limit.of(4)
+    @Query("SELECT new com.gestion.intervention.application.person.record.PersonIdentityDTO(p.id, p.CIN, p.email, p.username, p.telephone) " +
+            "FROM Person p " +
+            "WHERE (p.CIN = :cin OR p.email = :email OR p.username = :username OR p.telephone = :telephone) " +
+            "AND (:idToExclude IS NULL OR p.id <> :idToExclude)")
+    List<PersonIdentityDTO> findIdentityCollisions(
+            @Param("cin") String cin,
+            @Param("email") String email,
+            @Param("username") String username,
+            @Param("telephone") String telephone,
+            @Param("idToExclude") UUID idToExclude,
+            Limit limit);
+    // Login: one round-trip per lookup, roles included; each hits its column's unique index
+    @EntityGraph(Person.WITH_ROLES)
+    Optional<Person> findWithRolesByUsername(String username);
+    @EntityGraph(Person.WITH_ROLES)
+    Optional<Person> findWithRolesByEmail(String email);
+    @EntityGraph(Person.WITH_ROLES) // Token refresh needs the roles for the new access token
+    Optional<Person> findWithRolesById(UUID id);
+    @Modifying
+    @Transactional
+    @Query("UPDATE Person p SET p.password = :newHash WHERE p.id = :id AND p.password = :oldHash") // Lost-update safe re-hash
+    int updatePasswordIfUnchanged(@Param("id") UUID id, @Param("oldHash") String oldHash, @Param("newHash") String newHash);
     @Query("SELECT COUNT(p) FROM Person p JOIN p.roles r WHERE r.id = :roleId") // Adjust 'p.roles' to your actual field name
     long countByRoleId(@Param("roleId") UUID roleId);
+
+    String DTO_SELECT = "SELECT new com.gestion.intervention.application.person.record.PersonDTO(p.id, p.CIN, p.nom, p.prenom, p.email, p.username, CAST(NULL AS String), p.telephone, p.address, p.dateNaissance) FROM Person p";
+
+    @Query(DTO_SELECT)
+    List<PersonDTO> findAllDtos();
+
+    @Query(DTO_SELECT + " WHERE p.id = :id")
+    Optional<PersonDTO> findDtoById(@Param("id") UUID id);
+
+    @Query(DTO_SELECT + " WHERE p.id > :after ORDER BY p.id")
+    List<PersonDTO> findDtoPage(@Param("after") UUID after, Limit limit);
 }
@@ -1,16 +1,23 @@
 package com.gestion.intervention.domain.piece.model;
 
 import com.gestion.intervention.domain.machine.model.Machine;
+import com.gestion.intervention.kernel.persistence.cache.CacheRegions;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import lombok.*;
-import org.hibernate.annotations.UuidGenerator;
+import com.gestion.intervention.kernel.persistence.id.UuidV7;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.UUID;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.PIECE)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -18,7 +25,7 @@ import java.util.UUID;
 @Builder
 public class Piece {
     @Id
-    @UuidGenerator
+    @UuidV7
     private UUID id;
 
     private String numPiece;
@@ -27,7 +34,7 @@ public class Piece {
 
     private String description;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "machine_id")
     private Machine machine;
 }
@@ -1,13 +1,37 @@
 package com.gestion.intervention.domain.piece.repository;
 
+import com.gestion.intervention.application.piece.record.PieceDTO;
 import com.gestion.intervention.domain.piece.model.Piece;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface PieceRepository extends JpaRepository<Piece, UUID> {
-    Optional<Piece> findByNumPieceAndMachineId(String numPiece, UUID machineId);
+    @Query("SELECT p FROM Piece p WHERE p.machine.id = :machineId AND p.numPiece = :numPiece") // No join to machine: idx_piece_machine_num_piece
+    Optional<Piece> findByNumPieceAndMachineId(@Param("numPiece") String numPiece, @Param("machineId") UUID machineId);
+
+    String DTO_SELECT = "SELECT new com.gestion.intervention.application.piece.record.PieceDTO(p.id, p.nomPiece, p.numPiece, p.description, p.machine.id) FROM Piece p";
+
+    @Query(DTO_SELECT)
+    List<PieceDTO> findAllDtos();
+
+    @Query(DTO_SELECT + " WHERE p.id = :id")
+    Optional<PieceDTO> findDtoById(@Param("id") UUID id);
+
+    @Query(DTO_SELECT + " WHERE p.id > :after ORDER BY p.id")
+    List<PieceDTO> findDtoPage(@Param("after") UUID after, Limit limit);
+
+    // Bulk validation: piece numbers of the request already taken on its machines
+    @Query(DTO_SELECT + " WHERE p.machine.id IN :machineIds AND p.numPiece IN :numPieces")
+    List<PieceDTO> findDtosByMachineIdsAndNumPieces(
+            @Param("machineIds") Collection<UUID> machineIds,
+            @Param("numPieces") Collection<String> numPieces);
 }
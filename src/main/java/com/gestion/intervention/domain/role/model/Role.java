@@ -1,14 +1,20 @@
 package com.gestion.intervention.domain.role.model;
 
 import com.gestion.intervention.domain.person.model.Person;
+import com.gestion.intervention.kernel.persistence.cache.CacheRegions;
+import com.gestion.intervention.kernel.persistence.id.UuidV7;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.security.core.GrantedAuthority;
 
 import java.util.List;
 import java.util.UUID;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.ROLE)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -16,7 +22,7 @@ import java.util.UUID;
 @Builder
 public class Role implements GrantedAuthority {
     @Id
-    @GeneratedValue
+    @UuidV7
     private UUID id;
 
     private String authority;
@@ -1,15 +1,33 @@
 package com.gestion.intervention.domain.role.repository;
 
+import com.gestion.intervention.application.role.record.RoleDTO;
 import com.gestion.intervention.domain.role.model.Role;
+import com.gestion.intervention.kernel.persistence.cache.CacheRegions;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface RoleRepository extends JpaRepository<Role, UUID> {
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = CacheRegions.ROLE_BY_AUTHORITY)
+    })
     Optional<Role> findByAuthority(String authority);
+
+    String DTO_SELECT = "SELECT new com.gestion.intervention.application.role.record.RoleDTO(r.id, r.authority) FROM Role r";
+
+    @Query(DTO_SELECT)
+    List<RoleDTO> findAllDtos();
+
+    @Query(DTO_SELECT + " WHERE r.id = :id")
+    Optional<RoleDTO> findDtoById(@Param("id") UUID id);
 }
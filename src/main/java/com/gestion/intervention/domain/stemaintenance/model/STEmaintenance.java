@@ -1,13 +1,19 @@
 package com.gestion.intervention.domain.stemaintenance.model;
 
+import com.gestion.intervention.kernel.persistence.cache.CacheRegions;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
 import lombok.*;
-import org.hibernate.annotations.UuidGenerator;
+import com.gestion.intervention.kernel.persistence.id.UuidV7;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.UUID;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.STE_MAINTENANCE)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -15,7 +21,7 @@ import java.util.UUID;
 @Builder
 public class STEmaintenance {
     @Id
-    @UuidGenerator
+    @UuidV7
     private UUID id;
 
     private String nom;
@@ -1,13 +1,37 @@
 package com.gestion.intervention.domain.stemaintenance.repository;
 
+import com.gestion.intervention.application.stemaintenance.record.STEmaintenanceDTO;
 import com.gestion.intervention.domain.stemaintenance.model.STEmaintenance;
+import com.gestion.intervention.kernel.persistence.cache.CacheRegions;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface STEmaintenanceRepository extends JpaRepository<STEmaintenance, UUID> {
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = CacheRegions.STE_MAINTENANCE_BY_NOM)
+    })
     Optional<STEmaintenance> findByNom(String nom);
+
+    String DTO_SELECT = "SELECT new com.gestion.intervention.application.stemaintenance.record.STEmaintenanceDTO(s.id, s.nom) FROM STEmaintenance s";
+
+    @Query(DTO_SELECT)
+    List<STEmaintenanceDTO> findAllDtos();
+
+    @Query(DTO_SELECT + " WHERE s.id = :id")
+    Optional<STEmaintenanceDTO> findDtoById(@Param("id") UUID id);
+
+    @Query(DTO_SELECT + " WHERE s.id > :after ORDER BY s.id")
+    List<STEmaintenanceDTO> findDtoPage(@Param("after") UUID after, Limit limit);
 }
@@ -4,7 +4,7 @@ import com.gestion.intervention.domain.disponibile.model.Disponibilite;
 import com.gestion.intervention.domain.person.model.Person;
 import jakarta.persistence.*;
 import lombok.*;
-import org.hibernate.annotations.UuidGenerator;
+import com.gestion.intervention.kernel.persistence.id.UuidV7;
 
 import java.util.List;
 import java.util.UUID;
@@ -17,10 +17,10 @@ import java.util.UUID;
 @Builder
 public class TechnicianInfo {
     @Id
-    @UuidGenerator
+    @UuidV7
     private UUID id;
 
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "person_id")
     private Person person;
 
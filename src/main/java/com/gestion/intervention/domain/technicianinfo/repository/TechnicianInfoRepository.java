@@ -1,14 +1,51 @@
 package com.gestion.intervention.domain.technicianinfo.repository;
 
+import com.gestion.intervention.application.technicianinfo.record.TechnicianInfoDTO;
 import com.gestion.intervention.domain.technicianinfo.model.TechnicianInfo;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Repository
 public interface TechnicianInfoRepository extends JpaRepository<TechnicianInfo, UUID> {
     boolean existsByPersonId(UUID personId);
     Optional<TechnicianInfo> findByPersonId(UUID personId);
+
+    String DTO_SELECT = "SELECT new com.gestion.intervention.application.technicianinfo.record.TechnicianInfoDTO(t.id, t.person.id, t.idSte, t.specialite, t.nbrPanne, t.nbrPanneRegle) FROM TechnicianInfo t";
+
+    @Query(DTO_SELECT)
+    List<TechnicianInfoDTO> findAllDtos();
+
+    @Query(DTO_SELECT + " WHERE t.id = :id")
+    Optional<TechnicianInfoDTO> findDtoById(@Param("id") UUID id);
+
+    @Query("SELECT t.id FROM TechnicianInfo t WHERE t.id IN :ids") // Bulk validation: which of these technicians exist
+    Set<UUID> findExistingIds(@Param("ids") Collection<UUID> ids);
+
+    // Interventions assigned or taken away (negative count): moved in place, no read-modify-write race
+    @Modifying
+    @Query("UPDATE TechnicianInfo t SET t.nbrPanne = t.nbrPanne + :count WHERE t.id = :id")
+    int addAssignedPannes(@Param("id") UUID id, @Param("count") int count);
+
+    @Modifying
+    @Query("UPDATE TechnicianInfo t SET t.nbrPanne = t.nbrPanne + :count WHERE t.id IN :ids")
+    int addAssignedPannes(@Param("ids") Collection<UUID> ids, @Param("count") int count);
+
+    /**
+     * SELECT ... FOR UPDATE on the technicians' rows, in id order so two callers never wait on each other: the
+     * database-level guard of TechnicianScheduleLock, which serializes bookings of a technician across instances.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t.id FROM TechnicianInfo t WHERE t.id IN :ids ORDER BY t.id")
+    List<UUID> lockByIds(@Param("ids") Collection<UUID> ids);
 }
@@ -0,0 +1,19 @@
+package com.gestion.intervention.kernel.persistence.cache;
+
+/**
+ * Names of the Hibernate second-level cache regions. Each one needs a matching
+ * {@code app.cache.second-level.regions.<name>} entry, see {@link SecondLevelCacheConfig}.
+ */
+public final class CacheRegions {
+    public static final String ROLE = "role";
+    public static final String STE_MAINTENANCE = "stemaintenance";
+    public static final String MACHINE = "machine";
+    public static final String PIECE = "piece";
+
+    // Query result regions
+    public static final String ROLE_BY_AUTHORITY = "role-by-authority";
+    public static final String STE_MAINTENANCE_BY_NOM = "stemaintenance-by-nom";
+
+    private CacheRegions() {
+    }
+}
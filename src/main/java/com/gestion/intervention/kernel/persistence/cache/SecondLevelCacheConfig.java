@@ -0,0 +1,124 @@
+package com.gestion.intervention.kernel.persistence.cache;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Hibernate second-level cache, held in process by Caffeine through its JCache provider.
+ * <p>
+ * Every region is declared with {@code app.cache.second-level.regions.<name>.max-entries} and an optional
+ * {@code .ttl} (expire after write); Hibernate refuses to start if an entity or query uses an undeclared region.
+ * Per-region {@code hibernate.cache.region.requests} (result=hit|miss) and {@code hibernate.cache.region.hit.ratio}
+ * are published with a {@code region} tag.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.cache.second-level.enabled", havingValue = "true")
+public class SecondLevelCacheConfig {
+    private static final Logger log = LoggerFactory.getLogger(SecondLevelCacheConfig.class);
+
+    /** Size bound and time-to-live of one region; without a ttl entries only leave through eviction or invalidation. */
+    public record Region(long maxEntries, Duration ttl) {
+    }
+
+    @Bean(destroyMethod = "close")
+    public CacheManager secondLevelCacheManager(Environment environment) {
+        Map<String, Region> regions = regions(environment);
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        // A URI of its own, so test contexts living side by side do not share (and re-create) the same caches
+        CacheManager cacheManager = provider.getCacheManager(
+                URI.create("hibernate-l2:" + Integer.toHexString(System.identityHashCode(environment))),
+                SecondLevelCacheConfig.class.getClassLoader());
+        regions.forEach((name, region) -> {
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            configuration.setMaximumSize(OptionalLong.of(region.maxEntries()));
+            if (region.ttl() != null && !region.ttl().isZero()) {
+                configuration.setExpireAfterWrite(OptionalLong.of(region.ttl().toNanos()));
+            }
+            configuration.setStoreByValue(false); // Hibernate already stores disassembled, immutable entries
+            cacheManager.createCache(name, configuration);
+            log.info("Second-level cache region '{}': max {} entries, ttl {}", name, region.maxEntries(),
+                    region.ttl() != null ? region.ttl() : "none");
+        });
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheProperties(CacheManager secondLevelCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, ConfigSettings.SIMPLE_FACTORY_NAME);
+            properties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+            properties.put(AvailableSettings.GENERATE_STATISTICS, true); // Source of the per-region hit/miss counts
+        };
+    }
+
+    @Bean
+    public MeterBinder secondLevelCacheMetrics(EntityManagerFactory entityManagerFactory, Environment environment) {
+        return registry -> {
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            for (String region : regions(environment).keySet()) {
+                FunctionCounter.builder("hibernate.cache.region.requests", statistics, count(region, CacheRegionStatistics::getHitCount))
+                        .tags("region", region, "result", "hit")
+                        .register(registry);
+                FunctionCounter.builder("hibernate.cache.region.requests", statistics, count(region, CacheRegionStatistics::getMissCount))
+                        .tags("region", region, "result", "miss")
+                        .register(registry);
+                Gauge.builder("hibernate.cache.region.hit.ratio", statistics, s -> hitRatio(s.getCacheRegionStatistics(region)))
+                        .tag("region", region)
+                        .register(registry);
+            }
+        };
+    }
+
+    static double hitRatio(CacheRegionStatistics region) {
+        if (region == null) {
+            return Double.NaN;
+        }
+        long requests = region.getHitCount() + region.getMissCount();
+        return requests == 0 ? Double.NaN : (double) region.getHitCount() / requests;
+    }
+
+    // Region statistics are null for regions Hibernate never built (e.g. the timestamps region)
+    private static ToDoubleFunction<Statistics> count(String region, ToLongFunction<CacheRegionStatistics> counter) {
+        return statistics -> {
+            CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+            return regionStatistics == null ? 0 : counter.applyAsLong(regionStatistics);
+        };
+    }
+
+    private static Map<String, Region> regions(Environment environment) {
+        return Binder.get(environment)
+                .bind("app.cache.second-level.regions", Bindable.mapOf(String.class, Region.class))
+                .orElseThrow(() -> new IllegalStateException("No app.cache.second-level.regions configured"));
+    }
+}
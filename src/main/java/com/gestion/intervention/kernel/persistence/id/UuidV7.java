@@ -0,0 +1,21 @@
+package com.gestion.intervention.kernel.persistence.id;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * Generates a time-ordered UUID (version 7, RFC 9562) for the annotated id, in place of {@code @UuidGenerator}.
+ * Ids created later sort after earlier ones, so inserts append to the right edge of the InnoDB clustered index
+ * instead of splitting random pages.
+ */
+@IdGeneratorType(UuidV7Generator.class)
+@Retention(RUNTIME)
+@Target({FIELD, METHOD})
+public @interface UuidV7 {
+}
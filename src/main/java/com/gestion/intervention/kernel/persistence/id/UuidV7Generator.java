@@ -0,0 +1,51 @@
+package com.gestion.intervention.kernel.persistence.id;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+
+import java.util.EnumSet;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hibernate.generator.EventTypeSets.INSERT_ONLY;
+
+/**
+ * UUIDv7 layout: 48 bits of Unix epoch milliseconds, version 7, a 12 bit sequence, the RFC variant and 62 random bits.
+ * <p>
+ * The timestamp and sequence are taken together from one lock-free counter (RFC 9562 "fixed bit-length dedicated
+ * counter"), so ids stay strictly increasing within a JVM even for many ids in the same millisecond or if the wall
+ * clock steps back; the timestamp simply runs slightly ahead until the clock catches up.
+ */
+public class UuidV7Generator implements BeforeExecutionGenerator {
+
+    private static final AtomicLong LAST_TIME_AND_SEQUENCE = new AtomicLong();
+
+    public static UUID generate() {
+        long now = System.currentTimeMillis() << 12;
+        long timeAndSequence = LAST_TIME_AND_SEQUENCE.updateAndGet(last -> Math.max(now, last + 1));
+
+        long mostSigBits = ((timeAndSequence >>> 12) << 16) // unix_ts_ms, 48 bits
+                | 0x7000L                                   // version 7
+                | (timeAndSequence & 0xFFFL);               // 12 bit sequence (rand_a)
+        long leastSigBits = (ThreadLocalRandom.current().nextLong() & 0x3FFFFFFFFFFFFFFFL)
+                | 0x8000000000000000L;                      // IETF variant, 62 random bits
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    /** True if the id is already a version 7 UUID. */
+    public static boolean isV7(UUID id) {
+        return id.version() == 7;
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue, EventType eventType) {
+        return generate();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return INSERT_ONLY;
+    }
+}
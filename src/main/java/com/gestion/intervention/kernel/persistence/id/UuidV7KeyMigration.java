@@ -0,0 +1,121 @@
+package com.gestion.intervention.kernel.persistence.id;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * One-off re-keying of existing rows from random (v4) UUIDs to UUIDv7, enabled with
+ * {@code app.persistence.uuid-v7-migration.enabled=true}.
+ * <p>
+ * Every base table with a {@code BINARY(16)} primary key named {@code id} is processed in its own transaction:
+ * old ids are mapped to new v7 ids in a temporary table, then the referencing foreign key columns (read from
+ * information_schema) and the primary key are rewritten with foreign key checks disabled. Rows that already have
+ * a v7 id are skipped, so the migration is safe to re-run.
+ * <p>
+ * Run it in a maintenance window: issued JWTs carry the old person ids and have to be re-issued afterwards.
+ */
+@Component
+@ConditionalOnProperty(name = "app.persistence.uuid-v7-migration.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class UuidV7KeyMigration implements ApplicationRunner {
+    private static final Logger log = LoggerFactory.getLogger(UuidV7KeyMigration.class);
+
+    private static final int BATCH_SIZE = 1_000;
+
+    // Ids stored as text rather than through a foreign key, so information_schema does not know about them
+    private static final Map<String, List<ColumnRef>> TEXT_REFERENCES = Map.of(
+            "stemaintenance", List.of(new ColumnRef("technician_info", "id_ste"))
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private record ColumnRef(String table, String column) {
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        List<String> tables = jdbcTemplate.queryForList(
+                "SELECT c.TABLE_NAME FROM information_schema.COLUMNS c " +
+                        "JOIN information_schema.TABLES t ON t.TABLE_SCHEMA = c.TABLE_SCHEMA AND t.TABLE_NAME = c.TABLE_NAME " +
+                        "WHERE c.TABLE_SCHEMA = DATABASE() AND t.TABLE_TYPE = 'BASE TABLE' " +
+                        "AND c.COLUMN_NAME = 'id' AND c.COLUMN_KEY = 'PRI' AND c.COLUMN_TYPE = 'binary(16)'",
+                String.class);
+        log.info("UUIDv7 key migration: {} candidate tables {}", tables.size(), tables);
+        for (String table : tables) {
+            Integer migrated = transactionTemplate.execute(status -> migrateTable(table));
+            log.info("UUIDv7 key migration: re-keyed {} rows in {}", migrated, table);
+        }
+    }
+
+    private int migrateTable(String table) {
+        List<UUID> legacyIds = new ArrayList<>();
+        jdbcTemplate.query("SELECT id FROM `" + table + "`", rs -> {
+            UUID id = fromBytes(rs.getBytes(1));
+            if (!UuidV7Generator.isV7(id)) {
+                legacyIds.add(id);
+            }
+        });
+        if (legacyIds.isEmpty()) {
+            return 0;
+        }
+
+        List<ColumnRef> foreignKeys = jdbcTemplate.query(
+                "SELECT TABLE_NAME, COLUMN_NAME FROM information_schema.KEY_COLUMN_USAGE " +
+                        "WHERE TABLE_SCHEMA = DATABASE() AND REFERENCED_TABLE_NAME = ? AND REFERENCED_COLUMN_NAME = 'id'",
+                (rs, rowNum) -> new ColumnRef(rs.getString(1), rs.getString(2)),
+                table);
+
+        // Temporary tables are per connection and do not end the surrounding transaction
+        jdbcTemplate.execute("DROP TEMPORARY TABLE IF EXISTS uuid_v7_key_map");
+        jdbcTemplate.execute("CREATE TEMPORARY TABLE uuid_v7_key_map (old_id BINARY(16) PRIMARY KEY, new_id BINARY(16) NOT NULL)");
+        for (int from = 0; from < legacyIds.size(); from += BATCH_SIZE) {
+            List<UUID> chunk = legacyIds.subList(from, Math.min(from + BATCH_SIZE, legacyIds.size()));
+            jdbcTemplate.batchUpdate("INSERT INTO uuid_v7_key_map (old_id, new_id) VALUES (?, ?)", chunk, chunk.size(),
+                    (ps, oldId) -> {
+                        ps.setBytes(1, toBytes(oldId));
+                        ps.setBytes(2, toBytes(UuidV7Generator.generate()));
+                    });
+        }
+
+        jdbcTemplate.execute("SET FOREIGN_KEY_CHECKS = 0");
+        try {
+            for (ColumnRef ref : foreignKeys) {
+                jdbcTemplate.update("UPDATE `" + ref.table() + "` x JOIN uuid_v7_key_map m ON x.`" + ref.column() + "` = m.old_id " +
+                        "SET x.`" + ref.column() + "` = m.new_id");
+            }
+            for (ColumnRef ref : TEXT_REFERENCES.getOrDefault(table, List.of())) {
+                jdbcTemplate.update("UPDATE `" + ref.table() + "` x JOIN uuid_v7_key_map m ON x.`" + ref.column() + "` = BIN_TO_UUID(m.old_id) " +
+                        "SET x.`" + ref.column() + "` = BIN_TO_UUID(m.new_id)");
+            }
+            jdbcTemplate.update("UPDATE `" + table + "` x JOIN uuid_v7_key_map m ON x.id = m.old_id SET x.id = m.new_id");
+        } finally {
+            jdbcTemplate.execute("SET FOREIGN_KEY_CHECKS = 1");
+            jdbcTemplate.execute("DROP TEMPORARY TABLE IF EXISTS uuid_v7_key_map");
+        }
+        return legacyIds.size();
+    }
+
+    // Same byte order Hibernate uses for UUID <-> BINARY(16): most significant bits first
+    static byte[] toBytes(UUID id) {
+        return ByteBuffer.allocate(16).putLong(id.getMostSignificantBits()).putLong(id.getLeastSignificantBits()).array();
+    }
+
+    static UUID fromBytes(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+}
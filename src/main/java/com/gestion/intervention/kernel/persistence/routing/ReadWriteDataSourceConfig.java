@@ -0,0 +1,82 @@
+package com.gestion.intervention.kernel.persistence.routing;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Read/write splitting, enabled by setting {@code app.datasource.replica.url}.
+ * <p>
+ * The application {@link DataSource} is a {@link LazyConnectionDataSourceProxy}: the physical connection is only
+ * fetched at the first statement, once the transaction manager has marked the connection read-only or not. Read-only
+ * transactions ({@code @Transactional(readOnly = true)}) then get a replica connection, through
+ * {@link ReplicaFallbackDataSource}; everything else, schema generation included, runs on the primary configured in
+ * {@code spring.datasource.*}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replica.url")
+public class ReadWriteDataSourceConfig {
+    private static final Logger log = LoggerFactory.getLogger(ReadWriteDataSourceConfig.class);
+
+    @Bean(destroyMethod = "close")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties, Environment environment) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary)); // Pool settings as without replica
+        primary.setPoolName("primary");
+        return primary;
+    }
+
+    @Bean(destroyMethod = "close")
+    public HikariDataSource replicaDataSource(
+            DataSourceProperties properties,
+            @Value("${app.datasource.replica.url}") String url,
+            @Value("${app.datasource.replica.username:${spring.datasource.username:}}") String username,
+            @Value("${app.datasource.replica.password:${spring.datasource.password:}}") String password,
+            @Value("${app.datasource.replica.maximum-pool-size:10}") int maximumPoolSize,
+            Environment environment) {
+        Duration connectionTimeout = Binder.get(environment)
+                .bind("app.datasource.replica.connection-timeout", Duration.class).orElse(Duration.ofSeconds(2));
+        HikariDataSource replica = new HikariDataSource();
+        replica.setPoolName("replica");
+        replica.setDriverClassName(properties.determineDriverClassName());
+        replica.setJdbcUrl(url);
+        replica.setUsername(username);
+        replica.setPassword(password);
+        replica.setMaximumPoolSize(maximumPoolSize);
+        replica.setConnectionTimeout(connectionTimeout.toMillis()); // Fail over quickly instead of waiting 30s for a dead replica
+        replica.setInitializationFailTimeout(-1); // Start even if the replica is down; reads fall back until it is up
+        replica.setReadOnly(true);
+        return replica;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource,
+                                 HikariDataSource replicaDataSource,
+                                 Environment environment) {
+        Duration retryAfter = Binder.get(environment)
+                .bind("app.datasource.replica.retry-after", Duration.class).orElse(Duration.ofSeconds(30));
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(new ReplicaFallbackDataSource(replicaDataSource, primaryDataSource, retryAfter));
+        log.info("Read-only transactions are routed to the replica at {}", replicaDataSource.getJdbcUrl());
+        return dataSource;
+    }
+
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter() {
+        return new ReadYourWritesFilter();
+    }
+}
@@ -0,0 +1,45 @@
+package com.gestion.intervention.kernel.persistence.routing;
+
+import java.util.function.Supplier;
+
+/**
+ * Per-thread switch that sends read-only transactions to the primary instead of the replica, for callers that must
+ * see their own (possibly not yet replicated) writes. Web requests turn it on with the {@value #HEADER} header, see
+ * {@link ReadYourWritesFilter}; other code uses {@link #call(Supplier)} or {@link #open()}.
+ */
+public final class ReadYourWrites {
+    public static final String HEADER = "X-Read-Your-Writes";
+
+    private static final ThreadLocal<Boolean> ACTIVE = new ThreadLocal<>();
+
+    private ReadYourWrites() {
+    }
+
+    /** Restores the previous setting when closed. */
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    public static boolean isActive() {
+        return Boolean.TRUE.equals(ACTIVE.get());
+    }
+
+    public static Scope open() {
+        Boolean previous = ACTIVE.get();
+        ACTIVE.set(Boolean.TRUE);
+        return () -> {
+            if (previous == null) {
+                ACTIVE.remove();
+            } else {
+                ACTIVE.set(previous);
+            }
+        };
+    }
+
+    public static <T> T call(Supplier<T> work) {
+        try (Scope ignored = open()) {
+            return work.get();
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.gestion.intervention.kernel.persistence.routing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/** Serves the whole request from the primary when it carries {@code X-Read-Your-Writes: true}. */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!"true".equalsIgnoreCase(request.getHeader(ReadYourWrites.HEADER))) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        try (ReadYourWrites.Scope ignored = ReadYourWrites.open()) {
+            filterChain.doFilter(request, response);
+        }
+    }
+}
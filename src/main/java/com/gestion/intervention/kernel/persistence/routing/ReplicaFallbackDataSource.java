@@ -0,0 +1,61 @@
+package com.gestion.intervention.kernel.persistence.routing;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * Target for read-only connections: the replica, unless the caller asked to read its own writes
+ * ({@link ReadYourWrites}) or the replica is unreachable. A replica that fails to hand out a connection is skipped
+ * for {@code retryAfter}; meanwhile reads go to the primary, then the next read tries the replica again.
+ */
+public class ReplicaFallbackDataSource extends AbstractDataSource {
+    private static final Logger log = LoggerFactory.getLogger(ReplicaFallbackDataSource.class);
+
+    private final DataSource replica;
+    private final DataSource primary;
+    private final long retryAfterNanos;
+
+    private volatile long replicaDownUntil; // System.nanoTime() deadline, 0 while the replica is healthy
+
+    public ReplicaFallbackDataSource(DataSource replica, DataSource primary, Duration retryAfter) {
+        this.replica = replica;
+        this.primary = primary;
+        this.retryAfterNanos = retryAfter.toNanos();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (ReadYourWrites.isActive() || isReplicaDown()) {
+            return primary.getConnection();
+        }
+        try {
+            Connection connection = replica.getConnection();
+            if (replicaDownUntil != 0) {
+                replicaDownUntil = 0;
+                log.info("Replica reachable again, read-only transactions are routed back to it");
+            }
+            return connection;
+        } catch (SQLException e) {
+            replicaDownUntil = System.nanoTime() + retryAfterNanos;
+            log.warn("Replica unavailable, read-only transactions fall back to the primary for {} ms: {}",
+                    retryAfterNanos / 1_000_000, e.getMessage());
+            return primary.getConnection();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new UnsupportedOperationException("Credentials are configured on the underlying pools");
+    }
+
+    boolean isReplicaDown() {
+        long until = replicaDownUntil;
+        return until != 0 && System.nanoTime() - until < 0;
+    }
+}
@@ -0,0 +1,36 @@
+package com.gestion.intervention.kernel.persistence.stream;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.jpa.AvailableHints;
+
+import java.util.stream.Stream;
+
+/**
+ * Streams the few queries whose results are too large to hold (export, index loads) without the driver buffering
+ * them. Connector/J buffers every result set unless the statement's fetch size is {@link Integer#MIN_VALUE}, which
+ * streams that statement row by row; the connection-wide alternative, {@code useCursorFetch}, would turn every
+ * statement of the application into a server-side prepared statement. Other databases honour a plain fetch size.
+ * <p>
+ * While a MySQL stream is open, its connection cannot run another statement: consume or close it first.
+ */
+public final class StreamingQueries {
+
+    // Rows pulled per round trip where the driver supports a fetch size
+    public static final int FETCH_SIZE = 500;
+
+    private StreamingQueries() {
+    }
+
+    /** Forward-only stream of the query's rows; the caller must close it inside the transaction. */
+    public static <T> Stream<T> stream(EntityManager entityManager, TypedQuery<T> query) {
+        return query.setHint(AvailableHints.HINT_FETCH_SIZE, fetchSize(entityManager)).getResultStream();
+    }
+
+    static int fetchSize(EntityManager entityManager) {
+        SessionFactoryImplementor sessionFactory = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class);
+        return sessionFactory.getJdbcServices().getDialect() instanceof MySQLDialect ? Integer.MIN_VALUE : FETCH_SIZE;
+    }
+}
@@ -0,0 +1,225 @@
+package com.gestion.intervention.kernel.schedule;
+
+import java.util.function.Consumer;
+
+/**
+ * Half-open intervals {@code [start, end)} identified by a key, in an AVL tree ordered by {@code (start, key)} where
+ * every node also carries the largest {@code end} of its subtree. Subtrees that end before a query starts, or start
+ * after it ends, are never visited: inserts, removals and "is anything overlapping" queries are O(log n), listing the
+ * overlaps is O(log n + k).
+ * <p>
+ * Not thread-safe; callers serialize access.
+ */
+public class IntervalTree<K extends Comparable<? super K>> {
+
+    private Node<K> root;
+    private int size;
+
+    private static final class Node<K> {
+        final long start;
+        final long end;
+        final K key;
+        long maxEnd;
+        int height = 1;
+        Node<K> left;
+        Node<K> right;
+
+        Node(long start, long end, K key) {
+            this.start = start;
+            this.end = end;
+            this.key = key;
+            this.maxEnd = end;
+        }
+    }
+
+    /** Visitor for {@link #forEachOverlapping} and {@link #forEach}. */
+    @FunctionalInterface
+    public interface IntervalConsumer<K> {
+        void accept(K key, long start, long end);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /** Adds an interval; the caller makes sure {@code (start, key)} is not already present. */
+    public void insert(long start, long end, K key) {
+        if (end < start) {
+            throw new IllegalArgumentException("Interval end " + end + " is before its start " + start);
+        }
+        root = insert(root, new Node<>(start, end, key));
+        size++;
+    }
+
+    /** Removes the interval added with this start and key; returns false if there is none. */
+    public boolean remove(long start, K key) {
+        int before = size;
+        root = remove(root, start, key);
+        return size < before;
+    }
+
+    /** True if an interval other than {@code excludedKey} (may be null) intersects {@code [from, to)}. */
+    public boolean overlaps(long from, long to, K excludedKey) {
+        return overlaps(root, from, to, excludedKey);
+    }
+
+    /** Every interval intersecting {@code [from, to)}, in start order. */
+    public void forEachOverlapping(long from, long to, IntervalConsumer<K> consumer) {
+        forEachOverlapping(root, from, to, consumer);
+    }
+
+    /** Every interval, in start order. */
+    public void forEach(IntervalConsumer<K> consumer) {
+        forEach(root, consumer);
+    }
+
+    public void clear() {
+        root = null;
+        size = 0;
+    }
+
+    private static <K extends Comparable<? super K>> int compare(long start, K key, Node<K> node) {
+        int byStart = Long.compare(start, node.start);
+        return byStart != 0 ? byStart : key.compareTo(node.key);
+    }
+
+    private Node<K> insert(Node<K> node, Node<K> added) {
+        if (node == null) {
+            return added;
+        }
+        if (compare(added.start, added.key, node) < 0) {
+            node.left = insert(node.left, added);
+        } else {
+            node.right = insert(node.right, added);
+        }
+        return rebalance(node);
+    }
+
+    private Node<K> remove(Node<K> node, long start, K key) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = compare(start, key, node);
+        if (cmp < 0) {
+            node.left = remove(node.left, start, key);
+        } else if (cmp > 0) {
+            node.right = remove(node.right, start, key);
+        } else {
+            size--;
+            if (node.left == null) {
+                return node.right;
+            }
+            if (node.right == null) {
+                return node.left;
+            }
+            // Replace by the in-order successor, detached from the right subtree
+            Node<K> successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            successor.right = removeMin(node.right);
+            successor.left = node.left;
+            return rebalance(successor);
+        }
+        return rebalance(node);
+    }
+
+    private Node<K> removeMin(Node<K> node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        node.left = removeMin(node.left);
+        return rebalance(node);
+    }
+
+    private boolean overlaps(Node<K> node, long from, long to, K excludedKey) {
+        while (node != null && node.maxEnd > from) {
+            if (node.start < to && node.end > from && (excludedKey == null || !excludedKey.equals(node.key))) {
+                return true;
+            }
+            // Only the excluded interval matched here, or nothing did: both sides may still hold an overlap
+            if (node.left != null && node.left.maxEnd > from && overlaps(node.left, from, to, excludedKey)) {
+                return true;
+            }
+            if (node.start >= to) {
+                return false; // Everything to the right starts even later
+            }
+            node = node.right;
+        }
+        return false;
+    }
+
+    private void forEachOverlapping(Node<K> node, long from, long to, IntervalConsumer<K> consumer) {
+        if (node == null || node.maxEnd <= from) {
+            return;
+        }
+        forEachOverlapping(node.left, from, to, consumer);
+        if (node.start >= to) {
+            return;
+        }
+        if (node.end > from) {
+            consumer.accept(node.key, node.start, node.end);
+        }
+        forEachOverlapping(node.right, from, to, consumer);
+    }
+
+    private void forEach(Node<K> node, IntervalConsumer<K> consumer) {
+        if (node != null) {
+            forEach(node.left, consumer);
+            consumer.accept(node.key, node.start, node.end);
+            forEach(node.right, consumer);
+        }
+    }
+
+    private static int height(Node<?> node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private void update(Node<K> node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        long maxEnd = node.end;
+        if (node.left != null) {
+            maxEnd = Math.max(maxEnd, node.left.maxEnd);
+        }
+        if (node.right != null) {
+            maxEnd = Math.max(maxEnd, node.right.maxEnd);
+        }
+        node.maxEnd = maxEnd;
+    }
+
+    private Node<K> rebalance(Node<K> node) {
+        update(node);
+        int balance = height(node.left) - height(node.right);
+        if (balance > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (balance < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private Node<K> rotateRight(Node<K> node) {
+        Node<K> pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private Node<K> rotateLeft(Node<K> node) {
+        Node<K> pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+}
@@ -0,0 +1,96 @@
+package com.gestion.intervention.kernel.schedule;
+
+/**
+ * One day at minute granularity in a {@code long[]}: bit {@code m} of the array (bit {@code m % 64} of word
+ * {@code m / 64}) stands for minute {@code [m, m + 1)} of the day. The helpers work a word at a time, so finding the
+ * next set or clear bit costs one {@link Long#numberOfTrailingZeros} per 64 minutes, not a test per minute.
+ */
+public final class MinuteBitmap {
+
+    public static final int MINUTES_PER_DAY = 24 * 60;
+    public static final int WORDS_PER_DAY = (MINUTES_PER_DAY + 63) / 64;
+
+    private MinuteBitmap() {
+    }
+
+    public static long[] newDay() {
+        return new long[WORDS_PER_DAY];
+    }
+
+    /** Sets minutes {@code [from, to)}. */
+    public static void set(long[] words, int from, int to) {
+        if (from >= to) {
+            return;
+        }
+        int first = from >>> 6;
+        int last = (to - 1) >>> 6;
+        long firstMask = -1L << from; // Shifts only use the low 6 bits of the distance
+        long lastMask = -1L >>> -to;
+        if (first == last) {
+            words[first] |= firstMask & lastMask;
+            return;
+        }
+        words[first] |= firstMask;
+        for (int i = first + 1; i < last; i++) {
+            words[i] = -1L;
+        }
+        words[last] |= lastMask;
+    }
+
+    /** Clears minutes {@code [from, to)}. */
+    public static void clear(long[] words, int from, int to) {
+        if (from >= to) {
+            return;
+        }
+        int first = from >>> 6;
+        int last = (to - 1) >>> 6;
+        long firstMask = -1L << from;
+        long lastMask = -1L >>> -to;
+        if (first == last) {
+            words[first] &= ~(firstMask & lastMask);
+            return;
+        }
+        words[first] &= ~firstMask;
+        for (int i = first + 1; i < last; i++) {
+            words[i] = 0L;
+        }
+        words[last] &= ~lastMask;
+    }
+
+    /** First set minute in {@code [from, limit)}, or -1. */
+    public static int nextSetBit(long[] words, int from, int limit) {
+        if (from >= limit) {
+            return -1;
+        }
+        int i = from >>> 6;
+        long word = words[i] & (-1L << from);
+        while (true) {
+            if (word != 0) {
+                int bit = (i << 6) + Long.numberOfTrailingZeros(word);
+                return bit < limit ? bit : -1;
+            }
+            if (++i << 6 >= limit) {
+                return -1;
+            }
+            word = words[i];
+        }
+    }
+
+    /** First clear minute in {@code [from, limit)}, or {@code limit} if they are all set. */
+    public static int nextClearBit(long[] words, int from, int limit) {
+        if (from >= limit) {
+            return limit;
+        }
+        int i = from >>> 6;
+        long word = ~words[i] & (-1L << from);
+        while (true) {
+            if (word != 0) {
+                return Math.min((i << 6) + Long.numberOfTrailingZeros(word), limit);
+            }
+            if (++i << 6 >= limit) {
+                return limit;
+            }
+            word = ~words[i];
+        }
+    }
+}
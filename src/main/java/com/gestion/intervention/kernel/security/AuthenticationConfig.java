@@ -1,23 +1,29 @@
 package com.gestion.intervention.kernel.security;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.authentication.ProviderManager;
 
 @Configuration
 @RequiredArgsConstructor
 public class AuthenticationConfig {
     @Bean
-    public AuthenticationManager authenticationManager(AuthenticationConfiguration authenticationConfiguration) throws Exception {
-        return authenticationConfiguration.getAuthenticationManager();
+    public AuthenticationManager authenticationManager(PersonAuthenticationProvider personAuthenticationProvider) {
+        return new ProviderManager(personAuthenticationProvider); // Single-query login, see PersonAuthenticationProvider
     }
 
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    @Bean(destroyMethod = "shutdown")
+    public BoundedPasswordEncoder passwordEncoder(
+            @Value("${security.password.bcrypt-strength:0}") int strength, // 0 = calibrate at startup
+            @Value("${security.password.target-hash-millis:250}") long targetHashMillis,
+            @Value("${security.password.hash-threads:0}") int threads, // 0 = half the available cores
+            @Value("${security.password.hash-queue-capacity:32}") int queueCapacity,
+            @Value("${security.password.max-queue-wait-millis:250}") long maxQueueWaitMillis) {
+        int workFactor = strength > 0 ? strength : BoundedPasswordEncoder.calibrateStrength(targetHashMillis);
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new BoundedPasswordEncoder(workFactor, poolSize, queueCapacity, maxQueueWaitMillis);
     }
 }
\ No newline at end of file
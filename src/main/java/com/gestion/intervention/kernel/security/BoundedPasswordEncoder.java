@@ -0,0 +1,159 @@
+package com.gestion.intervention.kernel.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * BCrypt encoder whose CPU-bound work runs on a small dedicated pool instead of the servlet threads.
+ * A caller whose hash would not start within {@code maxQueueWaitMillis} (judged from the queue length and the
+ * measured hash time), or that finds the bounded queue full, is rejected immediately with
+ * {@link PasswordHashingUnavailableException}: servlet threads never park behind a login burst for longer than
+ * about one hash, so the burst cannot starve other endpoints.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+    private static final Logger log = LoggerFactory.getLogger(BoundedPasswordEncoder.class);
+
+    static final int MIN_STRENGTH = 10; // BCrypt default, never go below it
+    static final int MAX_STRENGTH = 16;
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final int threads;
+    private final long maxQueueWaitNanos;
+    // Moving average of one hash on the pool; updated racily, an estimate is all admission needs
+    private volatile long hashNanos;
+
+    public BoundedPasswordEncoder(int strength, int threads, int queueCapacity, long maxQueueWaitMillis) {
+        this(new BCryptPasswordEncoder(strength), threads, queueCapacity, maxQueueWaitMillis);
+        log.info("Password hashing uses BCrypt strength {}", strength);
+    }
+
+    // Package-private: tests stand in an encoder whose hash time they control
+    BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, long maxQueueWaitMillis) {
+        this.delegate = delegate;
+        this.threads = threads;
+        this.maxQueueWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxQueueWaitMillis);
+        long start = System.nanoTime();
+        delegate.encode("warm-up"); // First estimate of the hash time, at the final strength
+        this.hashNanos = System.nanoTime() - start;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        log.info("Password hashing: {} thread(s), queue capacity {}, max queue wait {} ms, ~{} ms per hash",
+                threads, queueCapacity, maxQueueWaitMillis, TimeUnit.NANOSECONDS.toMillis(hashNanos));
+    }
+
+    /**
+     * Picks the highest BCrypt strength whose hash time stays within the target, never below {@link #MIN_STRENGTH}.
+     * Each extra unit of strength doubles the cost, so a single measurement is enough to extrapolate.
+     */
+    public static int calibrateStrength(long targetMillis) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(MIN_STRENGTH);
+        probe.encode("warm-up"); // Let the JIT compile the hot loop before measuring
+        long start = System.nanoTime();
+        probe.encode("calibration");
+        double millis = (System.nanoTime() - start) / 1_000_000.0;
+
+        int strength = MIN_STRENGTH;
+        while (strength < MAX_STRENGTH && millis * 2 <= targetMillis) {
+            strength++;
+            millis *= 2;
+        }
+        log.info("Calibrated BCrypt strength {} (~{} ms per hash, target {} ms)", strength, Math.round(millis), targetMillis);
+        return strength;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return await(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return await(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    /** True when the hash was produced with a lower strength than the current one. Cheap, no hashing involved. */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    /** Hashes in the background; the future fails fast if the pool is saturated. */
+    public CompletableFuture<String> encodeAsync(CharSequence rawPassword) {
+        try {
+            return CompletableFuture.supplyAsync(() -> delegate.encode(rawPassword), executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(new PasswordHashingUnavailableException());
+        }
+    }
+
+    /** Hashes waiting for a pool thread. */
+    int queuedHashes() {
+        return executor.getQueue().size();
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> T await(Supplier<T> task) {
+        long hash = hashNanos;
+        // Hashes queued ahead of this one, spread over the pool's threads
+        long expectedWait = (long) Math.ceil((double) executor.getQueue().size() / threads) * hash;
+        if (expectedWait > maxQueueWaitNanos) {
+            log.warn("Password hashing queue would delay this request ~{} ms, rejecting it", TimeUnit.NANOSECONDS.toMillis(expectedWait));
+            throw new PasswordHashingUnavailableException();
+        }
+        Future<T> future;
+        try {
+            future = executor.submit(() -> timed(task));
+        } catch (RejectedExecutionException e) {
+            log.warn("Password hashing queue is full, rejecting request");
+            throw new PasswordHashingUnavailableException();
+        }
+        try {
+            // The admitted wait plus the hash itself, with slack for a slow hash
+            return future.get(maxQueueWaitNanos + 2 * hash, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // Drops the hash if it has not started; one already running cannot be stopped and finishes unobserved
+            future.cancel(false);
+            throw new PasswordHashingUnavailableException();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(false);
+            throw new PasswordHashingUnavailableException();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) throw runtimeException;
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private <T> T timed(Supplier<T> task) {
+        long start = System.nanoTime();
+        try {
+            return task.get();
+        } finally {
+            hashNanos = (hashNanos * 7 + (System.nanoTime() - start)) / 8;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.gestion.intervention.kernel.security;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/** Raised when the password hashing pool is saturated; clients should retry later. */
+@ResponseStatus(value = HttpStatus.SERVICE_UNAVAILABLE, reason = "Too many concurrent password operations, retry later")
+public class PasswordHashingUnavailableException extends RuntimeException {
+    public PasswordHashingUnavailableException() {
+        super("Too many concurrent password operations, retry later");
+    }
+}
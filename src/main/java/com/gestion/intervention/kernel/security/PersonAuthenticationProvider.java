@@ -0,0 +1,99 @@
+package com.gestion.intervention.kernel.security;
+
+import com.gestion.intervention.domain.person.model.Person;
+import com.gestion.intervention.domain.person.repository.PersonRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Authenticates a username-or-email / password pair with a single query that also fetches the roles.
+ * The authenticated {@link Person} is returned as principal so callers can issue tokens without loading it again.
+ */
+@Component
+@RequiredArgsConstructor
+public class PersonAuthenticationProvider implements AuthenticationProvider {
+    private static final Logger log = LoggerFactory.getLogger(PersonAuthenticationProvider.class);
+
+    private final PersonRepository personRepository;
+    private final BoundedPasswordEncoder passwordEncoder;
+    private volatile String dummyHash;
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        String login = authentication.getName();
+        Object credentials = authentication.getCredentials();
+        if (login == null || credentials == null) {
+            throw new BadCredentialsException("Bad credentials");
+        }
+
+        // Same message, and the same BCrypt cost, whether the user is unknown or the password is wrong:
+        // answering unknown logins without hashing would tell which usernames and emails exist
+        Person person = findByLogin(login).orElse(null);
+        if (person == null || person.getPassword() == null) {
+            passwordEncoder.matches(credentials.toString(), dummyHash());
+            throw new BadCredentialsException("Bad credentials");
+        }
+        if (!passwordEncoder.matches(credentials.toString(), person.getPassword())) {
+            throw new BadCredentialsException("Bad credentials");
+        }
+        upgradeHashIfStale(person, credentials.toString());
+
+        return UsernamePasswordAuthenticationToken.authenticated(person, null, person.getAuthorities());
+    }
+
+    /**
+     * Username and email are unique each, but one user's username may be another's email: a login containing '@' is
+     * matched on email first, and only falls back to username when no email matches.
+     */
+    private Optional<Person> findByLogin(String login) {
+        if (login.indexOf('@') >= 0) {
+            Optional<Person> byEmail = personRepository.findWithRolesByEmail(login);
+            if (byEmail.isPresent()) {
+                return byEmail;
+            }
+        }
+        return personRepository.findWithRolesByUsername(login);
+    }
+
+    // Hashed on first use, at the encoder's current strength, so a miss costs as much as a wrong password
+    private String dummyHash() {
+        String hash = dummyHash;
+        if (hash == null) {
+            hash = passwordEncoder.encode(UUID.randomUUID().toString());
+            dummyHash = hash;
+        }
+        return hash;
+    }
+
+    /**
+     * Re-hashes the password with the current work factor after a successful login, in the background.
+     * The update only applies if the stored hash has not changed meanwhile.
+     */
+    private void upgradeHashIfStale(Person person, String rawPassword) {
+        String staleHash = person.getPassword();
+        if (!passwordEncoder.upgradeEncoding(staleHash)) {
+            return;
+        }
+        passwordEncoder.encodeAsync(rawPassword)
+                .thenAccept(newHash -> personRepository.updatePasswordIfUnchanged(person.getId(), staleHash, newHash))
+                .exceptionally(e -> {
+                    log.debug("Password hash upgrade skipped for user {}: {}", person.getId(), e.getMessage());
+                    return null;
+                });
+    }
+
+    @Override
+    public boolean supports(Class<?> authentication) {
+        return UsernamePasswordAuthenticationToken.class.isAssignableFrom(authentication);
+    }
+}
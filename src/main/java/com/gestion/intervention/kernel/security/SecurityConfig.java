@@ -1,6 +1,8 @@
 package com.gestion.intervention.kernel.security;
 
 import com.gestion.intervention.kernel.security.jwt.JwtAuthenticationFilter;
+import com.gestion.intervention.kernel.security.ratelimit.AuthRateLimitFilter;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -23,6 +25,7 @@ import java.util.List;
 @RequiredArgsConstructor
 public class SecurityConfig {
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final AuthRateLimitFilter authRateLimitFilter;
 
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
@@ -66,9 +69,12 @@ public class SecurityConfig {
                         })
                 )*/
                 .authorizeHttpRequests(authorizeRequests -> authorizeRequests
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll() // Completion of a streamed response; the request itself was already authorized
                         .requestMatchers("/swagger-ui/**", "/v3/api-docs/**").permitAll()
                         .requestMatchers("/hello/**").permitAll()
-                        .requestMatchers("/actuator/**").permitAll()
+                        .requestMatchers("/actuator/metrics/**").hasRole("ADMIN") // Auth, rate-limit and token-cache meters
+                        .requestMatchers("/actuator/health/**").permitAll()
+                        .requestMatchers("/.well-known/jwks.json").permitAll()
                         .requestMatchers("/api/v1/auth/**").permitAll()
                         .requestMatchers("/api/v1/user/admin/**").hasRole("ADMIN")
                         .requestMatchers("/api/v1/user/helper/**").hasAnyRole("HELPDESK", "ADMIN")
@@ -77,7 +83,8 @@ public class SecurityConfig {
                         .anyRequest().denyAll())
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
-                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterBefore(authRateLimitFilter, JwtAuthenticationFilter.class); // Throttle /api/v1/auth before any token, DB or hashing work
         return http.build();
     }
 
@@ -22,7 +22,6 @@ import java.time.Instant;
 import java.util.Collection; // Import Collection
 import java.util.HashMap;
 import java.util.Map;
-import java.util.UUID;
 import org.springframework.security.core.GrantedAuthority; // Import GrantedAuthority
 
 @Component
@@ -30,8 +29,12 @@ import org.springframework.security.core.GrantedAuthority; // Import GrantedAuth
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private static final Logger log = LoggerFactory.getLogger(JwtAuthenticationFilter.class); // Add logger
 
+    /** Request attribute holding the {@link VerifiedClaims} of the bearer token, once verified. */
+    public static final String VERIFIED_CLAIMS_ATTRIBUTE = "com.gestion.intervention.jwt.VERIFIED_CLAIMS";
+
     private final HandlerExceptionResolver handlerExceptionResolver;
-    private final JwtService jwtService;
+    private final VerifiedTokenCache verifiedTokenCache; // Fronts JwtService, skips HMAC checks for repeat tokens
+    private final RevokedTokenRegistry revokedTokenRegistry;
     private final ObjectMapper objectMapper = new ObjectMapper(); // Keep using ObjectMapper for error responses
 
     @Override
@@ -47,21 +50,30 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
 
-        String jwt = null;
         String userEmail = null;
-        UUID userId = null;
         String tokenType = null;
 
         try {
-            jwt = authHeader.substring(7);
-            userEmail = jwtService.extractUsername(jwt); // Extract email (subject)
-            userId = jwtService.extractUserId(jwt);       // Extract userId claim
-            tokenType = jwtService.extractClaim(jwt, claims -> claims.get("type", String.class)); // Check if it's a refresh token
+            final String jwt = authHeader.substring(7);
+            final VerifiedClaims claims = verifiedTokenCache.verify(jwt); // At most one signature check and parse per request
+            if (claims != null) {
+                userEmail = claims.subject();
+                tokenType = claims.type();
+                // Expose the decoded claims so downstream code (e.g. the refresh endpoint) never re-parses the token
+                request.setAttribute(VERIFIED_CLAIMS_ATTRIBUTE, claims);
+            }
+
+            // Revoked ids (e.g. refresh tokens that were already rotated) are rejected before anything else
+            if (claims != null && claims.tokenId() != null && revokedTokenRegistry.isRevoked(claims.tokenId())) {
+                log.warn("Revoked token presented for user {}", userEmail);
+                sendJsonResponse(response, HttpServletResponse.SC_UNAUTHORIZED, "Invalid Token", "Token has been revoked", tokenType, claims.expiresAt(), userEmail);
+                return;
+            }
 
             // Proceed only if we have user identifier and no existing authentication
-            if (userId != null && userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            if (claims != null && claims.userId() != null && userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
 
-                boolean isRefreshToken = "refresh".equals(tokenType);
+                boolean isRefreshToken = claims.isRefreshToken();
 
                 // Block refresh token usage for general resources
                 if (isRefreshToken && !request.getServletPath().contains("/auth/refresh")) { // Be more robust checking refresh path if needed
@@ -73,12 +85,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 // Validate ACCESS token (ignore validation for refresh token path itself)
                 // Refresh token validation happens in the refresh endpoint logic
                 if (!isRefreshToken) {
-                    if (jwtService.isTokenValid(jwt, userEmail)) {
-                        // Token is valid, extract authorities (roles)
-                        Collection<? extends GrantedAuthority> authorities = jwtService.extractAuthorities(jwt);
+                    if (!claims.isExpired()) {
+                        // Authorities were decoded together with the other claims
+                        Collection<? extends GrantedAuthority> authorities = claims.authorities();
 
                         // Create UserPrincipal (adapt if it needs roles)
-                        UserPrincipal userPrincipal = new UserPrincipal(userId, userEmail);
+                        UserPrincipal userPrincipal = new UserPrincipal(claims.userId(), userEmail);
                         // Or if UserPrincipal needs authorities:
                         // UserPrincipal userPrincipal = new UserPrincipal(userId, userEmail, authorities);
 
@@ -101,7 +113,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                         // Optionally send error response here, but often letting the chain proceed
                         // results in a 401/403 from subsequent security checks if needed.
                         // For clarity, we can send it now:
-                        sendJsonResponse(response, HttpServletResponse.SC_UNAUTHORIZED, "Invalid Token", "Invalid or expired access token", "access", null, userEmail);
+                        sendJsonResponse(response, HttpServletResponse.SC_UNAUTHORIZED, "Invalid Token", "Invalid or expired access token", "access", claims.expiresAt(), userEmail);
                         return; // Stop the filter chain
                     }
                 }
@@ -0,0 +1,256 @@
+package com.gestion.intervention.kernel.security.jwt;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.math.BigInteger;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Immutable set of signing keys, identified by the {@code kid} JWT header.
+ * Keys are decoded once at startup and a single thread-safe parser resolves the verification key from the header,
+ * so nothing is derived or built per request.
+ * <p>
+ * Rotation: add the new key under {@code security.jwt.keys.<kid>} (HMAC) or
+ * {@code security.jwt.asymmetric-keys.<kid>} (EC/RSA) and deploy, then point {@code security.jwt.active-key-id} at it.
+ * Tokens signed with the old key stay valid until the old entry is removed.
+ * {@code security.jwt.secret-key} is registered under {@link #DEFAULT_KEY_ID}, which also verifies tokens issued
+ * before key ids were introduced (no {@code kid} header) for as long as HMAC keys are accepted; once they are dropped,
+ * tokens without a {@code kid} are rejected.
+ * <p>
+ * With {@code security.jwt.algorithm} set to an asymmetric algorithm (ES256, RS256...), tokens are signed with the
+ * active private key and the public keys are published as a JWKS, so other services can verify tokens without
+ * holding any secret. HMAC keys stay verification-only during such a migration, until
+ * {@code security.jwt.accept-hmac=false} drops them: as long as they are accepted, anyone holding a secret can still
+ * mint valid tokens. Without configured key pairs, startup fails unless {@code security.jwt.allow-ephemeral-key=true}
+ * (single node only: other nodes would reject the tokens it issues).
+ */
+@Component
+public class JwtKeyRing {
+    private static final Logger log = LoggerFactory.getLogger(JwtKeyRing.class);
+
+    public static final String DEFAULT_KEY_ID = "default";
+
+    private final SignatureAlgorithm algorithm;
+    private final String activeKeyId;
+    private final Key signingKey;
+    private final Map<String, Key> verificationKeys;
+    private final Key keyWithoutId; // For tokens without a kid: the default secret while HMAC is accepted, else null
+    private final List<Map<String, Object>> jsonWebKeys;
+    private final JwtParser parser;
+
+    /** An asymmetric key pair, base64-encoded; the private key is only required on nodes that issue tokens. */
+    public record AsymmetricKey(String publicKey, String privateKey) {
+    }
+
+    @Autowired
+    public JwtKeyRing(@Value("${security.jwt.secret-key}") String defaultSecret,
+                      @Value("${security.jwt.active-key-id:" + DEFAULT_KEY_ID + "}") String activeKeyId,
+                      @Value("${security.jwt.algorithm:HS256}") SignatureAlgorithm algorithm,
+                      @Value("${security.jwt.accept-hmac:true}") boolean acceptHmac,
+                      @Value("${security.jwt.allow-ephemeral-key:false}") boolean allowEphemeralKey,
+                      Environment environment) {
+        this(load(defaultSecret, activeKeyId, algorithm, acceptHmac, allowEphemeralKey, Binder.get(environment)));
+    }
+
+    /** HMAC-only ring (HS256). */
+    public JwtKeyRing(String activeKeyId, Map<String, String> base64Secrets) {
+        this(hmac(SignatureAlgorithm.HS256, activeKeyId, base64Secrets));
+    }
+
+    /** Ring signing with a single asymmetric key pair, e.g. for benchmarks or tests. */
+    public static JwtKeyRing ofKeyPair(SignatureAlgorithm algorithm, String keyId, KeyPair keyPair) {
+        return new JwtKeyRing(new KeyMaterial(algorithm, keyId, keyPair.getPrivate(),
+                Map.of(keyId, keyPair.getPublic())));
+    }
+
+    private JwtKeyRing(KeyMaterial material) {
+        this.algorithm = material.algorithm();
+        this.activeKeyId = material.activeKeyId();
+        this.signingKey = material.signingKey();
+        this.verificationKeys = Map.copyOf(material.verificationKeys());
+        this.keyWithoutId = verificationKeys.get(DEFAULT_KEY_ID) instanceof SecretKey secret ? secret : null;
+        this.jsonWebKeys = List.copyOf(toJsonWebKeys(material));
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        return keyFor(header.getKeyId());
+                    }
+                })
+                .build();
+        log.info("Loaded JWT key ring with ids {} (active: {}, algorithm: {})", verificationKeys.keySet(), activeKeyId, algorithm);
+    }
+
+    public SignatureAlgorithm algorithm() {
+        return algorithm;
+    }
+
+    public String activeKeyId() {
+        return activeKeyId;
+    }
+
+    public Key signingKey() {
+        return signingKey;
+    }
+
+    /** Shared parser; JwtParser instances are immutable and safe to use from any thread. */
+    public JwtParser parser() {
+        return parser;
+    }
+
+    /** Public keys in JWK form (RFC 7517). Empty when only HMAC keys are configured: secrets are never published. */
+    public List<Map<String, Object>> jsonWebKeys() {
+        return jsonWebKeys;
+    }
+
+    private Key keyFor(String kid) {
+        if (kid == null) {
+            if (keyWithoutId == null) {
+                throw new SignatureException("JWT has no signing key id");
+            }
+            return keyWithoutId;
+        }
+        Key key = verificationKeys.get(kid);
+        if (key == null) {
+            throw new SignatureException("Unknown JWT signing key id: " + kid);
+        }
+        return key;
+    }
+
+    private record KeyMaterial(SignatureAlgorithm algorithm, String activeKeyId, Key signingKey, Map<String, Key> verificationKeys) {
+    }
+
+    private static KeyMaterial load(String defaultSecret, String activeKeyId, SignatureAlgorithm algorithm,
+                                    boolean acceptHmac, boolean allowEphemeralKey, Binder binder) {
+        Map<String, String> secrets = new HashMap<>(binder
+                .bind("security.jwt.keys", Bindable.mapOf(String.class, String.class))
+                .orElse(Map.of()));
+        secrets.putIfAbsent(DEFAULT_KEY_ID, defaultSecret);
+        if (algorithm.isHmac()) {
+            return hmac(algorithm, activeKeyId, secrets);
+        }
+        if (!algorithm.isEllipticCurve() && !algorithm.isRsa()) {
+            throw new IllegalStateException("Unsupported JWT signing algorithm: " + algorithm);
+        }
+
+        Map<String, Key> verification = new HashMap<>();
+        if (acceptHmac) {
+            // Migration from HMAC: tokens signed with the shared secrets stay valid until accept-hmac is turned off
+            verification.putAll(hmac(SignatureAlgorithm.HS256, DEFAULT_KEY_ID, secrets).verificationKeys());
+        }
+        Map<String, AsymmetricKey> asymmetric = binder
+                .bind("security.jwt.asymmetric-keys", Bindable.mapOf(String.class, AsymmetricKey.class))
+                .orElse(Map.of());
+        if (asymmetric.isEmpty()) {
+            // Nothing configured: sign with a key pair that only lives as long as this process, and only this node knows
+            if (!allowEphemeralKey) {
+                throw new IllegalStateException("No security.jwt.asymmetric-keys configured for " + algorithm
+                        + "; set security.jwt.allow-ephemeral-key=true to sign with a per-process key (single node only)");
+            }
+            String kid = "ephemeral-" + UUID.randomUUID().toString().substring(0, 8);
+            KeyPair pair = Keys.keyPairFor(algorithm);
+            log.warn("No security.jwt.asymmetric-keys configured, generated ephemeral {} key '{}'. Tokens will not survive a restart.", algorithm, kid);
+            verification.put(kid, pair.getPublic());
+            return new KeyMaterial(algorithm, kid, pair.getPrivate(), verification);
+        }
+
+        String keyFamily = algorithm.isEllipticCurve() ? "EC" : "RSA";
+        Key signing = null;
+        try {
+            KeyFactory keyFactory = KeyFactory.getInstance(keyFamily);
+            for (Map.Entry<String, AsymmetricKey> entry : asymmetric.entrySet()) {
+                AsymmetricKey configured = entry.getValue();
+                verification.put(entry.getKey(), keyFactory.generatePublic(
+                        new X509EncodedKeySpec(Base64.getMimeDecoder().decode(configured.publicKey()))));
+                if (entry.getKey().equals(activeKeyId) && configured.privateKey() != null) {
+                    signing = keyFactory.generatePrivate(
+                            new PKCS8EncodedKeySpec(Base64.getMimeDecoder().decode(configured.privateKey())));
+                }
+            }
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Invalid " + keyFamily + " key in security.jwt.asymmetric-keys", e);
+        }
+        if (signing == null) {
+            throw new IllegalStateException("No private key configured for active JWT key id '" + activeKeyId + "'");
+        }
+        return new KeyMaterial(algorithm, activeKeyId, signing, verification);
+    }
+
+    private static KeyMaterial hmac(SignatureAlgorithm algorithm, String activeKeyId, Map<String, String> base64Secrets) {
+        Map<String, Key> decoded = new HashMap<>();
+        base64Secrets.forEach((kid, secret) -> decoded.put(kid, Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret))));
+        if (!decoded.containsKey(activeKeyId)) {
+            throw new IllegalStateException("Active JWT key id '" + activeKeyId + "' is not configured. Known ids: " + decoded.keySet());
+        }
+        return new KeyMaterial(algorithm, activeKeyId, decoded.get(activeKeyId), decoded);
+    }
+
+    private static List<Map<String, Object>> toJsonWebKeys(KeyMaterial material) {
+        List<Map<String, Object>> keys = new ArrayList<>();
+        material.verificationKeys().forEach((kid, key) -> {
+            if (!(key instanceof PublicKey)) return;
+            Map<String, Object> jwk = new LinkedHashMap<>();
+            jwk.put("kid", kid);
+            jwk.put("use", "sig");
+            if (material.algorithm().isEllipticCurve() || material.algorithm().isRsa()) {
+                jwk.put("alg", material.algorithm().getValue());
+            }
+            if (key instanceof ECPublicKey ec) {
+                int size = (ec.getParams().getCurve().getField().getFieldSize() + 7) / 8;
+                jwk.put("kty", "EC");
+                jwk.put("crv", size == 32 ? "P-256" : size == 48 ? "P-384" : "P-521");
+                jwk.put("x", base64Url(ec.getW().getAffineX(), size));
+                jwk.put("y", base64Url(ec.getW().getAffineY(), size));
+            } else if (key instanceof RSAPublicKey rsa) {
+                jwk.put("kty", "RSA");
+                jwk.put("n", base64Url(rsa.getModulus(), (rsa.getModulus().bitLength() + 7) / 8));
+                jwk.put("e", base64Url(rsa.getPublicExponent(), (rsa.getPublicExponent().bitLength() + 7) / 8));
+            } else {
+                return;
+            }
+            keys.add(jwk);
+        });
+        return keys;
+    }
+
+    // Unsigned, fixed-length big-endian encoding as required by RFC 7518
+    private static String base64Url(BigInteger value, int length) {
+        byte[] raw = value.toByteArray();
+        byte[] fixed = new byte[length];
+        int copy = Math.min(raw.length, length);
+        System.arraycopy(raw, raw.length - copy, fixed, length - copy, copy);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(fixed);
+    }
+}
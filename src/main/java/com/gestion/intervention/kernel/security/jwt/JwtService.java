@@ -2,10 +2,10 @@ package com.gestion.intervention.kernel.security.jwt;
 
 import com.gestion.intervention.domain.person.model.Person;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwsHeader;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
+import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger; // Add Logger
 import org.slf4j.LoggerFactory; // Add Logger Factory
 import org.springframework.beans.factory.annotation.Value;
@@ -13,18 +13,17 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Service;
 
-import java.security.Key;
 import java.util.*;
 import java.util.function.Function;
 import java.util.stream.Collectors; // Add Collectors import
 
 @Service
+@RequiredArgsConstructor
 public class JwtService {
 
     private static final Logger log = LoggerFactory.getLogger(JwtService.class); // Add logger
 
-    @Value("${security.jwt.secret-key}")
-    private String secretKey;
+    private final JwtKeyRing keyRing;
 
     @Value("${security.jwt.access-token-expiration-time}")
     private long jwtAccessExpiration;
@@ -39,13 +38,7 @@ public class JwtService {
     }
 
     public UUID extractUserId(String token) {
-        try {
-            String userIdStr = extractClaim(token, claims -> claims.get("userId", String.class));
-            return userIdStr != null ? UUID.fromString(userIdStr) : null;
-        } catch (Exception e) {
-            log.error("Error extracting userId from token", e);
-            return null;
-        }
+        return extractClaim(token, this::parseUserId);
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
@@ -54,12 +47,41 @@ public class JwtService {
         return claimsResolver.apply(claims);
     }
 
-    private Claims extractAllClaims(String token) {
+    /**
+     * Verifies the token signature once and decodes every claim the security layer needs.
+     * Returns null when the token cannot be parsed (bad signature, malformed). An expired token whose signature
+     * checks out is returned with its past {@code expiresAt}, so callers can answer it as expired.
+     */
+    public VerifiedClaims verify(String token) {
+        final Claims claims = extractSignedClaims(token);
+        if (claims == null) return null;
+        Date expiration = claims.getExpiration();
+        return new VerifiedClaims(
+                claims.getSubject(),
+                parseUserId(claims),
+                parseTokenId(claims),
+                claims.get("type", String.class),
+                expiration != null ? expiration.toInstant() : null,
+                toAuthorities(claims)
+        );
+    }
+
+    private Claims extractSignedClaims(String token) {
+        try {
+            return keyRing.parser().parseClaimsJws(token).getBody();
+        } catch (ExpiredJwtException e) {
+            // Thrown only once the signature has been verified: these claims are genuine, just out of date
+            return e.getClaims();
+        } catch (Exception e) {
+            log.warn("Could not parse JWT claims: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    // Package-private so the JMH benchmarks can measure the raw parse on its own
+    Claims extractAllClaims(String token) {
         try {
-            return Jwts
-                    .parserBuilder()
-                    .setSigningKey(getSignInKey())
-                    .build()
+            return keyRing.parser() // Pre-built, resolves the key from the "kid" header
                     .parseClaimsJws(token)
                     .getBody();
         } catch (Exception e) {
@@ -73,15 +95,23 @@ public class JwtService {
     /**
      * Generates an access token for the given user.
      * Includes subject (email), userId, and roles as claims.
+     * Built-in roles travel as a bitmask ({@link RoleMask#CLAIM}); only roles outside that table
+     * are still written to the "roles" list.
      */
     public String generateAccessToken(Person userDetails) {
         Map<String, Object> extraClaims = new HashMap<>();
 
-        // **MODIFIED: Add roles as a list of strings**
-        List<String> roles = userDetails.getAuthorities().stream() // Assuming Person implements UserDetails or has getAuthorities()
+        Collection<? extends GrantedAuthority> granted = userDetails.getAuthorities(); // Assuming Person implements UserDetails or has getAuthorities()
+        extraClaims.put(RoleMask.CLAIM, RoleMask.toMask(granted));
+        List<String> roles = granted.stream()
                 .map(GrantedAuthority::getAuthority) // Get the string representation (e.g., "ROLE_EMPLOYEE")
                 .collect(Collectors.toList());
-        extraClaims.put("roles", roles); // Use a dedicated "roles" claim
+        List<String> customRoles = roles.stream()
+                .filter(role -> RoleMask.bitOf(role) == 0)
+                .collect(Collectors.toList());
+        if (!customRoles.isEmpty()) {
+            extraClaims.put("roles", customRoles);
+        }
 
         // Add userId claim
         extraClaims.put("userId", userDetails.getId().toString());
@@ -92,12 +122,14 @@ public class JwtService {
 
     /**
      * Generates a refresh token for the given user.
-     * Includes subject (email), userId, and a "type" claim. Does NOT include roles.
+     * Includes subject (email), userId, a "type" claim and a unique id (jti) so it can be revoked once used.
+     * Does NOT include roles.
      */
     public String generateRefreshToken(Person userDetails) {
         Map<String, Object> extraClaims = new HashMap<>();
         extraClaims.put("userId", userDetails.getId().toString());
-        extraClaims.put("type", "refresh"); // Mark as refresh token
+        extraClaims.put("type", VerifiedClaims.REFRESH_TYPE); // Mark as refresh token
+        extraClaims.put(Claims.ID, UUID.randomUUID().toString());
 
         log.debug("Generating refresh token for user {}", userDetails.getEmail());
         return buildToken(extraClaims, userDetails, jwtRefreshExpiration);
@@ -111,7 +143,8 @@ public class JwtService {
                 .setSubject(userDetails.getUsername()) // Should be the unique identifier, often email
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+                .setHeaderParam(JwsHeader.KEY_ID, keyRing.activeKeyId())
+                .signWith(keyRing.signingKey(), keyRing.algorithm())
                 .compact();
     }
 
@@ -140,18 +173,31 @@ public class JwtService {
     // --- Authority Extraction Method (MODIFIED) ---
 
     /**
-     * Extracts authorities (roles) from the JWT token's "roles" claim.
-     * Expects the "roles" claim to contain a List of Strings.
+     * Extracts authorities (roles) from the JWT token's role claims.
+     * Reads the {@link RoleMask#CLAIM} bitmask and, for older tokens or custom roles, the "roles" list of Strings.
      */
     public Collection<? extends GrantedAuthority> extractAuthorities(String token) {
         Claims claims = extractAllClaims(token);
         if (claims == null) {
             return Collections.emptyList(); // Return empty if claims couldn't be parsed
         }
+        return toAuthorities(claims);
+    }
 
-        // **MODIFIED: Extract roles from the dedicated "roles" claim**
+    private Collection<? extends GrantedAuthority> toAuthorities(Claims claims) {
+        Object maskClaim = claims.get(RoleMask.CLAIM);
         Object rolesClaim = claims.get("roles");
-        Set<GrantedAuthority> authorities = new HashSet<>();
+        List<GrantedAuthority> masked = (maskClaim instanceof Number mask)
+                ? RoleMask.authorities(mask.intValue())
+                : Collections.emptyList();
+
+        // Fast path: built-in roles only, served from the shared table without allocating
+        if (rolesClaim == null && maskClaim != null) {
+            return masked;
+        }
+
+        // Migration path: tokens issued before the bitmask, or carrying roles outside the built-in table
+        Set<GrantedAuthority> authorities = new HashSet<>(masked);
 
         if (rolesClaim instanceof List<?> rolesList) {
             rolesList.stream()
@@ -167,9 +213,22 @@ public class JwtService {
     }
 
 
-    // getSignInKey remains the same
-    private Key getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private UUID parseTokenId(Claims claims) {
+        try {
+            return claims.getId() != null ? UUID.fromString(claims.getId()) : null;
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring malformed jti in token for subject {}", claims.getSubject());
+            return null;
+        }
+    }
+
+    private UUID parseUserId(Claims claims) {
+        try {
+            String userIdStr = claims.get("userId", String.class);
+            return userIdStr != null ? UUID.fromString(userIdStr) : null;
+        } catch (Exception e) {
+            log.error("Error extracting userId from token", e);
+            return null;
+        }
     }
 }
\ No newline at end of file
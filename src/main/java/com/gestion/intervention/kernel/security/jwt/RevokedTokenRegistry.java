@@ -0,0 +1,110 @@
+package com.gestion.intervention.kernel.security.jwt;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * In-memory set of revoked token ids ({@code jti}), used to make refresh tokens single-use.
+ * <p>
+ * Ids are grouped in time buckets by token expiry; a bucket is dropped as a whole once every token it covers has
+ * expired, so memory only holds ids that could still be replayed. Each bucket pairs a Bloom filter with the exact id
+ * set: the common "not revoked" answer costs a few bit tests, and only Bloom hits touch the set.
+ * <p>
+ * State is per node. Behind a load balancer without sticky sessions, a replay on another node is not detected.
+ */
+@Component
+public class RevokedTokenRegistry {
+    private static final int HASHES = 3;
+
+    private final long bucketMillis;
+    private final int bloomBits; // power of two
+    private final ConcurrentNavigableMap<Long, Bucket> buckets = new ConcurrentSkipListMap<>();
+
+    public RevokedTokenRegistry(@Value("${security.jwt.revocation.bucket-minutes:60}") long bucketMinutes,
+                                @Value("${security.jwt.revocation.bloom-bits-per-bucket:65536}") int bloomBits) {
+        this.bucketMillis = bucketMinutes * 60_000L;
+        this.bloomBits = Integer.highestOneBit(Math.max(bloomBits, 64));
+    }
+
+    /**
+     * Revokes the token until it expires.
+     * Returns false if it was already revoked, which for a refresh token means it is being replayed.
+     */
+    public boolean revoke(UUID tokenId, Instant expiresAt) {
+        long now = System.currentTimeMillis();
+        buckets.headMap(Math.floorDiv(now, bucketMillis)).clear(); // Every token in older buckets has expired
+        long index = Math.floorDiv(expiresAt.toEpochMilli(), bucketMillis);
+        return buckets.computeIfAbsent(index, i -> new Bucket(bloomBits)).add(tokenId);
+    }
+
+    public boolean isRevoked(UUID tokenId) {
+        long h1 = mix(tokenId.getMostSignificantBits());
+        long h2 = mix(tokenId.getLeastSignificantBits()) | 1L;
+        for (Bucket bucket : buckets.values()) {
+            if (bucket.mightContain(h1, h2) && bucket.ids.contains(tokenId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Bloom filters only: true for every revoked id, and for a few that are not. */
+    boolean mightBeRevoked(UUID tokenId) {
+        long h1 = mix(tokenId.getMostSignificantBits());
+        long h2 = mix(tokenId.getLeastSignificantBits()) | 1L;
+        for (Bucket bucket : buckets.values()) {
+            if (bucket.mightContain(h1, h2)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Murmur3 finalizer; UUID bits are already random, this only spreads them for double hashing
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static final class Bucket {
+        private final AtomicLongArray bits;
+        private final int mask;
+        private final Set<UUID> ids = ConcurrentHashMap.newKeySet();
+
+        Bucket(int bitCount) {
+            this.bits = new AtomicLongArray(bitCount >>> 6);
+            this.mask = bitCount - 1;
+        }
+
+        boolean add(UUID id) {
+            long h1 = mix(id.getMostSignificantBits());
+            long h2 = mix(id.getLeastSignificantBits()) | 1L;
+            for (int i = 0; i < HASHES; i++) {
+                int bit = (int) ((h1 + i * h2) & mask);
+                long flag = 1L << (bit & 63);
+                bits.getAndAccumulate(bit >>> 6, flag, (current, f) -> current | f);
+            }
+            return ids.add(id); // Atomic: exactly one caller wins for a given id
+        }
+
+        boolean mightContain(long h1, long h2) {
+            for (int i = 0; i < HASHES; i++) {
+                int bit = (int) ((h1 + i * h2) & mask);
+                if ((bits.get(bit >>> 6) & (1L << (bit & 63))) == 0) return false;
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.gestion.intervention.kernel.security.jwt;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Encodes the built-in roles (seeded in GestionInterventionApplication) as a bitmask claim.
+ * Every possible combination is pre-built once as an immutable authority list, so decoding a token's roles
+ * is an array lookup that allocates nothing.
+ */
+public final class RoleMask {
+    /** Claim holding the bitmask. Kept short on purpose: it is sent with every request. */
+    public static final String CLAIM = "rm";
+
+    // Bit i stands for ROLES[i]. Only append to this array, never reorder: issued tokens depend on the positions.
+    private static final String[] ROLES = {"ROLE_EMPLOYEE", "ROLE_TECHNICIAN", "ROLE_HELPDESK", "ROLE_ADMIN"};
+    private static final GrantedAuthority[] AUTHORITIES = new GrantedAuthority[ROLES.length];
+    private static final List<GrantedAuthority>[] BY_MASK;
+
+    static {
+        for (int bit = 0; bit < ROLES.length; bit++) {
+            AUTHORITIES[bit] = new SimpleGrantedAuthority(ROLES[bit]);
+        }
+        @SuppressWarnings("unchecked")
+        List<GrantedAuthority>[] table = new List[1 << ROLES.length];
+        for (int mask = 0; mask < table.length; mask++) {
+            List<GrantedAuthority> authorities = new ArrayList<>();
+            for (int bit = 0; bit < ROLES.length; bit++) {
+                if ((mask & (1 << bit)) != 0) authorities.add(AUTHORITIES[bit]);
+            }
+            table[mask] = List.copyOf(authorities);
+        }
+        BY_MASK = table;
+    }
+
+    private RoleMask() {
+    }
+
+    /** Bit for a role name, or 0 if the role is not one of the built-in ones. */
+    public static int bitOf(String authority) {
+        for (int bit = 0; bit < ROLES.length; bit++) {
+            if (ROLES[bit].equals(authority)) return 1 << bit;
+        }
+        return 0;
+    }
+
+    public static int toMask(Collection<? extends GrantedAuthority> authorities) {
+        int mask = 0;
+        for (GrantedAuthority authority : authorities) {
+            mask |= bitOf(authority.getAuthority());
+        }
+        return mask;
+    }
+
+    /** Shared, immutable authorities for a mask; bits outside the known roles are ignored. */
+    public static List<GrantedAuthority> authorities(int mask) {
+        return BY_MASK[mask & (BY_MASK.length - 1)];
+    }
+}
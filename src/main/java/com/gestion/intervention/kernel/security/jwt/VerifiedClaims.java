@@ -0,0 +1,30 @@
+package com.gestion.intervention.kernel.security.jwt;
+
+import org.springframework.security.core.GrantedAuthority;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Claims of a token whose signature has already been checked by {@link JwtService#verify(String)}.
+ * Everything the filter and downstream code needs is decoded once, so nobody has to parse the raw token again.
+ */
+public record VerifiedClaims(
+        String subject,
+        UUID userId,
+        UUID tokenId,
+        String type,
+        Instant expiresAt,
+        Collection<? extends GrantedAuthority> authorities
+) {
+    public static final String REFRESH_TYPE = "refresh";
+
+    public boolean isRefreshToken() {
+        return REFRESH_TYPE.equals(type);
+    }
+
+    public boolean isExpired() {
+        return expiresAt != null && expiresAt.isBefore(Instant.now());
+    }
+}
@@ -0,0 +1,107 @@
+package com.gestion.intervention.kernel.security.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Size-bounded cache of already verified tokens, placed in front of {@link JwtService#verify(String)}.
+ * Keys are SHA-256 digests of the raw token (raw tokens are never kept in memory) and every entry expires
+ * no later than the token's own {@code exp}, so a cache hit can never outlive the token.
+ * <p>
+ * Metrics are published as {@code cache.gets}, {@code cache.evictions}, ... with {@code cache=jwt.verified-tokens}.
+ */
+@Component
+public class VerifiedTokenCache {
+    private static final Logger log = LoggerFactory.getLogger(VerifiedTokenCache.class);
+
+    public static final String CACHE_NAME = "jwt.verified-tokens";
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    });
+
+    private final JwtService jwtService;
+    private final Cache<ByteBuffer, VerifiedClaims> cache; // null when disabled
+
+    public VerifiedTokenCache(JwtService jwtService,
+                              MeterRegistry meterRegistry,
+                              @Value("${security.jwt.cache.enabled:true}") boolean enabled,
+                              @Value("${security.jwt.cache.max-size:10000}") long maxSize) {
+        this.jwtService = jwtService;
+        if (!enabled) {
+            log.info("Verified token cache is disabled, every request verifies its token signature");
+            this.cache = null;
+            return;
+        }
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new ExpireAtTokenExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /** Same contract as {@link JwtService#verify(String)}: returns null for tokens that do not verify. */
+    public VerifiedClaims verify(String token) {
+        if (cache == null) {
+            return jwtService.verify(token);
+        }
+        ByteBuffer key = digest(token);
+        VerifiedClaims cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        VerifiedClaims claims = jwtService.verify(token);
+        // Only cache tokens that verified and are still usable; failures are cheap to reject again
+        if (claims != null && claims.expiresAt() != null && !claims.isExpired()) {
+            cache.put(key, claims);
+        }
+        return claims;
+    }
+
+    public void invalidateAll() {
+        if (cache != null) {
+            cache.invalidateAll();
+        }
+    }
+
+    private static ByteBuffer digest(String token) {
+        return ByteBuffer.wrap(SHA_256.get().digest(token.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    private static final class ExpireAtTokenExpiry implements Expiry<ByteBuffer, VerifiedClaims> {
+        @Override
+        public long expireAfterCreate(ByteBuffer key, VerifiedClaims claims, long currentTime) {
+            long nanos = Duration.between(Instant.now(), claims.expiresAt()).toNanos();
+            return Math.max(nanos, 0L);
+        }
+
+        @Override
+        public long expireAfterUpdate(ByteBuffer key, VerifiedClaims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(ByteBuffer key, VerifiedClaims claims, long currentTime, long currentDuration) {
+            return currentDuration; // Reads never extend the lifetime
+        }
+    }
+}
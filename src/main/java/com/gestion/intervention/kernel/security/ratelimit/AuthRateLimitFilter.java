@@ -0,0 +1,227 @@
+package com.gestion.intervention.kernel.security.ratelimit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Throttles the public /api/v1/auth endpoints before any database or password hashing work happens.
+ * Every request is charged to a per-IP bucket, refreshes to a bucket of their own so that the token refreshes of a
+ * site cannot use up its logins; login and registration requests are also charged to a per-account bucket
+ * (username/email from the JSON body), which stops credential stuffing spread over many IPs. Their body is read
+ * whatever the Content-Length says (chunked or absent included), and rejected with 413 beyond 16 KiB.
+ * Rejections are counted in {@code auth.ratelimit.rejections} (tag {@code scope=ip|refresh|account}).
+ * <p>
+ * The IP is {@link HttpServletRequest#getRemoteAddr()}. Behind a reverse proxy, set
+ * {@code server.forward-headers-strategy=native} so Tomcat takes it from X-Forwarded-For when the connection comes
+ * from a trusted proxy ({@code server.tomcat.remoteip.internal-proxies}); otherwise all clients share the proxy's
+ * bucket. Clients behind one NAT share a bucket whatever the setting.
+ */
+@Component
+public class AuthRateLimitFilter extends OncePerRequestFilter {
+    private static final Logger log = LoggerFactory.getLogger(AuthRateLimitFilter.class);
+
+    private static final String AUTH_PATH_PREFIX = "/api/v1/auth/";
+    private static final int MAX_INSPECTED_BODY_BYTES = 16 * 1024;
+
+    private final boolean enabled;
+    private final StripedTokenBucketLimiter ipLimiter;
+    private final StripedTokenBucketLimiter refreshLimiter;
+    private final StripedTokenBucketLimiter accountLimiter;
+    private final Counter ipRejections;
+    private final Counter refreshRejections;
+    private final Counter accountRejections;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public AuthRateLimitFilter(MeterRegistry meterRegistry,
+                               @Value("${security.auth.rate-limit.enabled:true}") boolean enabled,
+                               @Value("${security.auth.rate-limit.ip.capacity:30}") int ipCapacity,
+                               @Value("${security.auth.rate-limit.ip.refill-per-minute:30}") double ipRefillPerMinute,
+                               @Value("${security.auth.rate-limit.refresh.capacity:120}") int refreshCapacity,
+                               @Value("${security.auth.rate-limit.refresh.refill-per-minute:120}") double refreshRefillPerMinute,
+                               @Value("${security.auth.rate-limit.account.capacity:5}") int accountCapacity,
+                               @Value("${security.auth.rate-limit.account.refill-per-minute:5}") double accountRefillPerMinute,
+                               @Value("${security.auth.rate-limit.max-keys:100000}") int maxKeys,
+                               @Value("${security.auth.rate-limit.stripes:64}") int stripes) {
+        this.enabled = enabled;
+        this.ipLimiter = new StripedTokenBucketLimiter(ipCapacity, ipRefillPerMinute, maxKeys, stripes);
+        this.refreshLimiter = new StripedTokenBucketLimiter(refreshCapacity, refreshRefillPerMinute, maxKeys, stripes);
+        this.accountLimiter = new StripedTokenBucketLimiter(accountCapacity, accountRefillPerMinute, maxKeys, stripes);
+        this.ipRejections = Counter.builder("auth.ratelimit.rejections").tag("scope", "ip")
+                .description("Auth requests rejected by the per-IP token bucket").register(meterRegistry);
+        this.refreshRejections = Counter.builder("auth.ratelimit.rejections").tag("scope", "refresh")
+                .description("Token refreshes rejected by the per-IP refresh token bucket").register(meterRegistry);
+        this.accountRejections = Counter.builder("auth.ratelimit.rejections").tag("scope", "account")
+                .description("Auth requests rejected by the per-account token bucket").register(meterRegistry);
+        Gauge.builder("auth.ratelimit.buckets", ipLimiter, StripedTokenBucketLimiter::size).tag("scope", "ip").register(meterRegistry);
+        Gauge.builder("auth.ratelimit.buckets", refreshLimiter, StripedTokenBucketLimiter::size).tag("scope", "refresh").register(meterRegistry);
+        Gauge.builder("auth.ratelimit.buckets", accountLimiter, StripedTokenBucketLimiter::size).tag("scope", "account").register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !enabled || !request.getServletPath().startsWith(AUTH_PATH_PREFIX);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        boolean refresh = request.getServletPath().endsWith("/refresh");
+        if (!(refresh ? refreshLimiter : ipLimiter).tryAcquire(request.getRemoteAddr())) {
+            (refresh ? refreshRejections : ipRejections).increment();
+            log.warn("Auth rate limit exceeded for IP {} on {}", request.getRemoteAddr(), request.getServletPath());
+            sendTooManyRequests(response);
+            return;
+        }
+
+        HttpServletRequest forwarded = request;
+        if ("POST".equals(request.getMethod()) && isAccountScoped(request.getServletPath())) {
+            CachedBodyRequest cached = CachedBodyRequest.wrap(request);
+            if (cached == null) {
+                // A body we cannot inspect would escape the per-account bucket; no login needs that much
+                sendError(response, 413, "Payload Too Large", "Authentication requests are limited to " + MAX_INSPECTED_BODY_BYTES + " bytes");
+                return;
+            }
+            forwarded = cached;
+            String account = extractAccount(cached.body);
+            if (account != null && !accountLimiter.tryAcquire(account)) {
+                accountRejections.increment();
+                log.warn("Auth rate limit exceeded for account {}", account);
+                sendTooManyRequests(response);
+                return;
+            }
+        }
+
+        filterChain.doFilter(forwarded, response);
+    }
+
+    private static boolean isAccountScoped(String path) {
+        return path.endsWith("/login") || path.endsWith("/register");
+    }
+
+    // Login sends "usernameOrEmail", registration sends the PersonDTO fields
+    private String extractAccount(byte[] body) {
+        try {
+            JsonNode json = objectMapper.readTree(body);
+            for (String field : new String[]{"usernameOrEmail", "email", "username"}) {
+                JsonNode value = json.get(field);
+                if (value != null && value.isTextual() && !value.asText().isBlank()) {
+                    return value.asText().trim().toLowerCase(Locale.ROOT);
+                }
+            }
+        } catch (IOException e) {
+            // Malformed body: the controller will reject it, only the IP bucket applies
+        }
+        return null;
+    }
+
+    private void sendTooManyRequests(HttpServletResponse response) throws IOException {
+        response.setHeader("Retry-After", "60");
+        sendError(response, 429, "Too Many Requests", "Too many authentication attempts, retry later");
+    }
+
+    private void sendError(HttpServletResponse response, int status, String error, String message) throws IOException {
+        response.setStatus(status);
+        response.setContentType("application/json");
+        Map<String, Object> responseBody = new HashMap<>();
+        responseBody.put("status", status);
+        responseBody.put("error", error);
+        responseBody.put("message", message);
+        responseBody.put("timestamp", Instant.now().toString());
+        response.getWriter().write(objectMapper.writeValueAsString(responseBody));
+    }
+
+    /** Buffers a small request body so it can be inspected here and read again by the controller. */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        private CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        /** Null if the body is larger than {@link #MAX_INSPECTED_BODY_BYTES}, declared or not. */
+        static CachedBodyRequest wrap(HttpServletRequest request) throws IOException {
+            if (request.getContentLengthLong() > MAX_INSPECTED_BODY_BYTES) {
+                return null;
+            }
+            // Read as far as the limit whatever the Content-Length says: chunked bodies declare none
+            byte[] body = request.getInputStream().readNBytes(MAX_INSPECTED_BODY_BYTES + 1);
+            return body.length > MAX_INSPECTED_BODY_BYTES ? null : new CachedBodyRequest(request, body);
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException("Async reads are not supported");
+                }
+
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+    }
+}
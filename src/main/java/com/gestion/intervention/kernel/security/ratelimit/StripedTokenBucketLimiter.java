@@ -0,0 +1,108 @@
+package com.gestion.intervention.kernel.security.ratelimit;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Token buckets keyed by an arbitrary string (client IP, account name...).
+ * <p>
+ * Keys are spread over a fixed number of lock stripes, so unrelated keys rarely contend. Each stripe keeps its buckets
+ * in access order and holds at most {@code maxKeys / stripes} of them: buckets idle long enough to be full again are
+ * dropped (a fresh bucket behaves identically), and if a stripe is still full its least recently used bucket is evicted.
+ * Memory is therefore bounded no matter how many distinct keys an attacker sends.
+ */
+public class StripedTokenBucketLimiter {
+    private final Stripe[] stripes;
+    private final double capacity;
+    private final double tokensPerNano;
+    private final long idleNanos;
+    private final int maxKeysPerStripe;
+
+    public StripedTokenBucketLimiter(int capacity, double refillPerMinute, int maxKeys, int stripeCount) {
+        this.capacity = capacity;
+        this.tokensPerNano = refillPerMinute / 60_000_000_000.0;
+        // Time for an empty bucket to refill completely; after that, dropping it changes nothing
+        this.idleNanos = (long) Math.ceil(capacity / tokensPerNano);
+        int count = Integer.highestOneBit(Math.max(stripeCount, 1));
+        this.maxKeysPerStripe = Math.max(1, maxKeys / count);
+        this.stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    /** Takes one token for the key; false means the caller is over its rate. */
+    public boolean tryAcquire(String key) {
+        long now = System.nanoTime();
+        Stripe stripe = stripes[spread(key.hashCode()) & (stripes.length - 1)];
+        stripe.lock.lock();
+        try {
+            stripe.evictIdle(now, idleNanos);
+            Bucket bucket = stripe.buckets.get(key); // Access order: moves the key to the tail
+            if (bucket == null) {
+                if (stripe.buckets.size() >= maxKeysPerStripe) {
+                    Iterator<Bucket> eldest = stripe.buckets.values().iterator();
+                    eldest.next();
+                    eldest.remove();
+                }
+                bucket = new Bucket(capacity, now);
+                stripe.buckets.put(key, bucket);
+            }
+            return bucket.tryConsume(now, capacity, tokensPerNano);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /** Number of buckets currently held, across all stripes. */
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                size += stripe.buckets.size();
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return size;
+    }
+
+    private static int spread(int h) {
+        return h ^ (h >>> 16);
+    }
+
+    private static final class Stripe {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LinkedHashMap<String, Bucket> buckets = new LinkedHashMap<>(16, 0.75f, true);
+
+        // Buckets are in access order, so idle ones are at the head: stop at the first recently used one
+        void evictIdle(long now, long idleNanos) {
+            Iterator<Map.Entry<String, Bucket>> it = buckets.entrySet().iterator();
+            while (it.hasNext()) {
+                if (now - it.next().getValue().lastRefill < idleNanos) return;
+                it.remove();
+            }
+        }
+    }
+
+    private static final class Bucket {
+        private double tokens;
+        private long lastRefill;
+
+        Bucket(double capacity, long now) {
+            this.tokens = capacity;
+            this.lastRefill = now;
+        }
+
+        boolean tryConsume(long now, double capacity, double tokensPerNano) {
+            tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerNano);
+            lastRefill = now;
+            if (tokens < 1.0) return false;
+            tokens -= 1.0;
+            return true;
+        }
+    }
+}
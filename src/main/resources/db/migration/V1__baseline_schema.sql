@@ -0,0 +1,114 @@
+-- Schema as Hibernate generated it with ddl-auto=create, with named constraints.
+-- Databases created that way are baselined at this version (spring.flyway.baseline-on-migrate) and start at V2.
+-- Tables use the server default engine, InnoDB on MySQL 8.
+
+create table machine (
+    id binary(16) not null,
+    etat varchar(255),
+    type varchar(255),
+    primary key (id)
+);
+
+create table person (
+    id binary(16) not null,
+    cin varchar(255),
+    nom varchar(255),
+    prenom varchar(255),
+    email varchar(255),
+    username varchar(255),
+    password varchar(255),
+    telephone varchar(255),
+    address varchar(255),
+    date_naissance date,
+    primary key (id),
+    constraint uk_person_cin unique (cin),
+    constraint uk_person_email unique (email),
+    constraint uk_person_username unique (username),
+    constraint uk_person_telephone unique (telephone)
+);
+
+create table role (
+    id binary(16) not null,
+    authority varchar(255),
+    primary key (id)
+);
+
+create table person_role (
+    person_id binary(16) not null,
+    role_id binary(16) not null
+);
+
+create table stemaintenance (
+    id binary(16) not null,
+    nom varchar(255),
+    primary key (id)
+);
+
+create table technician_info (
+    id binary(16) not null,
+    person_id binary(16),
+    id_ste varchar(255),
+    specialite varchar(255),
+    nbr_panne integer not null,
+    nbr_panne_regle integer not null,
+    primary key (id),
+    constraint uk_technician_info_person unique (person_id)
+);
+
+create table help_desk_info (
+    id binary(16) not null,
+    person_id binary(16),
+    ste_id binary(16),
+    primary key (id),
+    constraint uk_help_desk_info_person unique (person_id)
+);
+
+create table disponibilite (
+    id binary(16) not null,
+    technician_info_id binary(16),
+    etat varchar(255),
+    debut datetime(6),
+    fin datetime(6),
+    primary key (id)
+);
+
+create table panne (
+    id binary(16) not null,
+    machine_id binary(16),
+    person_id binary(16),
+    type_panne varchar(255),
+    status enum ('PENDING','REJECTED','RESOLVED'),
+    primary key (id)
+);
+
+create table piece (
+    id binary(16) not null,
+    machine_id binary(16),
+    num_piece varchar(255),
+    nom_piece varchar(255),
+    description varchar(255),
+    prix float(23) not null,
+    primary key (id)
+);
+
+create table intervention (
+    id binary(16) not null,
+    technician_id binary(16),
+    panne_id binary(16),
+    date_debut datetime(6),
+    date_fin datetime(6),
+    duree decimal(21,0),
+    primary key (id)
+);
+
+alter table person_role add constraint fk_person_role_person foreign key (person_id) references person (id);
+alter table person_role add constraint fk_person_role_role foreign key (role_id) references role (id);
+alter table technician_info add constraint fk_technician_info_person foreign key (person_id) references person (id);
+alter table help_desk_info add constraint fk_help_desk_info_person foreign key (person_id) references person (id);
+alter table help_desk_info add constraint fk_help_desk_info_ste foreign key (ste_id) references stemaintenance (id);
+alter table disponibilite add constraint fk_disponibilite_technician_info foreign key (technician_info_id) references technician_info (id);
+alter table panne add constraint fk_panne_machine foreign key (machine_id) references machine (id);
+alter table panne add constraint fk_panne_person foreign key (person_id) references person (id);
+alter table piece add constraint fk_piece_machine foreign key (machine_id) references machine (id);
+alter table intervention add constraint fk_intervention_panne foreign key (panne_id) references panne (id);
+alter table intervention add constraint fk_intervention_technician_info foreign key (technician_id) references technician_info (id);
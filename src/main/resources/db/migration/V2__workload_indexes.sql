@@ -0,0 +1,34 @@
+-- Secondary indexes for the predicates repositories actually run, equality columns first, then the range column.
+-- Each one also serves its table's foreign key (leftmost column), so InnoDB drops the implicit single-column
+-- index it created for that key. Plans are pinned by SchemaIndexUsageTest.
+
+-- InterventionRepository.findConflictingInterventionsForTechnician: technician_id = ? AND date_debut < ? AND date_fin > ?
+-- also existsActiveByTechnicianInfoId and the technician filter of streamForExport
+create index idx_intervention_technician_window on intervention (technician_id, date_debut, date_fin);
+
+-- InterventionRepository.streamForExport: date_debut window without a technician
+create index idx_intervention_date_debut on intervention (date_debut);
+
+-- DisponibiliteRepository.findOverlapping / findDtosOverlappingWindow: technician_info_id = ? (or IN) AND debut < ? AND fin > ?
+-- also existsByTechnicianInfoId
+create index idx_disponibilite_technician_window on disponibilite (technician_info_id, debut, fin);
+
+-- PanneRepository.countAllByStatusAndReporter_Id: person_id = ? AND status = ?
+-- also countAllByReporter_Id and existsActiveByReporterId
+create index idx_panne_reporter_status on panne (person_id, status);
+
+-- PanneRepository.findActivePanneByTypeAndMachine: machine_id = ? AND type_panne = ?, also existsByMachineId
+create index idx_panne_machine_type on panne (machine_id, type_panne);
+
+-- PieceRepository.findByNumPieceAndMachineId / findDtosByMachineIdsAndNumPieces
+create index idx_piece_machine_num_piece on piece (machine_id, num_piece);
+
+-- MachineRepository.existsByType
+create index idx_machine_type on machine (type);
+
+-- RoleRepository.findByAuthority and STEmaintenanceRepository.findByNom return a single row: make it so
+create unique index uk_role_authority on role (authority);
+create unique index uk_stemaintenance_nom on stemaintenance (nom);
+
+-- PersonRepository.countByRoleId joins person_role on role_id
+create index idx_person_role_role on person_role (role_id, person_id);
@@ -0,0 +1,2 @@
+-- PanneRepository.findUndispatched: status = ? ORDER BY id, the dispatch engine's backlog, oldest first
+create index idx_panne_status on panne (status, id);
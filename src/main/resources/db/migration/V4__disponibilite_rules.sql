@@ -0,0 +1,32 @@
+-- Recurring availability: weekly shifts a technician works, and the dates they are off. Both are expanded into
+-- disponibilite rows by the expandDisponibiliteRules batch job (DisponibiliteRuleJobConfig).
+
+-- A shift ending at or before its start ends the next day (night shift)
+create table disponibilite_rule (
+    id binary(16) not null,
+    technician_info_id binary(16) not null,
+    jour_semaine enum ('MONDAY','TUESDAY','WEDNESDAY','THURSDAY','FRIDAY','SATURDAY','SUNDAY') not null,
+    heure_debut time not null,
+    heure_fin time not null,
+    date_debut date not null,
+    date_fin date,
+    etat varchar(255),
+    primary key (id)
+);
+
+-- No shift of the technician starts on that day
+create table disponibilite_exclusion (
+    id binary(16) not null,
+    technician_info_id binary(16) not null,
+    jour date not null,
+    motif varchar(255),
+    primary key (id),
+    constraint uk_disponibilite_exclusion_technician_jour unique (technician_info_id, jour)
+);
+
+alter table disponibilite_rule add constraint fk_disponibilite_rule_technician_info foreign key (technician_info_id) references technician_info (id);
+alter table disponibilite_exclusion add constraint fk_disponibilite_exclusion_technician_info foreign key (technician_info_id) references technician_info (id);
+
+-- DisponibiliteRuleRepository.findDtosByTechnicianIds (technician_info_id IN) and findTechnicianIds (ordered scan);
+-- the exclusions are served by the unique key above
+create index idx_disponibilite_rule_technician on disponibilite_rule (technician_info_id);
@@ -0,0 +1,118 @@
+package com.gestion.intervention.adapter.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gestion.intervention.application.person.record.PersonDTO;
+import com.gestion.intervention.application.person.record.response.LoginResponseDTO;
+import com.gestion.intervention.kernel.security.jwt.JwtService;
+import com.gestion.intervention.kernel.security.jwt.RevokedTokenRegistry;
+import com.gestion.intervention.kernel.security.jwt.VerifiedClaims;
+import com.gestion.intervention.support.WebIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Single-use refresh rotation through the whole filter chain: a refresh token buys one new pair, and is refused from
+ * then on; access tokens and revoked ids never get past /auth/refresh.
+ */
+@WebIntegrationTest
+class AuthControllerRefreshTest {
+
+    private static final AtomicInteger USERS = new AtomicInteger();
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private JwtService jwtService;
+    @Autowired
+    private RevokedTokenRegistry revokedTokenRegistry;
+
+    @Test
+    void refreshReturnsANewPairOfTokens() throws Exception {
+        LoginResponseDTO registered = register();
+
+        LoginResponseDTO refreshed = tokens(refresh(registered.refreshToken()).andExpect(status().isOk()));
+
+        assertThat(refreshed.accessToken()).isNotBlank();
+        assertThat(refreshed.refreshToken()).isNotBlank().isNotEqualTo(registered.refreshToken());
+        VerifiedClaims access = jwtService.verify(refreshed.accessToken());
+        VerifiedClaims rotated = jwtService.verify(refreshed.refreshToken());
+        assertThat(access.isRefreshToken()).isFalse();
+        assertThat(access.authorities()).extracting(Object::toString).containsExactly("ROLE_EMPLOYEE");
+        assertThat(rotated.tokenId()).isNotEqualTo(jwtService.verify(registered.refreshToken()).tokenId());
+        // The rotated token is good for one more refresh
+        refresh(refreshed.refreshToken()).andExpect(status().isOk());
+    }
+
+    @Test
+    void replayedRefreshTokenGets401() throws Exception {
+        LoginResponseDTO registered = register();
+        refresh(registered.refreshToken()).andExpect(status().isOk());
+
+        refresh(registered.refreshToken())
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.message").value("Token has been revoked"));
+    }
+
+    @Test
+    void accessTokenIsRejectedByRefresh() throws Exception {
+        LoginResponseDTO registered = register();
+
+        refresh(registered.accessToken())
+                .andExpect(status().isUnauthorized())
+                .andExpect(header().string(HttpHeaders.WWW_AUTHENTICATE, "Bearer"))
+                .andExpect(jsonPath("$.message").value("A valid refresh token is required"));
+    }
+
+    @Test
+    void missingTokenIsRejectedByRefresh() throws Exception {
+        mvc.perform(post("/api/v1/auth/refresh").servletPath("/api/v1/auth/refresh"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void revokedTokenIdIsRefusedByTheFilter() throws Exception {
+        LoginResponseDTO registered = register();
+        VerifiedClaims claims = jwtService.verify(registered.refreshToken());
+
+        // Revoked elsewhere (e.g. a logout), never presented here before
+        assertThat(revokedTokenRegistry.revoke(claims.tokenId(), claims.expiresAt())).isTrue();
+
+        refresh(registered.refreshToken())
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.error").value("Invalid Token"))
+                .andExpect(jsonPath("$.message").value("Token has been revoked"));
+    }
+
+    private ResultActions refresh(String token) throws Exception {
+        return mvc.perform(post("/api/v1/auth/refresh").servletPath("/api/v1/auth/refresh")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token));
+    }
+
+    private LoginResponseDTO register() throws Exception {
+        int n = USERS.incrementAndGet();
+        PersonDTO person = new PersonDTO(null, null, "Refresh", "User" + n, "refresh" + n + "@example.com",
+                "refresh" + n, "secret", null, null, null);
+        return tokens(mvc.perform(post("/api/v1/auth/register").servletPath("/api/v1/auth/register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(person)))
+                .andExpect(status().isCreated()));
+    }
+
+    private LoginResponseDTO tokens(ResultActions result) throws Exception {
+        return objectMapper.readValue(result.andReturn().getResponse().getContentAsString(), LoginResponseDTO.class);
+    }
+}
@@ -0,0 +1,121 @@
+package com.gestion.intervention.application.common.record;
+
+import com.gestion.intervention.application.common.record.CursorPage.InvalidCursorException;
+import com.gestion.intervention.application.common.record.CursorPage.InvalidPageSizeException;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Cursors that do not decode to an id and page sizes below 1 are client errors (400), sizes are capped, and walking
+ * a collection page by page sees every row exactly once.
+ */
+class CursorPageTest {
+
+    @Test
+    void blankCursorStartsBeforeEveryId() {
+        assertThat(CursorPage.after(null)).isEqualTo(new UUID(0L, 0L));
+        assertThat(CursorPage.after(" ")).isEqualTo(new UUID(0L, 0L));
+    }
+
+    @Test
+    void malformedOrWrongLengthCursorIsRejected() {
+        assertThatThrownBy(() -> CursorPage.after("not base64!")).isInstanceOf(InvalidCursorException.class);
+        assertThatThrownBy(() -> CursorPage.after(encode(new byte[15]))).isInstanceOf(InvalidCursorException.class);
+        assertThatThrownBy(() -> CursorPage.after(encode(new byte[17]))).isInstanceOf(InvalidCursorException.class);
+    }
+
+    @Test
+    void badCursorOrSizeIsAnsweredWith400() throws Exception {
+        MockMvc mvc = MockMvcBuilders.standaloneSetup(new PageController()).build();
+
+        mvc.perform(get("/page").param("cursor", "not base64!")).andExpect(status().isBadRequest());
+        mvc.perform(get("/page").param("cursor", encode(new byte[8]))).andExpect(status().isBadRequest());
+        mvc.perform(get("/page").param("size", "0")).andExpect(status().isBadRequest());
+        mvc.perform(get("/page").param("cursor", encode(new byte[16])).param("size", "10")).andExpect(status().isOk());
+    }
+
+    @Test
+    void sizeIsCappedAtTheMaximum() {
+        assertThat(CursorPage.fetchLimit(1_000)).isEqualTo(Limit.of(CursorPage.MAX_PAGE_SIZE + 1));
+        assertThat(CursorPage.fetchLimit(CursorPage.MAX_PAGE_SIZE)).isEqualTo(Limit.of(CursorPage.MAX_PAGE_SIZE + 1));
+        assertThat(CursorPage.fetchLimit(1)).isEqualTo(Limit.of(2));
+
+        List<UUID> rows = ids(CursorPage.MAX_PAGE_SIZE + 50);
+        assertThat(CursorPage.of(rows, 1_000, id -> id).items()).hasSize(CursorPage.MAX_PAGE_SIZE);
+    }
+
+    @Test
+    void sizeBelowOneIsRejected() {
+        assertThatThrownBy(() -> CursorPage.fetchLimit(0)).isInstanceOf(InvalidPageSizeException.class);
+        assertThatThrownBy(() -> CursorPage.fetchLimit(-1)).isInstanceOf(InvalidPageSizeException.class);
+        assertThatThrownBy(() -> CursorPage.of(List.<UUID>of(), 0, id -> id)).isInstanceOf(InvalidPageSizeException.class);
+    }
+
+    @Test
+    void walkingEveryPageVisitsEachRowOnce() {
+        for (int rowCount : new int[]{0, 1, 6, 7, 20}) {
+            List<UUID> fixture = ids(rowCount);
+            List<UUID> seen = new ArrayList<>();
+            String cursor = null;
+            int pages = 0;
+            do {
+                CursorPage<UUID> page = CursorPage.of(seek(fixture, CursorPage.after(cursor), CursorPage.fetchLimit(7)), 7, id -> id);
+                seen.addAll(page.items());
+                cursor = page.nextCursor();
+                assertThat(++pages).as("page count for %d rows", rowCount).isLessThanOrEqualTo(rowCount / 7 + 1);
+            } while (cursor != null);
+
+            assertThat(seen).as("rows seen out of %d", rowCount).containsExactlyElementsOf(fixture);
+        }
+    }
+
+    // In-memory equivalent of the repositories' "WHERE id > :after ORDER BY id LIMIT n"
+    private static List<UUID> seek(List<UUID> sorted, UUID after, Limit limit) {
+        return sorted.stream()
+                .filter(id -> unsigned(id).compareTo(unsigned(after)) > 0)
+                .limit(limit.max())
+                .toList();
+    }
+
+    private static List<UUID> ids(int count) {
+        Set<UUID> unique = new HashSet<>();
+        IntStream.range(0, count).forEach(i -> unique.add(UUID.randomUUID()));
+        return unique.stream().sorted((a, b) -> unsigned(a).compareTo(unsigned(b))).toList();
+    }
+
+    // The database orders ids by their 16 bytes, unsigned; UUID.compareTo compares signed longs
+    private static String unsigned(UUID id) {
+        return String.format("%016x%016x", id.getMostSignificantBits(), id.getLeastSignificantBits());
+    }
+
+    private static String encode(byte[] bytes) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    @RestController
+    static class PageController {
+        @GetMapping("/page")
+        CursorPage<UUID> page(@RequestParam(required = false) String cursor,
+                              @RequestParam(defaultValue = "" + CursorPage.DEFAULT_PAGE_SIZE) int size) {
+            return CursorPage.of(List.of(CursorPage.after(cursor)), size, id -> id);
+        }
+    }
+}
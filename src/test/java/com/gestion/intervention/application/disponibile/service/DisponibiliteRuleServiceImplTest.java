@@ -0,0 +1,154 @@
+package com.gestion.intervention.application.disponibile.service;
+
+import com.gestion.intervention.application.disponibile.record.DisponibiliteDTO;
+import com.gestion.intervention.application.disponibile.record.DisponibiliteExclusionDTO;
+import com.gestion.intervention.application.disponibile.record.DisponibiliteRuleDTO;
+import com.gestion.intervention.application.disponibile.record.RuleExpansionDTO;
+import com.gestion.intervention.domain.disponibile.model.Disponibilite;
+import com.gestion.intervention.domain.disponibile.repository.DisponibiliteRepository;
+import com.gestion.intervention.domain.technicianinfo.model.TechnicianInfo;
+import com.gestion.intervention.support.CommittedFixtures;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.batch.BatchAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Weekly rules are expanded by the batch job around days off, existing slots and each other, and a second run over
+ * the same days creates nothing.
+ */
+@DataJpaTest
+@ImportAutoConfiguration(BatchAutoConfiguration.class)
+@Import({DisponibiliteRuleServiceImpl.class, DisponibiliteRuleJobConfig.class, DisponibiliteRuleExpansionWriter.class,
+        TechnicianAvailabilityIndex.class, CommittedFixtures.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // The job commits chunk by chunk, as in production
+class DisponibiliteRuleServiceImplTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2035, 1, 1);
+
+    @Autowired
+    private DisponibiliteRuleServiceImpl ruleService;
+    @Autowired
+    private DisponibiliteRepository disponibiliteRepository;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private CommittedFixtures fixtures;
+
+    @AfterEach
+    void tearDown() {
+        fixtures.deleteAll();
+    }
+
+    @Test
+    void expandsRulesAroundDaysOffExistingSlotsAndEachOther() {
+        UUID technicianId = technician();
+        // Mondays 08:00-12:00, Wednesday nights 22:00-06:00, and a Monday 11:00-13:00 rule clashing with the first
+        rule(technicianId, DayOfWeek.MONDAY, LocalTime.of(8, 0), LocalTime.of(12, 0));
+        rule(technicianId, DayOfWeek.WEDNESDAY, LocalTime.of(22, 0), LocalTime.of(6, 0));
+        rule(technicianId, DayOfWeek.MONDAY, LocalTime.of(11, 0), LocalTime.of(13, 0));
+        // Second Monday off, and a slot already published on the third Wednesday night
+        ruleService.createExclusion(new DisponibiliteExclusionDTO(null, technicianId, MONDAY.plusWeeks(1), "Leave"));
+        existingSlot(technicianId, MONDAY.plusWeeks(2).plusDays(2).atTime(23, 0), MONDAY.plusWeeks(2).plusDays(3).atTime(1, 0));
+
+        RuleExpansionDTO first = ruleService.expandRules(MONDAY, MONDAY.plusWeeks(3));
+
+        assertThat(first.status()).isEqualTo(BatchStatus.COMPLETED.name());
+        assertThat(slots(technicianId)).extracting(DisponibiliteDTO::debut).containsExactly(
+                MONDAY.atTime(8, 0),
+                MONDAY.plusDays(2).atTime(22, 0),
+                MONDAY.plusWeeks(1).plusDays(2).atTime(22, 0),
+                MONDAY.plusWeeks(2).atTime(8, 0),
+                MONDAY.plusWeeks(2).plusDays(2).atTime(23, 0)); // The existing one
+        assertThat(slots(technicianId).get(1).fin()).isEqualTo(MONDAY.plusDays(3).atTime(6, 0));
+        assertThat(first.created()).isEqualTo(4);
+        // Two clashing Mondays, and the Wednesday night hitting the existing slot; the Monday off is never generated
+        assertThat(first.skipped()).isEqualTo(3);
+
+        RuleExpansionDTO second = ruleService.expandRules(MONDAY, MONDAY.plusWeeks(3));
+
+        assertThat(second.created()).isZero();
+        assertThat(second.skipped()).isEqualTo(7);
+        assertThat(slots(technicianId)).hasSize(5);
+    }
+
+    @Test
+    void rulesOutsideTheirDatesAreNotExpanded() {
+        UUID technicianId = technician();
+        ruleService.createRule(new DisponibiliteRuleDTO(null, technicianId, DayOfWeek.FRIDAY, LocalTime.of(9, 0), LocalTime.of(17, 0),
+                MONDAY.plusWeeks(1), MONDAY.plusWeeks(1).plusDays(4), "Available"));
+
+        RuleExpansionDTO result = ruleService.expandRules(MONDAY, MONDAY.plusWeeks(3));
+
+        assertThat(slots(technicianId)).extracting(DisponibiliteDTO::debut)
+                .containsExactly(MONDAY.plusWeeks(1).plusDays(4).atTime(9, 0));
+        assertThat(result.technicians()).isPositive();
+    }
+
+    @Test
+    void rejectsInvalidRulesAndWindows() {
+        UUID technicianId = technician();
+
+        assertThatThrownBy(() -> ruleService.createRule(new DisponibiliteRuleDTO(null, technicianId, DayOfWeek.MONDAY,
+                LocalTime.NOON, LocalTime.NOON, MONDAY, null, "Available")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ruleService.createRule(new DisponibiliteRuleDTO(null, technicianId, DayOfWeek.MONDAY,
+                LocalTime.of(8, 0), LocalTime.NOON, MONDAY, MONDAY.minusDays(1), "Available")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ruleService.createRule(new DisponibiliteRuleDTO(null, UUID.randomUUID(), DayOfWeek.MONDAY,
+                LocalTime.of(8, 0), LocalTime.NOON, MONDAY, null, "Available")))
+                .isInstanceOf(EntityNotFoundException.class);
+        ruleService.createExclusion(new DisponibiliteExclusionDTO(null, technicianId, MONDAY, null));
+        assertThatThrownBy(() -> ruleService.createExclusion(new DisponibiliteExclusionDTO(null, technicianId, MONDAY, null)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ruleService.expandRules(MONDAY, MONDAY))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ruleService.expandRules(MONDAY, MONDAY.plusYears(2)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private UUID technician() {
+        return fixtures.technician("Hydraulics");
+    }
+
+    // Ends with the three weeks the tests expand
+    private void rule(UUID technicianId, DayOfWeek day, LocalTime debut, LocalTime fin) {
+        ruleService.createRule(new DisponibiliteRuleDTO(null, technicianId, day, debut, fin, MONDAY, MONDAY.plusWeeks(3).minusDays(1), "Available"));
+    }
+
+    private void existingSlot(UUID technicianId, LocalDateTime debut, LocalDateTime fin) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> entityManager.persist(Disponibilite.builder()
+                .technicianInfo(entityManager.getReference(TechnicianInfo.class, technicianId)).etat("Available").debut(debut).fin(fin).build()));
+    }
+
+    private List<DisponibiliteDTO> slots(UUID technicianId) {
+        List<DisponibiliteDTO> slots = new ArrayList<>(disponibiliteRepository.findDtosOverlappingWindow(
+                List.of(technicianId), MONDAY.atStartOfDay(), MONDAY.plusWeeks(4).atStartOfDay()));
+        slots.sort(Comparator.comparing(DisponibiliteDTO::debut));
+        return slots;
+    }
+}
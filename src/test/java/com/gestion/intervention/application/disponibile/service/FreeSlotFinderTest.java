@@ -0,0 +1,124 @@
+package com.gestion.intervention.application.disponibile.service;
+
+import com.gestion.intervention.application.common.service.ChunkedInserter;
+import com.gestion.intervention.application.disponibile.record.DisponibiliteDTO;
+import com.gestion.intervention.application.disponibile.record.FreeSlotDTO;
+import com.gestion.intervention.application.intervention.record.InterventionDTO;
+import com.gestion.intervention.application.intervention.service.InterventionServiceImpl;
+import com.gestion.intervention.application.intervention.service.TechnicianScheduleIndex;
+import com.gestion.intervention.application.intervention.service.TechnicianScheduleLock;
+import com.gestion.intervention.support.CommittedFixtures;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Free slots are availability minus bookings, follow committed changes to either, and are returned earliest first.
+ */
+@DataJpaTest
+@Import({DisponibiliteServiceImpl.class, ChunkedInserter.class, TechnicianAvailabilityIndex.class, FreeSlotFinder.class,
+        InterventionServiceImpl.class, TechnicianScheduleIndex.class, TechnicianScheduleLock.class, CommittedFixtures.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // Index updates happen on commit, as in production
+class FreeSlotFinderTest {
+
+    private static final Duration TWO_HOURS = Duration.ofHours(2);
+    private static final LocalDateTime DAY = LocalDateTime.of(2031, 1, 6, 0, 0);
+
+    @Autowired
+    private DisponibiliteServiceImpl disponibiliteService;
+    @Autowired
+    private InterventionServiceImpl interventionService;
+    @Autowired
+    private CommittedFixtures fixtures;
+
+    @AfterEach
+    void tearDown() {
+        fixtures.deleteAll();
+    }
+
+    @Test
+    void bookingsAreCutOutOfAvailability() {
+        UUID early = technician();
+        UUID late = technician();
+        availability(early, at(8, 0), at(12, 0));
+        interventionService.createIntervention(new InterventionDTO(null, at(8, 0), at(9, 30), null, early, null));
+        availability(late, at(10, 0), at(18, 0));
+
+        assertThat(disponibiliteService.findFreeSlots(TWO_HOURS, at(0, 0), at(24, 0), 10)).containsExactly(
+                new FreeSlotDTO(early, at(9, 30), at(11, 30)),
+                new FreeSlotDTO(late, at(10, 0), at(12, 0)));
+        assertThat(disponibiliteService.findFreeSlots(TWO_HOURS, at(0, 0), at(24, 0), 1))
+                .containsExactly(new FreeSlotDTO(early, at(9, 30), at(11, 30)));
+        // The window bounds the job, not just its start
+        assertThat(disponibiliteService.findFreeSlots(TWO_HOURS, at(0, 0), at(11, 0), 10)).isEmpty();
+    }
+
+    @Test
+    void committedChangesShowUpInTheNextSearch() {
+        UUID technicianId = technician();
+        DisponibiliteDTO morning = availability(technicianId, at(8, 0), at(12, 0));
+        assertThat(disponibiliteService.findFreeSlots(TWO_HOURS, at(0, 0), at(24, 0), 10))
+                .extracting(FreeSlotDTO::debut).containsExactly(at(8, 0));
+
+        InterventionDTO booked = interventionService.createIntervention(new InterventionDTO(null, at(9, 0), at(10, 30), null, technicianId, null));
+        assertThat(disponibiliteService.findFreeSlots(TWO_HOURS, at(0, 0), at(24, 0), 10)).isEmpty();
+
+        interventionService.deleteIntervention(booked.id());
+        disponibiliteService.updateDisponibilite(morning.id(), new DisponibiliteDTO(null, technicianId, "Available", at(13, 0), at(15, 0)));
+        assertThat(disponibiliteService.findFreeSlots(TWO_HOURS, at(0, 0), at(24, 0), 10))
+                .extracting(FreeSlotDTO::debut).containsExactly(at(13, 0));
+
+        disponibiliteService.deleteDisponibilite(morning.id());
+        assertThat(disponibiliteService.findFreeSlots(TWO_HOURS, at(0, 0), at(24, 0), 10)).isEmpty();
+    }
+
+    @Test
+    void runsCarryAcrossMidnightAndPartialMinutesAreNotFree() {
+        UUID nightShift = technician();
+        availability(nightShift, at(22, 0).plusSeconds(30), at(26, 0));
+
+        assertThat(disponibiliteService.findFreeSlots(Duration.ofHours(3), at(0, 0), at(48, 0), 10))
+                .containsExactly(new FreeSlotDTO(nightShift, at(22, 1), at(25, 1)));
+        // Bulk-created slots are searchable too
+        UUID bulk = technician();
+        disponibiliteService.createDisponibilites(List.of(new DisponibiliteDTO(null, bulk, "Available", at(20, 0), at(23, 0))));
+        assertThat(disponibiliteService.findFreeSlots(Duration.ofHours(3), at(0, 0), at(48, 0), 10))
+                .extracting(FreeSlotDTO::technicianId).containsExactly(bulk, nightShift);
+    }
+
+    @Test
+    void rejectsInvalidSearches() {
+        assertThatThrownBy(() -> disponibiliteService.findFreeSlots(Duration.ZERO, at(0, 0), at(24, 0), 10))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> disponibiliteService.findFreeSlots(TWO_HOURS, at(24, 0), at(0, 0), 10))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> disponibiliteService.findFreeSlots(TWO_HOURS, at(0, 0), at(0, 0).plusDays(365), 10))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> disponibiliteService.findFreeSlots(TWO_HOURS, at(0, 0), at(24, 0), 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private LocalDateTime at(int hour, int minute) {
+        return DAY.plusHours(hour).plusMinutes(minute);
+    }
+
+    private DisponibiliteDTO availability(UUID technicianId, LocalDateTime debut, LocalDateTime fin) {
+        return disponibiliteService.createDisponibilite(new DisponibiliteDTO(null, technicianId, "Available", debut, fin));
+    }
+
+    private UUID technician() {
+        return fixtures.technician("Hydraulics");
+    }
+}
@@ -0,0 +1,210 @@
+package com.gestion.intervention.application.intervention.service;
+
+import com.gestion.intervention.application.common.record.BulkCreateResult;
+import com.gestion.intervention.application.common.record.BulkItemResult;
+import com.gestion.intervention.application.common.service.ChunkedInserter;
+import com.gestion.intervention.application.disponibile.record.DisponibiliteDTO;
+import com.gestion.intervention.application.disponibile.service.DisponibiliteServiceImpl;
+import com.gestion.intervention.application.disponibile.service.FreeSlotFinder;
+import com.gestion.intervention.application.disponibile.service.TechnicianAvailabilityIndex;
+import com.gestion.intervention.application.intervention.record.DispatchCandidateDTO;
+import com.gestion.intervention.application.intervention.record.InterventionDTO;
+import com.gestion.intervention.domain.technicianinfo.repository.TechnicianInfoRepository;
+import com.gestion.intervention.support.CommittedFixtures;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Candidates are ranked by specialite, load and wait; dispatching books the best one and counts the panne against
+ * them in the same commit; a backlog pass never double-books a technician.
+ */
+@DataJpaTest
+@Import({DispatchServiceImpl.class, InterventionServiceImpl.class, TechnicianScheduleIndex.class,
+        DisponibiliteServiceImpl.class, TechnicianAvailabilityIndex.class, FreeSlotFinder.class, ChunkedInserter.class,
+        TechnicianScheduleLock.class, CommittedFixtures.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // Index updates happen on commit, as in production
+class DispatchServiceImplTest {
+
+    private static final Duration TWO_HOURS = Duration.ofHours(2);
+    private static final int THREADS = 8;
+    private static final LocalDateTime DAY = LocalDateTime.of(2035, 1, 8, 0, 0);
+
+    @Autowired
+    private DispatchServiceImpl dispatchService;
+    @Autowired
+    private DisponibiliteServiceImpl disponibiliteService;
+    @Autowired
+    private InterventionServiceImpl interventionService;
+    @Autowired
+    private TechnicianInfoRepository technicianInfoRepository;
+    @Autowired
+    private CommittedFixtures fixtures;
+
+    @AfterEach
+    void tearDown() {
+        fixtures.deleteAll();
+    }
+
+    @Test
+    void ranksBySpecialiteThenLoadThenWait() {
+        UUID busyHydraulics = technician("Hydraulics", 3, at(10, 0));
+        UUID freeElectrician = technician("Electricite", 0, at(8, 0));
+        UUID freeHydraulique = technician("Hydraulique", 0, at(9, 0));
+        UUID panneId = panne("Hydraulic leak", "Press");
+
+        List<DispatchCandidateDTO> ranked = dispatchService.rankTechnicians(panneId, TWO_HOURS, at(8, 0), at(18, 0), 10);
+
+        assertThat(ranked).extracting(DispatchCandidateDTO::technicianId)
+                .containsExactly(freeHydraulique, busyHydraulics, freeElectrician);
+        assertThat(ranked.get(0)).satisfies(best -> {
+            assertThat(best.specialiteMatch()).isTrue();
+            assertThat(best.dateDebut()).isEqualTo(at(9, 0));
+            assertThat(best.dateFin()).isEqualTo(at(11, 0));
+            assertThat(best.score()).isEqualTo(99.0); // 100 for the specialite, 1 hour of wait
+        });
+        assertThat(dispatchService.rankTechnicians(panneId, TWO_HOURS, at(8, 0), at(18, 0), 1)).hasSize(1);
+    }
+
+    @Test
+    void dispatchBooksTheBestCandidateAndCountsThePanne() {
+        UUID hydraulics = technician("Hydraulics", 0, at(8, 0));
+        technician("Electricite", 0, at(8, 0));
+        UUID panneId = panne("Hydraulic leak", "Press");
+
+        InterventionDTO created = dispatchService.dispatch(panneId, TWO_HOURS, at(8, 0), at(18, 0));
+
+        assertThat(created.technicianId()).isEqualTo(hydraulics);
+        assertThat(created.panneId()).isEqualTo(panneId);
+        assertThat(created.dateDebut()).isEqualTo(at(8, 0));
+        assertThat(created.duree()).isEqualTo(TWO_HOURS);
+        assertThat(technicianInfoRepository.findDtoById(hydraulics).orElseThrow().nbrPanne()).isEqualTo(1);
+        // The booked period is no longer free, and the panne is taken
+        assertThat(dispatchService.rankTechnicians(panne("Hydraulic leak", "Press"), TWO_HOURS, at(8, 0), at(18, 0), 10))
+                .filteredOn(candidate -> candidate.technicianId().equals(hydraulics))
+                .extracting(DispatchCandidateDTO::dateDebut).containsExactly(at(10, 0));
+        assertThatThrownBy(() -> dispatchService.dispatch(panneId, TWO_HOURS, at(8, 0), at(18, 0)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void backlogPassNeverDoubleBooks() {
+        // Two technicians free 08:00-12:00: room for four two-hour jobs, five are pending
+        UUID first = technician("Hydraulics", 0, at(8, 0));
+        UUID second = technician("Hydraulics", 0, at(8, 0));
+        for (int i = 0; i < 5; i++) {
+            panne("Hydraulic leak", "Press");
+        }
+
+        BulkCreateResult<InterventionDTO> result = dispatchService.dispatchBacklog(TWO_HOURS, at(8, 0), at(12, 0), 10_000);
+
+        List<InterventionDTO> ours = result.items().stream()
+                .filter(BulkItemResult::isCreated)
+                .map(BulkItemResult::created)
+                .filter(created -> Set.of(first, second).contains(created.technicianId()))
+                .sorted(Comparator.comparing(InterventionDTO::technicianId).thenComparing(InterventionDTO::dateDebut))
+                .toList();
+        assertThat(ours).hasSize(4);
+        for (int i = 1; i < ours.size(); i++) {
+            InterventionDTO previous = ours.get(i - 1);
+            InterventionDTO current = ours.get(i);
+            if (previous.technicianId().equals(current.technicianId())) {
+                assertThat(current.dateDebut()).isAfterOrEqualTo(previous.dateFin());
+            }
+        }
+        assertThat(result.rejected()).isPositive();
+        assertThat(technicianInfoRepository.findDtoById(first).orElseThrow().nbrPanne()).isEqualTo(2);
+        assertThat(technicianInfoRepository.findDtoById(second).orElseThrow().nbrPanne()).isEqualTo(2);
+    }
+
+    @Test
+    void concurrentDispatchesOfOnePanneBookItOnce() throws Exception {
+        technician("Hydraulics", 0, at(8, 0));
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (int round = 0; round < 2; round++) {
+                UUID panneId = panne("Hydraulic leak", "Press");
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<Boolean>> results = new ArrayList<>();
+                for (int t = 0; t < THREADS; t++) {
+                    // Windows that do not overlap: the calls book different periods, so only the panne lock keeps
+                    // them from all creating an intervention
+                    LocalDateTime from = at(8, 0).plusMinutes(15L * (round * THREADS + t));
+                    results.add(executor.submit(() -> {
+                        start.await();
+                        try {
+                            dispatchService.dispatch(panneId, Duration.ofMinutes(15), from, from.plusMinutes(15));
+                            return true;
+                        } catch (IllegalArgumentException taken) {
+                            return false; // The panne already has an intervention
+                        }
+                    }));
+                }
+                start.countDown();
+                int dispatched = 0;
+                for (Future<Boolean> result : results) {
+                    dispatched += result.get(1, TimeUnit.MINUTES) ? 1 : 0;
+                }
+                assertThat(dispatched).as("round %d", round).isEqualTo(1);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void loadFollowsReassignmentAndDeletion() {
+        UUID first = technician("Hydraulics", 0, at(8, 0));
+        UUID second = technician("Electricite", 0, at(8, 0));
+        InterventionDTO dispatched = dispatchService.dispatch(panne("Hydraulic leak", "Press"), TWO_HOURS, at(8, 0), at(18, 0));
+        assertThat(dispatched.technicianId()).isEqualTo(first);
+
+        interventionService.updateIntervention(dispatched.id(), new InterventionDTO(null, dispatched.dateDebut(),
+                dispatched.dateFin(), dispatched.duree(), second, dispatched.panneId()));
+        assertThat(technicianInfoRepository.findDtoById(first).orElseThrow().nbrPanne()).isZero();
+        assertThat(technicianInfoRepository.findDtoById(second).orElseThrow().nbrPanne()).isEqualTo(1);
+
+        interventionService.deleteIntervention(dispatched.id());
+        assertThat(technicianInfoRepository.findDtoById(second).orElseThrow().nbrPanne()).isZero();
+
+        // Booked by hand rather than dispatched: counted all the same
+        interventionService.createIntervention(new InterventionDTO(null, at(9, 0), at(10, 0), Duration.ofHours(1),
+                first, panne("Hydraulic leak", "Press")));
+        assertThat(technicianInfoRepository.findDtoById(first).orElseThrow().nbrPanne()).isEqualTo(1);
+    }
+
+    private LocalDateTime at(int hour, int minute) {
+        return DAY.plusHours(hour).plusMinutes(minute);
+    }
+
+    /** A technician available from {@code freeFrom} to noon. */
+    private UUID technician(String specialite, int openPannes, LocalDateTime freeFrom) {
+        UUID technicianId = fixtures.technician(specialite, openPannes);
+        disponibiliteService.createDisponibilite(new DisponibiliteDTO(null, technicianId, "Available", freeFrom, at(12, 0)));
+        return technicianId;
+    }
+
+    private UUID panne(String typePanne, String machineType) {
+        return fixtures.panne(typePanne, machineType);
+    }
+}
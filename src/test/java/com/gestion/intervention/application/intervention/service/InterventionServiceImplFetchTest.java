@@ -0,0 +1,123 @@
+package com.gestion.intervention.application.intervention.service;
+
+import com.gestion.intervention.application.common.record.CursorPage;
+import com.gestion.intervention.application.intervention.record.InterventionDTO;
+import com.gestion.intervention.domain.intervention.model.Intervention;
+import com.gestion.intervention.domain.machine.model.Machine;
+import com.gestion.intervention.domain.panne.enumeration.PanneStatus;
+import com.gestion.intervention.domain.panne.model.Panne;
+import com.gestion.intervention.domain.person.model.Person;
+import com.gestion.intervention.domain.technicianinfo.model.TechnicianInfo;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Listing interventions must cost one statement however many rows there are:
+ * the DTO only needs association ids, which lazy proxies provide without loading anything.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({InterventionServiceImpl.class, TechnicianScheduleIndex.class, TechnicianScheduleLock.class})
+class InterventionServiceImplFetchTest {
+
+    private static final int ROWS = 20;
+
+    @Autowired
+    private InterventionServiceImpl interventionService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+    private LocalDateTime start;
+
+    @BeforeEach
+    void setUp() {
+        start = LocalDateTime.of(2025, 1, 6, 8, 0);
+        for (int i = 0; i < ROWS; i++) {
+            Person person = Person.builder().username("tech" + i).email("tech" + i + "@example.com").build();
+            Machine machine = Machine.builder().type("Press " + i).etat("OK").build();
+            Panne panne = Panne.builder().typePanne("Leak").status(PanneStatus.PENDING).machine(machine).reporter(person).build();
+            TechnicianInfo technician = TechnicianInfo.builder().person(person).specialite("Hydraulics").build();
+            entityManager.persist(person);
+            entityManager.persist(machine);
+            entityManager.persist(panne);
+            entityManager.persist(technician);
+            entityManager.persist(Intervention.builder()
+                    .dateDebut(start.plusHours(i))
+                    .dateFin(start.plusHours(i + 1))
+                    .panne(panne)
+                    .technicianInfo(technician)
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void getAllInterventionsIssuesASingleStatement() {
+        List<InterventionDTO> interventions = interventionService.getAllInterventions();
+
+        assertThat(interventions).hasSize(ROWS)
+                .allSatisfy(dto -> {
+                    assertThat(dto.panneId()).isNotNull();
+                    assertThat(dto.technicianId()).isNotNull();
+                });
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void pagesWalkEveryRowOnceInIdOrder() {
+        List<UUID> seen = new ArrayList<>();
+        CursorPage<InterventionDTO> page = interventionService.getInterventionsPage(null, 7);
+        int pages = 1;
+        while (true) {
+            page.items().forEach(dto -> seen.add(dto.id()));
+            if (page.nextCursor() == null) {
+                break;
+            }
+            page = interventionService.getInterventionsPage(page.nextCursor(), 7);
+            pages++;
+        }
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(seen).hasSize(ROWS).doesNotHaveDuplicates().isSortedAccordingTo(Comparator.naturalOrder());
+        // One keyset query per page, no count and no association loads
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(pages);
+    }
+
+    @Test
+    void exportStreamsOnlyRowsMatchingTheFilters() {
+        List<InterventionDTO> all = new ArrayList<>();
+        assertThat(interventionService.exportInterventions(null, null, null, all::add)).isEqualTo(ROWS);
+        assertThat(all).extracting(InterventionDTO::dateDebut).isSortedAccordingTo(Comparator.naturalOrder());
+
+        List<InterventionDTO> window = new ArrayList<>();
+        interventionService.exportInterventions(start.plusHours(5), start.plusHours(10), null, window::add);
+        assertThat(window).extracting(InterventionDTO::dateDebut)
+                .containsExactlyElementsOf(all.subList(5, 10).stream().map(InterventionDTO::dateDebut).toList());
+
+        UUID technicianId = all.get(3).technicianId();
+        List<InterventionDTO> ofTechnician = new ArrayList<>();
+        interventionService.exportInterventions(null, null, technicianId, ofTechnician::add);
+        assertThat(ofTechnician).containsExactly(all.get(3));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+}
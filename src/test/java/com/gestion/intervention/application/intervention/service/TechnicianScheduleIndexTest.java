@@ -0,0 +1,117 @@
+package com.gestion.intervention.application.intervention.service;
+
+import com.gestion.intervention.application.intervention.record.InterventionDTO;
+import com.gestion.intervention.support.CommittedFixtures;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The schedule index follows committed writes only, answers conflict checks without SQL, and the consistency check
+ * repairs it when the database changes behind its back.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({InterventionServiceImpl.class, TechnicianScheduleIndex.class, TechnicianScheduleLock.class, CommittedFixtures.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // Index updates happen on commit, as in production
+class TechnicianScheduleIndexTest {
+
+    private static final LocalDateTime NINE = LocalDateTime.of(2025, 3, 3, 9, 0);
+
+    @Autowired
+    private InterventionServiceImpl interventionService;
+    @Autowired
+    private TechnicianScheduleIndex scheduleIndex;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private CommittedFixtures fixtures;
+
+    private UUID technicianId;
+
+    @BeforeEach
+    void setUp() {
+        technicianId = fixtures.technician("Hydraulics");
+    }
+
+    @AfterEach
+    void tearDown() {
+        fixtures.deleteAll();
+    }
+
+    @Test
+    void conflictsAreAnsweredFromMemory() {
+        assertThat(scheduleIndex.isReady()).isTrue();
+        InterventionDTO booked = interventionService.createIntervention(slot(NINE, NINE.plusHours(2)));
+
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        assertThat(scheduleIndex.hasConflict(technicianId, NINE.plusHours(1), NINE.plusHours(3), null)).isTrue();
+        assertThat(scheduleIndex.hasConflict(technicianId, NINE.plusHours(2), NINE.plusHours(3), null)).isFalse();
+        assertThat(scheduleIndex.hasConflict(technicianId, NINE, NINE.plusHours(1), booked.id())).isFalse(); // Itself, on update
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        assertThatThrownBy(() -> interventionService.createIntervention(slot(NINE.plusMinutes(30), NINE.plusHours(1))))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        // Moving, then deleting, frees the old slot
+        interventionService.updateIntervention(booked.id(), slot(NINE.plusHours(4), NINE.plusHours(5)));
+        assertThat(scheduleIndex.hasConflict(technicianId, NINE, NINE.plusHours(2), null)).isFalse();
+        assertThat(scheduleIndex.hasConflict(technicianId, NINE.plusHours(4), NINE.plusHours(5), null)).isTrue();
+        interventionService.deleteIntervention(booked.id());
+        assertThat(scheduleIndex.hasConflict(technicianId, NINE.plusHours(4), NINE.plusHours(5), null)).isFalse();
+    }
+
+    @Test
+    void rolledBackWritesNeverReachTheIndex() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            interventionService.createIntervention(slot(NINE, NINE.plusHours(2)));
+            status.setRollbackOnly();
+        });
+
+        assertThat(scheduleIndex.hasConflict(technicianId, NINE, NINE.plusHours(2), null)).isFalse();
+    }
+
+    @Test
+    void consistencyCheckRepairsDrift() {
+        InterventionDTO booked = interventionService.createIntervention(slot(NINE, NINE.plusHours(2)));
+        assertThat(scheduleIndex.checkConsistency()).isZero();
+
+        // Changed without going through the service: the index still sees the old booking
+        jdbcTemplate.update("DELETE FROM intervention WHERE id = ?", (Object) uuidBytes(booked.id()));
+        assertThat(scheduleIndex.hasConflict(technicianId, NINE, NINE.plusHours(2), null)).isTrue();
+
+        assertThat(scheduleIndex.checkConsistency()).isEqualTo(1);
+        assertThat(scheduleIndex.hasConflict(technicianId, NINE, NINE.plusHours(2), null)).isFalse();
+        assertThat(scheduleIndex.checkConsistency()).isZero();
+    }
+
+    private InterventionDTO slot(LocalDateTime debut, LocalDateTime fin) {
+        return new InterventionDTO(null, debut, fin, null, technicianId, null);
+    }
+
+    private static byte[] uuidBytes(UUID id) {
+        return ByteBuffer.allocate(16).putLong(id.getMostSignificantBits()).putLong(id.getLeastSignificantBits()).array();
+    }
+}
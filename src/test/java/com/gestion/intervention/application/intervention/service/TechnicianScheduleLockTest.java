@@ -0,0 +1,166 @@
+package com.gestion.intervention.application.intervention.service;
+
+import com.gestion.intervention.application.common.record.TechnicianSlotDTO;
+import com.gestion.intervention.application.intervention.record.InterventionDTO;
+import com.gestion.intervention.domain.intervention.repository.InterventionRepository;
+import com.gestion.intervention.domain.panne.repository.PanneRepository;
+import com.gestion.intervention.domain.technicianinfo.repository.TechnicianInfoRepository;
+import com.gestion.intervention.support.CommittedFixtures;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.env.Environment;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Many agents booking a handful of technicians at once, on overlapping hours: every booking is either saved or
+ * rejected as a conflict, and no technician ends up booked twice at the same time, whether the agents go through one
+ * instance or two that share only the database.
+ */
+@DataJpaTest
+@Import({InterventionServiceImpl.class, TechnicianScheduleIndex.class, TechnicianScheduleLock.class, CommittedFixtures.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // Locks are held until commit, as in production
+class TechnicianScheduleLockTest {
+
+    private static final int THREADS = 32;
+    private static final int ATTEMPTS_PER_THREAD = 25;
+    private static final int TECHNICIANS = 3;
+    private static final LocalDateTime DAY = LocalDateTime.of(2035, 1, 8, 0, 0);
+
+    @Autowired
+    private InterventionServiceImpl interventionService;
+    @Autowired
+    private TechnicianScheduleIndex scheduleIndex;
+    @Autowired
+    private InterventionRepository interventionRepository;
+    @Autowired
+    private TechnicianInfoRepository technicianInfoRepository;
+    @Autowired
+    private PanneRepository panneRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private Environment environment;
+    @Autowired
+    private CommittedFixtures fixtures;
+
+    @BeforeEach
+    void setUp() {
+        scheduleIndex.load();
+    }
+
+    @AfterEach
+    void tearDown() {
+        fixtures.deleteAll();
+    }
+
+    @Test
+    void concurrentBookingsThroughOneInstanceNeverOverlap() throws Exception {
+        List<UUID> technicians = technicians();
+
+        int booked = stress(technicians, attempt -> interventionService::createIntervention);
+
+        assertNoOverlaps(technicians, booked);
+    }
+
+    @Test
+    void concurrentBookingsThroughTwoInstancesNeverOverlap() throws Exception {
+        List<UUID> technicians = technicians();
+        // A second instance: its own index and stripes, so only the row locks stand between the two
+        TechnicianScheduleIndex otherIndex = new TechnicianScheduleIndex(interventionRepository, transactionManager, true);
+        otherIndex.load();
+        InterventionService other = new InterventionServiceImpl(interventionRepository, technicianInfoRepository, panneRepository,
+                otherIndex, new TechnicianScheduleLock(otherIndex, technicianInfoRepository, interventionRepository, 1024, true, environment));
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager); // Not a proxied bean
+        Consumer<InterventionDTO> bookThroughOther = dto -> transaction.executeWithoutResult(status -> other.createIntervention(dto));
+
+        int booked = stress(technicians, attempt -> attempt % 2 == 0 ? interventionService::createIntervention : bookThroughOther);
+
+        assertNoOverlaps(technicians, booked);
+    }
+
+    /** Fires every attempt at once; returns how many bookings were saved. Anything but a conflict fails the test. */
+    private int stress(List<UUID> technicians, IntFunction<Consumer<InterventionDTO>> instanceFor) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    int saved = 0;
+                    for (int a = 0; a < ATTEMPTS_PER_THREAD; a++) {
+                        ThreadLocalRandom random = ThreadLocalRandom.current();
+                        // One-hour jobs starting on a quarter hour of an eight-hour day: most of them collide
+                        LocalDateTime debut = DAY.plusHours(8).plusMinutes(15L * random.nextInt(29));
+                        UUID technicianId = technicians.get(random.nextInt(technicians.size()));
+                        InterventionDTO dto = new InterventionDTO(null, debut, debut.plusHours(1), Duration.ofHours(1), technicianId, null);
+                        try {
+                            instanceFor.apply(thread * ATTEMPTS_PER_THREAD + a).accept(dto);
+                            saved++;
+                        } catch (IllegalArgumentException conflict) {
+                            // Rejected: the technician is already booked then
+                        }
+                    }
+                    return saved;
+                }));
+            }
+            start.countDown();
+            int saved = 0;
+            for (Future<Integer> result : results) {
+                saved += result.get(2, TimeUnit.MINUTES);
+            }
+            return saved;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void assertNoOverlaps(List<UUID> technicians, int booked) {
+        int rows = 0;
+        for (UUID technicianId : technicians) {
+            List<TechnicianSlotDTO> slots = new ArrayList<>(interventionRepository.findSlotsByTechnician(technicianId));
+            slots.sort(Comparator.comparing(TechnicianSlotDTO::debut));
+            for (int i = 1; i < slots.size(); i++) {
+                assertThat(slots.get(i).debut()).as("booking after %s", slots.get(i - 1))
+                        .isAfterOrEqualTo(slots.get(i - 1).fin());
+            }
+            rows += slots.size();
+        }
+        assertThat(rows).isEqualTo(booked);
+        // Far fewer than attempted, at least one per technician
+        assertThat(booked).isBetween(TECHNICIANS, TECHNICIANS * 8);
+    }
+
+    private List<UUID> technicians() {
+        List<UUID> technicians = new ArrayList<>();
+        for (int t = 0; t < TECHNICIANS; t++) {
+            technicians.add(fixtures.technician("Hydraulics"));
+        }
+        return technicians;
+    }
+}
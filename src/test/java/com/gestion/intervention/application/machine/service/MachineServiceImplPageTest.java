@@ -0,0 +1,70 @@
+package com.gestion.intervention.application.machine.service;
+
+import com.gestion.intervention.application.common.record.CursorPage;
+import com.gestion.intervention.application.common.service.ChunkedInserter;
+import com.gestion.intervention.application.machine.record.MachineDTO;
+import com.gestion.intervention.domain.machine.model.Machine;
+import com.gestion.intervention.domain.machine.repository.MachineRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Walking the machines page by page through the seek query returns every row exactly once, and the last page
+ * carries no cursor.
+ */
+@DataJpaTest
+@Import({MachineServiceImpl.class, ChunkedInserter.class})
+class MachineServiceImplPageTest {
+
+    @Autowired
+    private MachineServiceImpl machineService;
+
+    @Autowired
+    private MachineRepository machineRepository;
+
+    private List<UUID> fixture;
+
+    @BeforeEach
+    void setUp() {
+        fixture = IntStream.range(0, 23)
+                .mapToObj(i -> machineRepository.save(Machine.builder().type("Press " + i).etat("OPERATIONAL").build()).getId())
+                .toList();
+    }
+
+    @Test
+    void walkingEveryPageVisitsEachMachineOnce() {
+        List<UUID> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        CursorPage<MachineDTO> page;
+        do {
+            page = machineService.getMachinesPage(cursor, 5);
+            assertThat(page.items()).hasSizeLessThanOrEqualTo(5);
+            page.items().forEach(machine -> seen.add(machine.id()));
+            cursor = page.nextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(5);
+        assertThat(page.items()).hasSize(3);
+        assertThat(seen).doesNotHaveDuplicates().containsExactlyInAnyOrderElementsOf(fixture);
+    }
+
+    @Test
+    void pageThatEndsOnTheLastRowHasNoCursor() {
+        CursorPage<MachineDTO> page = machineService.getMachinesPage(null, 23);
+
+        assertThat(page.items()).hasSize(23);
+        assertThat(page.nextCursor()).isNull();
+    }
+}
@@ -0,0 +1,87 @@
+package com.gestion.intervention.application.person.service;
+
+import com.gestion.intervention.application.person.record.PersonDTO;
+import com.gestion.intervention.domain.person.model.Person;
+import com.gestion.intervention.domain.person.repository.PersonRepository;
+import com.gestion.intervention.kernel.security.jwt.JwtService;
+import com.gestion.intervention.kernel.security.jwt.RevokedTokenRegistry;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+/**
+ * Identity fields are checked with a single query, and the unique indexes behind it are recognised when a
+ * concurrent insert gets past the check.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(PersonServiceImpl.class)
+class PersonServiceImplUniquenessTest {
+
+    @MockitoBean
+    private AuthenticationManager authenticationManager;
+    @MockitoBean
+    private PasswordEncoder passwordEncoder;
+    @MockitoBean
+    private JwtService jwtService;
+    @MockitoBean
+    private RevokedTokenRegistry revokedTokenRegistry;
+
+    @Autowired
+    private PersonServiceImpl personService;
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        personRepository.saveAndFlush(Person.builder()
+                .CIN("AB123").email("jane@example.com").username("jane").telephone("0600000000").build());
+        entityManager.clear();
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void reportsTheFirstCollidingFieldWithOneQuery() {
+        PersonDTO dto = new PersonDTO(null, "CD456", "Doe", "John", "john@example.com", "jane", "secret", "0600000000", null, null);
+
+        assertThatThrownBy(() -> personService.createPerson(dto))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("A person with this username already exists: jane");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void blankIdentityValuesDoNotCollide() {
+        personService.createPerson(new PersonDTO(null, " ", "Doe", "John", "john@example.com", "john", "secret", "", null, null));
+        personService.createPerson(new PersonDTO(null, "", "Doe", "Jim", "jim@example.com", "jim", "secret", " ", null, null));
+
+        assertThat(personRepository.count()).isEqualTo(3);
+    }
+
+    @Test
+    void uniqueIndexViolationMapsBackToItsField() {
+        DataIntegrityViolationException e = catchThrowableOfType(DataIntegrityViolationException.class,
+                () -> personRepository.saveAndFlush(Person.builder().email("jane@example.com").username("other").build()));
+
+        assertThat(PersonServiceImpl.IdentityField.violatedBy(e)).contains(PersonServiceImpl.IdentityField.EMAIL);
+    }
+}
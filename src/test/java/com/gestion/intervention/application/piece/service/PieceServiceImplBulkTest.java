@@ -0,0 +1,124 @@
+package com.gestion.intervention.application.piece.service;
+
+import com.gestion.intervention.application.common.record.BulkCreateResult;
+import com.gestion.intervention.application.common.record.BulkItemResult;
+import com.gestion.intervention.application.common.service.ChunkedInserter;
+import com.gestion.intervention.application.piece.record.PieceDTO;
+import com.gestion.intervention.domain.machine.model.Machine;
+import com.gestion.intervention.domain.machine.repository.MachineRepository;
+import com.gestion.intervention.domain.piece.model.Piece;
+import com.gestion.intervention.domain.piece.repository.PieceRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Bulk piece creation reports every item, and inserts each chunk with a handful of batched statements.
+ */
+@DataJpaTest(properties = {
+        "app.bulk.chunk-size=50",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({PieceServiceImpl.class, ChunkedInserter.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // Chunks commit on their own, as in production
+class PieceServiceImplBulkTest {
+
+    @Autowired
+    private PieceServiceImpl pieceService;
+
+    @Autowired
+    private MachineRepository machineRepository;
+
+    @Autowired
+    private PieceRepository pieceRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private UUID machineId;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        Machine machine = machineRepository.save(Machine.builder().type("Press").etat("OPERATIONAL").build());
+        machineId = machine.getId();
+        pieceRepository.save(Piece.builder().numPiece("P-0").nomPiece("Seal").machine(machine).build());
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        pieceRepository.deleteAllInBatch();
+        machineRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void reportsEachItemInRequestOrder() {
+        UUID unknownMachine = UUID.randomUUID();
+        BulkCreateResult<PieceDTO> result = pieceService.createPieces(List.of(
+                new PieceDTO(null, "Valve", "P-1", null, machineId),
+                new PieceDTO(null, "Valve", "P-2", null, unknownMachine),
+                new PieceDTO(null, "Valve", "P-1", null, machineId),
+                new PieceDTO(null, "Seal", "P-0", null, machineId),
+                new PieceDTO(null, " ", "P-3", null, machineId)));
+
+        assertThat(result.created()).isEqualTo(1);
+        assertThat(result.rejected()).isEqualTo(4);
+        assertThat(result.items()).extracting(BulkItemResult::index).containsExactly(0, 1, 2, 3, 4);
+        assertThat(result.items().get(0).created().id()).isNotNull();
+        assertThat(result.items()).extracting(BulkItemResult::error).containsExactly(
+                null,
+                "Machine not found with id: " + unknownMachine,
+                "A piece with number 'P-1' already exists for machine with id: " + machineId,
+                "A piece with number 'P-0' already exists for machine with id: " + machineId,
+                "Piece name (nomPiece) cannot be null or empty.");
+        assertThat(pieceRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    void insertsChunksAsJdbcBatches() {
+        List<PieceDTO> pieces = new ArrayList<>();
+        IntStream.range(1, 121).forEach(i -> pieces.add(new PieceDTO(null, "Valve", "P-" + i, null, machineId)));
+
+        BulkCreateResult<PieceDTO> result = pieceService.createPieces(pieces);
+
+        // 3 chunks: machine lookup, taken numbers and one batched INSERT each (instead of 120 inserts)
+        assertThat(statistics.getTransactionCount()).isEqualTo(3);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(9);
+        assertThat(result.created()).isEqualTo(120);
+        assertThat(pieceRepository.count()).isEqualTo(121);
+    }
+
+    @Test
+    void chunkFailingInTheDatabaseIsReportedAndTheOthersStayCommitted() {
+        List<PieceDTO> pieces = new ArrayList<>();
+        IntStream.range(1, 121).forEach(i -> pieces.add(new PieceDTO(null, "Valve", "P-" + i, null, machineId)));
+        // Passes validation, but overflows nom_piece (varchar(255)) at flush: the second chunk, [50, 100), fails
+        pieces.set(70, new PieceDTO(null, "V".repeat(300), "P-71", null, machineId));
+
+        BulkCreateResult<PieceDTO> result = pieceService.createPieces(pieces);
+
+        assertThat(result.created()).isEqualTo(70);
+        assertThat(result.rejected()).isEqualTo(50);
+        assertThat(result.items().subList(50, 100)).allSatisfy(item ->
+                assertThat(item.error()).startsWith("Chunk rolled back: "));
+        assertThat(result.items().subList(100, 120)).allSatisfy(item -> assertThat(item.error()).isNull());
+        assertThat(pieceRepository.count()).isEqualTo(71);
+    }
+}
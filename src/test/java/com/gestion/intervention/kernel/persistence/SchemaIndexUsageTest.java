@@ -0,0 +1,176 @@
+package com.gestion.intervention.kernel.persistence;
+
+import com.gestion.intervention.domain.disponibile.repository.DisponibiliteRepository;
+import com.gestion.intervention.domain.intervention.repository.InterventionRepository;
+import com.gestion.intervention.domain.machine.repository.MachineRepository;
+import com.gestion.intervention.domain.panne.enumeration.PanneStatus;
+import com.gestion.intervention.domain.panne.repository.PanneRepository;
+import com.gestion.intervention.domain.person.repository.PersonRepository;
+import com.gestion.intervention.domain.piece.repository.PieceRepository;
+import com.gestion.intervention.domain.role.repository.RoleRepository;
+import com.gestion.intervention.domain.stemaintenance.repository.STEmaintenanceRepository;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pins the plan of every hot repository query to the index the migrations created for it. Each query runs through
+ * its repository method, the SQL Hibernate issued is captured and explained; dropping or reordering an index, or
+ * rewriting a query so it no longer matches one, shows up here as a table scan.
+ * <p>
+ * Runs on H2 over the Flyway schema; H2 prints the chosen index as {@code /* PUBLIC.INDEX_NAME ... *}{@code /}.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.gestion.intervention.kernel.persistence.SchemaIndexUsageTest$CapturingInspector")
+class SchemaIndexUsageTest {
+
+    private static final UUID ID = UUID.randomUUID();
+    private static final UUID OTHER_ID = UUID.randomUUID(); // Two values, or the IN list is rendered as =
+    private static final LocalDateTime FROM = LocalDateTime.of(2025, 1, 6, 8, 0);
+    private static final LocalDateTime TO = FROM.plusHours(2);
+
+    @Autowired
+    private InterventionRepository interventionRepository;
+    @Autowired
+    private DisponibiliteRepository disponibiliteRepository;
+    @Autowired
+    private PanneRepository panneRepository;
+    @Autowired
+    private PieceRepository pieceRepository;
+    @Autowired
+    private MachineRepository machineRepository;
+    @Autowired
+    private RoleRepository roleRepository;
+    @Autowired
+    private STEmaintenanceRepository stEmaintenanceRepository;
+    @Autowired
+    private PersonRepository personRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public static class CapturingInspector implements StatementInspector {
+        private static final List<String> statements = new ArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            synchronized (statements) {
+                statements.add(sql);
+            }
+            return sql;
+        }
+    }
+
+    @Test
+    void interventionConflictsUseTheTechnicianWindowIndex() {
+        assertIndexLookup(planOf(() -> interventionRepository.existsConflictingInterventionForTechnician(ID, FROM, TO, null)),
+                "IDX_INTERVENTION_TECHNICIAN_WINDOW", "TECHNICIAN_ID = ?", "DATE_DEBUT < ?");
+        assertSearchedBy(planOf(() -> interventionRepository.existsActiveByTechnicianInfoId(ID)), "TECHNICIAN_ID = ?");
+        assertSearchedBy(planOf(() -> interventionRepository.existsByPanneId(ID)), "PANNE_ID = ?");
+        assertSearchedBy(planOf(() -> interventionRepository.findPanneIdsWithIntervention(Set.of(ID, OTHER_ID))), "PANNE_ID IN(");
+    }
+
+    @Test
+    void interventionExportReadsInDateIndexOrder() {
+        // The optional filters are not sargable with unbound parameters, but the rows come out in index order, unsorted
+        assertThat(planOf(() -> interventionRepository.streamForExport(FROM, TO, null).close()))
+                .contains("/* PUBLIC.IDX_INTERVENTION_DATE_DEBUT */");
+    }
+
+    @Test
+    void overlappingAvailabilitiesUseTheTechnicianWindowIndex() {
+        assertIndexLookup(planOf(() -> disponibiliteRepository.findOverlapping(ID, FROM, TO, null)),
+                "IDX_DISPONIBILITE_TECHNICIAN_WINDOW", "TECHNICIAN_INFO_ID = ?", "DEBUT < ?");
+        assertIndexLookup(planOf(() -> disponibiliteRepository.findDtosOverlappingWindow(Set.of(ID, OTHER_ID), FROM, TO)),
+                "IDX_DISPONIBILITE_TECHNICIAN_WINDOW", "TECHNICIAN_INFO_ID IN(");
+        assertSearchedBy(planOf(() -> disponibiliteRepository.existsByTechnicianInfoId(ID)), "TECHNICIAN_INFO_ID = ?");
+    }
+
+    @Test
+    void panneCountsUseTheReporterStatusIndex() {
+        assertIndexLookup(planOf(() -> panneRepository.countAllByStatusAndReporter_Id(PanneStatus.PENDING, ID)),
+                "IDX_PANNE_REPORTER_STATUS", "PERSON_ID = ?", "STATUS = ?");
+        assertSearchedBy(planOf(() -> panneRepository.countAllByReporter_Id(ID)), "PERSON_ID = ?");
+        assertSearchedBy(planOf(() -> panneRepository.existsActiveByReporterId(ID)), "PERSON_ID = ?");
+    }
+
+    @Test
+    void dispatchBacklogUsesTheStatusIndex() {
+        assertIndexLookup(planOf(() -> panneRepository.findUndispatched(PanneStatus.PENDING, Limit.of(10))),
+                "IDX_PANNE_STATUS", "STATUS = ?");
+    }
+
+    @Test
+    void panneByTypeAndMachineUsesTheMachineTypeIndex() {
+        assertIndexLookup(planOf(() -> panneRepository.findActivePanneByTypeAndMachine("Leak", ID)),
+                "IDX_PANNE_MACHINE_TYPE", "MACHINE_ID = ?", "TYPE_PANNE = ?");
+        assertSearchedBy(planOf(() -> panneRepository.existsByMachineId(ID)), "MACHINE_ID = ?");
+    }
+
+    @Test
+    void pieceLookupsUseTheMachineNumPieceIndex() {
+        assertIndexLookup(planOf(() -> pieceRepository.findByNumPieceAndMachineId("P-1", ID)),
+                "IDX_PIECE_MACHINE_NUM_PIECE", "MACHINE_ID = ?", "NUM_PIECE = ?");
+        assertIndexLookup(planOf(() -> pieceRepository.findDtosByMachineIdsAndNumPieces(Set.of(ID, OTHER_ID), Set.of("P-1", "P-2"))),
+                "IDX_PIECE_MACHINE_NUM_PIECE", "MACHINE_ID IN(");
+    }
+
+    @Test
+    void lookupsByNameUseTheirIndexes() {
+        assertIndexLookup(planOf(() -> machineRepository.existsByType("Press")), "IDX_MACHINE_TYPE", "TYPE = ?");
+        // Values no other test uses, so the query cache cannot answer without SQL
+        assertIndexLookup(planOf(() -> roleRepository.findByAuthority("ROLE_" + ID)), "UK_ROLE_AUTHORITY", "AUTHORITY = ?");
+        assertIndexLookup(planOf(() -> stEmaintenanceRepository.findByNom("STE " + ID)), "UK_STEMAINTENANCE_NOM", "NOM = ?");
+    }
+
+    @Test
+    void personRoleCountUsesTheRoleIndex() {
+        assertIndexLookup(planOf(() -> personRepository.countByRoleId(ID)), "IDX_PERSON_ROLE_ROLE", "ROLE_ID = ?");
+    }
+
+    /** Runs the query, then explains the last statement it issued, with every parameter left null. */
+    private String planOf(Runnable query) {
+        synchronized (CapturingInspector.statements) {
+            CapturingInspector.statements.clear();
+        }
+        query.run();
+        String sql;
+        synchronized (CapturingInspector.statements) {
+            assertThat(CapturingInspector.statements).as("statements issued").isNotEmpty();
+            sql = CapturingInspector.statements.get(CapturingInspector.statements.size() - 1);
+        }
+        Object[] nulls = new Object[(int) sql.chars().filter(c -> c == '?').count()];
+        String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, nulls));
+        assertThat(plan.toLowerCase(Locale.ROOT)).as(plan).doesNotContain("tablescan");
+        return plan;
+    }
+
+    /** The index is searched (not just scanned) and every given condition is part of the search. */
+    private static void assertIndexLookup(String plan, String index, String... conditions) {
+        String marker = "/* PUBLIC." + index + ":";
+        assertThat(plan).as(plan).contains(marker);
+        int from = plan.indexOf(marker);
+        String lookup = plan.substring(from, plan.indexOf("*/", from));
+        assertThat(lookup).as(plan).contains(conditions);
+    }
+
+    /**
+     * For queries on the leading column only. H2 keeps the index it created for the foreign key and may prefer it;
+     * InnoDB drops that one once the composite index exists, so on MySQL this is the composite index too.
+     */
+    private static void assertSearchedBy(String plan, String condition) {
+        assertThat(plan).as(plan).containsPattern("/\\* PUBLIC\\.\\w+: " + Pattern.quote(condition));
+    }
+}
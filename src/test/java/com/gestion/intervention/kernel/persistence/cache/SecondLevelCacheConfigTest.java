@@ -0,0 +1,90 @@
+package com.gestion.intervention.kernel.persistence.cache;
+
+import com.gestion.intervention.domain.machine.model.Machine;
+import com.gestion.intervention.domain.machine.repository.MachineRepository;
+import com.gestion.intervention.domain.role.model.Role;
+import com.gestion.intervention.domain.role.repository.RoleRepository;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Cached entities and queries are served without a statement once loaded, and the hit ratio shows up as a metric.
+ */
+@DataJpaTest
+@Import(SecondLevelCacheConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // Cache entries are only shared once their transaction has committed
+class SecondLevelCacheConfigTest {
+
+    private static final String AUTHORITY = "ROLE_CACHE_TEST";
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private MachineRepository machineRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterBinder secondLevelCacheMetrics;
+
+    private Statistics statistics;
+    private UUID roleId;
+    private UUID machineId;
+
+    @BeforeEach
+    void setUp() {
+        roleId = roleRepository.save(Role.builder().authority(AUTHORITY).build()).getId();
+        machineId = machineRepository.save(Machine.builder().type("Press").etat("OK").build()).getId();
+
+        entityManagerFactory.getCache().evictAll(); // Start cold: inserts already populated the entity regions
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        machineRepository.deleteById(machineId);
+        roleRepository.deleteById(roleId);
+    }
+
+    @Test
+    void entityLoadsHitTheCacheAfterTheFirstRead() {
+        assertThat(machineRepository.findById(machineId)).isPresent();
+        assertThat(machineRepository.findById(machineId)).isPresent();
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        secondLevelCacheMetrics.bindTo(registry);
+        assertThat(registry.get("hibernate.cache.region.hit.ratio").tag("region", CacheRegions.MACHINE).gauge().value())
+                .isEqualTo(0.5);
+        assertThat(registry.get("hibernate.cache.region.requests").tags("region", CacheRegions.MACHINE, "result", "hit")
+                .functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void findByAuthorityIsServedFromTheQueryCache() {
+        assertThat(roleRepository.findByAuthority(AUTHORITY)).isPresent();
+        assertThat(roleRepository.findByAuthority(AUTHORITY)).isPresent();
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getCacheRegionStatistics(CacheRegions.ROLE_BY_AUTHORITY).getHitCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,84 @@
+package com.gestion.intervention.kernel.persistence.routing;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two in-memory H2 databases stand in for the primary and the replica; each holds a row naming itself, so every
+ * read shows where it was routed. Transactions go through the JPA transaction manager, as in the application.
+ */
+class ReadWriteDataSourceConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(
+                    DataSourceAutoConfiguration.class, HibernateJpaAutoConfiguration.class, TransactionAutoConfiguration.class))
+            .withUserConfiguration(ReadWriteDataSourceConfig.class)
+            .withPropertyValues(
+                    "spring.datasource.url=jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1",
+                    "spring.datasource.username=sa",
+                    "app.datasource.replica.url=jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1",
+                    "app.datasource.replica.retry-after=1h",
+                    "spring.jpa.hibernate.ddl-auto=none");
+
+    @Test
+    void readOnlyTransactionsReadFromTheReplica() {
+        contextRunner.run(context -> {
+            seed(context);
+            assertThat(whoAnswers(context, true)).isEqualTo("replica");
+            assertThat(whoAnswers(context, false)).isEqualTo("primary");
+            assertThat(context.getBean(DataSource.class)).isNotInstanceOf(HikariDataSource.class);
+        });
+    }
+
+    @Test
+    void readYourWritesKeepsReadsOnThePrimary() {
+        contextRunner.run(context -> {
+            seed(context);
+            assertThat(ReadYourWrites.call(() -> whoAnswers(context, true))).isEqualTo("primary");
+            assertThat(whoAnswers(context, true)).isEqualTo("replica");
+        });
+    }
+
+    @Test
+    void readsFallBackToThePrimaryWhenTheReplicaIsDown() {
+        contextRunner.run(context -> {
+            seed(context);
+            context.getBean("replicaDataSource", HikariDataSource.class).close();
+
+            assertThat(whoAnswers(context, true)).isEqualTo("primary");
+            assertThat(whoAnswers(context, true)).isEqualTo("primary"); // Skipped without retrying until retry-after
+        });
+    }
+
+    private static void seed(ApplicationContext context) {
+        for (String name : new String[]{"primary", "replica"}) {
+            JdbcTemplate jdbc = new JdbcTemplate(context.getBean(name + "DataSource", DataSource.class));
+            jdbc.execute("CREATE TABLE IF NOT EXISTS node (name VARCHAR(16))");
+            jdbc.update("DELETE FROM node");
+            jdbc.update("INSERT INTO node (name) VALUES (?)", name);
+        }
+    }
+
+    private static String whoAnswers(ApplicationContext context, boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        transaction.setReadOnly(readOnly);
+        EntityManager entityManager = SharedEntityManagerCreator.createSharedEntityManager(context.getBean(EntityManagerFactory.class));
+        return transaction.execute(status -> (String) entityManager.createNativeQuery("SELECT name FROM node").getSingleResult());
+    }
+}
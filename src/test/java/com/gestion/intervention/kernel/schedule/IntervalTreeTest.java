@@ -0,0 +1,65 @@
+package com.gestion.intervention.kernel.schedule;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Random inserts and removals, every query checked against a plain list of the same intervals.
+ */
+class IntervalTreeTest {
+
+    @Test
+    void answersLikeABruteForceScan() {
+        Random random = new Random(42);
+        IntervalTree<Integer> tree = new IntervalTree<>();
+        Map<Integer, long[]> intervals = new HashMap<>();
+
+        for (int step = 0; step < 20_000; step++) {
+            if (!intervals.isEmpty() && random.nextInt(3) == 0) {
+                Integer key = new ArrayList<>(intervals.keySet()).get(random.nextInt(intervals.size()));
+                assertThat(tree.remove(intervals.remove(key)[0], key)).isTrue();
+            } else {
+                long start = random.nextInt(10_000);
+                long end = start + 1 + random.nextInt(200);
+                tree.insert(start, end, step);
+                intervals.put(step, new long[]{start, end});
+            }
+
+            long from = random.nextInt(10_000);
+            long to = from + 1 + random.nextInt(300);
+            Integer excluded = intervals.isEmpty() || random.nextBoolean()
+                    ? null
+                    : new ArrayList<>(intervals.keySet()).get(random.nextInt(intervals.size()));
+            List<Integer> expected = intervals.entrySet().stream()
+                    .filter(e -> e.getValue()[0] < to && e.getValue()[1] > from)
+                    .map(Map.Entry::getKey)
+                    .toList();
+
+            List<Integer> found = new ArrayList<>();
+            tree.forEachOverlapping(from, to, (key, start, end) -> found.add(key));
+            assertThat(found).containsExactlyInAnyOrderElementsOf(expected);
+            assertThat(tree.overlaps(from, to, excluded))
+                    .isEqualTo(expected.stream().anyMatch(key -> !key.equals(excluded)));
+            assertThat(tree.size()).isEqualTo(intervals.size());
+        }
+    }
+
+    @Test
+    void intervalsThatOnlyTouchDoNotOverlap() {
+        IntervalTree<String> tree = new IntervalTree<>();
+        tree.insert(10, 20, "morning");
+
+        assertThat(tree.overlaps(20, 30, null)).isFalse();
+        assertThat(tree.overlaps(0, 10, null)).isFalse();
+        assertThat(tree.overlaps(19, 30, null)).isTrue();
+        assertThat(tree.overlaps(19, 30, "morning")).isFalse();
+        assertThat(tree.remove(10, "evening")).isFalse();
+    }
+}
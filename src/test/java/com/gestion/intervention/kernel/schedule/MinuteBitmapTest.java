@@ -0,0 +1,49 @@
+package com.gestion.intervention.kernel.schedule;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Random set and clear ranges, every scan checked against a {@link BitSet} holding the same minutes.
+ */
+class MinuteBitmapTest {
+
+    @Test
+    void scansLikeABitSet() {
+        Random random = new Random(42);
+        long[] words = MinuteBitmap.newDay();
+        BitSet expected = new BitSet(MinuteBitmap.MINUTES_PER_DAY);
+
+        for (int step = 0; step < 20_000; step++) {
+            int from = random.nextInt(MinuteBitmap.MINUTES_PER_DAY + 1);
+            int to = from + random.nextInt(MinuteBitmap.MINUTES_PER_DAY - from + 1);
+            if (random.nextBoolean()) {
+                MinuteBitmap.set(words, from, to);
+                expected.set(from, to);
+            } else {
+                MinuteBitmap.clear(words, from, to);
+                expected.clear(from, to);
+            }
+
+            int position = random.nextInt(MinuteBitmap.MINUTES_PER_DAY);
+            int limit = position + random.nextInt(MinuteBitmap.MINUTES_PER_DAY - position + 1);
+            int set = expected.nextSetBit(position);
+            assertThat(MinuteBitmap.nextSetBit(words, position, limit)).isEqualTo(set >= 0 && set < limit ? set : -1);
+            assertThat(MinuteBitmap.nextClearBit(words, position, limit)).isEqualTo(Math.min(expected.nextClearBit(position), limit));
+        }
+        assertThat(BitSet.valueOf(words)).isEqualTo(expected);
+    }
+
+    @Test
+    void wholeDayFitsTheLastWord() {
+        long[] words = MinuteBitmap.newDay();
+        MinuteBitmap.set(words, 0, MinuteBitmap.MINUTES_PER_DAY);
+
+        assertThat(MinuteBitmap.nextClearBit(words, 0, MinuteBitmap.MINUTES_PER_DAY)).isEqualTo(MinuteBitmap.MINUTES_PER_DAY);
+        assertThat(words[MinuteBitmap.WORDS_PER_DAY - 1]).isEqualTo((1L << (MinuteBitmap.MINUTES_PER_DAY % 64)) - 1);
+    }
+}
@@ -0,0 +1,141 @@
+package com.gestion.intervention.kernel.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Admission on a one-thread pool whose hashes take a known time and block until released: a login is turned away
+ * with a 503 at once when the hashes queued ahead would hold it past the allowed wait, or when the queue is full.
+ */
+class BoundedPasswordEncoderTest {
+
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch running = new CountDownLatch(1);
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        callers.shutdownNow();
+        if (encoder != null) {
+            encoder.shutdown();
+        }
+    }
+
+    @Test
+    void rejectsWhenTheProjectedQueueWaitExceedsTheLimit() throws Exception {
+        // 100 ms per hash, 150 ms of queue wait allowed: one hash queued ahead is fine, two are not
+        encoder = new BoundedPasswordEncoder(new BlockingEncoder(100), 1, 8, 150);
+        List<Future<Boolean>> admitted = new ArrayList<>();
+        admitted.add(callers.submit(() -> encoder.matches("a", "hash")));
+        assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+        admitted.add(callers.submit(() -> encoder.matches("b", "hash")));
+        await(() -> encoder.queuedHashes() == 1);
+        admitted.add(callers.submit(() -> encoder.matches("c", "hash")));
+        await(() -> encoder.queuedHashes() == 2);
+
+        long started = System.nanoTime();
+        assertThatThrownBy(() -> encoder.matches("d", "hash")).isInstanceOf(PasswordHashingUnavailableException.class);
+        // Turned away without waiting for the queue
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started)).isLessThan(100);
+        assertThat(encoder.queuedHashes()).isEqualTo(2);
+
+        release.countDown();
+        assertThat(admitted.get(0).get(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void rejectsWhenTheQueueIsFull() throws Exception {
+        // Waiting is allowed, but the queue holds a single hash
+        encoder = new BoundedPasswordEncoder(new BlockingEncoder(1), 1, 1, 10_000);
+        Future<Boolean> first = callers.submit(() -> encoder.matches("a", "hash"));
+        assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+        Future<Boolean> second = callers.submit(() -> encoder.matches("b", "hash"));
+        await(() -> encoder.queuedHashes() == 1);
+
+        assertThatThrownBy(() -> encoder.matches("c", "hash")).isInstanceOf(PasswordHashingUnavailableException.class);
+
+        release.countDown();
+        assertThat(first.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(second.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(encoder.matches("d", "hash")).isTrue(); // Room again once the queue drains
+    }
+
+    @Test
+    void rejectionIsAnsweredWith503() {
+        ResponseStatus status = AnnotatedElementUtils.findMergedAnnotation(PasswordHashingUnavailableException.class, ResponseStatus.class);
+
+        assertThat(status).isNotNull();
+        assertThat(status.code()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @Test
+    void explicitStrengthSkipsCalibration() {
+        // A 1 ms target would calibrate to the minimum strength
+        encoder = new AuthenticationConfig().passwordEncoder(BoundedPasswordEncoder.MIN_STRENGTH + 1, 1, 1, 4, 250);
+
+        assertThat(encoder.encode("secret")).startsWith("$2a$" + (BoundedPasswordEncoder.MIN_STRENGTH + 1) + "$");
+    }
+
+    @Test
+    void calibrationNeverGoesBelowTheMinimum() {
+        encoder = new AuthenticationConfig().passwordEncoder(0, 1, 1, 4, 250);
+
+        assertThat(encoder.encode("secret")).startsWith("$2a$" + BoundedPasswordEncoder.MIN_STRENGTH + "$");
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met in time").isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+
+    /** Encodes in a fixed time (the encoder's first estimate of a hash); every match blocks until released. */
+    private final class BlockingEncoder implements PasswordEncoder {
+        private final long hashMillis;
+
+        private BlockingEncoder(long hashMillis) {
+            this.hashMillis = hashMillis;
+        }
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            try {
+                Thread.sleep(hashMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "hash";
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            running.countDown();
+            try {
+                return release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.gestion.intervention.kernel.security;
+
+import com.gestion.intervention.domain.person.model.Person;
+import com.gestion.intervention.domain.person.repository.PersonRepository;
+import com.gestion.intervention.support.TestTokens;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unknown logins cost a hash like wrong passwords do, usernames that look like emails still resolve, and a hash
+ * weaker than the current strength is replaced once after a successful login.
+ */
+class PersonAuthenticationProviderTest {
+
+    private PersonRepository personRepository;
+    private BoundedPasswordEncoder passwordEncoder;
+    private PersonAuthenticationProvider provider;
+
+    @BeforeEach
+    void setUp() {
+        personRepository = mock(PersonRepository.class);
+        when(personRepository.findWithRolesByUsername(anyString())).thenReturn(Optional.empty());
+        when(personRepository.findWithRolesByEmail(anyString())).thenReturn(Optional.empty());
+        // Real hashing at the lowest strength the encoder allows, spied on to count the hashes
+        passwordEncoder = spy(new BoundedPasswordEncoder(BoundedPasswordEncoder.MIN_STRENGTH, 1, 4, 10_000));
+        provider = new PersonAuthenticationProvider(personRepository, passwordEncoder);
+    }
+
+    @AfterEach
+    void tearDown() {
+        passwordEncoder.shutdown();
+    }
+
+    @Test
+    void unknownLoginPaysOneHashAndFailsLikeAWrongPassword() {
+        Person person = withPassword(TestTokens.person("ROLE_EMPLOYEE"), BoundedPasswordEncoder.MIN_STRENGTH, "secret");
+        when(personRepository.findWithRolesByUsername("alice")).thenReturn(Optional.of(person));
+
+        assertThatThrownBy(() -> provider.authenticate(login("ghost", "secret")))
+                .isInstanceOf(BadCredentialsException.class)
+                .hasMessage("Bad credentials");
+        verify(passwordEncoder, times(1)).matches(eq("secret"), anyString());
+
+        assertThatThrownBy(() -> provider.authenticate(login("alice", "wrong")))
+                .isInstanceOf(BadCredentialsException.class)
+                .hasMessage("Bad credentials");
+        verify(passwordEncoder, times(2)).matches(any(), anyString());
+
+        // The dummy hash is computed once and reused
+        assertThatThrownBy(() -> provider.authenticate(login("ghost@example.com", "secret")))
+                .isInstanceOf(BadCredentialsException.class);
+        verify(passwordEncoder, times(3)).matches(any(), anyString());
+        verify(passwordEncoder, times(1)).encode(any());
+    }
+
+    @Test
+    void usernameContainingAtSignStillResolves() {
+        Person person = withPassword(TestTokens.person("ROLE_EMPLOYEE"), BoundedPasswordEncoder.MIN_STRENGTH, "secret");
+        person.setUsername("bob@home");
+        when(personRepository.findWithRolesByUsername("bob@home")).thenReturn(Optional.of(person));
+
+        Authentication authentication = provider.authenticate(login("bob@home", "secret"));
+
+        assertThat(authentication.isAuthenticated()).isTrue();
+        assertThat(authentication.getPrincipal()).isSameAs(person);
+        verify(personRepository).findWithRolesByEmail("bob@home"); // Emails are tried first
+    }
+
+    @Test
+    void emailWinsOverAnotherUsersIdenticalUsername() {
+        Person byEmail = withPassword(TestTokens.person("ROLE_EMPLOYEE"), BoundedPasswordEncoder.MIN_STRENGTH, "secret");
+        when(personRepository.findWithRolesByEmail("alice@example.com")).thenReturn(Optional.of(byEmail));
+
+        Authentication authentication = provider.authenticate(login("alice@example.com", "secret"));
+
+        assertThat(authentication.getPrincipal()).isSameAs(byEmail);
+        verify(personRepository, never()).findWithRolesByUsername(anyString());
+    }
+
+    @Test
+    void weakerStoredHashIsUpgradedOnce() {
+        Person person = withPassword(TestTokens.person("ROLE_EMPLOYEE"), 4, "secret");
+        String staleHash = person.getPassword();
+        when(personRepository.findWithRolesByUsername("alice")).thenReturn(Optional.of(person));
+
+        provider.authenticate(login("alice", "secret"));
+
+        verify(personRepository, timeout(5_000).times(1)).updatePasswordIfUnchanged(eq(person.getId()), eq(staleHash),
+                argThat(hash -> hash.startsWith("$2a$" + BoundedPasswordEncoder.MIN_STRENGTH + "$")));
+        verify(personRepository, after(200).times(1)).updatePasswordIfUnchanged(any(), any(), any());
+    }
+
+    @Test
+    void currentStrengthHashIsLeftAlone() {
+        Person person = withPassword(TestTokens.person("ROLE_EMPLOYEE"), BoundedPasswordEncoder.MIN_STRENGTH, "secret");
+        when(personRepository.findWithRolesByUsername("alice")).thenReturn(Optional.of(person));
+
+        provider.authenticate(login("alice", "secret"));
+
+        verify(personRepository, after(200).never()).updatePasswordIfUnchanged(any(), any(), any());
+    }
+
+    private static Person withPassword(Person person, int strength, String password) {
+        person.setPassword(new BCryptPasswordEncoder(strength).encode(password));
+        return person;
+    }
+
+    private static UsernamePasswordAuthenticationToken login(String login, String password) {
+        return UsernamePasswordAuthenticationToken.unauthenticated(login, password);
+    }
+}
@@ -0,0 +1,126 @@
+package com.gestion.intervention.kernel.security.jwt;
+
+import com.gestion.intervention.domain.person.model.Person;
+import com.gestion.intervention.support.TestTokens;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The filter's answers to the tokens it is handed: which ones stop the request, and what a verified one leaves behind
+ * for the rest of the chain.
+ */
+class JwtAuthenticationFilterTest {
+
+    private JwtKeyRing keyRing;
+    private JwtService jwtService;
+    private JwtAuthenticationFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        keyRing = TestTokens.keyRing();
+        jwtService = TestTokens.jwtService(keyRing, Duration.ofHours(1), Duration.ofHours(2));
+        filter = new JwtAuthenticationFilter(null, new VerifiedTokenCache(jwtService, new SimpleMeterRegistry(), true, 100),
+                new RevokedTokenRegistry(60, 1024));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void expiredAccessTokenGets401() throws Exception {
+        String expired = TestTokens.signed(keyRing, Map.of("userId", UUID.randomUUID().toString(), RoleMask.CLAIM, 1),
+                Instant.now().minus(Duration.ofMinutes(5)));
+        MockFilterChain chain = new MockFilterChain();
+
+        MockHttpServletResponse response = filter(request("/api/v1/user/employee/pannes", expired), chain);
+
+        assertThat(response.getStatus()).isEqualTo(401);
+        assertThat(response.getContentAsString()).contains("Invalid or expired access token");
+        assertThat(chain.getRequest()).isNull();
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    @Test
+    void refreshTokenOutsideTheRefreshEndpointGets403() throws Exception {
+        String refresh = jwtService.generateRefreshToken(TestTokens.person("ROLE_EMPLOYEE"));
+        MockFilterChain chain = new MockFilterChain();
+
+        MockHttpServletResponse response = filter(request("/api/v1/user/employee/pannes", refresh), chain);
+
+        assertThat(response.getStatus()).isEqualTo(403);
+        assertThat(chain.getRequest()).isNull();
+    }
+
+    @Test
+    void refreshTokenReachesTheRefreshEndpointUnauthenticated() throws Exception {
+        String refresh = jwtService.generateRefreshToken(TestTokens.person("ROLE_EMPLOYEE"));
+        MockFilterChain chain = new MockFilterChain();
+
+        MockHttpServletRequest request = request("/api/v1/auth/refresh", refresh);
+        filter(request, chain);
+
+        assertThat(chain.getRequest()).isSameAs(request);
+        assertThat(((VerifiedClaims) request.getAttribute(JwtAuthenticationFilter.VERIFIED_CLAIMS_ATTRIBUTE)).isRefreshToken()).isTrue();
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    @Test
+    void verifiedAccessTokenAuthenticatesAndExposesItsClaims() throws Exception {
+        Person person = TestTokens.person("ROLE_HELPDESK");
+        String access = jwtService.generateAccessToken(person);
+        MockFilterChain chain = new MockFilterChain();
+
+        MockHttpServletRequest request = request("/api/v1/user/helper/pannes", access);
+        filter(request, chain);
+
+        assertThat(chain.getRequest()).isSameAs(request);
+        VerifiedClaims claims = (VerifiedClaims) request.getAttribute(JwtAuthenticationFilter.VERIFIED_CLAIMS_ATTRIBUTE);
+        assertThat(claims.subject()).isEqualTo(person.getUsername());
+        assertThat(claims.userId()).isEqualTo(person.getId());
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertThat(authentication.getAuthorities()).extracting(GrantedAuthority::getAuthority).containsExactly("ROLE_HELPDESK");
+    }
+
+    @Test
+    void requestWithoutBearerTokenPassesThrough() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/hello");
+        request.setServletPath("/hello");
+
+        MockHttpServletResponse response = filter(request, chain);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(chain.getRequest()).isSameAs(request);
+        assertThat(request.getAttribute(JwtAuthenticationFilter.VERIFIED_CLAIMS_ATTRIBUTE)).isNull();
+    }
+
+    private MockHttpServletResponse filter(MockHttpServletRequest request, MockFilterChain chain) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String path, String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setServletPath(path);
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+}
@@ -0,0 +1,154 @@
+package com.gestion.intervention.kernel.security.jwt;
+
+import com.gestion.intervention.support.TestTokens;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.math.BigInteger;
+import java.security.KeyPair;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tokens without a {@code kid} verify against the default secret for as long as HMAC keys are accepted, and no HMAC
+ * token verifies once they are dropped; public keys are published as fixed-length JWKs.
+ */
+class JwtKeyRingTest {
+
+    private static final String ASYMMETRIC_KEY_ID = "ec-1";
+
+    @Test
+    void tokenWithoutKeyIdVerifiesAgainstTheDefaultSecret() {
+        JwtKeyRing keyRing = ring(SignatureAlgorithm.HS256, true, new MockEnvironment());
+
+        assertThat(subject(keyRing, hmacToken(null))).isEqualTo("alice");
+        assertThat(subject(keyRing, hmacToken(JwtKeyRing.DEFAULT_KEY_ID))).isEqualTo("alice");
+    }
+
+    @Test
+    void tokenWithoutKeyIdVerifiesDuringAMigrationThatAcceptsHmac() {
+        JwtKeyRing keyRing = ring(SignatureAlgorithm.ES256, true, withKeyPair(Keys.keyPairFor(SignatureAlgorithm.ES256)));
+
+        assertThat(subject(keyRing, hmacToken(null))).isEqualTo("alice");
+        assertThat(subject(keyRing, hmacToken(JwtKeyRing.DEFAULT_KEY_ID))).isEqualTo("alice");
+        assertThat(subject(keyRing, TestTokens.signed(keyRing, Map.of(), Instant.now().plusSeconds(60))))
+                .isEqualTo("alice");
+    }
+
+    @Test
+    void hmacTokenFailsOnceHmacIsNoLongerAccepted() {
+        JwtKeyRing keyRing = ring(SignatureAlgorithm.ES256, false, withKeyPair(Keys.keyPairFor(SignatureAlgorithm.ES256)));
+
+        assertThatThrownBy(() -> subject(keyRing, hmacToken(null)))
+                .isInstanceOf(SignatureException.class)
+                .hasMessage("JWT has no signing key id");
+        assertThatThrownBy(() -> subject(keyRing, hmacToken(JwtKeyRing.DEFAULT_KEY_ID)))
+                .isInstanceOf(SignatureException.class)
+                .hasMessage("Unknown JWT signing key id: " + JwtKeyRing.DEFAULT_KEY_ID);
+    }
+
+    @Test
+    void hmacSecretsAreNeverPublished() {
+        JwtKeyRing keyRing = ring(SignatureAlgorithm.ES256, true, withKeyPair(Keys.keyPairFor(SignatureAlgorithm.ES256)));
+
+        assertThat(keyRing.jsonWebKeys()).extracting(jwk -> jwk.get("kid")).containsExactly(ASYMMETRIC_KEY_ID);
+        assertThat(TestTokens.keyRing().jsonWebKeys()).isEmpty();
+    }
+
+    @Test
+    void ecKeyIsPublishedWithItsCurveAndFixedLengthCoordinates() {
+        // Enough pairs that some coordinate almost surely has a leading zero byte, which must still be encoded
+        for (int i = 0; i < 64; i++) {
+            KeyPair pair = Keys.keyPairFor(SignatureAlgorithm.ES256);
+            ECPublicKey publicKey = (ECPublicKey) pair.getPublic();
+
+            Map<String, Object> jwk = single(JwtKeyRing.ofKeyPair(SignatureAlgorithm.ES256, "ec", pair).jsonWebKeys());
+
+            assertThat(jwk).containsEntry("kid", "ec").containsEntry("use", "sig").containsEntry("alg", "ES256")
+                    .containsEntry("kty", "EC").containsEntry("crv", "P-256");
+            byte[] x = decode(jwk.get("x"));
+            byte[] y = decode(jwk.get("y"));
+            assertThat(x).hasSize(32);
+            assertThat(y).hasSize(32);
+            assertThat(new BigInteger(1, x)).isEqualTo(publicKey.getW().getAffineX());
+            assertThat(new BigInteger(1, y)).isEqualTo(publicKey.getW().getAffineY());
+        }
+    }
+
+    @Test
+    void largerCurvesArePublishedWithTheirOwnSize() {
+        Map<String, Object> p384 = single(JwtKeyRing.ofKeyPair(SignatureAlgorithm.ES384, "ec",
+                Keys.keyPairFor(SignatureAlgorithm.ES384)).jsonWebKeys());
+        Map<String, Object> p521 = single(JwtKeyRing.ofKeyPair(SignatureAlgorithm.ES512, "ec",
+                Keys.keyPairFor(SignatureAlgorithm.ES512)).jsonWebKeys());
+
+        assertThat(p384).containsEntry("crv", "P-384");
+        assertThat(decode(p384.get("x"))).hasSize(48);
+        assertThat(p521).containsEntry("crv", "P-521");
+        assertThat(decode(p521.get("y"))).hasSize(66);
+    }
+
+    @Test
+    void rsaKeyIsPublishedWithItsModulusAndExponent() {
+        KeyPair pair = Keys.keyPairFor(SignatureAlgorithm.RS256);
+        RSAPublicKey publicKey = (RSAPublicKey) pair.getPublic();
+
+        Map<String, Object> jwk = single(JwtKeyRing.ofKeyPair(SignatureAlgorithm.RS256, "rsa", pair).jsonWebKeys());
+
+        assertThat(jwk).containsEntry("kid", "rsa").containsEntry("alg", "RS256").containsEntry("kty", "RSA");
+        byte[] n = decode(jwk.get("n"));
+        assertThat(n).hasSize(publicKey.getModulus().bitLength() / 8);
+        assertThat(new BigInteger(1, n)).isEqualTo(publicKey.getModulus());
+        assertThat(new BigInteger(1, decode(jwk.get("e")))).isEqualTo(publicKey.getPublicExponent());
+        assertThat(jwk).containsEntry("e", "AQAB");
+    }
+
+    private static JwtKeyRing ring(SignatureAlgorithm algorithm, boolean acceptHmac, MockEnvironment environment) {
+        String activeKeyId = algorithm.isHmac() ? JwtKeyRing.DEFAULT_KEY_ID : ASYMMETRIC_KEY_ID;
+        return new JwtKeyRing(TestTokens.SECRET, activeKeyId, algorithm, acceptHmac, false, environment);
+    }
+
+    private static MockEnvironment withKeyPair(KeyPair pair) {
+        String prefix = "security.jwt.asymmetric-keys." + ASYMMETRIC_KEY_ID;
+        return new MockEnvironment()
+                .withProperty(prefix + ".public-key", Base64.getEncoder().encodeToString(pair.getPublic().getEncoded()))
+                .withProperty(prefix + ".private-key", Base64.getEncoder().encodeToString(pair.getPrivate().getEncoded()));
+    }
+
+    /** An HS256 token signed with the default secret, with the {@code kid} given or none. */
+    private static String hmacToken(String kid) {
+        var builder = Jwts.builder().setSubject("alice");
+        if (kid != null) {
+            builder.setHeaderParam(JwsHeader.KEY_ID, kid);
+        }
+        return builder.signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(TestTokens.SECRET)), SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    private static String subject(JwtKeyRing keyRing, String token) {
+        return keyRing.parser().parseClaimsJws(token).getBody().getSubject();
+    }
+
+    private static Map<String, Object> single(List<Map<String, Object>> jsonWebKeys) {
+        assertThat(jsonWebKeys).hasSize(1);
+        return jsonWebKeys.get(0);
+    }
+
+    private static byte[] decode(Object base64Url) {
+        assertThat((String) base64Url).doesNotContain("=");
+        return Base64.getUrlDecoder().decode((String) base64Url);
+    }
+}
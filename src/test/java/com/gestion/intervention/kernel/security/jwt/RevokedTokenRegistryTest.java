@@ -0,0 +1,59 @@
+package com.gestion.intervention.kernel.security.jwt;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Revoked ids are reported until their bucket expires, a replayed id is caught once, and the Bloom filters only ever
+ * decide the "not revoked" answer.
+ */
+class RevokedTokenRegistryTest {
+
+    @Test
+    void revokedIdIsReportedAndItsReplayDetected() {
+        RevokedTokenRegistry registry = new RevokedTokenRegistry(60, 1024);
+        UUID tokenId = UUID.randomUUID();
+        Instant expiresAt = Instant.now().plus(Duration.ofHours(2));
+
+        assertThat(registry.isRevoked(tokenId)).isFalse();
+        assertThat(registry.revoke(tokenId, expiresAt)).isTrue();
+        assertThat(registry.isRevoked(tokenId)).isTrue();
+        assertThat(registry.revoke(tokenId, expiresAt)).isFalse();
+    }
+
+    @Test
+    void expiredBucketIsDropped() {
+        RevokedTokenRegistry registry = new RevokedTokenRegistry(1, 1024);
+        UUID expired = UUID.randomUUID();
+        UUID live = UUID.randomUUID();
+
+        registry.revoke(expired, Instant.now().minus(Duration.ofMinutes(10)));
+        assertThat(registry.isRevoked(expired)).isTrue(); // Buckets are swept on the next revocation
+
+        registry.revoke(live, Instant.now().plus(Duration.ofMinutes(10)));
+
+        assertThat(registry.isRevoked(expired)).isFalse();
+        assertThat(registry.mightBeRevoked(expired)).isFalse(); // Its Bloom bits went with the bucket
+        assertThat(registry.isRevoked(live)).isTrue();
+    }
+
+    @Test
+    void bloomHitOutsideTheExactSetIsNotRevoked() {
+        // 64 bits for 500 ids: the filter is saturated, every id is a Bloom hit
+        RevokedTokenRegistry registry = new RevokedTokenRegistry(60, 64);
+        Instant expiresAt = Instant.now().plus(Duration.ofMinutes(30));
+        for (int i = 0; i < 500; i++) {
+            registry.revoke(UUID.randomUUID(), expiresAt);
+        }
+
+        UUID neverRevoked = Stream.generate(UUID::randomUUID).filter(registry::mightBeRevoked).findFirst().orElseThrow();
+
+        assertThat(registry.isRevoked(neverRevoked)).isFalse();
+    }
+}
@@ -0,0 +1,93 @@
+package com.gestion.intervention.kernel.security.jwt;
+
+import com.gestion.intervention.domain.person.model.Person;
+import com.gestion.intervention.support.TestTokens;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Built-in roles travel as the {@code rm} bitmask and come back as the same authorities; roles outside the table, and
+ * tokens issued before the bitmask, still go through the {@code roles} list.
+ */
+class RoleMaskTest {
+
+    private static final List<String> BUILT_IN = List.of("ROLE_EMPLOYEE", "ROLE_TECHNICIAN", "ROLE_HELPDESK", "ROLE_ADMIN");
+
+    private JwtKeyRing keyRing;
+    private JwtService jwtService;
+
+    @BeforeEach
+    void setUp() {
+        keyRing = TestTokens.keyRing();
+        jwtService = TestTokens.jwtService(keyRing, Duration.ofHours(1), Duration.ofHours(2));
+    }
+
+    @Test
+    void everyCombinationOfBuiltInRolesRoundTripsThroughTheMask() {
+        for (int mask = 0; mask < 1 << BUILT_IN.size(); mask++) {
+            List<String> roles = new ArrayList<>();
+            for (int bit = 0; bit < BUILT_IN.size(); bit++) {
+                if ((mask & (1 << bit)) != 0) roles.add(BUILT_IN.get(bit));
+            }
+            String token = jwtService.generateAccessToken(TestTokens.person(roles.toArray(String[]::new)));
+
+            assertThat(claim(token, RoleMask.CLAIM)).isEqualTo(mask);
+            assertThat(claim(token, "roles")).isNull();
+            assertThat(jwtService.verify(token).authorities()).extracting(GrantedAuthority::getAuthority)
+                    .containsExactlyInAnyOrderElementsOf(roles);
+        }
+    }
+
+    @Test
+    void decodedAuthoritiesAreSharedAndIgnoreUnknownBits() {
+        assertThat(RoleMask.authorities(0b0101)).isSameAs(RoleMask.authorities(0b0101));
+        assertThat(RoleMask.authorities(0b1_0001)).extracting(GrantedAuthority::getAuthority).containsExactly("ROLE_EMPLOYEE");
+        assertThat(RoleMask.bitOf("ROLE_AUDITOR")).isZero();
+    }
+
+    @Test
+    void customRolesStayInTheRolesList() {
+        Person person = TestTokens.person("ROLE_ADMIN", "ROLE_AUDITOR");
+
+        String token = jwtService.generateAccessToken(person);
+
+        assertThat(claim(token, "roles")).isEqualTo(List.of("ROLE_AUDITOR"));
+        assertThat(jwtService.verify(token).authorities()).extracting(GrantedAuthority::getAuthority)
+                .containsExactlyInAnyOrder("ROLE_ADMIN", "ROLE_AUDITOR");
+    }
+
+    @Test
+    void legacyTokenWithOnlyTheRolesListKeepsItsRoles() {
+        String legacy = TestTokens.signed(keyRing, Map.of(
+                "userId", UUID.randomUUID().toString(),
+                "roles", List.of("ROLE_EMPLOYEE", "ROLE_HELPDESK")), Instant.now().plus(Duration.ofHours(1)));
+
+        assertThat(jwtService.verify(legacy).authorities()).extracting(GrantedAuthority::getAuthority)
+                .containsExactlyInAnyOrder("ROLE_EMPLOYEE", "ROLE_HELPDESK");
+    }
+
+    @Test
+    void maskAndRolesListAreMerged() {
+        String mixed = TestTokens.signed(keyRing, Map.of(
+                "userId", UUID.randomUUID().toString(),
+                RoleMask.CLAIM, RoleMask.bitOf("ROLE_TECHNICIAN"),
+                "roles", List.of("ROLE_TECHNICIAN", "ROLE_AUDITOR")), Instant.now().plus(Duration.ofHours(1)));
+
+        assertThat(jwtService.verify(mixed).authorities()).extracting(GrantedAuthority::getAuthority)
+                .containsExactlyInAnyOrder("ROLE_TECHNICIAN", "ROLE_AUDITOR");
+    }
+
+    private Object claim(String token, String name) {
+        return jwtService.extractClaim(token, claims -> claims.get(name));
+    }
+}
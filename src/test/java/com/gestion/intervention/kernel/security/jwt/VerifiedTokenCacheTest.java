@@ -0,0 +1,97 @@
+package com.gestion.intervention.kernel.security.jwt;
+
+import com.gestion.intervention.support.TestTokens;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Repeat tokens are served without a second signature check, but never past their {@code exp}, and not at all when
+ * the cache is disabled.
+ */
+class VerifiedTokenCacheTest {
+
+    private JwtKeyRing keyRing;
+    private AtomicInteger verifications;
+    private JwtService jwtService;
+
+    @BeforeEach
+    void setUp() {
+        keyRing = TestTokens.keyRing();
+        verifications = new AtomicInteger();
+        jwtService = new JwtService(keyRing) {
+            @Override
+            public VerifiedClaims verify(String token) {
+                verifications.incrementAndGet();
+                return super.verify(token);
+            }
+        };
+    }
+
+    @Test
+    void repeatTokenIsVerifiedOnce() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(jwtService, new SimpleMeterRegistry(), true, 100);
+        String token = token(Instant.now().plus(Duration.ofHours(1)));
+
+        VerifiedClaims first = cache.verify(token);
+        VerifiedClaims second = cache.verify(token);
+
+        assertThat(second).isSameAs(first);
+        assertThat(verifications).hasValue(1);
+    }
+
+    @Test
+    void noEntryOutlivesTheTokensExp() throws InterruptedException {
+        VerifiedTokenCache cache = new VerifiedTokenCache(jwtService, new SimpleMeterRegistry(), true, 100);
+        // exp has second precision: the token lives until the second after next
+        Instant expiresAt = Instant.now().truncatedTo(ChronoUnit.SECONDS).plusSeconds(2);
+        String token = token(expiresAt);
+
+        assertThat(cache.verify(token).isExpired()).isFalse();
+        assertThat(cache.verify(token).isExpired()).isFalse();
+        assertThat(verifications).hasValue(1);
+
+        Thread.sleep(Duration.between(Instant.now(), expiresAt).toMillis() + 50);
+
+        // The entry is gone: the token is verified again and comes back expired
+        assertThat(cache.verify(token).isExpired()).isTrue();
+        assertThat(verifications).hasValue(2);
+        // ...and expired claims are not cached either
+        cache.verify(token);
+        assertThat(verifications).hasValue(3);
+    }
+
+    @Test
+    void disabledCacheVerifiesEveryTime() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(jwtService, new SimpleMeterRegistry(), false, 100);
+        String token = token(Instant.now().plus(Duration.ofHours(1)));
+
+        cache.verify(token);
+        cache.verify(token);
+
+        assertThat(verifications).hasValue(2);
+    }
+
+    @Test
+    void invalidTokenIsNotCached() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(jwtService, new SimpleMeterRegistry(), true, 100);
+
+        assertThat(cache.verify("not.a.jwt")).isNull();
+        assertThat(cache.verify("not.a.jwt")).isNull();
+
+        assertThat(verifications).hasValue(2);
+    }
+
+    private String token(Instant expiresAt) {
+        return TestTokens.signed(keyRing, Map.of("userId", UUID.randomUUID().toString(), RoleMask.CLAIM, 1), expiresAt);
+    }
+}
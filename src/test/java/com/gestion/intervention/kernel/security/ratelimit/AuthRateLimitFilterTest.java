@@ -0,0 +1,122 @@
+package com.gestion.intervention.kernel.security.ratelimit;
+
+import com.gestion.intervention.support.WebIntegrationTest;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The auth endpoints throttled through the whole filter chain, with small buckets that do not refill during a test.
+ * Each test sends from addresses of its own, so the per-IP buckets of one test never affect another.
+ */
+@WebIntegrationTest
+@TestPropertySource(properties = {
+        "security.auth.rate-limit.ip.capacity=10",
+        "security.auth.rate-limit.ip.refill-per-minute=0.0001",
+        "security.auth.rate-limit.refresh.capacity=3",
+        "security.auth.rate-limit.refresh.refill-per-minute=0.0001",
+        "security.auth.rate-limit.account.capacity=5",
+        "security.auth.rate-limit.account.refill-per-minute=0.0001"
+})
+class AuthRateLimitFilterTest {
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void sixthLoginForOneAccountFromASixthIpGets429() throws Exception {
+        double rejected = rejections("account");
+        for (int i = 1; i <= 5; i++) {
+            login("10.1.0." + i, "victim@example.com").andExpect(status().isUnauthorized());
+        }
+
+        login("10.1.0.6", "victim@example.com")
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "60"));
+
+        assertThat(rejections("account")).isEqualTo(rejected + 1);
+        login("10.1.0.6", "someone-else@example.com").andExpect(status().isUnauthorized()); // Other accounts still get through
+    }
+
+    @Test
+    void eleventhRequestFromOneIpGets429() throws Exception {
+        double rejected = rejections("ip");
+        for (int i = 1; i <= 10; i++) {
+            login("10.2.0.1", "user" + i + "@example.com").andExpect(status().isUnauthorized());
+        }
+
+        login("10.2.0.1", "user11@example.com").andExpect(status().isTooManyRequests());
+
+        assertThat(rejections("ip")).isEqualTo(rejected + 1);
+        login("10.2.0.2", "user11@example.com").andExpect(status().isUnauthorized()); // Other addresses still get through
+    }
+
+    @Test
+    void refreshesHaveABucketOfTheirOwn() throws Exception {
+        double rejected = rejections("refresh");
+        double ipRejected = rejections("ip");
+        for (int i = 0; i < 3; i++) {
+            refresh("10.3.0.1").andExpect(status().isUnauthorized());
+        }
+
+        refresh("10.3.0.1").andExpect(status().isTooManyRequests());
+
+        assertThat(rejections("refresh")).isEqualTo(rejected + 1);
+        assertThat(rejections("ip")).isEqualTo(ipRejected);
+        // The refreshes used up nothing of the address's login bucket
+        login("10.3.0.1", "refresher@example.com").andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void bodyAboveTheInspectionCapGets413() throws Exception {
+        String oversized = "{\"usernameOrEmail\":\"big@example.com\",\"password\":\"" + "x".repeat(16 * 1024) + "\"}";
+
+        mvc.perform(post("/api/v1/auth/login").servletPath("/api/v1/auth/login")
+                        .with(from("10.4.0.1"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(oversized))
+                .andExpect(status().isPayloadTooLarge());
+
+        // A body just under the cap is inspected and handed on to the controller
+        String underCap = "{\"usernameOrEmail\":\"big@example.com\",\"password\":\"" + "x".repeat(16 * 1024 - 100) + "\"}";
+        mvc.perform(post("/api/v1/auth/login").servletPath("/api/v1/auth/login")
+                        .with(from("10.4.0.1"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(underCap))
+                .andExpect(status().isUnauthorized());
+    }
+
+    private ResultActions login(String ip, String account) throws Exception {
+        return mvc.perform(post("/api/v1/auth/login").servletPath("/api/v1/auth/login")
+                .with(from(ip))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"usernameOrEmail\":\"" + account + "\",\"password\":\"wrong\"}"));
+    }
+
+    private ResultActions refresh(String ip) throws Exception {
+        return mvc.perform(post("/api/v1/auth/refresh").servletPath("/api/v1/auth/refresh").with(from(ip)));
+    }
+
+    private static RequestPostProcessor from(String ip) {
+        return request -> {
+            request.setRemoteAddr(ip);
+            return request;
+        };
+    }
+
+    private double rejections(String scope) {
+        return meterRegistry.get("auth.ratelimit.rejections").tag("scope", scope).counter().count();
+    }
+}
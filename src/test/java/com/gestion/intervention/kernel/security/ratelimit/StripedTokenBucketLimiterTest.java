@@ -0,0 +1,75 @@
+package com.gestion.intervention.kernel.security.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Buckets drain and refill per key, and however many keys arrive the limiter never holds more than max-keys buckets.
+ */
+class StripedTokenBucketLimiterTest {
+
+    // Slow enough that nothing refills while a test runs
+    private static final double NO_REFILL = 0.0001;
+
+    @Test
+    void keyIsRejectedOnceItsBucketIsEmpty() {
+        StripedTokenBucketLimiter limiter = new StripedTokenBucketLimiter(3, NO_REFILL, 100, 4);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire("10.0.0.1")).isTrue();
+        }
+        assertThat(limiter.tryAcquire("10.0.0.1")).isFalse();
+        assertThat(limiter.tryAcquire("10.0.0.2")).isTrue(); // Buckets are per key
+    }
+
+    @Test
+    void emptyBucketRefills() throws InterruptedException {
+        StripedTokenBucketLimiter limiter = new StripedTokenBucketLimiter(1, 60_000, 100, 4); // One token per millisecond
+
+        assertThat(limiter.tryAcquire("10.0.0.1")).isTrue();
+        Thread.sleep(20);
+
+        assertThat(limiter.tryAcquire("10.0.0.1")).isTrue();
+    }
+
+    @Test
+    void bucketCountStaysAtMaxKeys() {
+        StripedTokenBucketLimiter single = new StripedTokenBucketLimiter(1, NO_REFILL, 8, 1);
+        StripedTokenBucketLimiter striped = new StripedTokenBucketLimiter(1, NO_REFILL, 64, 8);
+
+        for (int i = 0; i < 10_000; i++) {
+            single.tryAcquire("10.0." + (i >> 8) + "." + (i & 255));
+            striped.tryAcquire("10.0." + (i >> 8) + "." + (i & 255));
+        }
+
+        assertThat(single.size()).isEqualTo(8);
+        assertThat(striped.size()).isLessThanOrEqualTo(64);
+    }
+
+    @Test
+    void leastRecentlyUsedBucketIsEvictedFirst() {
+        StripedTokenBucketLimiter limiter = new StripedTokenBucketLimiter(1, NO_REFILL, 2, 1);
+        limiter.tryAcquire("a");
+        limiter.tryAcquire("b");
+        limiter.tryAcquire("a"); // "b" is now the least recently used
+
+        limiter.tryAcquire("c");
+
+        assertThat(limiter.tryAcquire("a")).isFalse(); // Kept, still empty
+        assertThat(limiter.tryAcquire("b")).isTrue(); // Evicted, comes back full
+    }
+
+    @Test
+    void idleBucketsAreDropped() throws InterruptedException {
+        StripedTokenBucketLimiter limiter = new StripedTokenBucketLimiter(1, 60_000, 100, 1); // Full again after 1 ms
+        for (int i = 0; i < 10; i++) {
+            limiter.tryAcquire("10.0.0." + i);
+        }
+        Thread.sleep(20);
+
+        limiter.tryAcquire("10.0.1.1");
+
+        assertThat(limiter.size()).isEqualTo(1);
+    }
+}
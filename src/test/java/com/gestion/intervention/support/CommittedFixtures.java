@@ -0,0 +1,85 @@
+package com.gestion.intervention.support;
+
+import com.gestion.intervention.application.common.service.TechnicianSlotIndex;
+import com.gestion.intervention.domain.machine.model.Machine;
+import com.gestion.intervention.domain.panne.enumeration.PanneStatus;
+import com.gestion.intervention.domain.panne.model.Panne;
+import com.gestion.intervention.domain.person.model.Person;
+import com.gestion.intervention.domain.technicianinfo.model.TechnicianInfo;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.test.context.TestComponent;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Rows committed by tests that run outside the test transaction (to see commits, locks or batch chunks as in
+ * production), and their removal. Call {@link #deleteAll()} after each test, so the next one starts from an empty
+ * database and can use fixed dates.
+ */
+@TestComponent
+public class CommittedFixtures {
+
+    // Children first, so every foreign key is satisfied along the way
+    private static final List<String> TABLES = List.of("intervention", "disponibilite", "disponibilite_rule",
+            "disponibilite_exclusion", "panne", "piece", "technician_info", "help_desk_info", "person_role", "person", "machine");
+
+    private static final AtomicInteger sequence = new AtomicInteger();
+
+    private final TransactionTemplate transaction;
+    private final EntityManager entityManager;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectProvider<TechnicianSlotIndex> slotIndexes;
+
+    public CommittedFixtures(PlatformTransactionManager transactionManager,
+                             EntityManager entityManager,
+                             JdbcTemplate jdbcTemplate,
+                             ObjectProvider<TechnicianSlotIndex> slotIndexes) {
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.entityManager = entityManager;
+        this.jdbcTemplate = jdbcTemplate;
+        this.slotIndexes = slotIndexes;
+    }
+
+    public UUID technician(String specialite) {
+        return technician(specialite, 0);
+    }
+
+    public UUID technician(String specialite, int openPannes) {
+        return transaction.execute(status -> {
+            Person person = person("tech");
+            TechnicianInfo technician = TechnicianInfo.builder().person(person).specialite(specialite).nbrPanne(openPannes).build();
+            entityManager.persist(technician);
+            return technician.getId();
+        });
+    }
+
+    /** A pending panne, reported by a new person on a new machine. */
+    public UUID panne(String typePanne, String machineType) {
+        return transaction.execute(status -> {
+            Machine machine = Machine.builder().type(machineType).etat("OK").build();
+            entityManager.persist(machine);
+            Panne panne = Panne.builder().typePanne(typePanne).status(PanneStatus.PENDING).machine(machine).reporter(person("reporter")).build();
+            entityManager.persist(panne);
+            return panne.getId();
+        });
+    }
+
+    /** Deletes every committed row, and brings the in-memory slot indexes of the context back in line. */
+    public void deleteAll() {
+        TABLES.forEach(table -> jdbcTemplate.update("DELETE FROM " + table));
+        slotIndexes.orderedStream().forEach(TechnicianSlotIndex::checkConsistency);
+    }
+
+    private Person person(String prefix) {
+        String name = prefix + "-" + sequence.incrementAndGet();
+        Person person = Person.builder().username(name).email(name + "@example.com").build();
+        entityManager.persist(person);
+        return person;
+    }
+}
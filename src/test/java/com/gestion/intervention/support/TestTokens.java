@@ -0,0 +1,60 @@
+package com.gestion.intervention.support;
+
+import com.gestion.intervention.domain.person.model.Person;
+import com.gestion.intervention.domain.role.model.Role;
+import com.gestion.intervention.kernel.security.jwt.JwtKeyRing;
+import com.gestion.intervention.kernel.security.jwt.JwtService;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.Jwts;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Key ring, {@link JwtService} and token subjects for tests that exercise the JWT code without a Spring context.
+ */
+public final class TestTokens {
+    public static final String KEY_ID = "test";
+    public static final String SECRET = "lksjdhfgsdyuagdsbfliudasfieyagfuwfr6i32qwreftdaskuyfy6wqi";
+
+    private TestTokens() {
+    }
+
+    public static JwtKeyRing keyRing() {
+        return new JwtKeyRing(KEY_ID, Map.of(KEY_ID, SECRET));
+    }
+
+    /** A JwtService as Spring would build it, with both token lifetimes set. */
+    public static JwtService jwtService(JwtKeyRing keyRing, Duration accessLifetime, Duration refreshLifetime) {
+        JwtService jwtService = new JwtService(keyRing);
+        ReflectionTestUtils.setField(jwtService, "jwtAccessExpiration", accessLifetime.toMillis());
+        ReflectionTestUtils.setField(jwtService, "jwtRefreshExpiration", refreshLifetime.toMillis());
+        return jwtService;
+    }
+
+    public static Person person(String... authorities) {
+        return Person.builder()
+                .id(UUID.randomUUID())
+                .username("alice")
+                .email("alice@example.com")
+                .roles(Arrays.stream(authorities).map(authority -> Role.builder().authority(authority).build()).toList())
+                .build();
+    }
+
+    /** An access token signed by the ring, with the claims given and an arbitrary expiry. */
+    public static String signed(JwtKeyRing keyRing, Map<String, Object> claims, Instant expiresAt) {
+        return Jwts.builder()
+                .setClaims(claims)
+                .setSubject("alice")
+                .setIssuedAt(Date.from(expiresAt.minus(Duration.ofHours(1))))
+                .setExpiration(Date.from(expiresAt))
+                .setHeaderParam(JwsHeader.KEY_ID, keyRing.activeKeyId())
+                .signWith(keyRing.signingKey(), keyRing.algorithm())
+                .compact();
+    }
+}
@@ -0,0 +1,28 @@
+package com.gestion.intervention.support;
+
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The whole application, security filter chain included, on an in-memory H2 database and driven through MockMvc.
+ * Classes that only add this annotation share one context; add {@code @TestPropertySource} for settings of your own.
+ * MockMvc leaves the servlet path empty, and the filters match on it: set it with {@code .servletPath(...)}.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:web-${random.uuid};MODE=MySQL", // One database per context
+        "spring.datasource.driverClassName=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.show-sql=false",
+        "security.password.bcrypt-strength=4" // Registration and login hash for real, just cheaply
+})
+@AutoConfigureMockMvc
+public @interface WebIntegrationTest {
+}